@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Data generators and utilities shared by the kernel microbenchmarks.
+ * 
+ */
+public class BenchmarkUtils 
+{
+	public static final long SEED = 7; 
+	
+	/**
+	 * Creates a random matrix of the given shape and sparsity with 
+	 * uniformly distributed values in [-1, 1].
+	 * 
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param seed
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock createMatrix(int rows, int cols, double sparsity, long seed) 
+		throws DMLRuntimeException 
+	{
+		MatrixBlock ret = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", seed);
+		ret.examSparsity();
+		return ret;
+	}
+	
+	/**
+	 * Creates a random matrix of the given shape and sparsity with a small 
+	 * number of distinct values per column, which makes it amenable to 
+	 * lossless compression.
+	 * 
+	 * @param rows
+	 * @param cols
+	 * @param sparsity
+	 * @param distinct
+	 * @param seed
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock createCompressibleMatrix(int rows, int cols, double sparsity, int distinct, long seed) 
+		throws DMLRuntimeException 
+	{
+		MatrixBlock ret = MatrixBlock.randOperations(rows, cols, sparsity, 1, distinct, "uniform", seed);
+		MatrixBlock tmp = new MatrixBlock(rows, cols, false);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				double v = ret.quickGetValue(i, j);
+				if( v != 0 )
+					tmp.appendValue(i, j, Math.round(v));
+			}
+		tmp.examSparsity();
+		return tmp;
+	}
+	
+	/**
+	 * Obtains the degree of parallelism for the given benchmark parameter, 
+	 * where values &lt;= 0 refer to the number of available processors.
+	 * 
+	 * @param threads
+	 * @return
+	 */
+	public static int getNumThreads(int threads) {
+		return (threads > 0) ? threads : 
+			Runtime.getRuntime().availableProcessors();
+	}
+}
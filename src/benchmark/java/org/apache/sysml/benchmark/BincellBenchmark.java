@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+
+/**
+ * Microbenchmarks of the cellwise binary kernels (LibMatrixBincell) for 
+ * matrix-matrix, matrix-vector, and matrix-scalar operations.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BincellBenchmark 
+{
+	@Param({"10000"})
+	public int rows;
+	
+	@Param({"1000"})
+	public int cols;
+	
+	@Param({"1.0", "0.1", "0.0001"}) //dense, sparse, ultra-sparse
+	public double sparsity;
+	
+	@Param({"+", "*", ">"})
+	public String opcode;
+	
+	@Param({"1", "-1"}) //single-threaded, all cores
+	public int threads;
+	
+	private MatrixBlock _X = null;
+	private MatrixBlock _Y = null;
+	private MatrixBlock _v = null; //row vector
+	private BinaryOperator _bop = null;
+	private ScalarOperator _sop = null;
+	
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		int k = BenchmarkUtils.getNumThreads(threads);
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_Y = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED+1);
+		_v = BenchmarkUtils.createMatrix(1, cols, 1.0, BenchmarkUtils.SEED+2);
+		_bop = InstructionUtils.parseBinaryOperator(opcode, k);
+		_sop = InstructionUtils.parseScalarBinaryOperator(opcode, false, k);
+		_sop.setConstant(0.5);
+	}
+	
+	@Benchmark
+	public MatrixValue matrixMatrix() throws DMLRuntimeException {
+		return _X.binaryOperations(_bop, _Y, new MatrixBlock());
+	}
+	
+	@Benchmark
+	public MatrixValue matrixRowVector() throws DMLRuntimeException {
+		return _X.binaryOperations(_bop, _v, new MatrixBlock());
+	}
+	
+	@Benchmark
+	public MatrixValue matrixScalar() throws DMLRuntimeException {
+		return _X.scalarOperations(_sop, new MatrixBlock());
+	}
+}
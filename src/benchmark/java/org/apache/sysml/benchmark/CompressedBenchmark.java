@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.lops.MapMultChain.ChainType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Microbenchmarks of operations over compressed matrix blocks, including 
+ * the compression itself, for inputs with few distinct values per column.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CompressedBenchmark 
+{
+	@Param({"100000"})
+	public int rows;
+	
+	@Param({"100"})
+	public int cols;
+	
+	@Param({"1.0", "0.1"})
+	public double sparsity;
+	
+	@Param({"8", "256"}) 
+	public int distinct;
+	
+	@Param({"1", "-1"}) //single-threaded, all cores
+	public int threads;
+	
+	private MatrixBlock _X = null;
+	private CompressedMatrixBlock _cX = null;
+	private MatrixBlock _v = null;
+	private MatrixBlock _u = null;
+	private int _k = -1;
+	private AggregateBinaryOperator _abop = null;
+	private AggregateUnaryOperator _auop = null;
+	private ScalarOperator _sop = null;
+	private UnaryOperator _uop = null;
+	
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		_k = BenchmarkUtils.getNumThreads(threads);
+		_X = BenchmarkUtils.createCompressibleMatrix(rows, cols, sparsity, distinct, BenchmarkUtils.SEED);
+		_v = BenchmarkUtils.createMatrix(cols, 1, 1.0, BenchmarkUtils.SEED+1);
+		_u = BenchmarkUtils.createMatrix(1, rows, 1.0, BenchmarkUtils.SEED+2);
+		_cX = new CompressedMatrixBlock(_X);
+		_cX.compress(_k);
+		
+		_abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+			new AggregateOperator(0, Plus.getPlusFnObject()), _k);
+		AggregateUnaryOperator tmp = InstructionUtils.parseBasicAggregateUnaryOperator("uack+");
+		_auop = new AggregateUnaryOperator(tmp.aggOp, tmp.indexFn, _k);
+		_sop = InstructionUtils.parseScalarBinaryOperator("*", false, _k);
+		_sop.setConstant(2);
+		_uop = new UnaryOperator(Builtin.getBuiltinFnObject("exp"), _k);
+	}
+	
+	@Benchmark
+	public MatrixBlock compress() throws DMLRuntimeException {
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(_X);
+		ret.compress(_k);
+		return ret;
+	}
+	
+	@Benchmark
+	public MatrixBlock decompress() throws DMLRuntimeException {
+		return _cX.decompress(_k);
+	}
+	
+	@Benchmark
+	public MatrixValue matrixVectorMult() throws DMLRuntimeException {
+		return _cX.aggregateBinaryOperations(_cX, _v, new MatrixBlock(), _abop);
+	}
+	
+	@Benchmark
+	public MatrixValue vectorMatrixMult() throws DMLRuntimeException {
+		return _cX.aggregateBinaryOperations(_u, _cX, new MatrixBlock(), _abop);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMultTransposeSelf() throws DMLRuntimeException {
+		return _cX.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, _k);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMultChainXtXv() throws DMLRuntimeException {
+		return _cX.chainMatrixMultOperations(_v, null, new MatrixBlock(), ChainType.XtXv, _k);
+	}
+	
+	@Benchmark
+	public MatrixValue colSums() throws DMLRuntimeException {
+		return _cX.aggregateUnaryOperations(_auop, new MatrixBlock(), rows, cols, null, true);
+	}
+	
+	@Benchmark
+	public MatrixValue scalarMult() throws DMLRuntimeException {
+		return _cX.scalarOperations(_sop, new MatrixBlock());
+	}
+	
+	@Benchmark
+	public MatrixValue unaryExp() throws DMLRuntimeException {
+		return _cX.unaryOperations(_uop, new MatrixBlock());
+	}
+}
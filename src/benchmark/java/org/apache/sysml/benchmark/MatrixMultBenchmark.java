@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.lops.MapMultChain.ChainType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+
+/**
+ * Microbenchmarks of the core matrix multiplication kernels (LibMatrixMult) for 
+ * dense, sparse, and ultra-sparse inputs with single- and multi-threaded execution.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MatrixMultBenchmark 
+{
+	@Param({"10000"})
+	public int rows;
+	
+	@Param({"1000"})
+	public int cols;
+	
+	@Param({"1.0", "0.1", "0.0001"}) //dense, sparse, ultra-sparse
+	public double sparsity;
+	
+	@Param({"1", "-1"}) //single-threaded, all cores
+	public int threads;
+	
+	private MatrixBlock _X = null; //rows x cols
+	private MatrixBlock _Y = null; //cols x 100 dense
+	private MatrixBlock _v = null; //cols x 1 dense
+	private MatrixBlock _w = null; //rows x 1 dense
+	private int _k = -1;
+	private AggregateBinaryOperator _abop = null;
+	
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		_X = BenchmarkUtils.createMatrix(rows, cols, sparsity, BenchmarkUtils.SEED);
+		_Y = BenchmarkUtils.createMatrix(cols, 100, 1.0, BenchmarkUtils.SEED+1);
+		_v = BenchmarkUtils.createMatrix(cols, 1, 1.0, BenchmarkUtils.SEED+2);
+		_w = BenchmarkUtils.createMatrix(rows, 1, 1.0, BenchmarkUtils.SEED+3);
+		_k = BenchmarkUtils.getNumThreads(threads);
+		_abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+			new AggregateOperator(0, Plus.getPlusFnObject()), _k);
+	}
+	
+	@Benchmark
+	public MatrixValue matrixMult() throws DMLRuntimeException {
+		return _X.aggregateBinaryOperations(_X, _Y, new MatrixBlock(), _abop);
+	}
+	
+	@Benchmark
+	public MatrixValue matrixVectorMult() throws DMLRuntimeException {
+		return _X.aggregateBinaryOperations(_X, _v, new MatrixBlock(), _abop);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMultTransposeSelf() throws DMLRuntimeException {
+		return _X.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, _k);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMultChainXtXv() throws DMLRuntimeException {
+		return _X.chainMatrixMultOperations(_v, null, new MatrixBlock(), ChainType.XtXv, _k);
+	}
+	
+	@Benchmark
+	public MatrixBlock matrixMultChainXtwXv() throws DMLRuntimeException {
+		return _X.chainMatrixMultOperations(_v, _w, new MatrixBlock(), ChainType.XtwXv, _k);
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+
+/**
+ * Microbenchmarks of the transpose kernels (LibMatrixReorg) for dense 
+ * and sparse inputs of different shapes.
+ * 
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TransposeBenchmark 
+{
+	@Param({"10000x1000", "1000x10000", "100000x10"})
+	public String shape;
+	
+	@Param({"1.0", "0.1", "0.0001"}) //dense, sparse, ultra-sparse
+	public double sparsity;
+	
+	@Param({"1", "-1"}) //single-threaded, all cores
+	public int threads;
+	
+	private MatrixBlock _X = null;
+	private ReorgOperator _op = null;
+	
+	@Setup
+	public void setup() throws DMLRuntimeException {
+		String[] dims = shape.split("x");
+		_X = BenchmarkUtils.createMatrix(Integer.parseInt(dims[0]), 
+			Integer.parseInt(dims[1]), sparsity, BenchmarkUtils.SEED);
+		_op = new ReorgOperator(SwapIndex.getSwapIndexFnObject(), 
+			BenchmarkUtils.getNumThreads(threads));
+	}
+	
+	@Benchmark
+	public MatrixValue transpose() throws DMLRuntimeException {
+		return _X.reorgOperations(_op, new MatrixBlock(), 0, 0, 0);
+	}
+}
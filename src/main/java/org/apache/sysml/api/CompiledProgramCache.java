@@ -0,0 +1,543 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.HopsException;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.parser.AParserWrapper;
+import org.apache.sysml.parser.DMLProgram;
+import org.apache.sysml.parser.ForStatement;
+import org.apache.sysml.parser.ForStatementBlock;
+import org.apache.sysml.parser.FunctionStatement;
+import org.apache.sysml.parser.FunctionStatementBlock;
+import org.apache.sysml.parser.IfStatement;
+import org.apache.sysml.parser.IfStatementBlock;
+import org.apache.sysml.parser.StatementBlock;
+import org.apache.sysml.parser.WhileStatement;
+import org.apache.sysml.parser.WhileStatementBlock;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.ExternalFunctionProgramBlock;
+import org.apache.sysml.runtime.controlprogram.ForProgramBlock;
+import org.apache.sysml.runtime.controlprogram.FunctionProgramBlock;
+import org.apache.sysml.runtime.controlprogram.IfProgramBlock;
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock;
+import org.apache.sysml.runtime.controlprogram.Program;
+import org.apache.sysml.runtime.controlprogram.ProgramBlock;
+import org.apache.sysml.runtime.controlprogram.WhileProgramBlock;
+import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.utils.Explain.ExplainType;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Persistent on-disk cache of compiled runtime programs for repeated script 
+ * submissions. Entries are keyed by a hash of the script text (including the
+ * content of all sourced scripts), arguments, DML configuration and relevant 
+ * cluster properties, and are additionally validated against the metadata 
+ * of all persistent inputs on lookup. 
+ * 
+ * Since hop DAGs are not serializable, only plans that do not require
+ * dynamic recompilation (and consist of CP instructions only) are cached.
+ * 
+ */
+public class CompiledProgramCache 
+{
+	private static final Log LOG = LogFactory.getLog(CompiledProgramCache.class.getName());
+	
+	private static final String ENTRY_HEADER = "SYSTEMML_PROGRAM_CACHE_V1";
+	private static final String ENTRY_SUFFIX = ".prog";
+	private static final String NO_METADATA = "none";
+	private static final String ENCODING = "UTF-8";
+	
+	//source and setwd statements with quoted paths (dml and pydml)
+	private static final Pattern SOURCE_PATTERN = 
+		Pattern.compile("(source|setwd)\\s*\\(\\s*(\"[^\"]*\"|'[^']*')\\s*\\)");
+	
+	private CompiledProgramCache() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Indicates if the compiled program cache is configured and applicable
+	 * for the current execution context.
+	 * 
+	 * @param conf dml configuration
+	 * @return true if programs may be obtained from or put into the cache
+	 */
+	public static boolean isEnabled( DMLConfig conf ) 
+	{
+		String dir = conf.getTextValue(DMLConfig.PROGRAM_CACHE);
+		return dir != null && !dir.trim().isEmpty()
+			&& DMLScript.EXPLAIN == ExplainType.NONE
+			&& !DMLScript.ENABLE_DEBUG_MODE
+			&& !conf.getBooleanValue(DMLConfig.YARN_APPMASTER)
+			&& !OptimizerUtils.isOptLevel(OptimizerUtils.OptimizationLevel.O4_GLOBAL_TIME_MEMORY);
+	}
+	
+	/**
+	 * Creates the cache key of a script submission.
+	 * 
+	 * @param dmlScriptStr script text
+	 * @param argVals script arguments
+	 * @param parsePyDML true if the script is a pydml script
+	 * @param conf dml configuration
+	 * @return hex-encoded hash of all key components
+	 * @throws DMLRuntimeException
+	 */
+	public static String createKey( String dmlScriptStr, Map<String,String> argVals, boolean parsePyDML, DMLConfig conf ) 
+		throws DMLRuntimeException
+	{
+		StringBuilder sb = new StringBuilder();
+		
+		//script and arguments (sorted for determinism)
+		sb.append(dmlScriptStr);
+		sb.append('\n');
+		rAppendSourcedScripts(dmlScriptStr, sb, new HashSet<String>());
+		sb.append(parsePyDML);
+		sb.append('\n');
+		if( argVals != null )
+			for( Entry<String,String> e : new TreeMap<String,String>(argVals).entrySet() ) {
+				sb.append(e.getKey());
+				sb.append('=');
+				sb.append(e.getValue());
+				sb.append('\n');
+			}
+		
+		//dml configuration (incl optimization level)
+		sb.append(conf.serializeDMLConfig());
+		sb.append('\n');
+		
+		//runtime platform and cluster properties
+		sb.append(DMLScript.rtplatform.name());
+		sb.append('\n');
+		sb.append(DMLScript.USE_ACCELERATOR);
+		sb.append('\n');
+		sb.append(InfrastructureAnalyzer.getLocalMaxMemory());
+		sb.append('\n');
+		sb.append(InfrastructureAnalyzer.getLocalParallelism());
+		sb.append('\n');
+		if( DMLScript.rtplatform == RUNTIME_PLATFORM.HADOOP
+			|| DMLScript.rtplatform == RUNTIME_PLATFORM.HYBRID ) {
+			sb.append(InfrastructureAnalyzer.getRemoteParallelMapTasks());
+			sb.append('\n');
+			sb.append(InfrastructureAnalyzer.getRemoteParallelReduceTasks());
+			sb.append('\n');
+			sb.append(InfrastructureAnalyzer.getRemoteMaxMemoryMap());
+			sb.append('\n');
+			sb.append(InfrastructureAnalyzer.getRemoteMaxMemoryReduce());
+			sb.append('\n');
+		}
+		
+		return hash(sb.toString());
+	}
+	
+	/**
+	 * Obtains the compiled program of the given key, if it exists and all 
+	 * its persistent inputs are unchanged. Invalid entries are removed.
+	 * 
+	 * @param conf dml configuration
+	 * @param key cache key
+	 * @return runtime program or null if not cached
+	 */
+	public static Program getProgram( DMLConfig conf, String key )
+	{
+		File entry = getEntryFile(conf, key);
+		if( !entry.exists() ) {
+			Statistics.incrementProgramCacheMisses();
+			return null;
+		}
+		
+		Program rtprog = null;
+		BufferedReader br = null;
+		try 
+		{
+			br = new BufferedReader(new InputStreamReader(new FileInputStream(entry), ENCODING));
+			
+			//check header and full key (robustness against hash collisions)
+			if( ENTRY_HEADER.equals(br.readLine()) && key.equals(br.readLine()) ) 
+			{
+				String uuid = br.readLine();
+				boolean valid = true;
+				
+				//check metadata of all persistent inputs 
+				int numInputs = Integer.parseInt(br.readLine());
+				for( int i=0; i<numInputs; i++ ) {
+					String[] parts = br.readLine().split("\t");
+					valid &= parts[1].equals(getInputSignature(parts[0]));
+				}
+				
+				if( valid ) {
+					//replace process-specific paths of temporary files
+					String progStr = replaceUUID(br.readLine(), uuid);
+					String pbsStr = replaceUUID(br.readLine(), uuid);
+					rtprog = ProgramConverter.parseProgram(progStr, 0);
+					for( ProgramBlock pb : ProgramConverter.rParseProgramBlocks(pbsStr, rtprog, 0) )
+						rtprog.addProgramBlock(pb);
+				}
+			}
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to read compiled program cache entry '"+entry.getPath()+"'.", ex);
+			rtprog = null;
+		}
+		finally {
+			closeSilently(br);
+		}
+		
+		if( rtprog == null ) {
+			//invalidate stale or corrupted entry
+			if( !entry.delete() )
+				LOG.warn("Failed to delete compiled program cache entry '"+entry.getPath()+"'.");
+			Statistics.incrementProgramCacheMisses();
+		}
+		else {
+			Statistics.incrementProgramCacheHits();
+		}
+		
+		return rtprog;
+	}
+	
+	/**
+	 * Puts the given compiled program into the cache, if it is cacheable.
+	 * 
+	 * @param conf dml configuration
+	 * @param key cache key
+	 * @param prog dml program (for persistent inputs and recompilation flags)
+	 * @param rtprog runtime program
+	 */
+	public static void putProgram( DMLConfig conf, String key, DMLProgram prog, Program rtprog )
+	{
+		try
+		{
+			if( !isCacheable(rtprog) ) {
+				LOG.debug("Compiled program not cacheable.");
+				return;
+			}
+			
+			//collect persistent inputs of the program
+			HashSet<String> inputs = new HashSet<String>();
+			for( String fkey : rtprog.getFunctionProgramBlocks().keySet() )
+				rCollectPersistentInputs(prog.getFunctionStatementBlock(fkey), inputs);
+			for( StatementBlock sb : prog.getStatementBlocks() )
+				rCollectPersistentInputs(sb, inputs);
+			for( String fname : inputs )
+				if( fname.contains("\t") || fname.contains("\n") ) {
+					LOG.debug("Compiled program not cacheable due to input filename '"+fname+"'.");
+					return;
+				}
+			
+			//serialize the runtime program (newlines only used for formatting)
+			String progStr = ProgramConverter.PARFOR_PROG_BEGIN 
+				+ ProgramConverter.serializeProgram(rtprog, rtprog.getProgramBlocks())
+				+ ProgramConverter.PARFOR_PROG_END;
+			String pbsStr = ProgramConverter.PARFOR_PBS_BEGIN
+				+ ProgramConverter.rSerializeProgramBlocks(rtprog.getProgramBlocks())
+				+ ProgramConverter.PARFOR_PBS_END;
+			
+			//write entry to temporary file and move it into place
+			File dir = new File(conf.getTextValue(DMLConfig.PROGRAM_CACHE).trim());
+			if( !dir.exists() && !dir.mkdirs() )
+				throw new IOException("Failed to create compiled program cache directory '"+dir.getPath()+"'.");
+			File entry = getEntryFile(conf, key);
+			File tmp = new File(dir, key + "_" + DMLScript.getUUID() + ".tmp");
+			BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), ENCODING));
+			try {
+				bw.write(ENTRY_HEADER + "\n");
+				bw.write(key + "\n");
+				bw.write(DMLScript.getUUID() + "\n");
+				bw.write(inputs.size() + "\n");
+				for( String fname : inputs )
+					bw.write(fname + "\t" + getInputSignature(fname) + "\n");
+				bw.write(progStr.replace(ProgramConverter.NEWLINE, "") + "\n");
+				bw.write(pbsStr.replace(ProgramConverter.NEWLINE, "") + "\n");
+			}
+			finally {
+				bw.close();
+			}
+			if( (entry.exists() && !entry.delete()) || !tmp.renameTo(entry) ) {
+				if( !tmp.delete() )
+					LOG.warn("Failed to delete temporary file '"+tmp.getPath()+"'.");
+			}
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to write compiled program cache entry.", ex);
+		}
+	}
+	
+	/**
+	 * Indicates if the given runtime program can be serialized and reused
+	 * without the original hop DAGs, i.e., it consists of CP instructions 
+	 * only, contains no parfor or external functions, and requires no 
+	 * dynamic recompilation.
+	 * 
+	 * @param rtprog runtime program
+	 * @return true if cacheable
+	 * @throws HopsException
+	 */
+	public static boolean isCacheable( Program rtprog ) 
+		throws HopsException
+	{
+		boolean ret = true;
+		for( FunctionProgramBlock fpb : rtprog.getFunctionProgramBlocks().values() ) {
+			ret &= !(fpb instanceof ExternalFunctionProgramBlock)
+				&& !(ConfigurationManager.isDynamicRecompilation() && fpb.isRecompileOnce())
+				&& rIsCacheable(fpb.getChildBlocks());
+		}
+		return ret && rIsCacheable(rtprog.getProgramBlocks());
+	}
+	
+	private static boolean rIsCacheable( ArrayList<ProgramBlock> pbs ) 
+		throws HopsException
+	{
+		boolean dynRecompile = ConfigurationManager.isDynamicRecompilation();
+		
+		for( ProgramBlock pb : pbs )
+		{
+			StatementBlock sb = pb.getStatementBlock();
+			if( pb instanceof ParForProgramBlock || pb instanceof ExternalFunctionProgramBlock )
+				return false;
+			else if( pb instanceof WhileProgramBlock ) {
+				WhileProgramBlock wpb = (WhileProgramBlock) pb;
+				if( (dynRecompile && sb != null && ((WhileStatementBlock)sb).requiresPredicateRecompilation())
+					|| !isCacheable(wpb.getPredicate()) || !rIsCacheable(wpb.getChildBlocks()) )
+					return false;
+			}
+			else if( pb instanceof IfProgramBlock ) {
+				IfProgramBlock ipb = (IfProgramBlock) pb;
+				if( (dynRecompile && sb != null && ((IfStatementBlock)sb).requiresPredicateRecompilation())
+					|| !isCacheable(ipb.getPredicate()) || !rIsCacheable(ipb.getChildBlocksIfBody()) 
+					|| (ipb.getChildBlocksElseBody() != null && !rIsCacheable(ipb.getChildBlocksElseBody())) )
+					return false;
+			}
+			else if( pb instanceof ForProgramBlock ) {
+				ForProgramBlock fpb = (ForProgramBlock) pb;
+				ForStatementBlock fsb = (ForStatementBlock) sb;
+				if( (dynRecompile && fsb != null && (fsb.requiresFromRecompilation() 
+						|| fsb.requiresToRecompilation() || fsb.requiresIncrementRecompilation()))
+					|| !isCacheable(fpb.getFromInstructions()) || !isCacheable(fpb.getToInstructions())
+					|| !isCacheable(fpb.getIncrementInstructions()) || !rIsCacheable(fpb.getChildBlocks()) )
+					return false;
+			}
+			else if( pb instanceof FunctionProgramBlock ) {
+				if( !rIsCacheable(((FunctionProgramBlock)pb).getChildBlocks()) )
+					return false;
+			}
+			else {
+				if( (dynRecompile && sb != null && sb.requiresRecompilation())
+					|| !isCacheable(pb.getInstructions()) )
+					return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	private static boolean isCacheable( ArrayList<Instruction> insts ) 
+	{
+		if( insts == null )
+			return true;
+		
+		for( Instruction inst : insts ) {
+			if( !(inst instanceof CPInstruction) )
+				return false;
+			//reject literals that would be modified by the serialization
+			String str = inst.toString();
+			if( str.contains(ProgramConverter.NEWLINE) || str.contains(ProgramConverter.COMPONENTS_DELIM)
+				|| str.contains(ProgramConverter.ELEMENT_DELIM) || str.contains(ProgramConverter.LEVELIN)
+				|| str.contains(ProgramConverter.LEVELOUT) || str.contains(ProgramConverter.PARFOR_CDATA_END) )
+				return false;
+		}
+		
+		return true;
+	}
+	
+	private static void rCollectPersistentInputs( StatementBlock sb, HashSet<String> inputs ) 
+		throws HopsException
+	{
+		if( sb == null )
+			return;
+		
+		if( sb instanceof FunctionStatementBlock ) {
+			FunctionStatement fstmt = (FunctionStatement) sb.getStatement(0);
+			for( StatementBlock csb : fstmt.getBody() )
+				rCollectPersistentInputs(csb, inputs);
+		}
+		else if( sb instanceof WhileStatementBlock ) {
+			WhileStatement wstmt = (WhileStatement) sb.getStatement(0);
+			for( StatementBlock csb : wstmt.getBody() )
+				rCollectPersistentInputs(csb, inputs);
+		}
+		else if( sb instanceof IfStatementBlock ) {
+			IfStatement istmt = (IfStatement) sb.getStatement(0);
+			for( StatementBlock csb : istmt.getIfBody() )
+				rCollectPersistentInputs(csb, inputs);
+			if( istmt.getElseBody() != null )
+				for( StatementBlock csb : istmt.getElseBody() )
+					rCollectPersistentInputs(csb, inputs);
+		}
+		else if( sb instanceof ForStatementBlock ) {
+			ForStatement fstmt = (ForStatement) sb.getStatement(0);
+			for( StatementBlock csb : fstmt.getBody() )
+				rCollectPersistentInputs(csb, inputs);
+		}
+		else if( sb.get_hops() != null ) {
+			HashSet<Long> memo = new HashSet<Long>();
+			for( Hop hop : sb.get_hops() )
+				rCollectPersistentInputs(hop, inputs, memo);
+		}
+	}
+	
+	private static void rCollectPersistentInputs( Hop hop, HashSet<String> inputs, HashSet<Long> memo )
+	{
+		if( memo.contains(hop.getHopID()) )
+			return;
+		
+		if( hop instanceof DataOp && ((DataOp)hop).getDataOpType()==DataOpTypes.PERSISTENTREAD 
+			&& ((DataOp)hop).getFileName() != null )
+			inputs.add(((DataOp)hop).getFileName());
+		
+		for( Hop c : hop.getInput() )
+			rCollectPersistentInputs(c, inputs, memo);
+		memo.add(hop.getHopID());
+	}
+	
+	/**
+	 * Appends the paths and content hashes of all scripts sourced by the given 
+	 * script, recursively, where paths are resolved as in the parser, i.e., 
+	 * relative to the working directory set via setwd in the sourcing script.
+	 * Conservatively, this includes source statements in comments or strings.
+	 * 
+	 * @param script script text
+	 * @param sb key string builder
+	 * @param memo already processed script paths
+	 * @throws DMLRuntimeException
+	 */
+	private static void rAppendSourcedScripts( String script, StringBuilder sb, HashSet<String> memo ) 
+		throws DMLRuntimeException
+	{
+		String workingDir = ".";
+		Matcher m = SOURCE_PATTERN.matcher(script);
+		while( m.find() ) {
+			String path = m.group(2).substring(1, m.group(2).length()-1);
+			if( m.group(1).equals("setwd") ) {
+				workingDir = path;
+				continue;
+			}
+			if( !new File(path).isAbsolute() )
+				path = workingDir + File.separator + path;
+			if( !memo.add(path) )
+				continue;
+			
+			String content = readSourcedScript(path);
+			sb.append(path);
+			sb.append('=');
+			sb.append((content != null) ? hash(content) : NO_METADATA);
+			sb.append('\n');
+			if( content != null )
+				rAppendSourcedScripts(content, sb, memo);
+		}
+	}
+	
+	private static String readSourcedScript( String path ) 
+	{
+		try {
+			if( !path.startsWith("hdfs:") && !path.startsWith("gpfs:") && !new File(path).exists() )
+				return null;
+			return AParserWrapper.readDMLScript(path, LOG);
+		}
+		catch(Exception ex) {
+			//unreadable scripts are reported by the parser
+			return null;
+		}
+	}
+	
+	private static String getInputSignature( String fname ) 
+		throws IOException, DMLRuntimeException
+	{
+		String mtdName = fname + ".mtd";
+		if( !MapReduceTool.existsFileOnHDFS(mtdName) )
+			return NO_METADATA;
+		return hash(MapReduceTool.readStringFromHDFSFile(mtdName));
+	}
+	
+	private static String replaceUUID( String str, String uuid ) {
+		return uuid.equals(DMLScript.getUUID()) ? str :
+			str.replace(Lop.PROCESS_PREFIX + uuid, Lop.PROCESS_PREFIX + DMLScript.getUUID());
+	}
+	
+	private static File getEntryFile( DMLConfig conf, String key ) {
+		return new File(conf.getTextValue(DMLConfig.PROGRAM_CACHE).trim(), key + ENTRY_SUFFIX);
+	}
+	
+	private static String hash( String str ) 
+		throws DMLRuntimeException
+	{
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			byte[] digest = md.digest(str.getBytes(ENCODING));
+			StringBuilder sb = new StringBuilder();
+			for( byte b : digest )
+				sb.append(String.format("%02x", b));
+			return sb.toString();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void closeSilently( BufferedReader br ) {
+		try {
+			if( br != null )
+				br.close();
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to close reader.", ex);
+		}
+	}
+}
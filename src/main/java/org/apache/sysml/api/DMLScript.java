@@ -55,6 +55,7 @@ import org.apache.sysml.hops.HopsException;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.OptimizerUtils.OptimizationLevel;
 import org.apache.sysml.hops.globalopt.GlobalOptimizerWrapper;
+import org.apache.sysml.hops.recompile.RecompilePlanCache;
 import org.apache.sysml.lops.Lop;
 import org.apache.sysml.lops.LopsException;
 import org.apache.sysml.parser.AParserWrapper;
@@ -82,6 +83,7 @@ import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.utils.Explain;
 import org.apache.sysml.utils.Explain.ExplainCounts;
 import org.apache.sysml.utils.Explain.ExplainType;
+import org.apache.sysml.utils.InstructionProfiler;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.DMLAppMasterUtils;
 import org.apache.sysml.yarn.DMLYarnClientProxy;
@@ -103,6 +105,7 @@ public class DMLScript
 	public static boolean USE_LOCAL_SPARK_CONFIG = false; //set default local spark configuration - used for local testing
 	public static String DML_FILE_PATH_ANTLR_PARSER = null;
 	public static ExplainType EXPLAIN = ExplainType.NONE; //default explain
+	public static String PROFILE = null; //default no instruction profile (output filename)
 	
 	public static boolean USE_ACCELERATOR = false;
 	public static boolean FORCE_ACCELERATOR = false;
@@ -133,6 +136,8 @@ public class DMLScript
 			+ "   -exec: <mode> (optional) execution mode (hadoop, singlenode, [hybrid], hybrid_spark)\n"
 			+ "   -explain: <type> (optional) explain plan (hops, [runtime], recompile_hops, recompile_runtime)\n"
 			+ "   -stats: (optional) monitor and report caching/recompilation statistics\n"
+			+ "   -profile: <filename> (optional) write instruction-level profile to local file, as json\n"
+			+ "         (*.json), csv (*.csv) or folded stacks for flame graphs (otherwise), implies -stats\n"
 			+ "   -clean: (optional) cleanup all SystemML working directories (FS, DFS).\n"
 			+ "         All other flags are ignored in this mode. \n"
 			+ "   -config: (optional) use config file <config_filename> (default: use parameter\n"
@@ -276,6 +281,7 @@ public class DMLScript
 		//parse arguments and set execution properties
 		RUNTIME_PLATFORM oldrtplatform = rtplatform; //keep old rtplatform
 		ExplainType oldexplain = EXPLAIN; //keep old explain	
+		String oldprofile = PROFILE; //keep old profile
 		
 		// Reset global flags to avoid errors in test suite
 		ENABLE_DEBUG_MODE = false;
@@ -296,6 +302,10 @@ public class DMLScript
 				}
 				else if( args[i].equalsIgnoreCase("-stats") )
 					STATISTICS = true;
+				else if( args[i].equalsIgnoreCase("-profile") ) {
+					PROFILE = args[++i];
+					STATISTICS = true;
+				}
 				else if ( args[i].equalsIgnoreCase("-exec")) {
 					rtplatform = parseRuntimePlatform(args[++i]);
 					if( rtplatform==null ) 
@@ -378,6 +388,7 @@ public class DMLScript
 			//reset runtime platform and visualize flag
 			rtplatform = oldrtplatform;
 			EXPLAIN = oldexplain;
+			PROFILE = oldprofile;
 		}
 		
 		return true;
@@ -606,53 +617,69 @@ public class DMLScript
 		
 		//Step 3: parse dml script
 		Statistics.startCompileTimer();
-		AParserWrapper parser = AParserWrapper.createParser(parsePyDML);
-		DMLProgram prog = parser.parse(DML_FILE_PATH_ANTLR_PARSER, dmlScriptStr, argVals);
 		
-		//Step 4: construct HOP DAGs (incl LVA and validate)
-		DMLTranslator dmlt = new DMLTranslator(prog);
-		dmlt.liveVariableAnalysis(prog);			
-		dmlt.validateParseTree(prog);
-		dmlt.constructHops(prog);
+		//probe compiled program cache (if configured and applicable)
+		boolean useProgCache = CompiledProgramCache.isEnabled(dmlconf);
+		String progCacheKey = useProgCache ? 
+			CompiledProgramCache.createKey(dmlScriptStr, argVals, parsePyDML, dmlconf) : null;
+		Program rtprog = useProgCache ? 
+			CompiledProgramCache.getProgram(dmlconf, progCacheKey) : null;
+		DMLProgram prog = null;
 		
-		if (LOG.isDebugEnabled()) {
-			LOG.debug("\n********************** HOPS DAG (Before Rewrite) *******************");
-			dmlt.printHops(prog);
-			DMLTranslator.resetHopsDAGVisitStatus(prog);
-		}
+		if( rtprog == null ) 
+		{
+			AParserWrapper parser = AParserWrapper.createParser(parsePyDML);
+			prog = parser.parse(DML_FILE_PATH_ANTLR_PARSER, dmlScriptStr, argVals);
+		
+			//Step 4: construct HOP DAGs (incl LVA and validate)
+			DMLTranslator dmlt = new DMLTranslator(prog);
+			dmlt.liveVariableAnalysis(prog);			
+			dmlt.validateParseTree(prog);
+			dmlt.constructHops(prog);
+		
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("\n********************** HOPS DAG (Before Rewrite) *******************");
+				dmlt.printHops(prog);
+				DMLTranslator.resetHopsDAGVisitStatus(prog);
+			}
 	
-		//Step 5: rewrite HOP DAGs (incl IPA and memory estimates)
-		dmlt.rewriteHopsDAG(prog);
+			//Step 5: rewrite HOP DAGs (incl IPA and memory estimates)
+			dmlt.rewriteHopsDAG(prog);
 		
-		if (LOG.isDebugEnabled()) {
-			LOG.debug("\n********************** HOPS DAG (After Rewrite) *******************");
-			dmlt.printHops(prog);
-			DMLTranslator.resetHopsDAGVisitStatus(prog);
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("\n********************** HOPS DAG (After Rewrite) *******************");
+				dmlt.printHops(prog);
+				DMLTranslator.resetHopsDAGVisitStatus(prog);
 		
-			LOG.debug("\n********************** OPTIMIZER *******************\n" + 
-			          "Level = " + OptimizerUtils.getOptLevel() + "\n"
-					 +"Available Memory = " + ((double)InfrastructureAnalyzer.getLocalMaxMemory()/1024/1024) + " MB" + "\n"
-					 +"Memory Budget = " + ((double)OptimizerUtils.getLocalMemBudget()/1024/1024) + " MB" + "\n");
-		}
+				LOG.debug("\n********************** OPTIMIZER *******************\n" + 
+				          "Level = " + OptimizerUtils.getOptLevel() + "\n"
+						 +"Available Memory = " + ((double)InfrastructureAnalyzer.getLocalMaxMemory()/1024/1024) + " MB" + "\n"
+						 +"Memory Budget = " + ((double)OptimizerUtils.getLocalMemBudget()/1024/1024) + " MB" + "\n");
+			}
 
-		//Step 6: construct lops (incl exec type and op selection)
-		dmlt.constructLops(prog);
+			//Step 6: construct lops (incl exec type and op selection)
+			dmlt.constructLops(prog);
 
-		if (LOG.isDebugEnabled()) {
-			LOG.debug("\n********************** LOPS DAG *******************");
-			dmlt.printLops(prog);
-			dmlt.resetLopsDAGVisitStatus(prog);
-		}
+			if (LOG.isDebugEnabled()) {
+				LOG.debug("\n********************** LOPS DAG *******************");
+				dmlt.printLops(prog);
+				dmlt.resetLopsDAGVisitStatus(prog);
+			}
 		
-		//Step 7: generate runtime program
-		Program rtprog = prog.getRuntimeProgram(dmlconf);
+			//Step 7: generate runtime program
+			rtprog = prog.getRuntimeProgram(dmlconf);
 
-		//Step 8: [optional global data flow optimization]
-		if(OptimizerUtils.isOptLevel(OptimizationLevel.O4_GLOBAL_TIME_MEMORY) ) 
-		{
-			LOG.warn("Optimization level '" + OptimizationLevel.O4_GLOBAL_TIME_MEMORY + "' " +
-					"is still in experimental state and not intended for production use.");
-			rtprog = GlobalOptimizerWrapper.optimizeProgram(prog, rtprog);
+			//Step 8: [optional global data flow optimization]
+			if(OptimizerUtils.isOptLevel(OptimizationLevel.O4_GLOBAL_TIME_MEMORY) ) 
+			{
+				LOG.warn("Optimization level '" + OptimizationLevel.O4_GLOBAL_TIME_MEMORY + "' " +
+						"is still in experimental state and not intended for production use.");
+				rtprog = GlobalOptimizerWrapper.optimizeProgram(prog, rtprog);
+			}
+			
+			//put compiled program into cache (if cacheable)
+			if( useProgCache )
+				CompiledProgramCache.putProgram(dmlconf, progCacheKey, prog, rtprog);
 		}
 		
 		//launch SystemML appmaster (if requested and not already in launched AM)
@@ -689,6 +716,9 @@ public class DMLScript
 		{  
 			initHadoopExecution( dmlconf );
 			
+			//clear recompiled plans of previous scripts in the same jvm
+			RecompilePlanCache.clear();
+			
 			//run execute (w/ exception handling to ensure proper shutdown)
 			ec = ExecutionContextFactory.createContext(rtprog);
 			rtprog.execute( ec );  
@@ -709,7 +739,12 @@ public class DMLScript
 			LOG.info("END DML run " + getDateTime() );
 			
 			//cleanup scratch_space and all working dirs
-			cleanupHadoopExecution( dmlconf );		
+			cleanupHadoopExecution( dmlconf );
+			RecompilePlanCache.clear();
+			
+			//write instruction-level profile (if requested)
+			if( PROFILE != null )
+				InstructionProfiler.writeProfile( PROFILE );
 		}	
 	}		
 	
@@ -799,6 +834,7 @@ public class DMLScript
 		if( STATISTICS ) {
 			CacheStatistics.reset();
 			Statistics.reset();
+			InstructionProfiler.reset();
 		}
 	}
 	
@@ -37,6 +37,7 @@ import org.apache.sysml.conf.CompilerConfig;
 import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.recompile.RecompilePlanCache;
 import org.apache.sysml.hops.rewrite.ProgramRewriter;
 import org.apache.sysml.hops.rewrite.RewriteRemovePersistentReadWrite;
 import org.apache.sysml.parser.AParserWrapper;
@@ -205,12 +206,16 @@ public class Connection implements Closeable
 	
 	/**
 	 * Close connection to SystemML, which clears the
-	 * thread-local DML and compiler configurations.
+	 * thread-local DML and compiler configurations as
+	 * well as cached recompiled plans.
 	 */
 	@Override
 	public void close() {
 		//clear thread-local dml / compiler configs
 		ConfigurationManager.clearLocalConfigs();
+		
+		//clear recompiled plans of prepared scripts
+		RecompilePlanCache.clear();
 	}
 	
 	/**
@@ -28,7 +28,9 @@ import java.util.List;
 import java.util.Map.Entry;
 
 import org.apache.sysml.api.DMLException;
+import org.apache.sysml.conf.CompilerConfig;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysml.runtime.controlprogram.Program;
@@ -36,6 +38,7 @@ import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
@@ -48,6 +51,7 @@ import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.utils.Explain;
 
@@ -65,6 +69,10 @@ public class PreparedScript
 	private Program _prog = null;
 	private LocalVariableMap _vars = null; 
 	
+	//configurations of the preparing thread (for execution in other threads)
+	private DMLConfig _dmlconf = null;
+	private CompilerConfig _cconf = null;
+	
 	/**
 	 * Meant to be invoked only from Connection.
 	 * 
@@ -83,6 +91,48 @@ public class PreparedScript
 		_outVarnames = new HashSet<String>();
 		Collections.addAll(_outVarnames, outputs);
 		_inVarReuse = new HashMap<String, Data>();
+		
+		//keep thread-local configurations of the connection
+		_dmlconf = ConfigurationManager.getDMLConfig();
+		_cconf = ConfigurationManager.getCompilerConfig();
+	}
+	
+	/**
+	 * Copy constructor for cloning, with a fresh symbol table.
+	 * 
+	 * @param that prepared script to copy
+	 * @param prog runtime program of the copy
+	 */
+	private PreparedScript( PreparedScript that, Program prog )
+	{
+		_prog = prog;
+		_vars = new LocalVariableMap();
+		
+		//input/output names are never modified after construction
+		_inVarnames = that._inVarnames;
+		_outVarnames = that._outVarnames;
+		_inVarReuse = new HashMap<String, Data>(that._inVarReuse);
+		
+		_dmlconf = that._dmlconf;
+		_cconf = that._cconf;
+	}
+	
+	/**
+	 * Creates a copy of this prepared script with its own symbol table, 
+	 * which allows binding inputs and executing the copy concurrently with 
+	 * the original script and other copies. Inputs bound with reuse are 
+	 * shared by reference, all other bound inputs are not copied.
+	 * 
+	 * @param deep if {@code true}, create a deep copy of the runtime program, 
+	 *   otherwise share the read-only runtime program
+	 * @return copy of the prepared script
+	 * @throws DMLException
+	 */
+	public PreparedScript clone(boolean deep) 
+		throws DMLException
+	{
+		Program prog = deep ? ProgramConverter.createDeepCopyProgram(_prog) : _prog;
+		return new PreparedScript(this, prog);
 	}
 	
 	/**
@@ -218,6 +268,51 @@ public class PreparedScript
 		setMatrix(varname, DataConverter.convertToMatrixBlock(matrix), reuse);
 	}
 	
+	/**
+	 * Binds a dense matrix to a registered input variable, where the given 
+	 * row-major array is wrapped without copy and must not be modified 
+	 * until the script execution finished.
+	 * 
+	 * @param varname input variable name
+	 * @param data row-major array of length rows*cols
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 * @throws DMLException
+	 */
+	public void setMatrix(String varname, double[] data, int rows, int cols, boolean reuse) 
+		throws DMLException
+	{
+		bindMatrix(varname, new MatrixBlock(rows, cols, data), reuse, false);
+	}
+	
+	/**
+	 * Binds a sparse matrix in CSR format to a registered input variable, 
+	 * where the given arrays are wrapped without copy and must not be 
+	 * modified until the script execution finished.
+	 * 
+	 * @param varname input variable name
+	 * @param rowPtr row pointer array of length rows+1
+	 * @param colIdx column index array (sorted per row)
+	 * @param vals value array
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 * @throws DMLException
+	 */
+	public void setMatrix(String varname, int[] rowPtr, int[] colIdx, double[] vals, int rows, int cols, boolean reuse) 
+		throws DMLException
+	{
+		if( rowPtr == null || rowPtr.length != rows+1 )
+			throw new DMLException("Invalid CSR row pointer array for input variable: "+varname);
+		int nnz = rowPtr[rows];
+		if( colIdx == null || vals == null || colIdx.length < nnz || vals.length < nnz )
+			throw new DMLException("Invalid CSR column index or value array for input variable: "+varname);
+		
+		SparseBlockCSR sblock = new SparseBlockCSR(rowPtr, colIdx, vals, nnz);
+		bindMatrix(varname, new MatrixBlock(rows, cols, nnz, sblock), reuse, false);
+	}
+	
 	/**
 	 * Binds a matrix object to a registered input variable. 
 	 * If reuse requested, then the input is guaranteed to be 
@@ -230,6 +325,20 @@ public class PreparedScript
 	 */
 	public void setMatrix(String varname, MatrixBlock matrix, boolean reuse)
 		throws DMLException
+	{
+		bindMatrix(varname, matrix, reuse, true);
+	}
+	
+	/**
+	 * 
+	 * @param varname input variable name
+	 * @param matrix matrix represented as a MatrixBlock
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 * @param cleanup if {@code false}, the matrix is owned by the caller and never cleaned up
+	 * @throws DMLException
+	 */
+	private void bindMatrix(String varname, MatrixBlock matrix, boolean reuse, boolean cleanup)
+		throws DMLException
 	{
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
@@ -246,6 +355,8 @@ public class PreparedScript
 		
 		//put create matrix wrapper into symbol table
 		_vars.put(varname, mo);
+		if( !cleanup )
+			mo.enableCleanup(false); //prevent reuse of external arrays
 		if( reuse ) {
 			mo.enableCleanup(false); //prevent cleanup
 			_inVarReuse.put(varname, mo);
@@ -327,6 +438,50 @@ public class PreparedScript
 		setFrame(varname, DataConverter.convertToFrameBlock(frame, schema, colnames), reuse);
 	}
 	
+	/**
+	 * Binds a frame to a registered input variable, given as columnar 
+	 * primitive arrays of equal length (String[], boolean[], long[], or double[] 
+	 * for value types STRING, BOOLEAN, INT, and DOUBLE). The arrays are wrapped 
+	 * without copy and must not be modified until the script execution finished.
+	 * 
+	 * @param varname input variable name
+	 * @param columns array of column arrays
+	 * @param colnames frame column names, or null for default names
+	 * @param reuse if {@code true}, preserve value over multiple {@code executeScript} calls
+	 * @throws DMLException
+	 */
+	public void setFrame(String varname, Object[] columns, List<String> colnames, boolean reuse) 
+		throws DMLException
+	{
+		FrameBlock frame = new FrameBlock();
+		try {
+			for( int j=0; j<columns.length; j++ ) {
+				Object col = columns[j];
+				if( col instanceof String[] )
+					frame.appendColumn((String[])col);
+				else if( col instanceof boolean[] )
+					frame.appendColumn((boolean[])col);
+				else if( col instanceof long[] )
+					frame.appendColumn((long[])col);
+				else if( col instanceof double[] )
+					frame.appendColumn((double[])col);
+				else
+					throw new DMLException("Unsupported column array type for input variable "
+						+ varname + ": " + ((col!=null) ? col.getClass().getSimpleName() : "null"));
+			}
+		}
+		catch(RuntimeException ex) { //mismatching column lengths
+			throw new DMLException(ex);
+		}
+		if( colnames != null ) {
+			if( colnames.size() != columns.length )
+				throw new DMLException("Mismatch in number of column names for input variable: "+varname);
+			frame.setColumnNames(colnames);
+		}
+		
+		setFrame(varname, frame, reuse);
+	}
+	
 	/**
 	 * Binds a frame object to a registered input variable. 
 	 * If reuse requested, then the input is guaranteed to be 
@@ -382,6 +537,13 @@ public class PreparedScript
 		for( Entry<String,Data> e : _inVarReuse.entrySet() )
 			_vars.put(e.getKey(), e.getValue());
 		
+		//set thread-local configurations of the connection
+		//(required for execution in arbitrary threads)
+		if( _dmlconf != null )
+			ConfigurationManager.setLocalConfig(_dmlconf);
+		if( _cconf != null )
+			ConfigurationManager.setLocalConfig(_cconf);
+		
 		//create and populate execution context
 		ExecutionContext ec = ExecutionContextFactory.createContext(_prog);	
 		ec.setVariables(_vars);
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.api.jmlc;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysml.api.DMLException;
+
+/**
+ * Thread-safe pool of copies of a prepared (precompiled) script, which allows 
+ * many threads to score concurrently while compiling the script only once. 
+ * Each acquired copy has its own runtime program and symbol table; inputs that 
+ * were bound with reuse to the template (e.g., models) are shared by all copies.
+ * 
+ * <pre>
+ * PreparedScript ps = conn.prepareScript(script, inputs, outputs, false);
+ * ps.setMatrix("W", W, true);
+ * PreparedScriptPool pool = new PreparedScriptPool(ps, 16);
+ * ...
+ * PreparedScript ps2 = pool.acquire();
+ * try {
+ *    ps2.setMatrix("X", X);
+ *    ResultVariables rs = ps2.executeScript();
+ * }
+ * finally {
+ *    pool.release(ps2);
+ * }
+ * </pre>
+ */
+public class PreparedScriptPool 
+{
+	private final PreparedScript _template;
+	private final boolean _deep;
+	private final int _maxIdle;
+	
+	private final ConcurrentLinkedQueue<PreparedScript> _idle;
+	private final AtomicInteger _numIdle;
+	
+	/**
+	 * Creates a pool of deep copies of the given prepared script.
+	 * 
+	 * @param template prepared script to copy
+	 * @param maxIdle maximum number of idle copies kept in the pool
+	 */
+	public PreparedScriptPool(PreparedScript template, int maxIdle) {
+		this(template, maxIdle, true);
+	}
+	
+	/**
+	 * Creates a pool of copies of the given prepared script.
+	 * 
+	 * @param template prepared script to copy
+	 * @param maxIdle maximum number of idle copies kept in the pool
+	 * @param deep if {@code true}, each copy has its own runtime program
+	 */
+	public PreparedScriptPool(PreparedScript template, int maxIdle, boolean deep) {
+		_template = template;
+		_deep = deep;
+		_maxIdle = Math.max(maxIdle, 0);
+		_idle = new ConcurrentLinkedQueue<PreparedScript>();
+		_numIdle = new AtomicInteger(0);
+	}
+	
+	/**
+	 * Creates the given number of idle copies upfront in order 
+	 * to avoid copy overheads on first requests.
+	 * 
+	 * @param num number of copies
+	 * @throws DMLException
+	 */
+	public void prepare(int num) 
+		throws DMLException 
+	{
+		for( int i=0; i<num; i++ )
+			release(_template.clone(_deep));
+	}
+	
+	/**
+	 * Obtains an idle copy of the prepared script or creates a new copy 
+	 * if none is available. The copy is exclusively owned by the caller 
+	 * until it is returned via {@link #release(PreparedScript)}.
+	 * 
+	 * @return prepared script with empty symbol table
+	 * @throws DMLException
+	 */
+	public PreparedScript acquire() 
+		throws DMLException 
+	{
+		PreparedScript ret = _idle.poll();
+		if( ret != null ) {
+			_numIdle.decrementAndGet();
+			return ret;
+		}
+		return _template.clone(_deep);
+	}
+	
+	/**
+	 * Returns a previously acquired copy to the pool, which clears 
+	 * all bound parameters. Copies beyond the maximum number of 
+	 * idle copies are dropped.
+	 * 
+	 * @param script prepared script obtained via {@link #acquire()}
+	 */
+	public void release(PreparedScript script) {
+		if( script == null || script == _template )
+			return;
+		script.clearParameters();
+		if( _numIdle.incrementAndGet() <= _maxIdle )
+			_idle.offer(script);
+		else
+			_numIdle.decrementAndGet();
+	}
+	
+	/**
+	 * Gets the current number of idle copies.
+	 * 
+	 * @return number of idle copies
+	 */
+	public int getNumIdle() {
+		return _numIdle.get();
+	}
+	
+	/**
+	 * Drops all idle copies.
+	 */
+	public void clear() {
+		while( _idle.poll() != null )
+			_numIdle.decrementAndGet();
+	}
+}
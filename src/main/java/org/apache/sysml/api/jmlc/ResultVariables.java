@@ -19,6 +19,7 @@
 
 package org.apache.sysml.api.jmlc;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Set;
 
@@ -96,6 +97,64 @@ public class ResultVariables
 		return ret;
 	}
 	
+	/**
+	 * Obtain the matrix block represented by the given output variable,
+	 * without conversion or copy.
+	 * 
+	 * @param varname output variable name
+	 * @return matrix as a MatrixBlock
+	 * @throws DMLException
+	 */
+	public MatrixBlock getMatrixBlock(String varname) 
+		throws DMLException
+	{
+		MatrixObject mo = getMatrixObject(varname);
+		MatrixBlock mb = mo.acquireRead();
+		mo.release();
+		return mb;
+	}
+	
+	/**
+	 * Obtain the matrix represented by the given output variable as a
+	 * row-major array of length rows*cols. For dense outputs, the underlying 
+	 * dense block is returned without copy.
+	 * 
+	 * @param varname output variable name
+	 * @return matrix as a row-major double array
+	 * @throws DMLException
+	 */
+	public double[] getDenseMatrix(String varname) 
+		throws DMLException
+	{
+		MatrixBlock mb = getMatrixBlock(varname);
+		double[] dense = mb.getDenseBlock();
+		long len = (long)mb.getNumRows() * mb.getNumColumns();
+		if( dense != null && dense.length == len )
+			return dense;
+		return DataConverter.convertToDoubleVector(mb);
+	}
+	
+	/**
+	 * 
+	 * @param varname output variable name
+	 * @return matrix object
+	 * @throws DMLException
+	 */
+	private MatrixObject getMatrixObject(String varname) 
+		throws DMLException
+	{
+		if( !_out.containsKey(varname) )
+			throw new DMLException("Non-existent output variable: "+varname);
+		
+		Data dat = _out.get(varname);
+		
+		//basic checks for data type	
+		if( !(dat instanceof MatrixObject) )
+			throw new DMLException("Expected matrix result '"+varname+"' not a matrix.");
+		
+		return (MatrixObject)dat;
+	}
+	
 	/**
 	 * Obtain the frame represented by the given output variable.
 	 * 
@@ -124,6 +183,63 @@ public class ResultVariables
 		return ret;
 	}
 	
+	/**
+	 * Obtain the frame block represented by the given output variable,
+	 * without conversion or copy.
+	 * 
+	 * @param varname output variable name
+	 * @return frame as a FrameBlock
+	 * @throws DMLException
+	 */
+	public FrameBlock getFrameBlock(String varname) 
+		throws DMLException
+	{
+		if( !_out.containsKey(varname) )
+			throw new DMLException("Non-existent output variable: "+varname);
+		
+		Data dat = _out.get(varname);
+		
+		//basic checks for data type	
+		if( !(dat instanceof FrameObject) )
+			throw new DMLException("Expected frame result '"+varname+"' not a frame.");
+		
+		FrameObject fo = (FrameObject)dat;
+		FrameBlock frame = fo.acquireRead();
+		fo.release();
+		return frame;
+	}
+	
+	/**
+	 * Obtain the frame represented by the given output variable as columnar
+	 * primitive arrays (String[], boolean[], long[], or double[] according to 
+	 * the column value types). Column arrays are returned without copy unless 
+	 * their capacity exceeds the number of rows.
+	 * 
+	 * @param varname output variable name
+	 * @return array of column arrays
+	 * @throws DMLException
+	 */
+	public Object[] getFrameColumns(String varname) 
+		throws DMLException
+	{
+		FrameBlock frame = getFrameBlock(varname);
+		int rlen = frame.getNumRows();
+		Object[] ret = new Object[frame.getNumColumns()];
+		for( int j=0; j<ret.length; j++ ) {
+			Object col = frame.getColumn(j);
+			if( col instanceof String[] && ((String[])col).length != rlen )
+				col = Arrays.copyOf((String[])col, rlen);
+			else if( col instanceof boolean[] && ((boolean[])col).length != rlen )
+				col = Arrays.copyOf((boolean[])col, rlen);
+			else if( col instanceof long[] && ((long[])col).length != rlen )
+				col = Arrays.copyOf((long[])col, rlen);
+			else if( col instanceof double[] && ((double[])col).length != rlen )
+				col = Arrays.copyOf((double[])col, rlen);
+			ret[j] = col;
+		}
+		return ret;
+	}
+	
 	/**
 	 * Obtain the double value represented by the given output variable.
 	 * 
@@ -20,6 +20,7 @@
 package org.apache.sysml.hops;
 
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.AppendGAlignedSP;
@@ -62,7 +63,7 @@ import org.apache.sysml.runtime.matrix.mapred.DistributedCacheInput;
  * 		Semantic: align indices (sort), then perform operation
  */
 
-public class BinaryOp extends Hop 
+public class BinaryOp extends Hop implements MultiThreadedHop
 {
 	
 	//we use the full remote memory budget (but reduced by sort buffer), 
@@ -70,6 +71,7 @@ public class BinaryOp extends Hop
 	
 	private Hop.OpOp2 op;
 	private boolean outer = false;
+	private int _maxNumThreads = -1; //-1 for unlimited
 	
 	public static AppendMethod FORCED_APPEND_METHOD = null;
 	public enum AppendMethod { 
@@ -107,6 +109,16 @@ public class BinaryOp extends Hop
 		refreshSizeInformation();
 	}
 
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	public OpOp2 getOp() {
 		return op;
 	}
@@ -250,7 +262,7 @@ public class BinaryOp extends Hop
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					SortKeys.OperationTypes.WithWeights, 
-					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(), 
@@ -283,7 +295,7 @@ public class BinaryOp extends Hop
 					.constructSortByValueLop(
 							combine,
 							SortKeys.OperationTypes.WithWeights,
-							DataType.MATRIX, getValueType(), et);
+							DataType.MATRIX, getValueType(), et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 
 			combine.getOutputParameters().setDimensions(getDim1(),
 					getDim2(), getRowsInBlock(), getColsInBlock(), getNnz());
@@ -317,7 +329,7 @@ public class BinaryOp extends Hop
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
 					SortKeys.OperationTypes.WithWeights, 
-					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et);
+					getInput().get(0).getDataType(), getInput().get(0).getValueType(), et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -349,7 +361,7 @@ public class BinaryOp extends Hop
 		CentralMoment cm = new CentralMoment(
 				getInput().get(0).constructLops(), 
 				getInput().get(1).constructLops(),
-				dt, getValueType(), et);
+				dt, getValueType(), et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 
 		setLineNumbers(cm);
 		
@@ -409,7 +421,7 @@ public class BinaryOp extends Hop
 			CoVariance cov = new CoVariance(
 					getInput().get(0).constructLops(), 
 					getInput().get(1).constructLops(), 
-					getDataType(), getValueType(), et);
+					getDataType(), getValueType(), et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			cov.getOutputParameters().setDimensions(0, 0, 0, 0, -1);
 			setLineNumbers(cov);
 			setLops(cov);
@@ -435,7 +447,7 @@ public class BinaryOp extends Hop
 
 			SortKeys sort = SortKeys.constructSortByValueLop(
 					combine, SortKeys.OperationTypes.WithoutWeights,
-					DataType.MATRIX, ValueType.DOUBLE, et);
+					DataType.MATRIX, ValueType.DOUBLE, et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 
 			combine.getOutputParameters().setDimensions(getDim1(),
 					getDim2(), getRowsInBlock(), getColsInBlock(), getNnz());
@@ -465,12 +477,23 @@ public class BinaryOp extends Hop
 
 			setLops(pick);
 		}
+		else if( et == ExecType.CP && pick_op == PickByCount.OperationTypes.VALUEPICK
+				&& getInput().get(1).getDataType() == DataType.SCALAR )
+		{
+			//single quantile over unsorted input via selection (no sort)
+			PickByCount pick = new PickByCount( getInput().get(0).constructLops(), 
+					getInput().get(1).constructLops(), getDataType(), getValueType(), pick_op, et, true, false);
+			
+			setOutputDimensions(pick);
+			setLineNumbers(pick);
+			setLops(pick);
+		}
 		else //CP/SPARK 
 		{
 			SortKeys sort = SortKeys.constructSortByValueLop(
 								getInput().get(0).constructLops(), 
 								SortKeys.OperationTypes.WithoutWeights, 
-								DataType.MATRIX, ValueType.DOUBLE, et );
+								DataType.MATRIX, ValueType.DOUBLE, et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -587,8 +610,9 @@ public class BinaryOp extends Hop
 				ot = HopsOpOp2LopsU.get(op);
 			
 			
+			int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 			Unary unary1 = new Unary(getInput().get(0).constructLops(),
-						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et);
+						   getInput().get(1).constructLops(), ot, getDataType(), getValueType(), et, k);
 		
 			setOutputDimensions(unary1);
 			setLineNumbers(unary1);
@@ -601,8 +625,9 @@ public class BinaryOp extends Hop
 			ExecType et = optFindExecType();
 			if ( et == ExecType.CP ) 
 			{
+				int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
 				Binary binary = new Binary(getInput().get(0).constructLops(), getInput().get(1).constructLops(), HopsOpOp2LopsB.get(op),
-						getDataType(), getValueType(), et);
+						getDataType(), getValueType(), et, k);
 				
 				setOutputDimensions(binary);
 				setLineNumbers(binary);
@@ -1530,6 +1555,7 @@ public class BinaryOp extends Hop
 		//copy specific attributes
 		ret.op = op;
 		ret.outer = outer;
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -1543,6 +1569,7 @@ public class BinaryOp extends Hop
 		BinaryOp that2 = (BinaryOp)that;
 		return (   op == that2.op
 				&& outer == that2.outer
+				&& _maxNumThreads == that2._maxNumThreads
 				&& getInput().get(0) == that2.getInput().get(0)
 				&& getInput().get(1) == that2.getInput().get(1));
 	}
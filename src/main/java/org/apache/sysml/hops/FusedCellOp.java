@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops;
+
+import java.util.ArrayList;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
+import org.apache.sysml.lops.FusedCell;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.lops.LopsException;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator.CellType;
+
+/**
+ * Fused operator of a chain of cellwise operations (and optional full, row, 
+ * or column sum) over equally-sized matrix and scalar inputs, which is created 
+ * by the fusion rewrite and represented as a postfix cell program (see 
+ * FusedCellOperator). Full aggregates produce a scalar output. This operator 
+ * is only supported in CP and Spark.
+ */
+public class FusedCellOp extends Hop implements MultiThreadedHop
+{
+	private String _program = null;
+	private CellType _cellType = null;
+	private int _maxNumThreads = -1; //-1 for unlimited
+	
+	private FusedCellOp() {
+		//default constructor for clone
+	}
+	
+	public FusedCellOp(String l, DataType dt, ValueType vt, String program, CellType type, ArrayList<Hop> inputs) {
+		super(l, dt, vt);
+		_program = program;
+		_cellType = type;
+		for( Hop in : inputs ) {
+			getInput().add(in);
+			in.getParent().add(this);
+		}
+		
+		//compute unknown dims and nnz
+		refreshSizeInformation();
+	}
+	
+	public String getProgram() {
+		return _program;
+	}
+	
+	public CellType getCellType() {
+		return _cellType;
+	}
+	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
+	@Override
+	public Lop constructLops() 
+		throws HopsException, LopsException 
+	{
+		//return already created lops
+		if( getLops() != null )
+			return getLops();
+		
+		ExecType et = optFindExecType();
+		if( et != ExecType.CP && et != ExecType.SPARK )
+			throw new HopsException(printErrorLocation() + "Unsupported exec type for fused cellwise operations: " + et);
+		
+		Lop[] inputs = new Lop[getInput().size()];
+		for( int i=0; i<inputs.length; i++ )
+			inputs[i] = getInput().get(i).constructLops();
+		
+		int k = OptimizerUtils.getConstrainedNumThreads(_maxNumThreads);
+		FusedCell fcell = new FusedCell(inputs, _program, 
+			_cellType.name(), getDataType(), getValueType(), et, k);
+		setOutputDimensions(fcell);
+		setLineNumbers(fcell);
+		setLops(fcell);
+		
+		//add reblock/checkpoint lops if necessary
+		constructAndSetLopsDataFlowProperties();
+		
+		return getLops();
+	}
+
+	@Override
+	public String getOpString() {
+		return "fcell(" + _cellType.name().toLowerCase() + ")";
+	}
+
+	@Override
+	public boolean allowsAllExecTypes() {
+		return false;
+	}
+
+	@Override
+	protected double computeOutputMemEstimate( long dim1, long dim2, long nnz ) {
+		double sparsity = OptimizerUtils.getSparsity(dim1, dim2, nnz);
+		return OptimizerUtils.estimateSizeExactSparsity(dim1, dim2, sparsity);
+	}
+	
+	@Override
+	protected double computeIntermediateMemEstimate( long dim1, long dim2, long nnz ) {
+		//no materialized intermediates (only row buffers)
+		return 0;
+	}
+	
+	@Override
+	protected long[] inferOutputCharacteristics( MemoTable memo ) 
+	{
+		MatrixCharacteristics[] mc = memo.getAllInputStats(getInput());
+		for( int i=0; i<mc.length; i++ )
+			if( getInput().get(i).getDataType() == DataType.MATRIX && mc[i].dimsKnown() ) {
+				long dim1 = (_cellType==CellType.COL_AGG) ? 1 : mc[i].getRows();
+				long dim2 = (_cellType==CellType.ROW_AGG) ? 1 : mc[i].getCols();
+				return new long[]{dim1, dim2, -1};
+			}
+		return null;
+	}
+
+	@Override
+	protected ExecType optFindExecType() 
+		throws HopsException 
+	{
+		checkAndSetForcedPlatform();
+		
+		if( _etypeForced != null ) {
+			_etype = _etypeForced;
+		}
+		else {
+			if ( OptimizerUtils.isMemoryBasedOptLevel() )
+				_etype = findExecTypeByMemEstimate();
+			else
+				_etype = OptimizerUtils.isSparkExecutionMode() ? ExecType.SPARK : ExecType.CP;
+			
+			//check for valid CP dimensions and matrix size
+			checkAndSetInvalidCPDimsAndSize();
+		}
+		
+		//fused operators are only created for CP and Spark (see rewrite for the 
+		//conditions of fusion), hence there is no fallback for MR exec types 
+		if( _etype == ExecType.MR )
+			throw new HopsException(printErrorLocation() + "Unsupported exec type for fused cellwise operations: " + _etype);
+		
+		//mark for recompile (forever)
+		if( ConfigurationManager.isDynamicRecompilation() && !dimsKnown(true) && _etype==ExecType.SPARK )
+			setRequiresRecompile();
+		
+		return _etype;
+	}
+
+	@Override
+	public void refreshSizeInformation() 
+	{
+		//scalar output of full aggregates
+		if( getDataType() == DataType.SCALAR )
+			return;
+		
+		for( Hop in : getInput() )
+			if( in.getDataType() == DataType.MATRIX && in.dimsKnown() ) {
+				setDim1( (_cellType==CellType.COL_AGG) ? 1 : in.getDim1() );
+				setDim2( (_cellType==CellType.ROW_AGG) ? 1 : in.getDim2() );
+				break;
+			}
+	}
+
+	@Override
+	public Object clone() throws CloneNotSupportedException 
+	{
+		FusedCellOp ret = new FusedCellOp();
+		
+		//copy generic attributes
+		ret.clone(this, false);
+		
+		//copy specific attributes
+		ret._program = _program;
+		ret._cellType = _cellType;
+		ret._maxNumThreads = _maxNumThreads;
+		
+		return ret;
+	}
+
+	@Override
+	public boolean compare( Hop that ) 
+	{
+		if( !(that instanceof FusedCellOp) )
+			return false;
+		
+		FusedCellOp that2 = (FusedCellOp)that;
+		boolean ret = _program.equals(that2._program)
+			&& _cellType == that2._cellType
+			&& _maxNumThreads == that2._maxNumThreads
+			&& getInput().size() == that2.getInput().size();
+		for( int i=0; ret && i<getInput().size(); i++ )
+			ret &= (getInput().get(i) == that2.getInput().get(i));
+		
+		return ret;
+	}
+}
@@ -179,6 +179,35 @@ public class OptimizerUtils
 	 */
 	public static boolean ALLOW_LOOP_UPDATE_IN_PLACE = true;
 	
+	/**
+	 * Enables a specific hop dag rewrite that fuses chains of cellwise operations
+	 * (and optional row aggregates) into fused operators in order to avoid 
+	 * materialized intermediates (in CP and Spark, but not MR).
+	 */
+	public static boolean ALLOW_OPERATOR_FUSION = false;
+	
+	/**
+	 * Enables the streaming two-pass transform encode over csv files in CP, 
+	 * which builds and applies the encoders chunk by chunk without 
+	 * materializing the input frame.
+	 */
+	public static boolean ALLOW_STREAMING_TRANSFORM_ENCODE = true;
+	
+	/**
+	 * Enables the direct construction of frequent control program instructions 
+	 * from lops, which avoids re-parsing the generated instruction strings 
+	 * during compilation and dynamic recompilation.
+	 */
+	public static boolean ALLOW_DIRECT_INSTRUCTION_CONSTRUCTION = true;
+	
+	/**
+	 * Enables the parallel compilation of independent top-level statement blocks 
+	 * and functions, i.e., hop rewrites, memory estimates, lop construction and 
+	 * instruction generation. Inter-procedural analysis and statement block 
+	 * rewrites are still applied sequentially.
+	 */
+	public static boolean ALLOW_PARALLEL_COMPILATION = false;
+	
 	
 	/**
 	 * Specifies a multiplier computing the degree of parallelism of parallel
@@ -976,6 +976,16 @@ public class ParameterizedBuiltinOp extends Hop implements MultiThreadedHop
 						* Math.min(dim1, 1024*1024);
 			}
 		}
+		else if( _op == ParamBuiltinOp.GROUPEDAGG )
+		{
+			//grouped aggregate has additional memory requirements for the group 
+			//indexes per target row and the group buffers of sums and corrections 
+			//(bounded by the output size, i.e., number of groups x target columns)
+			Hop target = getTargetHop();
+			if( target.dimsKnown() && target.getDim1() > 1 )
+				ret = OptimizerUtils.INT_SIZE * target.getDim1()
+					+ 2 * OptimizerUtils.DOUBLE_SIZE * dim1 * dim2;
+		}
 		
 		return ret;
 	}
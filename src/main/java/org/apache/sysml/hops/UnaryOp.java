@@ -164,7 +164,8 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 				}
 				else //default unary 
 				{
-					int k = isCumulativeUnaryOperation() ? OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;					
+					int k = isCumulativeUnaryOperation() || Unary.isMultiThreadedUnaryOp(HopsOpOp1LopsU.get(_op)) ? 
+							OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
 					Unary unary1 = new Unary(input.constructLops(), HopsOpOp1LopsU.get(_op), 
 							                 getDataType(), getValueType(), et, k);
 					setOutputDimensions(unary1);
@@ -197,7 +198,7 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 
 			SortKeys sort = SortKeys.constructSortByValueLop(
 					combine, SortKeys.OperationTypes.WithoutWeights,
-					DataType.MATRIX, ValueType.DOUBLE, et);
+					DataType.MATRIX, ValueType.DOUBLE, et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 
 			combine.getOutputParameters().setDimensions(getDim1(),
 					getDim2(), getRowsInBlock(), getColsInBlock(), getNnz());
@@ -226,11 +227,27 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 
 			return pick;
 		}
+		else if( et == ExecType.CP ) {
+			//median over unsorted input via selection (no sort)
+			PickByCount pick = new PickByCount(
+					getInput().get(0).constructLops(),
+					Data.createLiteralLop(ValueType.DOUBLE, Double.toString(0.5)),
+					getDataType(),
+					getValueType(),
+					PickByCount.OperationTypes.MEDIAN, et, true, false);
+
+			pick.getOutputParameters().setDimensions(getDim1(),
+					getDim2(), getRowsInBlock(), getColsInBlock(), getNnz());
+			setLineNumbers(pick);
+			setLops(pick);
+			
+			return pick;
+		}
 		else {
 			SortKeys sort = SortKeys.constructSortByValueLop(
 								getInput().get(0).constructLops(), 
 								SortKeys.OperationTypes.WithoutWeights, 
-								DataType.MATRIX, ValueType.DOUBLE, et );
+								DataType.MATRIX, ValueType.DOUBLE, et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			sort.getOutputParameters().setDimensions(
 					getInput().get(0).getDim1(),
 					getInput().get(0).getDim2(),
@@ -339,7 +356,7 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 			SortKeys sort = SortKeys.constructSortByValueLop(
 					input.constructLops(), 
 					SortKeys.OperationTypes.WithoutWeights, 
-					DataType.MATRIX, ValueType.DOUBLE, et );
+					DataType.MATRIX, ValueType.DOUBLE, et, OptimizerUtils.getConstrainedNumThreads(_maxNumThreads));
 			sort.getOutputParameters().setDimensions(
 					input.getDim1(),
 					input.getDim2(),
@@ -53,9 +53,11 @@ import org.apache.sysml.runtime.instructions.cp.AggregateTernaryCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.AggregateUnaryCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.BinaryCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DataGenCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.FusedCellCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.MMTSJCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.MultiReturnBuiltinCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.ParameterizedBuiltinCPInstruction;
@@ -597,6 +599,22 @@ public abstract class CostEstimator
 			if( vs[2] == null ) //scalar output
 				vs[2] = _scalarStats;
 		}
+		else if( inst instanceof FusedCellCPInstruction )
+		{
+			FusedCellCPInstruction finst = (FusedCellCPInstruction) inst;
+			//first matrix input as representative of equally-sized inputs
+			for( CPOperand in : finst.getInputs() )
+				if( vs[0] == null && stats.containsKey(in.getName()) )
+					vs[0] = stats.get( in.getName() );
+			vs[1] = _unknownStats;
+			vs[2] = stats.get( finst.output.getName() );
+			attr = new String[]{String.valueOf(finst.getOperator().getProgramLength())};
+			
+			if( vs[0] == null ) //unknown input
+				vs[0] = _unknownStats;
+			if( vs[2] == null ) //unknown output
+				vs[2] = _unknownStats;
+		}
 		else if( inst instanceof ParameterizedBuiltinCPInstruction )
 		{
 			//ParameterizedBuiltinCPInstruction pinst = (ParameterizedBuiltinCPInstruction) inst;
@@ -1030,6 +1030,11 @@ public class CostEstimatorStaticRuntime extends CostEstimator
 					       (((leftSparse) ? d1m * d1n * d1s : d1m * d1n ) +
 					        ((rightSparse) ? d2m * d2n * d2s : d2m * d2n ));
 					
+				case FusedCell: //opcodes: fcell
+					//note: conservatively assumes dense evaluation of all program 
+					//operations over all input cells (w/ args[0] program length)
+					return Integer.parseInt(args[0]) * d1m * d1n;
+					
 				case RelationalBinary: //opcodes: ==, !=, <, >, <=, >=  
 					//note: all relational ops are not sparsesafe
 					return d3m * d3n; //covers all combinations of scalar and matrix  
@@ -0,0 +1,386 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.recompile;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.AggUnaryOp;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.Direction;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
+import org.apache.sysml.hops.Hop.OpOp1;
+import org.apache.sysml.hops.Hop.VisitStatus;
+import org.apache.sysml.hops.IndexingOp;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.UnaryOp;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.utils.Explain.ExplainType;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Bounded LRU cache of recompiled instruction lists, which allows to skip the 
+ * dynamic recompilation of hop dags whose inputs are unchanged with regard to 
+ * a previous recompilation, e.g., in outer loops or repeated JMLC requests. 
+ * Entries are keyed by the identity of the original hop dag (weakly referenced)
+ * and a canonical signature of its inputs in the symbol table: matrix and frame 
+ * dimensions, the number of non-zeros (rounded to 8 significant bits), scalar 
+ * values, the local and remote memory budgets, and the compiler and dml 
+ * configurations. The signature further covers the state of all hops that is 
+ * modified by in-place recompilation or the parfor optimizer (sizes, forced 
+ * exec types, degree of parallelism, and update-in-place). Dags with literal 
+ * replacements that depend on matrix content (e.g., as.scalar(X[i,j]) or 
+ * sum(X) over small matrices) are never cached. The cache is opt-in and
+ * cleared per script execution and jmlc connection.
+ */
+public class RecompilePlanCache 
+{
+	//internal configuration
+	public static boolean ENABLED = false;
+	public static int CACHE_SIZE = 256;
+	
+	//significant bits of number of non-zeros in signatures 
+	private static final int NNZ_SIGNIFICANT_BITS = 8;
+	
+	//cached instruction lists in LRU order
+	private static final LinkedHashMap<PlanKey, ArrayList<Instruction>> _cache = 
+		new LinkedHashMap<PlanKey, ArrayList<Instruction>>(16, 0.75f, true) {
+			private static final long serialVersionUID = -4305431404418532838L;
+			@Override
+			protected boolean removeEldestEntry(Entry<PlanKey, ArrayList<Instruction>> eldest) {
+				return size() > CACHE_SIZE;
+			}
+		};
+	
+	/**
+	 * Indicates if recompilation results can be cached for the given 
+	 * recompilation parameters. Explain of recompiled plans and parfor 
+	 * worker recompilations (thread-local configurations) are excluded. 
+	 * 
+	 * @param inplace
+	 * @param status
+	 * @param tid
+	 * @return
+	 */
+	public static boolean isApplicable(boolean inplace, RecompileStatus status, long tid) {
+		return ENABLED && !inplace && status == null && tid == 0
+			&& DMLScript.EXPLAIN != ExplainType.RECOMPILE_HOPS
+			&& DMLScript.EXPLAIN != ExplainType.RECOMPILE_RUNTIME;
+	}
+	
+	/**
+	 * Creates the key of the given hop dag for the current symbol table.
+	 * 
+	 * @param hops original hop dag (not a deep copy)
+	 * @param vars symbol table
+	 * @return key or null if the dag is not cacheable
+	 */
+	public static PlanKey createKey(ArrayList<Hop> hops, LocalVariableMap vars) 
+	{
+		StringBuilder sb = createSignatureHeader();
+		Hop.resetVisitStatus(hops);
+		for( Hop hop : hops )
+			if( !rAppendSignature(hop, vars, sb) ) {
+				Hop.resetVisitStatus(hops);
+				return null;
+			}
+		Hop.resetVisitStatus(hops);
+		return new PlanKey(hops, sb.toString());
+	}
+	
+	/**
+	 * Creates the key of the given predicate hop dag for the current symbol table.
+	 * 
+	 * @param hops original hop dag (not a deep copy)
+	 * @param vars symbol table
+	 * @return key or null if the dag is not cacheable
+	 */
+	public static PlanKey createKey(Hop hops, LocalVariableMap vars) 
+	{
+		StringBuilder sb = createSignatureHeader();
+		hops.resetVisitStatus();
+		boolean valid = rAppendSignature(hops, vars, sb);
+		hops.resetVisitStatus();
+		return valid ? new PlanKey(hops, sb.toString()) : null;
+	}
+	
+	/**
+	 * Obtains a copy of the cached instruction list for the given key,
+	 * or null if no plan is cached.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	public static ArrayList<Instruction> get(PlanKey key) 
+	{
+		if( key == null )
+			return null;
+		
+		ArrayList<Instruction> inst = null;
+		synchronized( _cache ) {
+			inst = _cache.get(key);
+		}
+		
+		if( DMLScript.STATISTICS ) {
+			if( inst != null )
+				Statistics.incRecompilePlanCacheHits();
+			else
+				Statistics.incRecompilePlanCacheMisses();
+		}
+		
+		//shallow copy to protect the cached list against modifications
+		return (inst != null) ? new ArrayList<Instruction>(inst) : null;
+	}
+	
+	/**
+	 * Puts a copy of the given instruction list into the cache, 
+	 * potentially evicting the least recently used entry. 
+	 * 
+	 * @param key
+	 * @param inst
+	 */
+	public static void put(PlanKey key, ArrayList<Instruction> inst) 
+	{
+		if( key == null )
+			return;
+		
+		synchronized( _cache ) {
+			//remove entries of garbage-collected hop dags
+			Iterator<PlanKey> iter = _cache.keySet().iterator();
+			while( iter.hasNext() )
+				if( iter.next().isStale() )
+					iter.remove();
+			_cache.put(key, new ArrayList<Instruction>(inst));
+		}
+	}
+	
+	/**
+	 * Removes all cached instruction lists of the given hop dag, 
+	 * e.g., after in-place modifications by recompilation.
+	 * 
+	 * @param hops original hop dag (list or predicate root)
+	 */
+	public static void invalidate(Object hops) {
+		synchronized( _cache ) {
+			if( _cache.isEmpty() )
+				return;
+			Iterator<PlanKey> iter = _cache.keySet().iterator();
+			while( iter.hasNext() ) {
+				PlanKey key = iter.next();
+				if( key.isStale() || key.getHops() == hops )
+					iter.remove();
+			}
+		}
+	}
+	
+	/**
+	 * Removes all cached instruction lists.
+	 */
+	public static void clear() {
+		synchronized( _cache ) {
+			_cache.clear();
+		}
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public static int size() {
+		synchronized( _cache ) {
+			return _cache.size();
+		}
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	private static StringBuilder createSignatureHeader() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(DMLScript.rtplatform.name());
+		sb.append('|');
+		sb.append(OptimizerUtils.getLocalMemBudget());
+		sb.append('|');
+		sb.append(OptimizerUtils.getRemoteMemBudgetMap());
+		sb.append('|');
+		sb.append(OptimizerUtils.getRemoteMemBudgetReduce());
+		sb.append('|');
+		
+		//thread-local compiler and dml configurations
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		for( ConfigType type : ConfigType.values() ) {
+			sb.append(cconf.getBool(type) ? '1' : '0');
+			sb.append(cconf.getInt(type));
+		}
+		sb.append('|');
+		sb.append(ConfigurationManager.getDMLConfig().getConfigInfo());
+		sb.append('|');
+		return sb;
+	}
+	
+	/**
+	 * Appends the symbol table entries of all transient reads and writes 
+	 * of the given dag to the signature. 
+	 * 
+	 * @param hop
+	 * @param vars
+	 * @param sb
+	 * @return false if the plan depends on matrix content, otherwise true
+	 */
+	private static boolean rAppendSignature(Hop hop, LocalVariableMap vars, StringBuilder sb) 
+	{
+		if( hop.getVisited() == VisitStatus.DONE )
+			return true;
+		
+		//recursively process children
+		for( Hop c : hop.getInput() )
+			if( !rAppendSignature(c, vars, sb) )
+				return false;
+		
+		//reject content-dependent literal replacement
+		if( isContentDependent(hop) )
+			return false;
+		
+		//append hop state of in-place recompile and parfor optimizer
+		sb.append(hop.getHopID());
+		sb.append('[');
+		sb.append(hop.getDim1() + "x" + hop.getDim2() + "n" + hop.getNnz());
+		if( hop.getForcedExecType() != null )
+			sb.append("e" + hop.getForcedExecType().name());
+		if( hop instanceof MultiThreadedHop )
+			sb.append("k" + ((MultiThreadedHop)hop).getMaxNumThreads());
+		sb.append("u" + hop.getUpdateType().ordinal());
+		sb.append(']');
+		
+		//append symbol table entry of transient reads/writes
+		if( hop instanceof DataOp && ((DataOp)hop).getDataOpType() != DataOpTypes.PERSISTENTREAD ) {
+			Data dat = vars.get(hop.getName());
+			sb.append(hop.getName());
+			sb.append('=');
+			if( dat instanceof MatrixObject ) {
+				MatrixObject mo = (MatrixObject) dat;
+				sb.append("m" + mo.getNumRows() + "x" + mo.getNumColumns() + "n" + roundNnz(mo.getNnz()));
+			}
+			else if( dat instanceof FrameObject ) {
+				FrameObject fo = (FrameObject) dat;
+				sb.append("f" + fo.getNumRows() + "x" + fo.getNumColumns());
+			}
+			else if( dat instanceof ScalarObject ) {
+				ScalarObject so = (ScalarObject) dat;
+				sb.append("s" + so.getValueType().name() + ":" + so.getStringValue());
+			}
+			else if( dat != null ) {
+				return false; //unsupported data type
+			}
+			sb.append(';');
+		}
+		
+		hop.setVisited(VisitStatus.DONE);
+		return true;
+	}
+	
+	/**
+	 * Indicates if the given hop might be replaced by a literal computed from 
+	 * matrix content during recompilation (see LiteralReplacement).
+	 * 
+	 * @param hop
+	 * @return
+	 */
+	private static boolean isContentDependent(Hop hop) 
+	{
+		if( hop.getInput().isEmpty() || hop.getDataType() != DataType.SCALAR )
+			return false;
+		Hop in = hop.getInput().get(0);
+		boolean matrixRead = (in instanceof DataOp || (in instanceof IndexingOp 
+			&& in.getInput().get(0) instanceof DataOp)) && in.getDataType() == DataType.MATRIX;
+		return matrixRead && ((hop instanceof UnaryOp && ((UnaryOp)hop).getOp() == OpOp1.CAST_AS_SCALAR)
+			|| (hop instanceof AggUnaryOp && ((AggUnaryOp)hop).getDirection() == Direction.RowCol));
+	}
+	
+	/**
+	 * Rounds the given number of non-zeros to its most significant bits,
+	 * which retains exact values for empty and small inputs.
+	 * 
+	 * @param nnz
+	 * @return
+	 */
+	private static long roundNnz(long nnz) {
+		if( nnz <= 0 )
+			return nnz;
+		int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(nnz) - NNZ_SIGNIFICANT_BITS);
+		return (nnz >>> shift) << shift;
+	}
+	
+	/**
+	 * Cache key of hop dag identity and input signature. The hop dag is
+	 * weakly referenced in order to not prevent its garbage collection.
+	 */
+	public static class PlanKey 
+	{
+		private final WeakReference<Object> _hops;
+		private final int _hopsHash;
+		private final String _signature;
+		
+		private PlanKey(Object hops, String signature) {
+			_hops = new WeakReference<Object>(hops);
+			_hopsHash = System.identityHashCode(hops);
+			_signature = signature;
+		}
+		
+		private Object getHops() {
+			return _hops.get();
+		}
+		
+		private boolean isStale() {
+			return _hops.get() == null;
+		}
+		
+		@Override
+		public int hashCode() {
+			return 31 * _hopsHash + _signature.hashCode();
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if( !(o instanceof PlanKey) )
+				return false;
+			PlanKey that = (PlanKey) o;
+			Object hops = _hops.get();
+			return hops != null && hops == that._hops.get() 
+				&& _signature.equals(that._signature);
+		}
+	}
+}
@@ -52,6 +52,7 @@ import org.apache.sysml.hops.MemoTable;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.hops.ReorgOp;
 import org.apache.sysml.hops.UnaryOp;
+import org.apache.sysml.hops.recompile.RecompilePlanCache.PlanKey;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.hops.rewrite.ProgramRewriter;
 import org.apache.sysml.lops.CSVReBlock;
@@ -159,11 +160,20 @@ public class Recompiler
 		throws DMLRuntimeException, HopsException, LopsException, IOException
 	{
 		ArrayList<Instruction> newInst = null;
+		PlanKey key = null;
 
 		//need for synchronization as we do temp changes in shared hops/lops
 		//however, we create deep copies for most dags to allow for concurrent recompile
 		synchronized( hops ) 
 		{	
+			// probe plan cache for unchanged inputs 
+			if( RecompilePlanCache.isApplicable(inplace, status, tid) ) {
+				key = RecompilePlanCache.createKey(hops, vars);
+				newInst = RecompilePlanCache.get(key);
+				if( newInst != null )
+					return newInst;
+			}
+			
 			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
 					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
 	
@@ -173,6 +183,9 @@ public class Recompiler
 				hops = deepCopyHopsDag(hops);
 			}
 			else {
+				// invalidate cached plans of modified dag
+				RecompilePlanCache.invalidate(hops);
+				
 				// clear existing lops
 				Hop.resetVisitStatus(hops);
 				for( Hop hopRoot : hops )
@@ -215,6 +228,7 @@ public class Recompiler
 			
 			// generate runtime instructions (incl piggybacking)
 			newInst = dag.getJobs(sb, ConfigurationManager.getDMLConfig());	
+			RecompilePlanCache.put(key, newInst);
 		}
 		
 		// replace thread ids in new instructions
@@ -257,10 +271,19 @@ public class Recompiler
 		throws DMLRuntimeException, HopsException, LopsException, IOException
 	{
 		ArrayList<Instruction> newInst = null;
+		PlanKey key = null;
 
 		//need for synchronization as we do temp changes in shared hops/lops
 		synchronized( hops ) 
 		{	
+			// probe plan cache for unchanged inputs 
+			if( RecompilePlanCache.isApplicable(inplace, status, tid) ) {
+				key = RecompilePlanCache.createKey(hops, vars);
+				newInst = RecompilePlanCache.get(key);
+				if( newInst != null )
+					return newInst;
+			}
+			
 			LOG.debug ("\n**************** Optimizer (Recompile) *************\nMemory Budget = " + 
 					   OptimizerUtils.toMB(OptimizerUtils.getLocalMemBudget()) + " MB");
 
@@ -271,6 +294,9 @@ public class Recompiler
 				hops = deepCopyHopsDag(hops);	
 			}
 			else {
+				// invalidate cached plans of modified dag
+				RecompilePlanCache.invalidate(hops);
+				
 				// clear existing lops
 				hops.resetVisitStatus();
 				rClearLops( hops );	
@@ -304,6 +330,7 @@ public class Recompiler
 			
 			// generate runtime instructions (incl piggybacking)
 			newInst = dag.getJobs(null, ConfigurationManager.getDMLConfig());
+			RecompilePlanCache.put(key, newInst);
 		}
 		
 		// replace thread ids in new instructions
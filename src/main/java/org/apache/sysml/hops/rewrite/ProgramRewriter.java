@@ -20,6 +20,7 @@
 package org.apache.sysml.hops.rewrite;
 
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -38,6 +39,7 @@ import org.apache.sysml.parser.FunctionStatementBlock;
 import org.apache.sysml.parser.IfStatement;
 import org.apache.sysml.parser.IfStatementBlock;
 import org.apache.sysml.parser.LanguageException;
+import org.apache.sysml.parser.ParallelCompilation;
 import org.apache.sysml.parser.ParForStatementBlock;
 import org.apache.sysml.parser.StatementBlock;
 import org.apache.sysml.parser.WhileStatement;
@@ -130,6 +132,8 @@ public class ProgramRewriter
 				_dagRuleSet.add( new RewriteAlgebraicSimplificationDynamic()      ); //dependencies: cse
 				_dagRuleSet.add( new RewriteAlgebraicSimplificationStatic()       ); //dependencies: cse
 			}
+			if( OptimizerUtils.ALLOW_OPERATOR_FUSION )
+				_dagRuleSet.add( new RewriteFuseCellwiseOperators()               ); //dependencies: simplifications
 		}
 		
 		// cleanup after all rewrites applied 
@@ -194,6 +198,17 @@ public class ProgramRewriter
 	{	
 		ProgramRewriteStatus state = new ProgramRewriteStatus();
 		
+		// parallel rewrite of independent hop dags, followed by sequential statement block rewrites
+		ArrayList<StatementBlock> units = ParallelCompilation.getCompilationUnits(dmlp);
+		if( ParallelCompilation.isParallel(units.size()) ) {
+			rewriteStatementBlockHopDAGsParallel(units, state);
+			for (String namespaceKey : dmlp.getNamespaces().keySet())
+				for (FunctionStatementBlock fsblock : dmlp.getFunctionStatementBlocks(namespaceKey).values())
+					rewriteStatementBlock(fsblock, state);
+			dmlp.setStatementBlocks( rewriteStatementBlocks(dmlp.getStatementBlocks(), state) );
+			return state;
+		}
+		
 		// for each namespace, handle function statement blocks
 		for (String namespaceKey : dmlp.getNamespaces().keySet())
 			for (String fname : dmlp.getFunctionStatementBlocks(namespaceKey).keySet())
@@ -214,6 +229,36 @@ public class ProgramRewriter
 		return state;
 	}
 	
+	/**
+	 * Rewrites the hop dags of the given independent statement blocks in parallel,
+	 * where each task uses its own rewrite status, merged into the given status.
+	 * 
+	 * @param sbs
+	 * @param state
+	 * @throws HopsException
+	 */
+	private void rewriteStatementBlockHopDAGsParallel(ArrayList<StatementBlock> sbs, ProgramRewriteStatus state) 
+		throws HopsException
+	{
+		ArrayList<RewriteTask> tasks = new ArrayList<RewriteTask>();
+		for( StatementBlock sb : sbs )
+			tasks.add(new RewriteTask(sb));
+		
+		try {
+			for( ProgramRewriteStatus tstate : ParallelCompilation.execute(tasks) ) {
+				if( tstate.getRemovedBranches() )
+					state.setRemovedBranches();
+				if( tstate.getInjectedCheckpoints() )
+					state.setInjectedCheckpoints();
+				if( tstate.getBlocksize() > 0 )
+					state.setBlocksize(tstate.getBlocksize());
+			}
+		}
+		catch(Exception ex) {
+			throw new HopsException("Failed to rewrite hop dags in parallel.", ex);
+		}
+	}
+	
 	/**
 	 * 
 	 * @param current
@@ -404,4 +449,23 @@ public class ProgramRewriter
 		
 		return ret;
 	}
+	
+	/**
+	 * Task for rewriting the hop dags of a single statement block.
+	 */
+	private class RewriteTask implements Callable<ProgramRewriteStatus>
+	{
+		private final StatementBlock _sb;
+		
+		protected RewriteTask(StatementBlock sb) {
+			_sb = sb;
+		}
+		
+		@Override
+		public ProgramRewriteStatus call() throws Exception {
+			ProgramRewriteStatus state = new ProgramRewriteStatus();
+			rewriteStatementBlockHopDAGs(_sb, state);
+			return state;
+		}
+	}
 }
@@ -209,31 +209,36 @@ public class RewriteConstantFolding extends HopRewriteRule
 		lops.addToDag( dag );	
 		ArrayList<Instruction> inst = dag.getJobs(null, ConfigurationManager.getDMLConfig());
 		
-		//execute instructions
-		ExecutionContext ec = getExecutionContext();
-		ProgramBlock pb = getProgramBlock();
-		pb.setInstructions( inst );
-		
-		pb.execute( ec );
-		
-		//get scalar result (check before invocation) and create literal according
-		//to observed scalar output type (not hop type) for runtime consistency
-		ScalarObject so = (ScalarObject) ec.getVariable(TMP_VARNAME);
+		//execute instructions (synchronized due to the shared runtime, 
+		//e.g., for parallel compilation of independent statement blocks)
 		LiteralOp literal = null;
-		switch( so.getValueType() ){
-			case DOUBLE:  literal = new LiteralOp(so.getDoubleValue()); break;
-			case INT:     literal = new LiteralOp(so.getLongValue()); break;
-			case BOOLEAN: literal = new LiteralOp(so.getBooleanValue()); break;
-			case STRING:  literal = new LiteralOp(so.getStringValue()); break;	
-			default:
-				throw new HopsException("Unsupported literal value type: "+bop.getValueType());
+		synchronized( RewriteConstantFolding.class )
+		{
+			ExecutionContext ec = getExecutionContext();
+			ProgramBlock pb = getProgramBlock();
+			pb.setInstructions( inst );
+			
+			pb.execute( ec );
+			
+			//get scalar result (check before invocation) and create literal according
+			//to observed scalar output type (not hop type) for runtime consistency
+			ScalarObject so = (ScalarObject) ec.getVariable(TMP_VARNAME);
+			switch( so.getValueType() ){
+				case DOUBLE:  literal = new LiteralOp(so.getDoubleValue()); break;
+				case INT:     literal = new LiteralOp(so.getLongValue()); break;
+				case BOOLEAN: literal = new LiteralOp(so.getBooleanValue()); break;
+				case STRING:  literal = new LiteralOp(so.getStringValue()); break;	
+				default:
+					throw new HopsException("Unsupported literal value type: "+bop.getValueType());
+			}
+			
+			pb.setInstructions(null);
+			ec.getVariables().removeAll();
 		}
 		
 		//cleanup
 		tmpWrite.getInput().clear();
 		bop.getParent().remove(tmpWrite);
-		pb.setInstructions(null);
-		ec.getVariables().removeAll();
 		
 		//set literal properties (scalar)
  		literal.setDim1(0);
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.hops.rewrite;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.AggUnaryOp;
+import org.apache.sysml.hops.BinaryOp;
+import org.apache.sysml.hops.FusedCellOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.AggOp;
+import org.apache.sysml.hops.Hop.Direction;
+import org.apache.sysml.hops.Hop.OpOp1;
+import org.apache.sysml.hops.Hop.OpOp2;
+import org.apache.sysml.hops.HopsException;
+import org.apache.sysml.hops.LiteralOp;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.hops.UnaryOp;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator.CellType;
+
+/**
+ * Rule: Fuse cellwise operator chains. Chains of cellwise unary and binary 
+ * operations over equally-sized matrices and scalars (e.g., X * (1 - Y) + 
+ * exp(-Z) / 2) as well as full, row, and column sums (or sums of squares) over 
+ * such chains (e.g., sum((X - Y)^2), rowSums(X * Y), colSums(X != 0)) are 
+ * replaced by a single fused operator, which evaluates a postfix cell program 
+ * in one pass over the inputs and hence avoids materialized intermediates. 
+ * Intermediates with multiple consumers are not fused but become inputs of 
+ * the fused operator.
+ * Sums over products of two or three matrices are left to the existing 
+ * ternary aggregate operator.
+ * 
+ * This rewrite requires known dimensions and is only applied if the fused 
+ * operator can be executed in CP or Spark (i.e., not for MR operations).
+ */
+public class RewriteFuseCellwiseOperators extends HopRewriteRule
+{
+	private static final Log LOG = LogFactory.getLog(RewriteFuseCellwiseOperators.class.getName());
+	
+	//valid unary and binary operators for cellwise fusion
+	private static OpOp1[] LOOKUP_VALID_FUSION_UNARY = new OpOp1[]{OpOp1.ABS, OpOp1.SIN, OpOp1.COS, OpOp1.TAN, 
+		OpOp1.ASIN, OpOp1.ACOS, OpOp1.ATAN, OpOp1.SIGN, OpOp1.SQRT, OpOp1.LOG, OpOp1.EXP, OpOp1.ROUND, 
+		OpOp1.CEIL, OpOp1.FLOOR, OpOp1.SPROP, OpOp1.SIGMOID, OpOp1.SELP};
+	private static OpOp2[] LOOKUP_VALID_FUSION_BINARY = new OpOp2[]{OpOp2.PLUS, OpOp2.MINUS, OpOp2.MULT, 
+		OpOp2.DIV, OpOp2.MODULUS, OpOp2.INTDIV, OpOp2.POW, OpOp2.LESS, OpOp2.LESSEQUAL, OpOp2.GREATER, 
+		OpOp2.GREATEREQUAL, OpOp2.EQUAL, OpOp2.NOTEQUAL, OpOp2.MIN, OpOp2.MAX, OpOp2.MINUS1_MULT};
+	
+	@Override
+	public ArrayList<Hop> rewriteHopDAGs(ArrayList<Hop> roots, ProgramRewriteStatus state) 
+		throws HopsException
+	{
+		if( roots == null || !isFusionApplicable() )
+			return roots;
+		
+		for( Hop h : roots )
+			rule_FuseCellwiseOperators( h );
+		
+		return roots;
+	}
+
+	@Override
+	public Hop rewriteHopDAG(Hop root, ProgramRewriteStatus state) 
+		throws HopsException
+	{
+		if( root == null || !isFusionApplicable() )
+			return root;
+		
+		rule_FuseCellwiseOperators( root );
+		
+		return root;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	private static boolean isFusionApplicable() {
+		return OptimizerUtils.ALLOW_OPERATOR_FUSION
+			&& !DMLScript.USE_ACCELERATOR
+			&& DMLScript.rtplatform != RUNTIME_PLATFORM.HADOOP;
+	}
+	
+	/**
+	 * Top-down traversal in order to fuse maximal chains of cellwise operations.
+	 * 
+	 * @param hop
+	 * @throws HopsException
+	 */
+	private void rule_FuseCellwiseOperators( Hop hop ) 
+		throws HopsException
+	{
+		if( hop.getVisited() == Hop.VisitStatus.DONE )
+			return;
+		
+		for( int i=0; i<hop.getInput().size(); i++ ) {
+			Hop hi = hop.getInput().get(i);
+			hi = fuseCellwiseOperators(hi); //e.g., X*(1-Y)+exp(-Z)/2 -> fcell(X,Y,Z)
+			rule_FuseCellwiseOperators( hi );
+		}
+		
+		hop.setVisited(Hop.VisitStatus.DONE);
+	}
+	
+	/**
+	 * 
+	 * @param hi
+	 * @return
+	 * @throws HopsException
+	 */
+	private Hop fuseCellwiseOperators( Hop hi ) 
+		throws HopsException
+	{
+		//probe full/row/col aggregate over cellwise chain, and cellwise chain 
+		Hop root = null;
+		CellType type = null;
+		if( hi instanceof AggUnaryOp && (((AggUnaryOp)hi).getOp()==AggOp.SUM 
+				|| ((AggUnaryOp)hi).getOp()==AggOp.SUM_SQ)
+			&& hi.dimsKnown() && isFusible(hi.getInput().get(0))
+			&& hi.getInput().get(0).getParent().size()==1 ) 
+		{
+			root = hi.getInput().get(0);
+			type = getAggCellType(((AggUnaryOp)hi).getDirection());
+		}
+		else if( isFusible(hi) ) {
+			root = hi;
+			type = CellType.NO_AGG;
+		}
+		else 
+			return hi;
+		
+		//construct cell program and collect inputs and fused operators
+		StringBuilder program = new StringBuilder();
+		ArrayList<Hop> inputs = new ArrayList<Hop>();
+		ArrayList<Hop> fused = new ArrayList<Hop>();
+		HashMap<Long, Integer> inputPos = new HashMap<Long, Integer>();
+		rConstructCellProgram(root, true, program, inputs, fused, inputPos);
+		
+		//append squaring of cellwise output for sum of squares (e.g., sum((X-Y)^2), 
+		//which has been rewritten to sumSq(X-Y) by the dynamic simplifications)
+		boolean sumSq = (hi instanceof AggUnaryOp && ((AggUnaryOp)hi).getOp()==AggOp.SUM_SQ);
+		if( sumSq ) {
+			appendToken(program, FusedCellOperator.LITERAL_PREFIX + 2.0);
+			appendToken(program, FusedCellOperator.BINARY_PREFIX + getOpcode(OpOp2.POW));
+		}
+		
+		//check for beneficial fusion (at least two cellwise operations or 
+		//cellwise operation and aggregate) and valid memory requirements
+		boolean agg = (type != CellType.NO_AGG);
+		if( fused.size() + (agg?1:0) + (sumSq?1:0) < 2 || !isValidExecutionPlan(hi, root, inputs, fused)
+			|| (type==CellType.FULL_AGG && !sumSq && isTernaryAggregate(fused)) )
+			return hi;
+		
+		//create fused operator and rewire parent-child operators 
+		DataType dt = (type==CellType.FULL_AGG) ? DataType.SCALAR : DataType.MATRIX;
+		FusedCellOp fop = new FusedCellOp(hi.getName(), dt, ValueType.DOUBLE, 
+			program.toString(), type, inputs);
+		HopRewriteUtils.setOutputBlocksizes(fop, hi.getRowsInBlock(), hi.getColsInBlock());
+		HopRewriteUtils.copyLineNumbers(hi, fop);
+		
+		for( Hop p : new ArrayList<Hop>(hi.getParent()) ) {
+			for( int i=0; i<p.getInput().size(); i++ )
+				if( p.getInput().get(i) == hi ) {
+					p.getInput().set(i, fop);
+					fop.getParent().add(p);
+				}
+		}
+		hi.getParent().clear();
+		
+		//remove dangling parent references of fused operators
+		if( agg )
+			HopRewriteUtils.removeAllChildReferences(hi);
+		for( Hop f : fused )
+			HopRewriteUtils.removeAllChildReferences(f);
+		
+		LOG.debug("Applied fuseCellwiseOperators (line "+hi.getBeginLine()+"): "+fop.getProgram());
+		
+		return fop;
+	}
+	
+	/**
+	 * 
+	 * @param dir
+	 * @return
+	 */
+	private static CellType getAggCellType( Direction dir ) {
+		switch( dir ) {
+			case RowCol: return CellType.FULL_AGG;
+			case Row:    return CellType.ROW_AGG;
+			case Col:    return CellType.COL_AGG;
+			default:     return null;
+		}
+	}
+	
+	/**
+	 * Indicates if the fused operations are a product of two or three matrices, 
+	 * for which a full sum is compiled into the ternary aggregate operator.
+	 * 
+	 * @param fused
+	 * @return
+	 */
+	private static boolean isTernaryAggregate( ArrayList<Hop> fused ) 
+	{
+		boolean ret = OptimizerUtils.ALLOW_SUM_PRODUCT_REWRITES && fused.size() <= 2;
+		for( int i=0; ret && i<fused.size(); i++ )
+			ret &= fused.get(i) instanceof BinaryOp 
+				&& ((BinaryOp)fused.get(i)).getOp()==OpOp2.MULT;
+		return ret;
+	}
+	
+	/**
+	 * Recursively constructs the postfix cell program, where fusible single-consumer
+	 * operations are fused while all other operations become inputs (with a single 
+	 * input position per distinct hop). Scalar literals are directly inlined.
+	 * 
+	 * @param hop
+	 * @param root
+	 * @param program
+	 * @param inputs
+	 * @param fused
+	 * @param inputPos
+	 * @throws HopsException
+	 */
+	private void rConstructCellProgram( Hop hop, boolean root, StringBuilder program, ArrayList<Hop> inputs, 
+		ArrayList<Hop> fused, HashMap<Long, Integer> inputPos ) 
+		throws HopsException
+	{
+		if( root || (isFusible(hop) && hop.getParent().size()==1) ) 
+		{
+			//recursively process inputs of fused operation
+			for( Hop in : hop.getInput() )
+				rConstructCellProgram(in, false, program, inputs, fused, inputPos);
+			
+			//append unary or binary operation
+			if( hop instanceof UnaryOp )
+				appendToken(program, FusedCellOperator.UNARY_PREFIX + getOpcode(((UnaryOp)hop).getOp()));
+			else
+				appendToken(program, FusedCellOperator.BINARY_PREFIX + getOpcode(((BinaryOp)hop).getOp()));
+			fused.add(hop);
+		}
+		else if( hop instanceof LiteralOp ) {
+			appendToken(program, FusedCellOperator.LITERAL_PREFIX 
+				+ HopRewriteUtils.getDoubleValue((LiteralOp)hop));
+		}
+		else {
+			Integer pos = inputPos.get(hop.getHopID());
+			if( pos == null ) {
+				pos = inputs.size();
+				inputs.add(hop);
+				inputPos.put(hop.getHopID(), pos);
+			}
+			appendToken(program, FusedCellOperator.INPUT_PREFIX + pos);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param program
+	 * @param token
+	 */
+	private static void appendToken( StringBuilder program, String token ) {
+		if( program.length() > 0 )
+			program.append(FusedCellOperator.TOKEN_DELIM);
+		program.append(token);
+	}
+	
+	/**
+	 * Indicates if the given operator is a cellwise matrix operation with 
+	 * known dimensions, whose matrix inputs have exactly the same dimensions
+	 * (i.e., no matrix-vector broadcasting or outer operations), and whose 
+	 * scalar inputs are numeric. 
+	 * 
+	 * @param hop
+	 * @return
+	 */
+	private static boolean isFusible( Hop hop ) 
+	{
+		boolean ret = hop.getDataType() == DataType.MATRIX && hop.dimsKnown()
+			&& ((hop instanceof UnaryOp && HopRewriteUtils.isValidOp(((UnaryOp)hop).getOp(), LOOKUP_VALID_FUSION_UNARY))
+			 || (hop instanceof BinaryOp && HopRewriteUtils.isValidOp(((BinaryOp)hop).getOp(), LOOKUP_VALID_FUSION_BINARY)));
+		
+		for( int i=0; ret && i<hop.getInput().size(); i++ ) {
+			Hop in = hop.getInput().get(i);
+			ret &= (in.getDataType()==DataType.MATRIX && HopRewriteUtils.isEqualSize(hop, in))
+				|| (in.getDataType()==DataType.SCALAR && in.getValueType()!=ValueType.STRING);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Indicates if the fused operator can be executed in CP or Spark. Chains with
+	 * operations forced to MR are never fused. For hybrid MR plans, we only fuse 
+	 * operations with known dimensions if the fused operator fits into the CP
+	 * memory budget (worst-case estimate of dense inputs and output).
+	 * 
+	 * @param hi
+	 * @param root
+	 * @param inputs
+	 * @param fused
+	 * @return
+	 */
+	private static boolean isValidExecutionPlan( Hop hi, Hop root, ArrayList<Hop> inputs, ArrayList<Hop> fused ) 
+	{
+		if( hi.getForcedExecType() == ExecType.MR )
+			return false;
+		for( Hop f : fused )
+			if( f.getForcedExecType() == ExecType.MR )
+				return false;
+		
+		if( DMLScript.rtplatform != RUNTIME_PLATFORM.HYBRID )
+			return true;
+		
+		if( !root.dimsKnown() )
+			return false;
+		
+		int numMatrices = 1; //output
+		for( Hop in : inputs )
+			numMatrices += (in.getDataType()==DataType.MATRIX) ? 1 : 0;
+		double mem = numMatrices * OptimizerUtils.estimateSize(root.getDim1(), root.getDim2());
+		
+		return mem < OptimizerUtils.getLocalMemBudget();
+	}
+	
+	/**
+	 * 
+	 * @param op
+	 * @return
+	 * @throws HopsException
+	 */
+	private static String getOpcode( OpOp1 op ) 
+		throws HopsException
+	{
+		switch( op ) {
+			case ABS:     return "abs";
+			case SIN:     return "sin";
+			case COS:     return "cos";
+			case TAN:     return "tan";
+			case ASIN:    return "asin";
+			case ACOS:    return "acos";
+			case ATAN:    return "atan";
+			case SIGN:    return "sign";
+			case SQRT:    return "sqrt";
+			case LOG:     return "log";
+			case EXP:     return "exp";
+			case ROUND:   return "round";
+			case CEIL:    return "ceil";
+			case FLOOR:   return "floor";
+			case SPROP:   return "sprop";
+			case SIGMOID: return "sigmoid";
+			case SELP:    return "sel+";
+			default:
+				throw new HopsException("Unsupported unary operation for cellwise fusion: "+op);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param op
+	 * @return
+	 * @throws HopsException
+	 */
+	private static String getOpcode( OpOp2 op ) 
+		throws HopsException
+	{
+		switch( op ) {
+			case PLUS:         return "+";
+			case MINUS:        return "-";
+			case MULT:         return "*";
+			case DIV:          return "/";
+			case MODULUS:      return "%%";
+			case INTDIV:       return "%/%";
+			case POW:          return "^";
+			case LESS:         return "<";
+			case LESSEQUAL:    return "<=";
+			case GREATER:      return ">";
+			case GREATEREQUAL: return ">=";
+			case EQUAL:        return "==";
+			case NOTEQUAL:     return "!=";
+			case MIN:          return "min";
+			case MAX:          return "max";
+			case MINUS1_MULT:  return "1-*";
+			default:
+				throw new HopsException("Unsupported binary operation for cellwise fusion: "+op);
+		}
+	}
+}
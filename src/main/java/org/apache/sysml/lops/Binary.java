@@ -170,6 +170,23 @@ public class Binary extends Lop
 		}
 	}
 	
+	/**
+	 * Indicates if the given matrix-matrix operation is executed as 
+	 * arithmetic or relational cp instruction, which support multi-threading.
+	 * 
+	 * @param op
+	 * @return
+	 */
+	public static boolean isMultiThreadedOp(OperationTypes op) {
+		return op==OperationTypes.ADD || op==OperationTypes.SUBTRACT
+			|| op==OperationTypes.MULTIPLY || op==OperationTypes.MINUS1_MULTIPLY
+			|| op==OperationTypes.DIVIDE || op==OperationTypes.MODULUS 
+			|| op==OperationTypes.INTDIV || op==OperationTypes.POW 
+			|| op==OperationTypes.LESS_THAN || op==OperationTypes.LESS_THAN_OR_EQUALS 
+			|| op==OperationTypes.GREATER_THAN || op==OperationTypes.GREATER_THAN_OR_EQUALS 
+			|| op==OperationTypes.EQUALS || op==OperationTypes.NOT_EQUALS;
+	}
+	
 	@Override
 	public String getInstructions(String input1, String input2, String output) 
 		throws LopsException 
@@ -189,7 +206,11 @@ public class Binary extends Lop
 		sb.append( this.prepOutputOperand(output));
 		
 		//append degree of parallelism for matrix multiplications
-		if( operation == OperationTypes.MATMULT && getExecType()==ExecType.CP ) {
+		//and multi-threaded cellwise arithmetic/relational matrix operations
+		//(scalar-scalar instructions remain unchanged)
+		if( (operation == OperationTypes.MATMULT 
+			|| (isMultiThreadedOp(operation) && getDataType()==DataType.MATRIX)) 
+			&& getExecType()==ExecType.CP ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( numThreads );
 		}
@@ -30,6 +30,8 @@ import org.apache.sysml.parser.Expression.*;
  */
 public class CentralMoment extends Lop 
 {
+	//num threads for cp
+	private int _numThreads = 1;
 	
 	/**
 	 * Constructor to perform central moment.
@@ -69,14 +71,35 @@ public class CentralMoment extends Lop
 	public CentralMoment(Lop input1, Lop input2, DataType dt, ValueType vt, ExecType et) {
 		this(input1, input2, null, dt, vt, et);
 	}
+	
+	public CentralMoment(Lop input1, Lop input2, DataType dt, ValueType vt, ExecType et, int k) {
+		this(input1, input2, null, dt, vt, et, k);
+	}
 
 	public CentralMoment(Lop input1, Lop input2, Lop input3, DataType dt, ValueType vt) {
 		this(input1, input2, input3, dt, vt, ExecType.MR);
 	}
 
 	public CentralMoment(Lop input1, Lop input2, Lop input3, DataType dt, ValueType vt, ExecType et) {
+		this(input1, input2, input3, dt, vt, et, 1);
+	}
+	
+	/**
+	 * Constructor to setup a central moment with the given 
+	 * number of threads (only used for CP).
+	 * 
+	 * @param input1
+	 * @param input2
+	 * @param input3
+	 * @param dt
+	 * @param vt
+	 * @param et
+	 * @param k
+	 */
+	public CentralMoment(Lop input1, Lop input2, Lop input3, DataType dt, ValueType vt, ExecType et, int k) {
 		super(Lop.Type.CentralMoment, dt, vt);
 		init(input1, input2, input3, et);
+		_numThreads = k;
 	}
 
 	@Override
@@ -115,6 +138,12 @@ public class CentralMoment extends Lop
 		
 		sb.append( prepOutputOperand(output));
 		
+		//num threads for cp
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
@@ -143,6 +172,12 @@ public class CentralMoment extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
+		//num threads for cp
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
@@ -31,7 +31,8 @@ import org.apache.sysml.parser.Expression.ValueType;
  */
 public class CoVariance extends Lop 
 {
-
+	//num threads for cp
+	private int _numThreads = 1;
 	
 	/**
 	 * Constructor to perform covariance.
@@ -53,9 +54,31 @@ public class CoVariance extends Lop
 		this(input1, input2, null, dt, vt, et);
 	}
 	
+	public CoVariance(Lop input1, Lop input2, DataType dt, ValueType vt, ExecType et, int k) throws LopsException {
+		this(input1, input2, null, dt, vt, et, k);
+	}
+	
 	public CoVariance(Lop input1, Lop input2, Lop input3, DataType dt, ValueType vt, ExecType et) throws LopsException {
+		this(input1, input2, input3, dt, vt, et, 1);
+	}
+	
+	/**
+	 * Constructor to setup a covariance with the given 
+	 * number of threads (only used for CP).
+	 * 
+	 * @param input1
+	 * @param input2
+	 * @param input3
+	 * @param dt
+	 * @param vt
+	 * @param et
+	 * @param k
+	 * @throws LopsException
+	 */
+	public CoVariance(Lop input1, Lop input2, Lop input3, DataType dt, ValueType vt, ExecType et, int k) throws LopsException {
 		super(Lop.Type.CoVariance, dt, vt);
 		init(input1, input2, input3, et);
+		_numThreads = k;
 	}
 
 	private void init(Lop input1, Lop input2, Lop input3, ExecType et) 
@@ -126,6 +149,12 @@ public class CoVariance extends Lop
 
 		sb.append( this.prepOutputOperand(output));
 		
+		//num threads for cp
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 
@@ -154,6 +183,12 @@ public class CoVariance extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
+		//num threads for cp
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 
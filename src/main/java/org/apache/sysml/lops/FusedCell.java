@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.lops;
+
+import org.apache.sysml.lops.LopProperties.ExecLocation;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.lops.compile.JobType;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+
+
+/**
+ * Lop to perform a fused chain of cellwise operations over an arbitrary 
+ * number of matrix and scalar inputs, given as a postfix cell program.
+ */
+public class FusedCell extends Lop 
+{
+	public static final String OPCODE = "fcell";
+	
+	private String _program = null;
+	private String _cellType = null;
+	private int _numThreads = 1;
+	
+	/**
+	 * 
+	 * @param inputs
+	 * @param program
+	 * @param cellType
+	 * @param dt
+	 * @param vt
+	 * @param et
+	 * @param k
+	 * @throws LopsException
+	 */
+	public FusedCell(Lop[] inputs, String program, String cellType, DataType dt, ValueType vt, ExecType et, int k) 
+		throws LopsException 
+	{
+		super(Lop.Type.FusedCell, dt, vt);
+		_program = program;
+		_cellType = cellType;
+		_numThreads = k;
+		
+		for( Lop in : inputs ) {
+			addInput(in);
+			in.addOutput(this);
+		}
+		
+		boolean breaksAlignment = false;
+		boolean aligner = false;
+		boolean definesMRJob = false;
+		
+		if ( et == ExecType.CP ||  et == ExecType.SPARK ){
+			lps.addCompatibility(JobType.INVALID);
+			lps.setProperties( this.inputs, et, ExecLocation.ControlProgram, breaksAlignment, aligner, definesMRJob );
+		}
+		else {
+			throw new LopsException("Unsupported exec type for fused cellwise operations: "+et);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "Operation = FusedCell";
+	}
+	
+	/**
+	 * Function to generate CP/Spark fused cellwise operations.
+	 * 
+	 * inputs: matrices and scalars in order of input references of the cell program
+	 */
+	@Override
+	public String getInstructions(String[] inputs, String[] outputs) {
+		StringBuilder sb = new StringBuilder();
+		
+		sb.append( getExecType() );
+		sb.append( OPERAND_DELIMITOR );
+		sb.append( OPCODE );
+		sb.append( OPERAND_DELIMITOR );
+		sb.append( _program );
+		sb.append( OPERAND_DELIMITOR );
+		sb.append( _cellType );
+		
+		for( int i=0; i<inputs.length; i++ ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( getInputs().get(i).prepInputOperand(inputs[i]) );
+		}
+		
+		sb.append( OPERAND_DELIMITOR );
+		sb.append( prepOutputOperand(outputs[0]) );
+		
+		//in case of cp, we also compile the number of threads into the instruction
+		if( getExecType() == ExecType.CP ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
+		return sb.toString();
+	}
+}
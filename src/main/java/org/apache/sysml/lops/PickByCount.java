@@ -30,6 +30,7 @@ public class PickByCount extends Lop
 {
 		
 	public static final String OPCODE = "qpick";
+	public static final String OPCODE_SELECT = "qselect"; //unsorted input
 	
 	public enum OperationTypes {
 		VALUEPICK, 
@@ -40,6 +41,7 @@ public class PickByCount extends Lop
 	
 	private OperationTypes operation;
 	private boolean inMemoryInput = false;
+	private boolean sortedInput = true;
 
 	
 	/*
@@ -56,8 +58,26 @@ public class PickByCount extends Lop
 	}
 
 	public PickByCount(Lop input1, Lop input2, DataType dt, ValueType vt, OperationTypes op, ExecType et, boolean inMemoryInput) {
+		this(input1, input2, dt, vt, op, et, inMemoryInput, true);
+	}
+	
+	/**
+	 * Constructor to setup a pick over a sorted (value, weight) input or, if 
+	 * sortedInput is false, via selection over an unsorted column vector (CP only).
+	 * 
+	 * @param input1
+	 * @param input2
+	 * @param dt
+	 * @param vt
+	 * @param op
+	 * @param et
+	 * @param inMemoryInput
+	 * @param sortedInput
+	 */
+	public PickByCount(Lop input1, Lop input2, DataType dt, ValueType vt, OperationTypes op, ExecType et, boolean inMemoryInput, boolean sortedInput) {
 		super(Lop.Type.PickValues, dt, vt);
 		this.inMemoryInput = inMemoryInput;
+		this.sortedInput = sortedInput;
 		init(input1, input2, op, et);
 	}
 
@@ -95,6 +115,14 @@ public class PickByCount extends Lop
 	public OperationTypes getOperationType() {
 		return operation;
 	}
+	
+	public boolean isSortedInput() {
+		return sortedInput;
+	}
+	
+	private String getOpcode() {
+		return sortedInput ? OPCODE : OPCODE_SELECT;
+	}
 
 	/*
 	 * This version of getInstruction() must be called only for valuepick (MR) and rangepick
@@ -118,6 +146,8 @@ public class PickByCount extends Lop
 	 * Example instances:
 	 * valuepick:::temp2:STRING:::0.25:DOUBLE:::Var1:DOUBLE
 	 * valuepick:::temp2:STRING:::Var1:DOUBLE:::Var2:DOUBLE
+	 * 
+	 * Unsorted inputs (selection w/o sort) use the qselect opcode instead of qpick.
 	 */
 	@Override
 	public String getInstructions(String input1, String input2, String output) throws LopsException
@@ -126,7 +156,7 @@ public class PickByCount extends Lop
 		sb.append( getExecType() );
 		sb.append( Lop.OPERAND_DELIMITOR );
 		
-		sb.append( OPCODE );
+		sb.append( getOpcode() );
 		sb.append( OPERAND_DELIMITOR );
 
 		sb.append( getInputs().get(0).prepInputOperand(input1));
@@ -165,7 +195,7 @@ public class PickByCount extends Lop
 		StringBuilder sb = new StringBuilder();
 		sb.append( getExecType() );
 		sb.append( Lop.OPERAND_DELIMITOR );
-		sb.append( OPCODE );
+		sb.append( getOpcode() );
 		sb.append( Lop.OPERAND_DELIMITOR );
 		
 		sb.append( getInputs().get(0).prepInputOperand(input));
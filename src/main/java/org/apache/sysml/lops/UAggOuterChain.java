@@ -42,6 +42,8 @@ public class UAggOuterChain extends Lop
 	private PartialAggregate.DirectionTypes _uaggDir = null;
 	//inner operation
 	private Binary.OperationTypes _binOp             = null;	
+	//num threads for cp
+	private int _numThreads = 1;
 		
 	
 	/**
@@ -54,6 +56,27 @@ public class UAggOuterChain extends Lop
 	 */	
 	public UAggOuterChain(Lop input1, Lop input2, Aggregate.OperationTypes uaop, PartialAggregate.DirectionTypes uadir, Binary.OperationTypes bop, DataType dt, ValueType vt, ExecType et) 
 		throws LopsException 
+	{
+		this(input1, input2, uaop, uadir, bop, dt, vt, et, 1);
+	}
+	
+	/**
+	 * Constructor to setup a unaryagg outer chain with the given
+	 * number of threads (only used for CP).
+	 * 
+	 * @param input1
+	 * @param input2
+	 * @param uaop
+	 * @param uadir
+	 * @param bop
+	 * @param dt
+	 * @param vt
+	 * @param et
+	 * @param k
+	 * @throws LopsException
+	 */
+	public UAggOuterChain(Lop input1, Lop input2, Aggregate.OperationTypes uaop, PartialAggregate.DirectionTypes uadir, Binary.OperationTypes bop, DataType dt, ValueType vt, ExecType et, int k) 
+		throws LopsException 
 	{
 		super(Lop.Type.UaggOuterChain, dt, vt);		
 		addInput(input1);
@@ -65,6 +88,7 @@ public class UAggOuterChain extends Lop
 		_uaggOp = uaop;
 		_uaggDir = uadir;
 		_binOp = bop;
+		_numThreads = k;
 		
 		//setup MR parameters 
 		if( et == ExecType.MR )
@@ -153,6 +177,12 @@ public class UAggOuterChain extends Lop
 		sb.append( getInputs().get(0).prepInputOperand(input2));
 		sb.append(Lop.OPERAND_DELIMITOR);
 		sb.append( this.prepOutputOperand(output));
+		
+		//num threads for cp
+		if( getExecType() == ExecType.CP ) {
+			sb.append(Lop.OPERAND_DELIMITOR);
+			sb.append(_numThreads);
+		}
 				
 		return sb.toString();
 	}
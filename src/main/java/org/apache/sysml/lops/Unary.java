@@ -62,8 +62,13 @@ public class Unary extends Lop
 	 */
 
 	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et) {
+		this(input1, input2, op, dt, vt, et, 1);
+	}
+	
+	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt, ExecType et, int numThreads) {
 		super(Lop.Type.UNARY, dt, vt);
 		init(input1, input2, op, dt, vt, et);
+		_numThreads = numThreads;
 	}
 	
 	public Unary(Lop input1, Lop input2, OperationTypes op, DataType dt, ValueType vt) {
@@ -351,6 +356,44 @@ public class Unary extends Lop
 			|| op==OperationTypes.CUMMAX;
 	}
 	
+	/**
+	 * Indicates if the given unary builtin operation is executed as 
+	 * matrix builtin cp instruction, which supports multi-threading.
+	 * 
+	 * @param op
+	 * @return
+	 */
+	public static boolean isMultiThreadedUnaryOp(OperationTypes op) {
+		return op==OperationTypes.ABS || op==OperationTypes.SIN 
+			|| op==OperationTypes.COS || op==OperationTypes.TAN 
+			|| op==OperationTypes.ASIN || op==OperationTypes.ACOS 
+			|| op==OperationTypes.ATAN || op==OperationTypes.SIGN 
+			|| op==OperationTypes.SQRT || op==OperationTypes.EXP 
+			|| op==OperationTypes.LOG || op==OperationTypes.ROUND 
+			|| op==OperationTypes.CEIL || op==OperationTypes.FLOOR 
+			|| op==OperationTypes.SPROP || op==OperationTypes.SIGMOID 
+			|| op==OperationTypes.SELP;
+	}
+	
+	/**
+	 * Indicates if the given matrix-scalar operation is executed as 
+	 * arithmetic or relational cp instruction, which support multi-threading.
+	 * 
+	 * @param op
+	 * @return
+	 */
+	public static boolean isMultiThreadedOp(OperationTypes op) {
+		return op==OperationTypes.ADD || op==OperationTypes.SUBTRACT 
+			|| op==OperationTypes.SUBTRACT_NZ || op==OperationTypes.MULTIPLY 
+			|| op==OperationTypes.MULTIPLY2 || op==OperationTypes.MINUS1_MULTIPLY
+			|| op==OperationTypes.DIVIDE || op==OperationTypes.MODULUS 
+			|| op==OperationTypes.INTDIV || op==OperationTypes.POW 
+			|| op==OperationTypes.POW2 || op==OperationTypes.LESS_THAN 
+			|| op==OperationTypes.LESS_THAN_OR_EQUALS || op==OperationTypes.GREATER_THAN 
+			|| op==OperationTypes.GREATER_THAN_OR_EQUALS || op==OperationTypes.EQUALS 
+			|| op==OperationTypes.NOT_EQUALS;
+	}
+	
 	@Override
 	public String getInstructions(String input1, String output) 
 		throws LopsException 
@@ -371,8 +414,9 @@ public class Unary extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( prepOutputOperand(output) );
 		
-		//num threads for cumulative cp ops
-		if( getExecType() == ExecType.CP && isCumulativeOp(operation) ) {
+		//num threads for cumulative and builtin cp matrix ops
+		if( getExecType() == ExecType.CP && (isCumulativeOp(operation) 
+			|| (isMultiThreadedUnaryOp(operation) && getInputs().get(0).getDataType()==DataType.MATRIX)) ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _numThreads );
 		}
@@ -414,6 +458,13 @@ public class Unary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
+		//num threads for multi-threaded cp matrix-scalar ops
+		if( getExecType() == ExecType.CP && isMultiThreadedOp(operation) 
+			&& getDataType() == DataType.MATRIX ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _numThreads );
+		}
+		
 		return sb.toString();
 	}
 	
@@ -41,6 +41,7 @@ import org.apache.sysml.hops.HopsException;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.AppendM;
 import org.apache.sysml.lops.BinaryM;
+import org.apache.sysml.lops.BinaryScalar;
 import org.apache.sysml.lops.CombineBinary;
 import org.apache.sysml.lops.Data;
 import org.apache.sysml.lops.PMMJ;
@@ -71,7 +72,9 @@ import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.Instruction.INSTRUCTION_TYPE;
 import org.apache.sysml.runtime.instructions.InstructionParser;
 import org.apache.sysml.runtime.instructions.SPInstructionParser;
+import org.apache.sysml.runtime.instructions.cp.ArithmeticBinaryCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.CPInstruction.CPINSTRUCTION_TYPE;
 import org.apache.sysml.runtime.instructions.MRJobInstruction;
@@ -678,6 +681,51 @@ public class Dag<N extends Lop>
 	}
 	
 	
+	/**
+	 * Method to create the runtime instruction of a simple control program lop.
+	 * Frequent scalar operations are constructed directly from the lop and its 
+	 * inputs, which avoids re-parsing the instruction string (that is still kept
+	 * for explain and the serialization of parfor bodies). All other lops fall 
+	 * back to parsing the generated instruction string.
+	 * 
+	 * @param node
+	 * @param inst_string
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static Instruction createSimpleInstruction(Lop node, String inst_string) 
+		throws DMLRuntimeException 
+	{
+		if( OptimizerUtils.ALLOW_DIRECT_INSTRUCTION_CONSTRUCTION 
+			&& node instanceof BinaryScalar && node.getExecType() == ExecType.CP ) 
+		{
+			String opcode = BinaryScalar.getOpcode(((BinaryScalar)node).getOperationType());
+			if( CPInstructionParser.String2CPInstructionType.get(opcode) == CPINSTRUCTION_TYPE.ArithmeticBinary ) {
+				Instruction inst = ArithmeticBinaryCPInstruction.createScalarInstruction(opcode,
+					createScalarOperand(node.getInputs().get(0)), createScalarOperand(node.getInputs().get(1)),
+					new CPOperand(node.getOutputParameters().getLabel(), node.getValueType(), node.getDataType()),
+					inst_string);
+				if( inst != null )
+					return inst;
+			}
+		}
+		
+		return InstructionParser.parseSingleInstruction(inst_string);
+	}
+	
+	/**
+	 * Creates the control program operand of a scalar input lop, equivalent
+	 * to parsing <code>prepScalarInputOperand(ExecType.CP)</code>.
+	 * 
+	 * @param input
+	 * @return
+	 */
+	private static CPOperand createScalarOperand(Lop input) {
+		boolean isLiteral = (input.getExecLocation() == ExecLocation.Data && ((Data)input).isLiteral());
+		return new CPOperand(input.getOutputParameters().getLabel(), 
+				input.getValueType(), input.getDataType(), isLiteral);
+	}
+	
 	/**
 	 * Determine whether to send <code>node</code> to MR or to process it in the control program.
 	 * It is sent to MR in the following cases:
@@ -1407,6 +1455,17 @@ public class Dag<N extends Lop>
 					
 					inst_string = node.getInstructions(inputs, outputs);
 				}
+				// Fused cellwise lops with arbitrary number of inputs but single output
+				else if ( node.getType() == Lop.Type.FusedCell )
+				{
+					String[] inputs = new String[node.getInputs().size()];
+					int count = 0;
+					for( Lop in : node.getInputs() )
+						inputs[count++] = in.getOutputParameters().getLabel();
+					
+					inst_string = node.getInstructions(inputs, 
+						new String[]{node.getOutputParameters().getLabel()});
+				}
 				else {
 					if ( node.getInputs().isEmpty() ) {
 						// currently, such a case exists only for Rand lop
@@ -1513,7 +1572,7 @@ public class Dag<N extends Lop>
 				try {
 					if( LOG.isTraceEnabled() )
 						LOG.trace("Generating instruction - "+ inst_string);
-					Instruction currInstr = InstructionParser.parseSingleInstruction(inst_string);
+					Instruction currInstr = createSimpleInstruction(node, inst_string);
 					if(currInstr == null) {
 						 throw new LopsException("Error parsing the instruction:" + inst_string);
 					}
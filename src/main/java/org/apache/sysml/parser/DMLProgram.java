@@ -22,6 +22,8 @@ package org.apache.sysml.parser;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -46,6 +48,7 @@ import org.apache.sysml.runtime.controlprogram.WhileProgramBlock;
 import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.instructions.CPInstructionParser;
 import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.utils.Statistics;
 
 
 public class DMLProgram 
@@ -185,31 +188,87 @@ public class DMLProgram
 	
 	public Program getRuntimeProgram(DMLConfig config) throws IOException, LanguageException, DMLRuntimeException, LopsException {
 		
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
 		// constructor resets the set of registered functions
 		Program rtprog = new Program();
 		
-		// for all namespaces, translate function statement blocks into function program blocks
-		for (String namespace : _namespaces.keySet()){
-		
-			for (String fname : getFunctionStatementBlocks(namespace).keySet()){
+		// parallel instruction generation for independent functions and program blocks
+		ArrayList<StatementBlock> units = ParallelCompilation.getCompilationUnits(this);
+		if( ParallelCompilation.isParallel(units.size()) ) {
+			getRuntimeProgramParallel(rtprog, units, config);
+		}
+		else {
+			// for all namespaces, translate function statement blocks into function program blocks
+			for (String namespace : _namespaces.keySet()){
+			
+				for (String fname : getFunctionStatementBlocks(namespace).keySet()){
+					// add program block to program
+					FunctionStatementBlock fsb = getFunctionStatementBlocks(namespace).get(fname);
+					FunctionProgramBlock rtpb = (FunctionProgramBlock)createRuntimeProgramBlock(rtprog, fsb, config);
+					rtprog.addFunctionProgramBlock(namespace, fname, rtpb);
+					rtpb.setRecompileOnce( fsb.isRecompileOnce() );
+				}
+			}
+			
+			// for each top-level block
+			for (StatementBlock sb : _blocks) {
+			
 				// add program block to program
-				FunctionStatementBlock fsb = getFunctionStatementBlocks(namespace).get(fname);
-				FunctionProgramBlock rtpb = (FunctionProgramBlock)createRuntimeProgramBlock(rtprog, fsb, config);
-				rtprog.addFunctionProgramBlock(namespace, fname, rtpb);
-				rtpb.setRecompileOnce( fsb.isRecompileOnce() );
+				ProgramBlock rtpb = createRuntimeProgramBlock(rtprog, sb, config);
+				rtprog.addProgramBlock(rtpb);
 			}
 		}
 		
-		// for each top-level block
-		for (StatementBlock sb : _blocks) {
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCompileInstTime(System.nanoTime()-t0);
 		
-			// add program block to program
-			ProgramBlock rtpb = createRuntimeProgramBlock(rtprog, sb, config);
-			rtprog.addProgramBlock(rtpb);
+		return rtprog ;
+	}
+	
+	/**
+	 * Creates the runtime program blocks of all compilation units in parallel, 
+	 * and adds them to the given runtime program in the original order.
+	 * 
+	 * @param rtprog
+	 * @param units
+	 * @param config
+	 * @throws LanguageException
+	 * @throws LopsException
+	 */
+	private void getRuntimeProgramParallel(final Program rtprog, ArrayList<StatementBlock> units, final DMLConfig config) 
+		throws LanguageException, LopsException 
+	{
+		ArrayList<Callable<ProgramBlock>> tasks = new ArrayList<Callable<ProgramBlock>>();
+		for( final StatementBlock sb : units )
+			tasks.add(new Callable<ProgramBlock>() {
+				@Override
+				public ProgramBlock call() throws Exception {
+					return createRuntimeProgramBlock(rtprog, sb, config);
+				}
+			});
+		
+		ArrayList<ProgramBlock> pbs = null;
+		try {
+			pbs = ParallelCompilation.execute(tasks);
+		}
+		catch(Exception ex) {
+			throw new LopsException("Failed to generate runtime program in parallel.", ex);
 		}
 		
+		// add function program blocks (same order as compilation units)
+		int pos = 0;
+		for (String namespace : _namespaces.keySet()) {
+			for (Entry<String, FunctionStatementBlock> e : getFunctionStatementBlocks(namespace).entrySet()) {
+				FunctionProgramBlock rtpb = (FunctionProgramBlock)pbs.get(pos++);
+				rtprog.addFunctionProgramBlock(namespace, e.getKey(), rtpb);
+				rtpb.setRecompileOnce( e.getValue().isRecompileOnce() );
+			}
+		}
 		
-		return rtprog ;
+		// add top-level program blocks
+		for( ; pos < pbs.size(); pos++ )
+			rtprog.addProgramBlock(pbs.get(pos));
 	}
 	
 	/**
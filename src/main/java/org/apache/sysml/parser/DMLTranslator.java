@@ -23,9 +23,11 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.hops.AggBinaryOp;
 import org.apache.sysml.hops.AggUnaryOp;
@@ -64,6 +66,7 @@ import org.apache.sysml.parser.Expression.ParameterizedBuiltinFunctionOp;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.parser.PrintStatement.PRINTTYPE;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.hops.ConvolutionOp;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.parser.Expression.BuiltinFunctionOp;
@@ -94,6 +97,8 @@ public class DMLTranslator
 	public void validateParseTree(DMLProgram dmlp) 
 		throws LanguageException, ParseException, IOException 
 	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
 		//STEP1: Pre-processing steps for validate - e.g., prepare read-after-write meta data
 		boolean fWriteRead = prepareReadAfterWrite(dmlp, new HashMap<String, DataIdentifier>());
 		
@@ -153,11 +158,14 @@ public class DMLTranslator
 			}	
 		}
 		
-		return;
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCompileValidateTime(System.nanoTime()-t0);
 	}
 
 	public void liveVariableAnalysis(DMLProgram dmlp) throws LanguageException {
 	
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
 		// for each namespace, handle function program blocks -- forward direction
 		for (String namespaceKey : dmlp.getNamespaces().keySet()) {
 			for (String fname: dmlp.getFunctionStatementBlocks(namespaceKey).keySet()) {
@@ -217,8 +225,9 @@ public class DMLTranslator
 				currentLiveOut = sb.analyze(currentLiveOut);
 			}
 		}
-		return;
-
+		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCompileValidateTime(System.nanoTime()-t0);
 	}
 
 	/**
@@ -229,6 +238,8 @@ public class DMLTranslator
 	public void constructHops(DMLProgram dmlp) 
 		throws ParseException, LanguageException 
 	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
 		// Step 1: construct hops for all functions
 		// for each namespace, handle function program blocks
 		for (String namespaceKey : dmlp.getNamespaces().keySet()){		
@@ -244,6 +255,9 @@ public class DMLTranslator
 			StatementBlock current = dmlp.getStatementBlock(i);
 			constructHops(current);
 		}
+		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCompileHopsTime(System.nanoTime()-t0);
 	}
 		
 	/**
@@ -256,6 +270,8 @@ public class DMLTranslator
 	public void rewriteHopsDAG(DMLProgram dmlp) 
 		throws ParseException, LanguageException, HopsException 
 	{
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
 		//apply hop rewrites (static rewrites)
 		ProgramRewriter rewriter = new ProgramRewriter(true, false);
 		rewriter.rewriteProgramHopDAGs(dmlp);
@@ -277,24 +293,53 @@ public class DMLTranslator
 		// subsequently in various optimizations, e.g. CP vs. MR scheduling and parfor.
 		refreshMemEstimates(dmlp);
 		resetHopsDAGVisitStatus(dmlp);
+		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCompileRewriteTime(System.nanoTime()-t0);
 	}
 	
 	
 	public void constructLops(DMLProgram dmlp) throws ParseException, LanguageException, HopsException, LopsException {
 
-		// for each namespace, handle function program blocks handle function 
-		for (String namespaceKey : dmlp.getNamespaces().keySet()){
-			for (String fname: dmlp.getFunctionStatementBlocks(namespaceKey).keySet()) {
-				FunctionStatementBlock current = dmlp.getFunctionStatementBlock(namespaceKey, fname);
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		// parallel lop construction for independent functions and program blocks
+		ArrayList<StatementBlock> units = ParallelCompilation.getCompilationUnits(dmlp);
+		if( ParallelCompilation.isParallel(units.size()) ) {
+			ArrayList<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+			for( final StatementBlock current : units )
+				tasks.add(new Callable<Object>() {
+					@Override
+					public Object call() throws Exception {
+						constructLops(current);
+						return null;
+					}
+				});
+			try {
+				ParallelCompilation.execute(tasks);
+			}
+			catch(Exception ex) {
+				throw new LopsException("Failed to construct lops in parallel.", ex);
+			}
+		}
+		else {
+			// for each namespace, handle function program blocks handle function 
+			for (String namespaceKey : dmlp.getNamespaces().keySet()){
+				for (String fname: dmlp.getFunctionStatementBlocks(namespaceKey).keySet()) {
+					FunctionStatementBlock current = dmlp.getFunctionStatementBlock(namespaceKey, fname);
+					constructLops(current);
+				}
+			}
+			
+			// handle regular program blocks
+			for (int i = 0; i < dmlp.getNumStatementBlocks(); i++) {
+				StatementBlock current = dmlp.getStatementBlock(i);
 				constructLops(current);
 			}
 		}
 		
-		// handle regular program blocks
-		for (int i = 0; i < dmlp.getNumStatementBlocks(); i++) {
-			StatementBlock current = dmlp.getStatementBlock(i);
-			constructLops(current);
-		}
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCompileLopsTime(System.nanoTime()-t0);
 	}
 	
 	/**
@@ -647,6 +692,27 @@ public class DMLTranslator
 
 	public void refreshMemEstimates(DMLProgram dmlp) throws ParseException, LanguageException, HopsException {
 
+		// parallel memory estimates for independent functions and program blocks
+		ArrayList<StatementBlock> units = ParallelCompilation.getCompilationUnits(dmlp);
+		if( ParallelCompilation.isParallel(units.size()) ) {
+			ArrayList<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+			for( final StatementBlock current : units )
+				tasks.add(new Callable<Object>() {
+					@Override
+					public Object call() throws Exception {
+						refreshMemEstimates(current);
+						return null;
+					}
+				});
+			try {
+				ParallelCompilation.execute(tasks);
+			}
+			catch(Exception ex) {
+				throw new HopsException("Failed to refresh memory estimates in parallel.", ex);
+			}
+			return;
+		}
+		
 		// for each namespace, handle function program blocks -- forward direction
 		for (String namespaceKey : dmlp.getNamespaces().keySet()){
 			for (String fname : dmlp.getFunctionStatementBlocks(namespaceKey).keySet()){
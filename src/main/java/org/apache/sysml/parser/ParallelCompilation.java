@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+
+/**
+ * Utility for the parallel compilation of independent compilation units, i.e., 
+ * top-level statement blocks and functions, whose hop rewrites, memory estimates, 
+ * lop construction and instruction generation do not depend on each other. 
+ * Inter-procedural analysis and statement block rewrites (which modify the 
+ * program structure) are always applied sequentially.
+ */
+public class ParallelCompilation 
+{
+	//minimum number of compilation units for parallel compilation
+	private static final int MIN_PAR_UNITS = 4;
+	
+	/**
+	 * Indicates if the given number of independent compilation units 
+	 * should be compiled in parallel.
+	 * 
+	 * @param numUnits
+	 * @return
+	 */
+	public static boolean isParallel(int numUnits) {
+		return OptimizerUtils.ALLOW_PARALLEL_COMPILATION
+			&& numUnits >= MIN_PAR_UNITS
+			&& getNumThreads() > 1;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public static int getNumThreads() {
+		return InfrastructureAnalyzer.getLocalParallelism();
+	}
+	
+	/**
+	 * Obtains all compilation units of the given program, i.e., all function 
+	 * statement blocks followed by the top-level statement blocks.
+	 * 
+	 * @param dmlp
+	 * @return
+	 * @throws LanguageException
+	 */
+	public static ArrayList<StatementBlock> getCompilationUnits(DMLProgram dmlp) 
+		throws LanguageException 
+	{
+		ArrayList<StatementBlock> ret = new ArrayList<StatementBlock>();
+		for( String namespaceKey : dmlp.getNamespaces().keySet() )
+			ret.addAll(dmlp.getFunctionStatementBlocks(namespaceKey).values());
+		ret.addAll(dmlp.getStatementBlocks());
+		return ret;
+	}
+	
+	/**
+	 * Executes the given tasks on a thread pool and returns their results in
+	 * the order of tasks. The thread-local dml and compiler configurations of 
+	 * the calling thread are propagated to all tasks. The first failing task 
+	 * rethrows its original exception.
+	 * 
+	 * @param tasks
+	 * @return
+	 * @throws Exception
+	 */
+	public static <T> ArrayList<T> execute(List<? extends Callable<T>> tasks) 
+		throws Exception
+	{
+		ArrayList<T> ret = new ArrayList<T>();
+		if( tasks.isEmpty() )
+			return ret;
+		
+		//wrap tasks to propagate thread-local configurations
+		DMLConfig dconf = ConfigurationManager.getDMLConfig();
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		ArrayList<CompilationTask<T>> wtasks = new ArrayList<CompilationTask<T>>();
+		for( Callable<T> task : tasks )
+			wtasks.add(new CompilationTask<T>(task, dconf, cconf));
+		
+		ExecutorService pool = Executors.newFixedThreadPool(
+				Math.min(getNumThreads(), tasks.size()));
+		try {
+			List<Future<T>> rtasks = pool.invokeAll(wtasks);
+			for( Future<T> rtask : rtasks )
+				ret.add(rtask.get());
+		}
+		catch(ExecutionException ex) {
+			if( ex.getCause() instanceof Exception )
+				throw (Exception) ex.getCause();
+			throw ex;
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Wrapper task that runs a compilation task with the configurations
+	 * of the thread that issued the parallel compilation.
+	 */
+	private static class CompilationTask<T> implements Callable<T>
+	{
+		private final Callable<T> _task;
+		private final DMLConfig _dconf;
+		private final CompilerConfig _cconf;
+		
+		protected CompilationTask(Callable<T> task, DMLConfig dconf, CompilerConfig cconf) {
+			_task = task;
+			_dconf = dconf;
+			_cconf = cconf;
+		}
+		
+		@Override
+		public T call() throws Exception {
+			if( _dconf != null )
+				ConfigurationManager.setLocalConfig(_dconf);
+			if( _cconf != null )
+				ConfigurationManager.setLocalConfig(_cconf);
+			try {
+				return _task.call();
+			}
+			finally {
+				ConfigurationManager.clearLocalConfigs();
+			}
+		}
+	}
+}
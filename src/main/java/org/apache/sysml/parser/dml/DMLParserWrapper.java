@@ -46,6 +46,7 @@ import org.apache.sysml.parser.common.CustomErrorListener;
 import org.apache.sysml.parser.dml.DmlParser.FunctionStatementContext;
 import org.apache.sysml.parser.dml.DmlParser.ProgramrootContext;
 import org.apache.sysml.parser.dml.DmlParser.StatementContext;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * This is the main entry point for the Antlr4 parser.
@@ -85,7 +86,10 @@ public class DMLParserWrapper extends AParserWrapper
 	 */
 	@Override
 	public DMLProgram parse(String fileName, String dmlScript, Map<String,String> argVals) throws ParseException {
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		DMLProgram prog = doParse(fileName, dmlScript, null, argVals);
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCompileParseTime(System.nanoTime()-t0);
 		
 		return prog;
 	}
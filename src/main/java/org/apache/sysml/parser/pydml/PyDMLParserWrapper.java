@@ -48,6 +48,7 @@ import org.apache.sysml.parser.dml.DMLParserWrapper;
 import org.apache.sysml.parser.pydml.PydmlParser.FunctionStatementContext;
 import org.apache.sysml.parser.pydml.PydmlParser.ProgramrootContext;
 import org.apache.sysml.parser.pydml.PydmlParser.StatementContext;
+import org.apache.sysml.utils.Statistics;
 
 /**
  * Logic of this wrapper is similar to DMLParserWrapper.
@@ -69,7 +70,10 @@ public class PyDMLParserWrapper extends AParserWrapper
 	 */
 	@Override
 	public DMLProgram parse(String fileName, String dmlScript, Map<String,String> argVals) throws ParseException {
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		DMLProgram prog = doParse(fileName, dmlScript, null, argVals);
+		if( DMLScript.STATISTICS )
+			Statistics.incrementCompileParseTime(System.nanoTime()-t0);
 		
 		return prog;
 	}
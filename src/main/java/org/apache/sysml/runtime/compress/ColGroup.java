@@ -28,7 +28,9 @@ import java.util.List;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class that stores information about a column group within a compressed matrix
@@ -250,6 +252,41 @@ public abstract class ColGroup implements Serializable
 	public abstract ColGroup scalarOperation(ScalarOperator op)
 			throws DMLRuntimeException;
 
+	/**
+	 * Perform the specified unary cell operation directly on the compressed 
+	 * column group, without decompressing individual cells if possible.
+	 * 
+	 * @param op
+	 *            unary operation to perform
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException
+	 */
+	public abstract ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Perform the specified binary cell operation with a right-hand-side row 
+	 * vector directly on the compressed column group, without decompressing
+	 * individual cells if possible.
+	 * 
+	 * @param op
+	 *            binary operation to perform
+	 * @param v
+	 *            dense row vector over all columns of the parent block
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException
+	 */
+	public abstract ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Computes the exact number of non-zeros of this column group, 
+	 * which accounts for distinct values that became zero.
+	 * 
+	 * @return number of non-zero cells
+	 */
+	public abstract long getNumberNonZeros();
+
 	/**
 	 * 
 	 * @param op
@@ -31,7 +31,9 @@ import java.util.Map.Entry;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -398,6 +400,84 @@ public abstract class ColGroupBitmap extends ColGroup
 		return ret;
 	}
 
+	/**
+	 * Method for use by subclasses. Applies a unary cell operation to the 
+	 * value metadata stored in the superclass.
+	 * 
+	 * @param op
+	 *            unary operation to perform
+	 * @return transformed copy of value metadata for this column group
+	 * @throws DMLRuntimeException
+	 */
+	protected double[] applyUnaryOp(UnaryOperator op)
+			throws DMLRuntimeException 
+	{
+		//scan over linearized values
+		double[] ret = new double[_values.length];
+		for (int i = 0; i < _values.length; i++) {
+			ret[i] = op.fn.execute(_values[i]);
+		}
+
+		return ret;
+	}
+	
+	/**
+	 * Method for use by subclasses. Applies a binary cell operation with a 
+	 * right-hand-side row vector to the value metadata stored in the superclass.
+	 * 
+	 * @param op
+	 *            binary operation to perform
+	 * @param v
+	 *            dense row vector over all columns of the parent block
+	 * @return transformed copy of value metadata for this column group
+	 * @throws DMLRuntimeException
+	 */
+	protected double[] applyBinaryRowOp(BinaryOperator op, double[] v)
+			throws DMLRuntimeException 
+	{
+		final int numCols = getNumCols();
+		
+		//scan over linearized values (value tuples of numCols)
+		double[] ret = new double[_values.length];
+		for( int i = 0; i < _values.length; i+=numCols )
+			for( int j = 0; j < numCols; j++ )
+				ret[i+j] = op.fn.execute(_values[i+j], v[_colIndexes[j]]);
+		
+		return ret;
+	}
+	
+	/**
+	 * Computes the value tuple that rows of all zeros map to under the given
+	 * binary operation with a right-hand-side row vector.
+	 * 
+	 * @param op
+	 * @param v
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	protected double[] computeZeroTuple(BinaryOperator op, double[] v)
+			throws DMLRuntimeException 
+	{
+		final int numCols = getNumCols();
+		double[] ret = new double[numCols];
+		for( int j = 0; j < numCols; j++ )
+			ret[j] = op.fn.execute(0, v[_colIndexes[j]]);
+		
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param tuple
+	 * @return
+	 */
+	protected static boolean isZeroTuple(double[] tuple) {
+		for( int j = 0; j < tuple.length; j++ )
+			if( tuple[j] != 0 )
+				return false;
+		return true;
+	}
+	
 	/**
 	 * @return the number of distinct sets of values associated with the bitmaps
 	 *         in this column group
@@ -435,6 +515,32 @@ public abstract class ColGroupBitmap extends ColGroup
 	 *         calls.
 	 */
 	public abstract Iterator<Integer> getDecodeIterator(int k);
+	
+	/**
+	 * 
+	 * @param k index of a specific compressed bitmap
+	 * @return number of row offsets in this bitmap
+	 */
+	protected abstract int getNumOffsets(int k);
+	
+	@Override
+	public long getNumberNonZeros() 
+	{
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		
+		long nnz = 0;
+		for( int k=0, valOff=0; k<numVals; k++, valOff+=numCols ) {
+			//count non-zeros of value tuple (e.g., zeros after round)
+			int tnnz = 0;
+			for( int j=0; j<numCols; j++ )
+				tnnz += (_values[valOff+j] != 0) ? 1 : 0;
+			if( tnnz > 0 )
+				nnz += (long)tnnz * getNumOffsets(k);
+		}
+		
+		return nnz;
+	}
 
 	//TODO getDecodeIterator(int k, int rl, int ru)
 
@@ -34,7 +34,9 @@ import org.apache.sysml.runtime.functionobjects.ReduceRow;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -104,6 +106,16 @@ public class ColGroupOLE extends ColGroupBitmap
 		_ptr = bitmapOffs;
 	}
 
+	@Override
+	protected int getNumOffsets(int k) {
+		int boff = _ptr[k];
+		int blen = len(k);
+		int count = 0;
+		for (int bix=0; bix < blen; bix+=_data[boff+bix]+1)
+			count += _data[boff+bix];
+		return count;
+	}
+	
 	@Override
 	public Iterator<Integer> getDecodeIterator(int k) {
 		return new BitmapDecoderOLE(_data, _ptr[k], len(k));
@@ -262,6 +274,65 @@ public class ColGroupOLE extends ColGroupBitmap
 				rvalues, rbitmaps, rbitmapOffs);
 	}
 
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+		throws DMLRuntimeException 
+	{
+		double val0 = op.fn.execute(0);
+		double[] tuple0 = new double[getNumCols()];
+		Arrays.fill(tuple0, val0);
+		
+		return createResultGroup(applyUnaryOp(op), tuple0);
+	}
+	
+	@Override
+	public ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v)
+		throws DMLRuntimeException 
+	{
+		return createResultGroup(applyBinaryRowOp(op, v), 
+				computeZeroTuple(op, v));
+	}
+	
+	/**
+	 * Creates the output column group of a cell operation, given the already 
+	 * transformed distinct values and the value tuple of all-zero rows.
+	 * 
+	 * @param rvalues
+	 * @param tuple0
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private ColGroup createResultGroup(double[] rvalues, double[] tuple0)
+		throws DMLRuntimeException 
+	{
+		//fast path: zero rows remain zero
+		// Note that bitmaps don't change and are shallow-copied
+		if( isZeroTuple(tuple0) ) {
+			return new ColGroupOLE(_colIndexes, _numRows, 
+					rvalues, _data, _ptr);
+		}
+		
+		//slow path: zero rows become non-zero (potentially create new bitmap)
+		//note: for efficiency, we currently don't drop values that become 0
+		boolean[] lind = computeZeroIndicatorVector();
+		int[] loff = computeOffsets(lind);
+		if( loff.length==0 ) { //empty offset list: go back to fast path
+			return new ColGroupOLE(_colIndexes, _numRows, 
+					rvalues, _data, _ptr);
+		}
+		
+		double[] rvalues2 = Arrays.copyOf(rvalues, rvalues.length+tuple0.length);
+		System.arraycopy(tuple0, 0, rvalues2, rvalues.length, tuple0.length);
+		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
+		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
+		
+		return new ColGroupOLE(_colIndexes, _numRows, 
+				rvalues2, rbitmaps, rbitmapOffs);
+	}
+	
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru)
 			throws DMLRuntimeException 
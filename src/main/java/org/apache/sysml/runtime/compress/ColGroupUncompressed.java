@@ -32,7 +32,10 @@ import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysml.runtime.util.SortUtils;
 
 
@@ -319,6 +322,46 @@ public class ColGroupUncompressed extends ColGroup
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException 
+	{
+		//execute unary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.unaryOperations(op, new MatrixBlock());
+
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup binaryRowVectorOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException 
+	{
+		MatrixBlock retContent = null;
+		
+		if( _colIndexes.length == 1 ) {
+			//single column: scalar operation (avoid outer vector-vector semantics)
+			RightScalarOperator sop = new RightScalarOperator(op.fn, v[_colIndexes[0]]);
+			retContent = (MatrixBlock) _data.scalarOperations(sop, new MatrixBlock());
+		}
+		else {
+			//extract relevant entries of row vector and execute binary operations
+			MatrixBlock vect = new MatrixBlock(1, _colIndexes.length, false);
+			for( int j=0; j<_colIndexes.length; j++ )
+				vect.quickSetValue(0, j, v[_colIndexes[j]]);
+			retContent = (MatrixBlock) _data.binaryOperations(op, vect, new MatrixBlock());
+		}
+		
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public long getNumberNonZeros() {
+		return _data.getNonZeros();
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret)
 		throws DMLRuntimeException 
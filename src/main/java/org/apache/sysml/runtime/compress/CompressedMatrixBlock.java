@@ -62,6 +62,7 @@ import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -81,6 +82,7 @@ import org.apache.sysml.runtime.matrix.operators.QuaternaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.IndexRange;
 
 /**
@@ -815,6 +817,175 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return ret;
 	}
 
+	@Override
+	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed unary operations if necessary
+		//(cumulative aggregates are not cellwise and hence not supported)
+		if( !isCompressed() ) {
+			return super.unaryOperations(op, result);
+		}
+		else if( LibMatrixAgg.isSupportedUnaryOperator(op) ) {
+			printDecompressWarning("unaryOperations");
+			MatrixBlock tmp = decompress();
+			return tmp.unaryOperations(op, result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+		
+		// Apply the operation to the distinct values of each column group.
+		// Zero rows are only materialized if the operation maps 0 to non-zero.
+		ret._colGroups = unaryOperations(_colGroups, op);
+		ret.setNonZeros( getNumberNonZeros(ret._colGroups) );
+		
+		return ret;
+	}
+	
+	@Override
+	public void unaryOperationsInPlace(UnaryOperator op) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed unary operations if necessary
+		if( !isCompressed() ) {
+			super.unaryOperationsInPlace(op);
+			return;
+		}
+		else if( LibMatrixAgg.isSupportedUnaryOperator(op) ) {
+			printDecompressWarning("unaryOperationsInPlace");
+			MatrixBlock tmp = decompress();
+			tmp.unaryOperationsInPlace(op);
+			return;
+		}
+		
+		//replace column groups by their transformed counterparts
+		_colGroups = unaryOperations(_colGroups, op);
+		setNonZeros( getNumberNonZeros(_colGroups) );
+	}
+	
+	@Override
+	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed binary operations if necessary
+		MatrixBlock that = (MatrixBlock) thatValue;
+		if( !isCompressed() ) {
+			return super.binaryOperations(op, getUncompressed(thatValue), result);
+		}
+		else if( !isSupportedBinaryRowVector(that) ) {
+			printDecompressWarning("binaryOperations", that);
+			MatrixBlock left = decompress();
+			MatrixBlock right = getUncompressed(thatValue);
+			return left.binaryOperations(op, right, result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+		
+		// Apply the operation to the distinct values of each column group.
+		double[] v = DataConverter.convertToDoubleVector(that);
+		ret._colGroups = binaryRowVectorOperations(_colGroups, op, v);
+		ret.setNonZeros( getNumberNonZeros(ret._colGroups) );
+		
+		return ret;
+	}
+	
+	@Override
+	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed binary operations if necessary
+		MatrixBlock that = (MatrixBlock) thatValue;
+		if( !isCompressed() ) {
+			super.binaryOperationsInPlace(op, getUncompressed(thatValue));
+			return;
+		}
+		else if( !isSupportedBinaryRowVector(that) ) {
+			printDecompressWarning("binaryOperationsInPlace", that);
+			MatrixBlock left = decompress();
+			MatrixBlock right = getUncompressed(thatValue);
+			left.binaryOperationsInPlace(op, right);
+			return;
+		}
+		
+		//replace column groups by their transformed counterparts
+		double[] v = DataConverter.convertToDoubleVector(that);
+		_colGroups = binaryRowVectorOperations(_colGroups, op, v);
+		setNonZeros( getNumberNonZeros(_colGroups) );
+	}
+	
+	/**
+	 * 
+	 * @param groups
+	 * @param op
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static ArrayList<ColGroup> unaryOperations(ArrayList<ColGroup> groups, UnaryOperator op) 
+		throws DMLRuntimeException
+	{
+		ArrayList<ColGroup> ret = new ArrayList<ColGroup>();
+		for (ColGroup grp : groups)
+			ret.add(grp.unaryOperation(op));
+		return ret;
+	}
+	
+	/**
+	 * 
+	 * @param groups
+	 * @param op
+	 * @param v
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static ArrayList<ColGroup> binaryRowVectorOperations(ArrayList<ColGroup> groups, BinaryOperator op, double[] v) 
+		throws DMLRuntimeException
+	{
+		ArrayList<ColGroup> ret = new ArrayList<ColGroup>();
+		for (ColGroup grp : groups)
+			ret.add(grp.binaryRowVectorOperation(op, v));
+		return ret;
+	}
+	
+	/**
+	 * Indicates if the right-hand-side of a binary operation is an uncompressed 
+	 * row vector, which can be processed directly on the compressed representation.
+	 * 
+	 * @param that
+	 * @return
+	 */
+	private boolean isSupportedBinaryRowVector(MatrixBlock that) {
+		return !isCompressed(that) && that.getNumRows() == 1 
+			&& that.getNumColumns() == clen && clen > 1;
+	}
+	
+	/**
+	 * Computes the exact number of non-zeros from the transformed distinct
+	 * values and offsets of all column groups.
+	 * 
+	 * @param groups
+	 * @return
+	 */
+	private static long getNumberNonZeros(ArrayList<ColGroup> groups) {
+		long nnz = 0;
+		for (ColGroup grp : groups)
+			nnz += grp.getNumberNonZeros();
+		return nnz;
+	}
+
 	@Override
 	public MatrixBlock appendOperations(MatrixBlock that, MatrixBlock ret) 
 		throws DMLRuntimeException
@@ -1621,40 +1792,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	//////////////////////////////////////////
 	// Graceful fallback to uncompressed linear algebra
 	
-	@Override
-	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
-			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.unaryOperations(op, result);
-	}
-
-	@Override
-	public void unaryOperationsInPlace(UnaryOperator op) 
-			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperationsInPlace");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		tmp.unaryOperationsInPlace(op);
-	}
-
-	@Override
-	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
-			throws DMLRuntimeException {
-		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		return left.binaryOperations(op, right, result);
-	}
-
-	@Override
-	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
-			throws DMLRuntimeException {
-		printDecompressWarning("binaryOperationsInPlace", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		left.binaryOperationsInPlace(op, right);
-	}
-
 	@Override
 	public void incrementalAggregate(AggregateOperator aggOp, MatrixValue correction, MatrixValue newWithCorrection)
 			throws DMLRuntimeException {
@@ -1813,6 +1950,15 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return left.sortOperations(right, result);
 	}
 
+	@Override
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k)
+			throws DMLRuntimeException {
+		printDecompressWarning("sortOperations");
+		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock right = getUncompressed(weights);
+		return left.sortOperations(right, result, k);
+	}
+
 	@Override
 	public MatrixValue aggregateBinaryOperations(MatrixIndexes m1Index,
 			MatrixValue m1Value, MatrixIndexes m2Index, MatrixValue m2Value,
@@ -37,6 +37,8 @@ import org.apache.sysml.runtime.DMLScriptException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.SparkCheckpointManager;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
 import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
@@ -47,6 +49,7 @@ import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
 import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.utils.InstructionProfiler;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.DMLAppMasterUtils;
 
@@ -214,6 +217,11 @@ public class ProgramBlock
 	protected void executeInstructions(ArrayList<Instruction> inst, ExecutionContext ec) 
 		throws DMLRuntimeException 
 	{
+		//runtime checkpoint management (reuse analysis, early unpersist)
+		SparkCheckpointManager cpm = (OptimizerUtils.isSparkExecutionMode() 
+			&& ec instanceof SparkExecutionContext) ? 
+			((SparkExecutionContext)ec).getCheckpointManager() : null;
+		
 		for (int i = 0; i < inst.size(); i++) 
 		{
 			//indexed access required due to dynamic add
@@ -221,7 +229,11 @@ public class ProgramBlock
 			
 			//execute instruction
 			ec.updateDebugState(i);
+			if( cpm != null )
+				cpm.preprocessInstruction(inst, i);
 			executeSingleInstruction(currInst, ec);
+			if( cpm != null )
+				cpm.postprocessInstruction(currInst);
 		}
 	}
 	
@@ -297,6 +309,10 @@ public class ProgramBlock
 			// start time measurement for statistics
 			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()) ? 
 					System.nanoTime() : 0;
+			
+			// start instruction-level profiling (thread-local counter snapshot)
+			long[] snap = InstructionProfiler.isEnabled() ? 
+					InstructionProfiler.startInstruction() : null;
 					
 			// pre-process instruction (debug state, inst patching, listeners)
 			Instruction tmp = currInst.preprocessInstruction( ec );
@@ -312,6 +328,11 @@ public class ProgramBlock
 				Statistics.maintainCPHeavyHitters(
 					tmp.getExtendedOpcode(), System.nanoTime()-t0);
 			}
+			
+			// maintain instruction-level profile
+			if( snap != null ) {
+				InstructionProfiler.finishInstruction(tmp, ec, snap);
+			}
 				
 			// optional trace information (instruction and runtime)
 			if( LOG.isTraceEnabled() ) {
@@ -35,12 +35,28 @@ public class ByteBuffer
 	private boolean _serialized;	
 	private boolean _shallow;
 	private long _size;
+	private long _reserved;
 	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock _cdata = null; //dense matrix/frame
 	
 	public ByteBuffer( long size ) {
+		this(size, false);
+	}
+	
+	/**
+	 * Creates a byte buffer handle of the given serialized size. Paged buffers
+	 * reserve the page size of the size class, which exceeds the serialized
+	 * size by at most 12.5% (see PageCache), because this is the memory that
+	 * is actually allocated and later recycled.
+	 * 
+	 * @param size serialized size in bytes
+	 * @param paged true if the block is deep serialized into pooled pages
+	 */
+	public ByteBuffer( long size, boolean paged ) {
 		_size = size;
+		_reserved = (paged && CacheableData.CACHING_BUFFER_PAGECACHE) ? 
+			PageCache.getPageSize(size) : size;
 		_serialized = false;
 	}
 	
@@ -59,10 +75,11 @@ public class ByteBuffer
 			if( !_shallow ) //SPARSE/DENSE -> SPARSE
 			{
 				//deep serialize (for compression)
+				//obtain pooled page (or allocate page of size class)
 				if( CacheableData.CACHING_BUFFER_PAGECACHE )
 					_bdata = PageCache.getPage((int)_size);
 				if( _bdata==null )
-					_bdata = new byte[(int)_size];
+					_bdata = new byte[(int)_reserved];
 				DataOutput dout = new CacheDataOutput(_bdata);
 				cb.write(dout);
 			}
@@ -84,12 +101,15 @@ public class ByteBuffer
 	 * @return
 	 * @throws IOException
 	 */
-	public CacheBlock deserializeBlock() 
+	public synchronized CacheBlock deserializeBlock() 
 		throws IOException
 	{
 		CacheBlock ret = null;
 		
 		if( !_shallow ) { //sparse matrix 
+			//robustness for concurrent eviction (page already released)
+			if( _bdata == null )
+				return null;
 			CacheDataInput din = new CacheDataInput(_bdata);
 			ret = new MatrixBlock();
 			ret.readFields(din);
@@ -109,14 +129,35 @@ public class ByteBuffer
 	public void evictBuffer( String fname ) 
 		throws IOException
 	{
+		evictBuffer(fname, null);
+	}
+	
+	/**
+	 * Evicts the buffer into the given memory-mapped eviction file if 
+	 * possible, and otherwise into a local file of the given name.
+	 * 
+	 * @param fname
+	 * @param mfile mapped eviction file, or null if disabled
+	 * @return true if evicted into the mapped eviction file
+	 * @throws IOException
+	 */
+	public boolean evictBuffer( String fname, MappedEvictionFile mfile ) 
+		throws IOException
+	{
+		//try eviction into mapped file (no file create/delete per block)
+		if( mfile != null && (!_shallow ? mfile.writeBlock(fname, _bdata, (int)_size) 
+			: mfile.writeBlock(fname, _cdata, _size)) )
+			return true;
+		
 		if( !_shallow ) {
-			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+			//write out byte serialized array (w/o unused tail of page)
+			LocalFileUtils.writeByteArrayToLocal(fname, _bdata, (int)_size);
 		}
 		else {
 			//serialize cache block to output stream
 			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata);
 		}
+		return false;
 	}
 	
 	/**
@@ -128,6 +169,16 @@ public class ByteBuffer
 		return _size;
 	}
 	
+	/**
+	 * Returns the reserved buffer size in bytes, which includes
+	 * the unused tail of pooled pages.
+	 * 
+	 * @return
+	 */
+	public long getReservedSize() {
+		return _reserved;
+	}
+	
 	/**
 	 * 
 	 * @return
@@ -136,7 +187,7 @@ public class ByteBuffer
 		return _shallow;
 	}
 	
-	public void freeMemory()
+	public synchronized void freeMemory()
 	{
 		//clear strong references to buffer/matrix
 		if( !_shallow ) {
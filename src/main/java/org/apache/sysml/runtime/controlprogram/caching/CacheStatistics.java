@@ -21,10 +21,15 @@ package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.sysml.utils.InstructionProfiler;
+
 /**
  * This singleton provides basic caching statistics in CP.
  * 
  * 1) Hit statistics for caching (mem, fs, hdfs, total)
+ * 2) Hit/miss/byte statistics of the memory-mapped eviction file
+ * 3) Time statistics of acquire, release (incl eviction) and export, 
+ *    which are also attributed to the current instruction if profiling
  * 
  * NOTE: In order to provide accurate statistics in multi-threaded
  * synchronized increments are required. Since those functions are 
@@ -62,11 +67,19 @@ public class CacheStatistics
 	private static AtomicLong _numWritesFS     = null;
 	private static AtomicLong _numWritesHDFS   = null;
 	
+	//memory-mapped eviction file statistics
+	private static AtomicLong _numHitsMMap     = null;
+	private static AtomicLong _numMissesMMap   = null;
+	private static AtomicLong _numWritesMMap   = null;
+	private static AtomicLong _numBytesReadMMap  = null;
+	private static AtomicLong _numBytesWriteMMap = null;
+	
 	//time statistics caching
 	private static AtomicLong _ctimeAcquireR   = null; //in nano sec
 	private static AtomicLong _ctimeAcquireM   = null; //in nano sec
 	private static AtomicLong _ctimeRelease    = null; //in nano sec
 	private static AtomicLong _ctimeExport     = null; //in nano sec
+	private static AtomicLong _ctimeEvict      = null; //in nano sec
 
 	static
 	{
@@ -85,10 +98,17 @@ public class CacheStatistics
 		_numWritesFS = new AtomicLong(0);
 		_numWritesHDFS = new AtomicLong(0);
 		
+		_numHitsMMap = new AtomicLong(0);
+		_numMissesMMap = new AtomicLong(0);
+		_numWritesMMap = new AtomicLong(0);
+		_numBytesReadMMap = new AtomicLong(0);
+		_numBytesWriteMMap = new AtomicLong(0);
+		
 		_ctimeAcquireR = new AtomicLong(0);
 		_ctimeAcquireM = new AtomicLong(0);
 		_ctimeRelease = new AtomicLong(0);
 		_ctimeExport = new AtomicLong(0);
+		_ctimeEvict = new AtomicLong(0);
 	}
 	
 	public static void incrementTotalHits()
@@ -211,9 +231,53 @@ public class CacheStatistics
 		return _numWritesHDFS.get();
 	}
 	
+	public static void incrementMMapHits(long bytes)
+	{
+		_numHitsMMap.incrementAndGet();
+		_numBytesReadMMap.addAndGet(bytes);
+	}
+	
+	public static long getMMapHits()
+	{
+		return _numHitsMMap.get();
+	}
+	
+	public static void incrementMMapMisses()
+	{
+		_numMissesMMap.incrementAndGet();
+	}
+	
+	public static long getMMapMisses()
+	{
+		return _numMissesMMap.get();
+	}
+	
+	public static void incrementMMapWrites(int delta, long bytes)
+	{
+		_numWritesMMap.addAndGet(delta);
+		_numBytesWriteMMap.addAndGet(bytes);
+	}
+	
+	public static long getMMapWrites()
+	{
+		return _numWritesMMap.get();
+	}
+	
+	public static long getMMapBytesRead()
+	{
+		return _numBytesReadMMap.get();
+	}
+	
+	public static long getMMapBytesWritten()
+	{
+		return _numBytesWriteMMap.get();
+	}
+	
 	public static void incrementAcquireRTime(long delta)
 	{
 		_ctimeAcquireR.addAndGet(delta);
+		if( InstructionProfiler.isEnabled() )
+			InstructionProfiler.incrementAcquireTime(delta);
 	}
 	
 	public static long getAcquireRTime()
@@ -224,6 +288,8 @@ public class CacheStatistics
 	public static void incrementAcquireMTime(long delta)
 	{
 		_ctimeAcquireM.addAndGet(delta);
+		if( InstructionProfiler.isEnabled() )
+			InstructionProfiler.incrementAcquireTime(delta);
 	}
 	
 	public static long getAcquireMTime()
@@ -234,6 +300,8 @@ public class CacheStatistics
 	public static void incrementReleaseTime(long delta)
 	{
 		_ctimeRelease.addAndGet(delta);
+		if( InstructionProfiler.isEnabled() )
+			InstructionProfiler.incrementReleaseTime(delta);
 	}
 	
 	public static long getReleaseTime()
@@ -252,6 +320,18 @@ public class CacheStatistics
 		return _ctimeExport.get();
 	}
 	
+	public static void incrementEvictionTime(long delta)
+	{
+		_ctimeEvict.addAndGet(delta);
+		if( InstructionProfiler.isEnabled() )
+			InstructionProfiler.incrementEvictionTime(delta);
+	}
+	
+	public static long getEvictionTime()
+	{
+		return _ctimeEvict.get();
+	}
+	
 
 	public static String displayHits()
 	{	
@@ -281,6 +361,22 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayMMap()
+	{	
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsMMap.get());
+		sb.append("/");
+		sb.append(_numMissesMMap.get());
+		sb.append("/");
+		sb.append(_numWritesMMap.get());
+		sb.append("/");
+		sb.append(_numBytesReadMMap.get());
+		sb.append("/");
+		sb.append(_numBytesWriteMMap.get());
+		
+		return sb.toString();
+	}
+	
 	public static String displayTime()
 	{	
 		StringBuilder sb = new StringBuilder();
@@ -29,6 +29,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -69,11 +70,15 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final long 	CACHING_THRESHOLD = 4*1024; //obj not s.t. caching if below threshold [in bytes]
 	public static final double 	CACHING_BUFFER_SIZE = 0.15; 
 	public static final RPolicy CACHING_BUFFER_POLICY = RPolicy.FIFO; 
-	public static final boolean CACHING_BUFFER_PAGECACHE = false; 
+	public static final boolean CACHING_BUFFER_PAGECACHE = true; 
+	public static final double 	CACHING_BUFFER_MMAP_SIZE = 2.0; //relative to max memory
 	public static final boolean CACHING_WRITE_CACHE_ON_READ = false;	
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	
+	// global configurable parameters (set on init caching)
+	public static boolean CACHING_BUFFER_MMAP = false; //memory-mapped eviction file
     
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -642,6 +647,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			{
 				//evict blob
 				String filePath = getCacheFilePathAndName();
+				long t2 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 				try {
 					LazyWriteBuffer.writeBlock(filePath, _data);
 				}
@@ -650,6 +656,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 					throw new CacheException("Eviction to local path " + filePath + " ("+getVarName()+") failed.", e);
 				}
 				_requiresLocalWrite = false;
+				
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementEvictionTime(System.nanoTime()-t2);
 			}
 			
 			//create cache
@@ -1413,6 +1422,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new IOException(e);
 		}
 	
+		//configure memory-mapped eviction file (opt-in)
+		CACHING_BUFFER_MMAP = ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CP_CACHING_MMAP);
+		
 		//init write-ahead buffer
 		LazyWriteBuffer.init();
 		
@@ -26,6 +26,8 @@ import java.util.Map.Entry;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
@@ -36,6 +38,8 @@ import org.apache.sysml.runtime.util.LocalFileUtils;
  */
 public class LazyWriteBuffer 
 {
+	private static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
+	
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
 		LRU   //least recently used eviction
@@ -54,6 +58,9 @@ public class LazyWriteBuffer
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
+	//memory-mapped eviction file (null if disabled or unavailable)
+	private static MappedEvictionFile _mFile;
+	
 	static {
 		//obtain the logical buffer size in bytes
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
@@ -73,19 +80,26 @@ public class LazyWriteBuffer
 		long lSize = cb.getExactSerializedSize();  
 		boolean requiresWrite = (   lSize > _limit  //global buffer limit
 			|| !ByteBuffer.isValidCapacity(lSize, cb) ); //local buffer limit
+		
+		//release outdated mapped extent of previous eviction
+		if( _mFile != null )
+			_mFile.deleteBlock(fname);
 	
 		//handle caching/eviction if it fits in writebuffer
 		if( !requiresWrite ) 
 		{			
 			//create byte buffer handle (no block allocation yet)
-			ByteBuffer bbuff = new ByteBuffer( lSize );
+			ByteBuffer bbuff = new ByteBuffer( lSize, !cb.isShallowSerialize() );
+			long lReserved = bbuff.getReservedSize();
 			int numEvicted = 0;
+			int numMapped = 0;
+			long bytesMapped = 0;
 			
 			//modify buffer pool
 			synchronized( _mQueue )
 			{
 				//evict matrices to make room (by default FIFO)
-				while( _size+lSize >= _limit )
+				while( _size+lReserved >= _limit )
 				{
 					//remove first entry from eviction queue
 					Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
@@ -97,16 +111,20 @@ public class LazyWriteBuffer
 						tmp.checkSerialized();
 						
 						//evict matrix
-						tmp.evictBuffer(ftmp);
+						if( tmp.evictBuffer(ftmp, _mFile) ) {
+							numMapped++;
+							bytesMapped += tmp.getSize();
+						}
+						else
+							numEvicted++;
 						tmp.freeMemory();
-						_size-=tmp.getSize();
-						numEvicted++;
+						_size-=tmp.getReservedSize();
 					}
 				}
 				
 				//put placeholder into buffer pool (reserve mem) 
 				_mQueue.addLast(fname, bbuff);
-				_size += lSize;	
+				_size += lReserved;	
 			}
 			
 			//serialize matrix (outside synchronized critical path)
@@ -115,8 +133,15 @@ public class LazyWriteBuffer
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSBuffWrites();
 				CacheStatistics.incrementFSWrites(numEvicted);
+				CacheStatistics.incrementMMapWrites(numMapped, bytesMapped);
 			}
 		}	
+		else if( _mFile != null && _mFile.writeBlock(fname, cb, lSize) )
+		{
+			//write directly to mapped file (bypass buffer if too large)
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementMMapWrites(1, lSize);
+		}
 		else
 		{
 			//write directly to local FS (bypass buffer if too large)
@@ -139,14 +164,14 @@ public class LazyWriteBuffer
 			//remove queue entry 
 			ByteBuffer ldata = _mQueue.remove(fname);
 			if( ldata != null ) {
-				_size -= ldata.getSize(); 
+				_size -= ldata.getReservedSize(); 
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
 		}
 		
-		//delete from FS if required
-		if( requiresDelete )
+		//release mapped extent or delete from FS if required
+		if( requiresDelete && !(_mFile != null && _mFile.deleteBlock(fname)) )
 			_fClean.deleteFile(fname);
 	}
 	
@@ -178,17 +203,25 @@ public class LazyWriteBuffer
 		}
 		
 		//deserialize or read from FS if required
-		if( ldata != null )
+		if( ldata != null && (cb = ldata.deserializeBlock()) != null )
 		{
-			cb = ldata.deserializeBlock();
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
 		}
+		else if( _mFile != null && (cb = _mFile.readBlock(fname)) != null )
+		{
+			//restore from mapped pages (no file open/close)
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementMMapHits(_mFile.getBlockSize(fname));
+		}
 		else
 		{
 			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix); 
-			if( DMLScript.STATISTICS )
+			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSHits();
+				if( _mFile != null )
+					CacheStatistics.incrementMMapMisses();
+			}
 		}
 		
 		return cb;
@@ -203,6 +236,30 @@ public class LazyWriteBuffer
 		_size = 0;
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
+		if( CacheableData.CACHING_BUFFER_MMAP )
+			initMappedFile();
+	}
+	
+	/**
+	 * Creates the memory-mapped eviction file in the caching working dir; 
+	 * falls back to local file spills if the file cannot be created.
+	 */
+	private static void initMappedFile() {
+		String fname = CacheableData.cacheEvictionLocalFilePath 
+			+ CacheableData.cacheEvictionLocalFilePrefix + "_mmap"
+			+ CacheableData.CACHING_EVICTION_FILEEXTENSION;
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		if( _mFile != null )
+			_mFile.close();
+		try {
+			_mFile = new MappedEvictionFile(fname, 
+				(long)(CacheableData.CACHING_BUFFER_MMAP_SIZE * maxMem));
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to create mapped eviction file, "
+				+ "falling back to local file spills.", ex);
+			_mFile = null;
+		}
 	}
 	
 	/**
@@ -213,6 +270,10 @@ public class LazyWriteBuffer
 			_mQueue.clear();
 		if( _fClean != null )
 			_fClean.close();
+		if( _mFile != null ) {
+			_mFile.close();
+			_mFile = null;
+		}
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.clear();
 	}
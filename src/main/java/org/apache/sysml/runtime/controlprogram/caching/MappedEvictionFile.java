@@ -0,0 +1,336 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+
+/**
+ * Eviction backend of the buffer pool that pre-allocates a single local 
+ * scratch file and maps it into fixed-size segments via NIO memory-mapped 
+ * buffers. Evicted blocks are serialized directly into allocated extents 
+ * of these segments and deserialized from the mapped pages on restore (i.e., 
+ * a single copy into the heap block), which avoids the per-block file 
+ * creation, buffered stream I/O, and file deletion of the default local 
+ * file spills. Free space is managed per segment with a 
+ * first-fit allocator over free extents, which are coalesced on release.
+ * 
+ * Only matrix blocks (with exact serialized size) are supported; all 
+ * other blocks are rejected and need to be spilled to local files.
+ * 
+ */
+public class MappedEvictionFile 
+{
+	//default segment size of mapped regions (max 2GB per mapped buffer)
+	public static final int DEFAULT_SEGMENT_SIZE = 1 << 30; //1GB
+	
+	//alignment of allocated extents in bytes 
+	private static final int ALIGNMENT = 8;
+	
+	private final String _fname;
+	private final int _segSize;
+	private final long _capacity;
+	
+	private RandomAccessFile _raf = null;
+	private FileChannel _channel = null;
+	
+	//lazily mapped segments and free extents per segment (offset -> length)
+	private final MappedByteBuffer[] _segments;
+	private final ArrayList<TreeMap<Integer,Integer>> _free;
+	
+	//allocated extents per block key 
+	private final HashMap<String, Extent> _extents;
+	
+	//current allocated size in bytes
+	private long _size = 0;
+	
+	public MappedEvictionFile( String fname, long capacity ) 
+		throws IOException
+	{
+		this(fname, capacity, DEFAULT_SEGMENT_SIZE);
+	}
+	
+	public MappedEvictionFile( String fname, long capacity, int segSize ) 
+		throws IOException
+	{
+		_fname = fname;
+		_segSize = segSize - segSize % ALIGNMENT;
+		int numSeg = (int)Math.max((capacity + _segSize - 1) / _segSize, 1);
+		_capacity = (long)numSeg * _segSize;
+		
+		//pre-allocate scratch file (sparse file on most file systems)
+		_raf = new RandomAccessFile(fname, "rw");
+		_raf.setLength(_capacity);
+		_channel = _raf.getChannel();
+		
+		//init free lists (one free extent per segment)
+		_segments = new MappedByteBuffer[numSeg];
+		_free = new ArrayList<TreeMap<Integer,Integer>>(numSeg);
+		for( int i=0; i<numSeg; i++ ) {
+			TreeMap<Integer,Integer> tmp = new TreeMap<Integer,Integer>();
+			tmp.put(0, _segSize);
+			_free.add(tmp);
+		}
+		_extents = new HashMap<String, Extent>();
+	}
+	
+	/**
+	 * Indicates if the given cache block of the given serialized size 
+	 * is supported by the mapped eviction file.
+	 * 
+	 * @param cb
+	 * @param size
+	 * @return
+	 */
+	public boolean isSupported( CacheBlock cb, long size ) {
+		return (cb instanceof MatrixBlock && size <= _segSize);
+	}
+	
+	/**
+	 * Writes the given serialized block into the mapped file.
+	 * 
+	 * @param key
+	 * @param data
+	 * @param len number of valid bytes
+	 * @return true if written, false if not enough free space
+	 * @throws IOException
+	 */
+	public boolean writeBlock( String key, byte[] data, int len ) 
+		throws IOException
+	{
+		if( len > _segSize )
+			return false;
+		Extent ext = allocate(len);
+		if( ext == null )
+			return false;
+		
+		//copy serialized block into mapped region
+		getRegion(ext).put(data, 0, len);
+		putExtent(key, ext);
+		return true;
+	}
+	
+	/**
+	 * Serializes the given cache block into the mapped file.
+	 * 
+	 * @param key
+	 * @param cb
+	 * @param size exact serialized size in bytes
+	 * @return true if written, false if unsupported or not enough free space
+	 * @throws IOException
+	 */
+	public boolean writeBlock( String key, CacheBlock cb, long size ) 
+		throws IOException
+	{
+		if( !isSupported(cb, size) )
+			return false;
+		Extent ext = allocate((int)size);
+		if( ext == null )
+			return false;
+		
+		//serialize block directly into mapped region (outside lock)
+		boolean success = false;
+		try {
+			cb.write(new CacheMappedDataOutput(getRegion(ext)));
+			success = true;
+		}
+		catch(RuntimeException ex) {
+			//robustness for inexact size estimates (buffer overflow)
+			return false;
+		}
+		finally {
+			//release extent of incomplete writes (incl. rethrown io exceptions)
+			if( !success )
+				free(ext);
+		}
+		putExtent(key, ext);
+		return true;
+	}
+	
+	/**
+	 * Reads the block of the given key from the mapped file. The entire read
+	 * holds the lock in order to prevent concurrent deletes and re-allocations
+	 * of the extent from overwriting the region during deserialization.
+	 * 
+	 * @param key
+	 * @return the deserialized block, or null if not contained
+	 * @throws IOException
+	 */
+	public synchronized CacheBlock readBlock( String key ) 
+		throws IOException
+	{
+		Extent ext = _extents.get(key);
+		if( ext == null )
+			return null;
+		
+		//deserialize block directly from mapped region
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new CacheMappedDataInput(getRegion(ext)));
+		return ret;
+	}
+	
+	/**
+	 * Releases the extent of the given key.
+	 * 
+	 * @param key
+	 * @return true if the key was contained
+	 */
+	public synchronized boolean deleteBlock( String key ) {
+		Extent ext = _extents.remove(key);
+		if( ext != null )
+			free(ext);
+		return (ext != null);
+	}
+	
+	public synchronized boolean containsBlock( String key ) {
+		return _extents.containsKey(key);
+	}
+	
+	public synchronized long getBlockSize( String key ) {
+		Extent ext = _extents.get(key);
+		return (ext != null) ? ext.len : 0;
+	}
+	
+	public synchronized long getSize() {
+		return _size;
+	}
+	
+	public long getCapacity() {
+		return _capacity;
+	}
+	
+	/**
+	 * Releases all extents and mapped segments, closes and deletes the 
+	 * underlying scratch file. 
+	 */
+	public synchronized void close() {
+		_extents.clear();
+		for( int i=0; i<_segments.length; i++ )
+			_segments[i] = null;
+		IOUtilFunctions.closeSilently(_channel);
+		IOUtilFunctions.closeSilently(_raf);
+		new File(_fname).delete();
+		_size = 0;
+	}
+	
+	private synchronized void putExtent( String key, Extent ext ) {
+		Extent old = _extents.put(key, ext);
+		if( old != null )
+			free(old);
+	}
+	
+	/**
+	 * First-fit allocation of an aligned extent of at least the given length.
+	 * 
+	 * @param len
+	 * @return extent, or null if no free extent is large enough
+	 * @throws IOException 
+	 */
+	private synchronized Extent allocate( int len ) 
+		throws IOException 
+	{
+		int alen = (int)Math.min(((long)len + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT, _segSize);
+		for( int i=0; i<_free.size(); i++ ) {
+			TreeMap<Integer,Integer> flist = _free.get(i);
+			for( Entry<Integer,Integer> e : flist.entrySet() ) {
+				if( e.getValue() >= alen ) {
+					int off = e.getKey();
+					int flen = e.getValue();
+					flist.remove(off);
+					if( flen > alen )
+						flist.put(off + alen, flen - alen);
+					if( _segments[i] == null ) //lazy mapping
+						_segments[i] = _channel.map(MapMode.READ_WRITE, (long)i*_segSize, _segSize);
+					_size += alen;
+					return new Extent(i, off, alen);
+				}
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Releases the given extent and coalesces it with adjacent free extents.
+	 * 
+	 * @param ext
+	 */
+	private synchronized void free( Extent ext ) {
+		TreeMap<Integer,Integer> flist = _free.get(ext.seg);
+		int off = ext.off;
+		int len = ext.len;
+		
+		//merge with preceding free extent
+		Entry<Integer,Integer> prev = flist.floorEntry(off);
+		if( prev != null && prev.getKey() + prev.getValue() == off ) {
+			flist.remove(prev.getKey());
+			off = prev.getKey();
+			len += prev.getValue();
+		}
+		
+		//merge with succeeding free extent
+		Integer nlen = flist.remove(off + len);
+		if( nlen != null )
+			len += nlen;
+		
+		flist.put(off, len);
+		_size -= ext.len;
+	}
+	
+	/**
+	 * Obtains an independent view of the mapped region of the given extent
+	 * in order to allow concurrent reads and writes of different extents.
+	 * 
+	 * @param ext
+	 * @return
+	 */
+	private java.nio.ByteBuffer getRegion( Extent ext ) {
+		MappedByteBuffer seg = null;
+		synchronized( this ) {
+			seg = _segments[ext.seg];
+		}
+		java.nio.ByteBuffer tmp = seg.duplicate();
+		tmp.position(ext.off);
+		tmp.limit(ext.off + ext.len);
+		return tmp.slice();
+	}
+	
+	private static class Extent {
+		private final int seg;
+		private final int off;
+		private final int len;
+		
+		public Extent(int seg, int off, int len) {
+			this.seg = seg;
+			this.off = off;
+			this.len = len;
+		}
+	}
+}
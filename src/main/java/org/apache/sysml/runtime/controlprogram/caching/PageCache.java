@@ -20,69 +20,274 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.lang.ref.SoftReference;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.utils.Statistics;
 
 /**
+ * Size-class page pool for the byte arrays of serialized cache blocks.
  * 
+ * Pages are pooled in size classes from 4KB to 1GB, i.e., a request is served 
+ * by any page of its size class, which allows the reuse of pages across 
+ * differently sized blocks. Each power-of-two range is split into eight 
+ * equally sized classes, which caps the overhead of a page over the requested 
+ * size (and hence the over-charge of the write buffer) at 12.5%. The global 
+ * pool is bounded by a byte 
+ * budget and holds soft references only, which allows the garbage collector
+ * to reclaim pooled pages under memory pressure. Small pages are additionally 
+ * kept in a per-thread slot per size class as a synchronization-free fast 
+ * path for concurrent parfor workers.
  * 
  */
 public class PageCache 
 {
+	//min/max page size exponent of pooled pages (4KB - 1GB)
+	private static final int MIN_EXP = 12;
+	private static final int MAX_EXP = 30;
+	
+	//number of size classes per power-of-two range (log2), i.e., 
+	//the max overhead of a page is 1/2^SUB_BITS of the requested size
+	private static final int SUB_BITS = 3;
+	
+	//number of size classes, and max size class of thread-local pages (1MB)
+	private static final int NUM_CLASSES = getSizeClass(1L << MAX_EXP) + 1;
+	private static final int MAX_LOCAL_CLASS = getSizeClass(1L << 20);
+	
+	//global byte budget of pooled pages relative to max memory
+	private static final double BUDGET_SIZE = 0.05;
+	
+	private static ArrayList<ConcurrentLinkedQueue<SoftReference<byte[]>>> _pool = null;
+	private static AtomicLong _size = null;
+	private static long _limit = -1;
 	
-	private static final int CLEANUP_THRESHOLD = 128;
-	private static HashMap<Integer, LinkedList<SoftReference<byte[]>>> _pool;
+	private static ThreadLocal<ArrayList<SoftReference<byte[]>>> _local = null;
 	
 	/**
 	 * 
 	 */
-	public static void init()
+	public static synchronized void init()
 	{
-		_pool = new HashMap<Integer, LinkedList<SoftReference<byte[]>>>();
+		_pool = new ArrayList<ConcurrentLinkedQueue<SoftReference<byte[]>>>();
+		for( int i=0; i<NUM_CLASSES; i++ )
+			_pool.add(new ConcurrentLinkedQueue<SoftReference<byte[]>>());
+		_size = new AtomicLong(0);
+		_limit = (long)(BUDGET_SIZE * InfrastructureAnalyzer.getLocalMaxMemory());
+		_local = new ThreadLocal<ArrayList<SoftReference<byte[]>>>() {
+			@Override 
+			protected ArrayList<SoftReference<byte[]>> initialValue() { 
+				ArrayList<SoftReference<byte[]>> ret = new ArrayList<SoftReference<byte[]>>();
+				for( int i=0; i<=MAX_LOCAL_CLASS; i++ )
+					ret.add(null);
+				return ret;
+			}
+		};
 	}
 	
 	/**
 	 * 
 	 */
-	public static void clear()
+	public static synchronized void clear()
 	{
 		_pool = null;
+		_local = null;
+		_size = null;
 	}
 	
 	/**
-	 *
-	 * @param data
+	 * Returns the page size, i.e., the capacity of the size class, used 
+	 * for a request of the given size. Sizes beyond the max size class 
+	 * are not pooled and hence returned as is.
+	 * 
+	 * @param size
+	 * @return
 	 */
-	public static void putPage( byte[] data )
+	public static long getPageSize( long size )
 	{
-		//cleanup if too many different size lists
-		if( _pool.size()>CLEANUP_THRESHOLD )
-			_pool.clear();
+		if( size <= (1L << MIN_EXP) )
+			return 1L << MIN_EXP;
+		if( size > (1L << MAX_EXP) )
+			return size;
 		
-		LinkedList<SoftReference<byte[]>> list = _pool.get( data.length );
-		if( list==null ){
-			list = new LinkedList<SoftReference<byte[]>>();
-			_pool.put(data.length, list);
-		}
-		list.addLast(new SoftReference<byte[]>(data));	
+		//round up to the next multiple of the class step
+		long step = getClassStep(size);
+		return (size + step - 1) / step * step;
 	}
 	
 	/**
+	 * Returns the current size of pooled pages in bytes.
+	 * 
+	 * @return
+	 */
+	public static long getPoolSize() {
+		AtomicLong size = _size;
+		return (size != null) ? size.get() : 0;
+	}
+	
+	/**
+	 * Returns the byte budget of pooled pages.
+	 * 
+	 * @return
+	 */
+	public static long getPoolBudget() {
+		return _limit;
+	}
+	
+	/**
+	 * Returns a pooled page of the size class of the given size, 
+	 * or null if there is no such page. 
 	 * 
 	 * @param size
 	 * @return
 	 */
 	public static byte[] getPage( int size )
 	{
-		LinkedList<SoftReference<byte[]>> list = _pool.get( size );
-		if( list!=null ) {
-			while( !list.isEmpty() ){
-				SoftReference<byte[]> ref = list.removeFirst();
-				byte[] tmp = ref.get();
-				if( tmp!=null )
-					return tmp;
+		ArrayList<ConcurrentLinkedQueue<SoftReference<byte[]>>> pool = _pool;
+		ThreadLocal<ArrayList<SoftReference<byte[]>>> tlocal = _local;
+		int cl = getSizeClass(size);
+		if( pool == null || tlocal == null || cl < 0 )
+			return null;
+		
+		//probe thread-local page (no synchronization)
+		if( cl <= MAX_LOCAL_CLASS ) {
+			ArrayList<SoftReference<byte[]>> local = tlocal.get();
+			SoftReference<byte[]> ref = local.set(cl, null);
+			byte[] tmp = (ref != null) ? ref.get() : null;
+			if( tmp != null ) {
+				if( DMLScript.STATISTICS )
+					Statistics.incrementPageCacheHits(true);
+				return tmp;
+			}
+		}
+		
+		//probe global pool of size class
+		ConcurrentLinkedQueue<SoftReference<byte[]>> queue = pool.get(cl);
+		long bytes = getPageSize(size);
+		SoftReference<byte[]> ref = null;
+		while( (ref = queue.poll()) != null ) {
+			_size.addAndGet(-bytes);
+			byte[] tmp = ref.get();
+			if( tmp != null ) {
+				if( DMLScript.STATISTICS )
+					Statistics.incrementPageCacheHits(false);
+				return tmp;
 			}
 		}
+		
+		if( DMLScript.STATISTICS )
+			Statistics.incrementPageCacheMisses();
 		return null;
 	}
+	
+	/**
+	 * Returns the given page to the pool. Pages that do not exactly match 
+	 * a size class or exceed the global budget are dropped.
+	 * 
+	 * @param data
+	 */
+	public static void putPage( byte[] data )
+	{
+		ArrayList<ConcurrentLinkedQueue<SoftReference<byte[]>>> pool = _pool;
+		ThreadLocal<ArrayList<SoftReference<byte[]>>> tlocal = _local;
+		int cl = getSizeClass(data.length);
+		if( pool == null || tlocal == null || cl < 0 || data.length != getPageSize(data.length) )
+			return;
+		
+		//put into empty thread-local slot (no synchronization)
+		if( cl <= MAX_LOCAL_CLASS ) {
+			ArrayList<SoftReference<byte[]>> local = tlocal.get();
+			SoftReference<byte[]> ref = local.get(cl);
+			if( ref == null || ref.get() == null ) {
+				local.set(cl, new SoftReference<byte[]>(data));
+				return;
+			}
+		}
+		
+		//put into global pool if within budget (purge cleared pages if necessary)
+		long bytes = data.length;
+		if( _size.get() + bytes > _limit )
+			purgeClearedPages(pool);
+		if( _size.addAndGet(bytes) > _limit ) {
+			_size.addAndGet(-bytes);
+			if( DMLScript.STATISTICS )
+				Statistics.incrementPageCacheDrops();
+			return;
+		}
+		pool.get(cl).offer(new SoftReference<byte[]>(data));
+	}
+	
+	/**
+	 * Removes all pages that have been reclaimed by the garbage collector
+	 * and releases their share of the global budget.
+	 * 
+	 * @param pool
+	 */
+	private static void purgeClearedPages( ArrayList<ConcurrentLinkedQueue<SoftReference<byte[]>>> pool )
+	{
+		for( int i=0; i<pool.size(); i++ ) {
+			ConcurrentLinkedQueue<SoftReference<byte[]>> queue = pool.get(i);
+			long bytes = getClassPageSize(i);
+			Iterator<SoftReference<byte[]>> iter = queue.iterator();
+			while( iter.hasNext() ) {
+				SoftReference<byte[]> ref = iter.next();
+				//account only successful removals (robustness against concurrent polls)
+				if( ref.get() == null && queue.remove(ref) )
+					_size.addAndGet(-bytes);
+			}
+		}
+	}
+	
+	/**
+	 * Obtains the size class, i.e., the index of the smallest page size 
+	 * that holds the given size. Class 0 is the min page size, followed 
+	 * by 2^SUB_BITS classes per power-of-two range (2^e, 2^(e+1)].
+	 * 
+	 * @param size
+	 * @return size class, or -1 if not pooled
+	 */
+	private static int getSizeClass( long size )
+	{
+		if( size > (1L << MAX_EXP) )
+			return -1;
+		if( size <= (1L << MIN_EXP) )
+			return 0;
+		
+		//exponent e with 2^e < size <= 2^(e+1), and step within this range
+		int e = 63 - Long.numberOfLeadingZeros(size - 1);
+		long step = getClassStep(size);
+		int sub = (int)((size + step - 1) / step) - (1 << SUB_BITS); //1..2^SUB_BITS
+		return 1 + ((e - MIN_EXP) << SUB_BITS) + (sub - 1);
+	}
+	
+	/**
+	 * Obtains the step between the size classes of the power-of-two 
+	 * range (2^e, 2^(e+1)] that contains the given size.
+	 * 
+	 * @param size
+	 * @return
+	 */
+	private static long getClassStep( long size ) 
+	{
+		int e = 63 - Long.numberOfLeadingZeros(size - 1);
+		return 1L << (e - SUB_BITS);
+	}
+	
+	/**
+	 * Obtains the page size of the given size class.
+	 * 
+	 * @param cl
+	 * @return
+	 */
+	private static long getClassPageSize( int cl )
+	{
+		if( cl == 0 )
+			return 1L << MIN_EXP;
+		int e = MIN_EXP + ((cl - 1) >> SUB_BITS);
+		int sub = ((cl - 1) & ((1 << SUB_BITS) - 1)) + 1;
+		return (1L << e) + sub * (1L << (e - SUB_BITS));
+	}
 }
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.context;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.apache.spark.broadcast.Broadcast;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Content-keyed cache of partitioned broadcasts, which allows to reuse broadcasts
+ * of the same read-only data across variables, functions, parfor tasks, and 
+ * recompiled instructions, i.e., whenever the data is bound to different matrix 
+ * objects. Broadcasts are keyed by their underlying data identity, which is either
+ * the unmodified hdfs file (name and modification time) or the in-memory matrix 
+ * block (object identity) in combination with dimensions and blocksizes.
+ * 
+ * Cached broadcasts are reference counted by their broadcast handles. Unreferenced 
+ * broadcasts are retained for reuse and evicted in LRU order once the total size
+ * of cached broadcasts exceeds the broadcast memory budget of the executors.
+ */
+public class SparkBroadcastCache 
+{
+	//internal configuration 
+	public static boolean ENABLED = true;
+	
+	//cached broadcasts in LRU order and reverse mapping of handles
+	private final LinkedHashMap<BroadcastKey, CacheEntry> _cache;
+	private final IdentityHashMap<PartitionedBroadcast<?>, CacheEntry> _handles;
+	private long _size = 0;
+	
+	public SparkBroadcastCache() {
+		_cache = new LinkedHashMap<BroadcastKey, CacheEntry>(16, 0.75f, true);
+		_handles = new IdentityHashMap<PartitionedBroadcast<?>, CacheEntry>();
+	}
+	
+	/**
+	 * Creates a file-based data key for the given matrix object, which is only
+	 * possible if the in-memory data is unmodified with regard to its hdfs file.
+	 * 
+	 * @param mo
+	 * @return key or null if the data has no valid file representation
+	 */
+	public static BroadcastKey createKey(MatrixObject mo) 
+	{
+		if( !ENABLED || mo.getFileName() == null || mo.isDirty() 
+			|| mo.getUpdateType() != UpdateType.COPY || !mo.isHDFSFileExists() )
+			return null;
+		
+		try {
+			long mtime = MapReduceTool.getFileModificationTimeOnHDFS(mo.getFileName());
+			return new BroadcastKey(mo.getFileName(), mtime, null, mo.getNumRows(), 
+				mo.getNumColumns(), (int)mo.getNumRowsPerBlock(), (int)mo.getNumColumnsPerBlock());
+		}
+		catch(Exception ex) {
+			//robustness for non-existing or inaccessible files
+			return null;
+		}
+	}
+	
+	/**
+	 * Creates an identity-based data key for the given matrix object and its 
+	 * in-memory block, which is only possible if the block is not updated in-place.
+	 * 
+	 * @param mo
+	 * @param block
+	 * @return key or null if the block might be modified in-place
+	 */
+	public static BroadcastKey createKey(MatrixObject mo, CacheBlock block) 
+	{
+		if( !ENABLED || block == null || mo.getUpdateType() != UpdateType.COPY )
+			return null;
+		
+		return new BroadcastKey(null, -1, block, mo.getNumRows(), mo.getNumColumns(), 
+			(int)mo.getNumRowsPerBlock(), (int)mo.getNumColumnsPerBlock());
+	}
+	
+	/**
+	 * Obtains a cached broadcast for the given key and increments its
+	 * reference count, or returns null if not cached. 
+	 * 
+	 * @param key
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T extends CacheBlock> PartitionedBroadcast<T> get(BroadcastKey key) 
+	{
+		if( key == null )
+			return null;
+		
+		CacheEntry entry = _cache.get(key);
+		if( entry != null && !entry.isValid() ) {
+			remove(key, entry); //evicted or destroyed by spark
+			entry = null;
+		}
+		
+		if( DMLScript.STATISTICS ) {
+			if( entry != null )
+				Statistics.incSparkBroadcastCacheHits();
+			else
+				Statistics.incSparkBroadcastCacheMisses();
+		}
+		
+		if( entry == null )
+			return null;
+		
+		entry.numRef++;
+		return (PartitionedBroadcast<T>) entry.bc;
+	}
+	
+	/**
+	 * Puts a newly created broadcast with a reference count of 1 into 
+	 * the cache and evicts unreferenced broadcasts if necessary.
+	 * 
+	 * @param key
+	 * @param bc
+	 * @param size
+	 */
+	public synchronized void put(BroadcastKey key, PartitionedBroadcast<?> bc, long size) 
+	{
+		if( key == null || _handles.containsKey(bc) )
+			return;
+		
+		CacheEntry old = _cache.get(key);
+		if( old != null )
+			remove(key, old);
+		
+		CacheEntry entry = new CacheEntry(key, bc, size);
+		entry.numRef = 1;
+		_cache.put(key, entry);
+		_handles.put(bc, entry);
+		_size += size;
+		
+		evict();
+	}
+	
+	/**
+	 * Releases a reference to the given broadcast. Unreferenced broadcasts
+	 * remain cached until evicted. 
+	 * 
+	 * @param bc
+	 * @return true if the broadcast is managed by the cache, i.e., must not
+	 *   be destroyed by the caller
+	 */
+	public synchronized boolean release(PartitionedBroadcast<?> bc) 
+	{
+		CacheEntry entry = _handles.get(bc);
+		if( entry == null )
+			return false;
+		
+		entry.numRef = Math.max(entry.numRef-1, 0);
+		if( entry.numRef == 0 )
+			evict();
+		
+		return true;
+	}
+	
+	/**
+	 * Removes all cached broadcasts, e.g., on closing the spark context.
+	 */
+	public synchronized void clear() {
+		_cache.clear();
+		_handles.clear();
+		_size = 0;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public synchronized long getCacheSize() {
+		return _size;
+	}
+	
+	/**
+	 * 
+	 * @return
+	 */
+	public synchronized int getNumEntries() {
+		return _cache.size();
+	}
+	
+	/**
+	 * Evicts unreferenced broadcasts of collected in-memory blocks, and 
+	 * unreferenced broadcasts in LRU order while the cache exceeds the 
+	 * broadcast memory budget.
+	 */
+	private void evict() 
+	{
+		double budget = SparkExecutionContext.getBroadcastMemoryBudget();
+		
+		ArrayList<CacheEntry> evicted = new ArrayList<CacheEntry>();
+		Iterator<Entry<BroadcastKey, CacheEntry>> iter = _cache.entrySet().iterator();
+		while( iter.hasNext() ) {
+			CacheEntry entry = iter.next().getValue();
+			if( entry.numRef == 0 && (_size > budget || !entry.key.isReachable()) ) {
+				iter.remove();
+				_handles.remove(entry.bc);
+				_size -= entry.size;
+				evicted.add(entry);
+			}
+		}
+		
+		//destroy evicted broadcasts at driver and executors
+		for( CacheEntry entry : evicted )
+			entry.destroy();
+	}
+	
+	/**
+	 * 
+	 * @param key
+	 * @param entry
+	 */
+	private void remove(BroadcastKey key, CacheEntry entry) {
+		_cache.remove(key);
+		_handles.remove(entry.bc);
+		_size -= entry.size;
+		if( entry.numRef == 0 )
+			entry.destroy();
+	}
+	
+	/**
+	 * Data identity of a broadcast, either by file or by in-memory block.
+	 */
+	public static class BroadcastKey 
+	{
+		private final String _fname;
+		private final long _mtime;
+		private final WeakReference<CacheBlock> _block;
+		private final long _rlen;
+		private final long _clen;
+		private final int _brlen;
+		private final int _bclen;
+		private final int _hash;
+		
+		private BroadcastKey(String fname, long mtime, CacheBlock block, long rlen, long clen, int brlen, int bclen) {
+			_fname = fname;
+			_mtime = mtime;
+			_block = (block != null) ? new WeakReference<CacheBlock>(block) : null;
+			_rlen = rlen;
+			_clen = clen;
+			_brlen = brlen;
+			_bclen = bclen;
+			
+			//precompute hash code (independent of weak reference state)
+			int h = (fname != null) ? fname.hashCode() : System.identityHashCode(block);
+			h = 31 * h + (int)(mtime ^ (mtime >>> 32));
+			h = 31 * h + (int)(rlen ^ (rlen >>> 32));
+			h = 31 * h + (int)(clen ^ (clen >>> 32));
+			_hash = 31 * h + brlen * bclen;
+		}
+		
+		public boolean isReachable() {
+			return (_block == null || _block.get() != null);
+		}
+		
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+		
+		@Override
+		public boolean equals(Object o) {
+			if( !(o instanceof BroadcastKey) )
+				return false;
+			BroadcastKey that = (BroadcastKey) o;
+			if( _rlen != that._rlen || _clen != that._clen 
+				|| _brlen != that._brlen || _bclen != that._bclen )
+				return false;
+			if( _fname != null )
+				return _fname.equals(that._fname) && _mtime == that._mtime;
+			CacheBlock block = _block.get();
+			return (that._block != null && block != null 
+				&& block == that._block.get());
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class CacheEntry 
+	{
+		private final BroadcastKey key;
+		private final PartitionedBroadcast<?> bc;
+		private final long size;
+		private int numRef = 0;
+		
+		public CacheEntry(BroadcastKey key, PartitionedBroadcast<?> bc, long size) {
+			this.key = key;
+			this.bc = bc;
+			this.size = size;
+		}
+		
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		public boolean isValid() {
+			for( Broadcast<PartitionedBlock> tmp : ((PartitionedBroadcast)bc).getBroadcasts() )
+				if( !tmp.isValid() )
+					return false;
+			return true;
+		}
+		
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		public void destroy() {
+			for( Broadcast<PartitionedBlock> tmp : ((PartitionedBroadcast)bc).getBroadcasts() )
+				SparkExecutionContext.destroyBroadcastVariable(tmp);
+		}
+	}
+}
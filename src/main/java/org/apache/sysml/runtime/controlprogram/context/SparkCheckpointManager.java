@@ -0,0 +1,351 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.context;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+import org.apache.spark.storage.StorageLevel;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.MRJobInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysml.runtime.instructions.spark.CheckpointSPInstruction;
+import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Runtime checkpoint manager of a spark execution context, which complements 
+ * the compile-time checkpoint injection (with its fixed storage levels) by 
+ * 
+ * (1) a reuse analysis of checkpointed variables over the remaining instructions 
+ *     of the current program block (unbounded reuse if live-out or aliased), 
+ * (2) a size- and reuse-aware selection of the storage level, i.e., no storage
+ *     for single CP consumers, MEMORY_ONLY for short-lived intermediates, the 
+ *     compiled level for unbounded reuse, MEMORY_AND_DISK_SER if the deserialized 
+ *     data exceeds the free storage budget, and compressed serialized blocks if
+ *     even the serialized data exceeds the budget, and
+ * (3) an early unpersist of checkpoints once their last consumer was executed,
+ *     instead of on rmvar at the end of the program block. 
+ * 
+ * All runtime decisions are disabled by default, i.e., checkpoints use the 
+ * compiled storage levels and are unpersisted on rmvar.
+ * 
+ */
+public class SparkCheckpointManager 
+{
+	//internal configurations (disabled by default)
+	public static boolean RUNTIME_STORAGE_LEVELS = false;
+	public static boolean EARLY_UNPERSIST = false;
+	public static boolean COMPRESSED_CHECKPOINTS = false;
+	
+	//fraction of the data memory budget available for checkpoints
+	public static double STORAGE_BUDGET_FRACTION = 1.0;
+	
+	public static final int UNBOUNDED_REUSE = -1;
+	
+	private final SparkExecutionContext _sec;
+	
+	//reuse of checkpoints that are about to be executed (by output variable name)
+	private final HashMap<String, ReuseInfo> _pending = new HashMap<String, ReuseInfo>();
+	//tracked checkpoints by rdd id, and their last consumers for early unpersist
+	private final HashMap<Integer, CheckpointEntry> _checkpoints = new HashMap<Integer, CheckpointEntry>();
+	private final IdentityHashMap<Instruction, ArrayList<CheckpointEntry>> _lastConsumers = 
+			new IdentityHashMap<Instruction, ArrayList<CheckpointEntry>>();
+	private long _size = 0; //estimated size of tracked checkpoints
+	
+	protected SparkCheckpointManager(SparkExecutionContext sec) {
+		_sec = sec;
+	}
+	
+	/**
+	 * Analyzes the reuse of the checkpoint at the given position (if any)
+	 * over the remaining instructions of the given program block.
+	 * 
+	 * @param inst
+	 * @param pos
+	 */
+	public synchronized void preprocessInstruction(ArrayList<Instruction> inst, int pos) 
+	{
+		Instruction curr = inst.get(pos);
+		if( curr instanceof CheckpointSPInstruction ) {
+			String varname = ((CheckpointSPInstruction)curr).getOutputVariableName();
+			_pending.put(varname, analyzeReuse(inst, pos+1, varname));
+		}
+	}
+	
+	/**
+	 * Unpersists all checkpoints whose last consumer is the given instruction, 
+	 * unless there are still lazily evaluated rdds that depend on them.
+	 * 
+	 * @param inst
+	 */
+	public synchronized void postprocessInstruction(Instruction inst) 
+	{
+		if( _lastConsumers.isEmpty() )
+			return;
+		
+		ArrayList<CheckpointEntry> entries = _lastConsumers.remove(inst);
+		if( entries != null ) {
+			for( CheckpointEntry e : entries )
+				if( e.rdd.getNumReferences() == 0 )
+					_sec.cleanupRDDVariable(e.rdd.getRDD());
+		}
+	}
+	
+	/**
+	 * Selects the storage level for the checkpoint of the given output variable
+	 * based on its reuse, size, and the free storage budget. 
+	 * 
+	 * @param varname checkpoint output variable
+	 * @param mc matrix characteristics of the checkpoint input
+	 * @param matrix true for matrices, false for frames
+	 * @param level compiled storage level
+	 * @return
+	 */
+	public synchronized CheckpointPlan getCheckpointPlan(String varname, MatrixCharacteristics mc, boolean matrix, StorageLevel level) 
+	{
+		ReuseInfo reuse = _pending.remove(varname);
+		if( reuse == null )
+			reuse = new ReuseInfo(UNBOUNDED_REUSE, null, true);
+		
+		//compiled storage level for unknown sizes or disabled runtime decisions
+		if( !RUNTIME_STORAGE_LEVELS || !matrix || !mc.dimsKnown(true) )
+			return new CheckpointPlan(level, false, reuse);
+		
+		//no storage for unused checkpoints and single CP consumers (which collect once)
+		int numConsumers = reuse.getNumConsumers();
+		if( numConsumers == 0 || (numConsumers == 1 && !reuse.hasSparkConsumers()) )
+			return new CheckpointPlan(StorageLevel.NONE(), false, reuse);
+		
+		//size-aware storage level selection
+		double size = OptimizerUtils.estimatePartitionedSizeExactSparsity(mc);
+		double sizeSer = MatrixBlock.estimateSizeOnDisk(mc.getRows(), mc.getCols(), mc.getNonZeros());
+		double free = STORAGE_BUDGET_FRACTION * SparkExecutionContext.getDataMemoryBudget(true, false) - _size;
+		
+		if( size <= free ) {
+			//short-lived intermediates w/o spilling, compiled level otherwise
+			StorageLevel tmp = (numConsumers == UNBOUNDED_REUSE) ? level : StorageLevel.MEMORY_ONLY();
+			return new CheckpointPlan(tmp, false, reuse);
+		}
+		
+		//compressed serialized storage for dense data with unbounded reuse (e.g., loops), 
+		//which amortizes the compression costs over many reads
+		boolean compress = COMPRESSED_CHECKPOINTS && sizeSer > free && numConsumers == UNBOUNDED_REUSE
+			&& !MatrixBlock.evalSparseFormatInMemory(mc.getRows(), mc.getCols(), mc.getNonZeros());
+		return new CheckpointPlan(StorageLevel.MEMORY_AND_DISK_SER(), compress, reuse);
+	}
+	
+	/**
+	 * Registers the given checkpoint rdd (after persist) for the budget 
+	 * accounting and early unpersist after its last consumer.
+	 * 
+	 * @param rdd
+	 * @param mc
+	 * @param plan
+	 */
+	public synchronized void registerCheckpoint(RDDObject rdd, MatrixCharacteristics mc, CheckpointPlan plan) 
+	{
+		if( StorageLevel.NONE().equals(plan.getStorageLevel()) )
+			return;
+		
+		//maintain estimated size of persisted checkpoints
+		long size = !mc.dimsKnown(true) ? 0 : plan.getStorageLevel().deserialized() ?
+			OptimizerUtils.estimatePartitionedSizeExactSparsity(mc) :
+			MatrixBlock.estimateSizeOnDisk(mc.getRows(), mc.getCols(), mc.getNonZeros());
+		CheckpointEntry entry = new CheckpointEntry(rdd, size);
+		_checkpoints.put(rdd.getRDD().id(), entry);
+		_size += size;
+		
+		//register last consumer for early unpersist (only for bounded reuse)
+		Instruction last = plan.getReuseInfo().getLastConsumer();
+		if( EARLY_UNPERSIST && last != null && plan.getReuseInfo().getNumConsumers() != UNBOUNDED_REUSE ) {
+			if( !_lastConsumers.containsKey(last) )
+				_lastConsumers.put(last, new ArrayList<CheckpointEntry>());
+			_lastConsumers.get(last).add(entry);
+		}
+	}
+	
+	/**
+	 * Removes the given rdd from the tracked checkpoints, if it exists.
+	 * 
+	 * @param rddID
+	 */
+	public synchronized void notifyUnpersist(int rddID) 
+	{
+		CheckpointEntry entry = _checkpoints.remove(rddID);
+		if( entry != null )
+			_size -= entry.size;
+	}
+	
+	/**
+	 * Obtains the estimated size of all tracked (persisted) checkpoints.
+	 * 
+	 * @return
+	 */
+	public synchronized long getCheckpointSize() {
+		return _size;
+	}
+	
+	/**
+	 * Analyzes the reuse of the given variable over the instructions starting
+	 * at the given position, i.e., the number of operand references until 
+	 * the variable is removed. The reuse is unbounded if the variable is 
+	 * not removed (live-out) or aliased via cpvar/mvvar.
+	 * 
+	 * @param inst
+	 * @param pos
+	 * @param varname
+	 * @return
+	 */
+	public static ReuseInfo analyzeReuse(ArrayList<Instruction> inst, int pos, String varname) 
+	{
+		int count = 0;
+		Instruction last = null;
+		boolean spark = false;
+		
+		for( int i=pos; i<inst.size(); i++ ) 
+		{
+			Instruction tmp = inst.get(i);
+			int refs = getNumReferences(tmp, varname);
+			if( refs == 0 )
+				continue;
+			
+			if( tmp instanceof VariableCPInstruction ) {
+				VariableCPInstruction vinst = (VariableCPInstruction) tmp;
+				if( vinst.isRemoveVariable() ) //end of scope
+					return new ReuseInfo(count, last, spark);
+				else if( vinst.getOpcode().equalsIgnoreCase("cpvar") 
+					|| vinst.getOpcode().equalsIgnoreCase("mvvar") ) //alias
+					return new ReuseInfo(UNBOUNDED_REUSE, null, true);
+			}
+			
+			count += refs;
+			last = tmp;
+			spark |= !(tmp instanceof CPInstruction);
+		}
+		
+		//live-out variable (consumed by subsequent program blocks)
+		return new ReuseInfo(UNBOUNDED_REUSE, null, true);
+	}
+	
+	/**
+	 * 
+	 * @param inst
+	 * @param varname
+	 * @return
+	 */
+	private static int getNumReferences(Instruction inst, String varname) 
+	{
+		int count = 0;
+		
+		if( inst instanceof MRJobInstruction ) {
+			for( String var : ((MRJobInstruction)inst).getInputVars() )
+				count += var.equals(varname) ? 1 : 0;
+		}
+		else if( inst.toString() != null && inst.toString().contains(varname) ) {
+			//operands are separated by the operand delimiter and are either 
+			//plain names, typed names, or named parameters (name=value)
+			for( String part : inst.toString().split(Lop.OPERAND_DELIMITOR) ) {
+				int ix1 = part.indexOf(Lop.DATATYPE_PREFIX);
+				String name = (ix1 >= 0) ? part.substring(0, ix1) : part;
+				int ix2 = name.indexOf(Lop.NAME_VALUE_SEPARATOR);
+				name = (ix2 >= 0) ? name.substring(ix2+1) : name;
+				count += name.equals(varname) ? 1 : 0;
+			}
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Reuse information of a checkpoint within a program block.
+	 */
+	public static class ReuseInfo 
+	{
+		private final int _numConsumers;
+		private final Instruction _last;
+		private final boolean _spark;
+		
+		public ReuseInfo(int numConsumers, Instruction last, boolean spark) {
+			_numConsumers = numConsumers;
+			_last = last;
+			_spark = spark;
+		}
+		
+		public int getNumConsumers() {
+			return _numConsumers;
+		}
+		
+		public Instruction getLastConsumer() {
+			return _last;
+		}
+		
+		public boolean hasSparkConsumers() {
+			return _spark;
+		}
+	}
+	
+	/**
+	 * Storage decision for a single checkpoint.
+	 */
+	public static class CheckpointPlan 
+	{
+		private final StorageLevel _level;
+		private final boolean _compress;
+		private final ReuseInfo _reuse;
+		
+		public CheckpointPlan(StorageLevel level, boolean compress, ReuseInfo reuse) {
+			_level = level;
+			_compress = compress;
+			_reuse = reuse;
+		}
+		
+		public StorageLevel getStorageLevel() {
+			return _level;
+		}
+		
+		public boolean isCompressed() {
+			return _compress;
+		}
+		
+		public ReuseInfo getReuseInfo() {
+			return _reuse;
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class CheckpointEntry 
+	{
+		private final RDDObject rdd;
+		private final long size;
+		
+		public CheckpointEntry(RDDObject rdd, long size) {
+			this.rdd = rdd;
+			this.size = size;
+		}
+	}
+}
@@ -47,6 +47,7 @@ import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.context.SparkBroadcastCache.BroadcastKey;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.spark.CheckpointSPInstruction;
@@ -98,6 +99,12 @@ public class SparkExecutionContext extends ExecutionContext
 	// This limitation may eventually be removed; see SPARK-2243 for more details.
 	private static JavaSparkContext _spctx = null; 
 	
+	//runtime checkpoint management (storage levels, early unpersist)
+	private SparkCheckpointManager _cpmanager = null;
+	
+	//content-keyed broadcast reuse (shared across execution contexts of parfor workers)
+	private static SparkBroadcastCache _bccache = new SparkBroadcastCache();
+	
 	static {
 		// for internal debugging only
 		if( LDEBUG ) {
@@ -115,6 +122,7 @@ public class SparkExecutionContext extends ExecutionContext
 	{
 		//protected constructor to force use of ExecutionContextFactory
 		super( allocateVars, prog );
+		_cpmanager = new SparkCheckpointManager(this);
 				
 		//spark context creation via internal initializer
 		if( !(LAZY_SPARKCTX_CREATION && OptimizerUtils.isHybridExecutionMode()) ) {
@@ -154,6 +162,7 @@ public class SparkExecutionContext extends ExecutionContext
 	 */
 	public static void resetSparkContextStatic() {
 		_spctx = null;
+		_bccache.clear();
 	}
 	
 	/**
@@ -169,6 +178,9 @@ public class SparkExecutionContext extends ExecutionContext
 				
 				//make sure stopped context is never used again
 				_spctx = null; 
+				
+				//clear cached broadcasts of stopped context
+				_bccache.clear();
 			}
 				
 		}
@@ -245,6 +257,15 @@ public class SparkExecutionContext extends ExecutionContext
 		}
 	}	
 	
+	/**
+	 * Returns the runtime checkpoint manager of this execution context.
+	 * 
+	 * @return
+	 */
+	public SparkCheckpointManager getCheckpointManager() {
+		return _cpmanager;
+	}
+	
 	/**
 	 * Spark instructions should call this for all matrix inputs except broadcast
 	 * variables.
@@ -499,6 +520,15 @@ public class SparkExecutionContext extends ExecutionContext
 			bret = mo.getBroadcastHandle().getBroadcast();
 		}
 		
+		//reuse cached broadcast of the same data (file-based key, no read)
+		BroadcastKey key = null;
+		if( bret == null ) {
+			key = SparkBroadcastCache.createKey(mo);
+			bret = _bccache.get(key);
+			if( bret != null )
+				setBroadcastHandle(mo, bret, varname);
+		}
+		
 		//create new broadcast handle (never created, evicted)
 		if( bret == null ) 
 		{
@@ -508,30 +538,45 @@ public class SparkExecutionContext extends ExecutionContext
 			
 			//create partitioned matrix block and release memory consumed by input
 			MatrixBlock mb = mo.acquireRead();
-			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(mb, brlen, bclen);
-			mo.release();
 			
-			//determine coarse-grained partitioning
-			int numPerPart = PartitionedBroadcast.computeBlocksPerPartition(mo.getNumRows(), mo.getNumColumns(), brlen, bclen);
-			int numParts = (int) Math.ceil((double)pmb.getNumRowBlocks()*pmb.getNumColumnBlocks() / numPerPart); 
-			Broadcast<PartitionedBlock<MatrixBlock>>[] ret = new Broadcast[numParts];
-					
-			//create coarse-grained partitioned broadcasts
-			if( numParts > 1 ) {
-				for( int i=0; i<numParts; i++ ) {
-					int offset = i * numPerPart;
-					int numBlks = Math.min(numPerPart, pmb.getNumRowBlocks()*pmb.getNumColumnBlocks()-offset);
-					PartitionedBlock<MatrixBlock> tmp = pmb.createPartition(offset, numBlks, new MatrixBlock());
-					ret[i] = getSparkContext().broadcast(tmp);
-				}
+			//reuse cached broadcast of the same data (in-memory key)
+			if( key == null ) {
+				key = SparkBroadcastCache.createKey(mo, mb);
+				bret = _bccache.get(key);
 			}
-			else { //single partition
-				ret[0] = getSparkContext().broadcast( pmb);
+			if( bret != null ) {
+				mo.release();
+				setBroadcastHandle(mo, bret, varname);
+			}
+			else {
+				PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<MatrixBlock>(mb, brlen, bclen);
+				mo.release();
+				
+				//determine coarse-grained partitioning
+				int numPerPart = PartitionedBroadcast.computeBlocksPerPartition(mo.getNumRows(), mo.getNumColumns(), brlen, bclen);
+				int numParts = (int) Math.ceil((double)pmb.getNumRowBlocks()*pmb.getNumColumnBlocks() / numPerPart); 
+				Broadcast<PartitionedBlock<MatrixBlock>>[] ret = new Broadcast[numParts];
+						
+				//create coarse-grained partitioned broadcasts
+				if( numParts > 1 ) {
+					for( int i=0; i<numParts; i++ ) {
+						int offset = i * numPerPart;
+						int numBlks = Math.min(numPerPart, pmb.getNumRowBlocks()*pmb.getNumColumnBlocks()-offset);
+						PartitionedBlock<MatrixBlock> tmp = pmb.createPartition(offset, numBlks, new MatrixBlock());
+						ret[i] = getSparkContext().broadcast(tmp);
+					}
+				}
+				else { //single partition
+					ret[0] = getSparkContext().broadcast( pmb);
+				}
+			
+				bret = new PartitionedBroadcast<MatrixBlock>(ret);
+				setBroadcastHandle(mo, bret, varname);
+				_bccache.put(key, bret, pmb.getInMemorySize());
+				
+				if( DMLScript.STATISTICS )
+					Statistics.incSparkBroadcastBytes(pmb.getExactSerializedSize());
 			}
-		
-			bret = new PartitionedBroadcast<MatrixBlock>(ret);
-			BroadcastObject<MatrixBlock> bchandle = new BroadcastObject<MatrixBlock>(bret, varname);
-			mo.setBroadcastHandle(bchandle);
 		}
 		
 		if (DMLScript.STATISTICS) {
@@ -542,6 +587,25 @@ public class SparkExecutionContext extends ExecutionContext
 		return bret;
 	}
 	
+	/**
+	 * Binds a new broadcast handle to the given matrix object and releases
+	 * the cache reference of a previously bound but invalid broadcast.
+	 * 
+	 * @param mo
+	 * @param bret
+	 * @param varname
+	 */
+	@SuppressWarnings("rawtypes")
+	private void setBroadcastHandle(MatrixObject mo, PartitionedBroadcast<MatrixBlock> bret, String varname) 
+	{
+		BroadcastObject<MatrixBlock> old = mo.getBroadcastHandle();
+		if( old != null ) {
+			PartitionedBroadcast pbm = old.getBroadcast();
+			if( pbm != null )
+				_bccache.release(pbm);
+		}
+		mo.setBroadcastHandle(new BroadcastObject<MatrixBlock>(bret, varname));
+	}
 
 	/**
 	 *
@@ -1177,7 +1241,7 @@ public class SparkExecutionContext extends ExecutionContext
 		}
 		else if( lob instanceof BroadcastObject ) {
 			PartitionedBroadcast pbm = ((BroadcastObject)lob).getBroadcast();
-			if( pbm != null ) //robustness for evictions
+			if( pbm != null && !_bccache.release(pbm) ) //robustness for evictions, cached reuse
 				for( Broadcast<PartitionedBlock> bc : pbm.getBroadcasts() )
 					cleanupBroadcastVariable(bc);
 		}
@@ -1198,6 +1262,15 @@ public class SparkExecutionContext extends ExecutionContext
 	 * @param inV
 	 */
 	public void cleanupBroadcastVariable(Broadcast<?> bvar) 
+	{
+		destroyBroadcastVariable(bvar);
+	}
+	
+	/**
+	 * 
+	 * @param bvar
+	 */
+	protected static void destroyBroadcastVariable(Broadcast<?> bvar) 
 	{
 		//in comparison to 'unpersist' (which would only delete the broadcast from the executors),
 		//this call also deletes related data from the driver.
@@ -1217,6 +1290,7 @@ public class SparkExecutionContext extends ExecutionContext
 	{
 		if( rvar.getStorageLevel()!=StorageLevel.NONE() ) {
 			rvar.unpersist( ASYNCHRONOUS_VAR_DESTROY );
+			_cpmanager.notifyUnpersist(rvar.id());
 		}
 	}
 	
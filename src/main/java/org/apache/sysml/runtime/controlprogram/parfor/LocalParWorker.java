@@ -91,13 +91,17 @@ public class LocalParWorker extends ParWorker implements Runnable
 		
 		// continuous execution (execute tasks until (1) stopped or (2) no more tasks)
 		Task lTask = null; 
+		long waitTime = 0; //in nano sec
 		
 		while( !_stopped ) 
 		{
 			//dequeue the next task (abort on NO_MORE_TASKS or error)
 			try
 			{
+				long t0 = _monitor ? System.nanoTime() : 0;
 				lTask = _taskQueue.dequeueTask();
+				if( _monitor )
+					waitTime += System.nanoTime() - t0;
 				
 				if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 					break; //normal end of parallel worker
@@ -150,6 +154,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMTASKS, _numTasks);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_NUMITERS, _numIters);
 			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_EXEC_T, time1.stop());
+			StatisticMonitor.putPWStat(_workerID, Stat.PARWRK_QUEUE_WAIT_T, ((double)waitTime)/1000000); //in ms
 		}
 	}
 }
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free variant of the local task queue for dynamic task distribution to 
+ * many local parfor workers. In contrast to the monitor-based LocalTaskQueue,
+ * concurrent readers and writers do not contend on a single lock but on atomic 
+ * head and tail counters of a bounded multi-producer/multi-consumer ring buffer,
+ * where per-slot sequence numbers ensure that each task is read by exactly one 
+ * reader. Waiting readers and writers spin with exponential backoff. 
+ * 
+ * The end-of-stream semantics are equivalent to LocalTaskQueue, i.e., after
+ * closeInput, readers obtain NO_MORE_TASKS once all tasks have been read.
+ * 
+ */
+public class LocalTaskQueueLockFree<T> extends LocalTaskQueue<T>
+{
+	public static final int DEFAULT_CAPACITY = 4096; //max number of buffered tasks
+	
+	//max backoff time of waiting readers and writers
+	private static final long MAX_BACKOFF_NS = 1000000; //1ms
+	
+	private final int _mask;
+	private final AtomicReferenceArray<T> _items;
+	private final AtomicLongArray _seqs;
+	private final AtomicLong _head = new AtomicLong(0); //next read position
+	private final AtomicLong _tail = new AtomicLong(0); //next write position
+	private volatile boolean _closedInput = false;
+	
+	public LocalTaskQueueLockFree() {
+		this(DEFAULT_CAPACITY);
+	}
+	
+	public LocalTaskQueueLockFree( int capacity ) 
+	{
+		//round capacity to the next power of two
+		int cap = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+		_mask = cap - 1;
+		_items = new AtomicReferenceArray<T>(cap);
+		_seqs = new AtomicLongArray(cap);
+		for( int i=0; i<cap; i++ )
+			_seqs.set(i, i);
+	}
+	
+	/**
+	 * Lock-free insert of a new task to the end of the FIFO queue, 
+	 * which waits with backoff if the queue is full.
+	 * 
+	 * @param t
+	 * @throws InterruptedException
+	 */
+	@Override
+	public void enqueueTask( T t ) 
+		throws InterruptedException
+	{
+		long backoff = 0;
+		while( !offer(t) )
+			backoff = backoff( backoff );
+	}
+	
+	/**
+	 * Lock-free read and delete from the top of the FIFO queue,
+	 * which waits with backoff if the queue is empty but not closed.
+	 * 
+	 * @return
+	 * @throws InterruptedException
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T dequeueTask() 
+		throws InterruptedException
+	{
+		long backoff = 0;
+		while( true ) {
+			//read closed flag before probing the queue, because all
+			//writes happen before close (robustness for lost tasks)
+			boolean closed = _closedInput;
+			T t = poll();
+			if( t != null )
+				return t;
+			else if( closed )
+				return (T)NO_MORE_TASKS;
+			backoff = backoff( backoff );
+		}
+	}
+	
+	/**
+	 * Marks that no more tasks will be inserted into the queue.
+	 */
+	@Override
+	public void closeInput() {
+		_closedInput = true;
+	}
+	
+	/**
+	 * Read of the current number of tasks in the queue, which
+	 * is only approximate in case of concurrent modifications.
+	 * 
+	 * @return
+	 * @throws InterruptedException
+	 */
+	@Override
+	public int size()
+		throws InterruptedException
+	{
+		return (int) Math.max(_tail.get() - _head.get(), 0);
+	}
+	
+	@Override
+	public String toString() 
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append("TASK QUEUE LOCKFREE (size=");
+		sb.append(Math.max(_tail.get() - _head.get(), 0));
+		sb.append(",capacity=");
+		sb.append(_mask + 1);
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(")\n");
+		return sb.toString();
+	}
+	
+	/**
+	 * Tries to insert the given task at the tail of the ring buffer.
+	 * 
+	 * @param t
+	 * @return false if the queue is full
+	 */
+	private boolean offer( T t )
+	{
+		long pos = _tail.get();
+		while( true ) {
+			int ix = (int)(pos & _mask);
+			long dif = _seqs.get(ix) - pos;
+			if( dif == 0 ) { //slot free for writing at pos
+				if( _tail.compareAndSet(pos, pos+1) ) {
+					_items.set(ix, t);
+					_seqs.set(ix, pos+1); //publish to readers
+					return true;
+				}
+				pos = _tail.get();
+			}
+			else if( dif < 0 ) //slot not yet read (full)
+				return false;
+			else //concurrent write, retry with new tail
+				pos = _tail.get();
+		}
+	}
+	
+	/**
+	 * Tries to remove the task at the head of the ring buffer.
+	 * 
+	 * @return task, or null if the queue is empty
+	 */
+	private T poll()
+	{
+		long pos = _head.get();
+		while( true ) {
+			int ix = (int)(pos & _mask);
+			long dif = _seqs.get(ix) - (pos+1);
+			if( dif == 0 ) { //slot published for reading at pos
+				if( _head.compareAndSet(pos, pos+1) ) {
+					T t = _items.getAndSet(ix, null);
+					_seqs.set(ix, pos+_mask+1); //release for next round of writes
+					return t;
+				}
+				pos = _head.get();
+			}
+			else if( dif < 0 ) //slot not yet written (empty)
+				return null;
+			else //concurrent read, retry with new head
+				pos = _head.get();
+		}
+	}
+	
+	/**
+	 * Waits according to the given backoff (spin, yield, park with 
+	 * exponentially increasing time) and returns the next backoff.
+	 * 
+	 * @param backoff
+	 * @return
+	 * @throws InterruptedException
+	 */
+	private static long backoff( long backoff ) 
+		throws InterruptedException
+	{
+		if( backoff < 16 ) //spin
+			return backoff + 1;
+		else if( backoff < 32 ) //yield
+			Thread.yield();
+		else //park with exponential backoff
+			LockSupport.parkNanos(Math.min(backoff, MAX_BACKOFF_NS));
+		if( Thread.interrupted() )
+			throw new InterruptedException();
+		return (backoff < 32) ? backoff + 1 : Math.min(backoff * 2, MAX_BACKOFF_NS);
+	}
+}
@@ -194,6 +194,88 @@ public class ProgramConverter
 		return cpec;
 	}
 	
+	/**
+	 * Creates a plain deep copy of an entire runtime program, i.e., of all
+	 * function program blocks and top-level program blocks (incl. instructions),
+	 * where all copied program blocks refer to the new program. This allows
+	 * concurrent execution of the original and the copy (e.g., in JMLC).
+	 *
+	 * @param prog runtime program
+	 * @return deep copy of the runtime program
+	 * @throws DMLRuntimeException
+	 */
+	public static Program createDeepCopyProgram(Program prog)
+		throws DMLRuntimeException
+	{
+		Program ret = new Program();
+		HashSet<String> fnStack = new HashSet<String>();
+		HashSet<String> fnCreated = new HashSet<String>();
+
+		//copy all function program blocks (no renaming)
+		for( Entry<String, FunctionProgramBlock> e : prog.getFunctionProgramBlocks().entrySet() ) {
+			String[] parts = DMLProgram.splitFunctionKey(e.getKey());
+			FunctionProgramBlock fpb = e.getValue();
+			FunctionProgramBlock copy = null;
+			if( fpb instanceof ExternalFunctionProgramBlock ) {
+				ExternalFunctionProgramBlock efpb = (ExternalFunctionProgramBlock) fpb;
+				ArrayList<DataIdentifier> tmp1 = new ArrayList<DataIdentifier>();
+				ArrayList<DataIdentifier> tmp2 = new ArrayList<DataIdentifier>();
+				if( efpb.getInputParams()!= null )
+					tmp1.addAll(efpb.getInputParams());
+				if( efpb.getOutputParams()!= null )
+					tmp2.addAll(efpb.getOutputParams());
+				copy = (efpb instanceof ExternalFunctionProgramBlockCP) ?
+					new ExternalFunctionProgramBlockCP(ret, tmp1, tmp2, efpb.getOtherParams(), efpb.getBaseDir()) :
+					new ExternalFunctionProgramBlock(ret, tmp1, tmp2, efpb.getOtherParams(), efpb.getBaseDir());
+			}
+			else {
+				copy = createDeepCopyFunctionProgramBlock(fpb, fnStack, fnCreated);
+			}
+			ret.addFunctionProgramBlock(parts[0], parts[1], copy);
+		}
+
+		//copy all top-level program blocks
+		for( ProgramBlock pb : rcreateDeepCopyProgramBlocks(prog.getProgramBlocks(), 0, -1, fnStack, fnCreated, true, false) )
+			ret.addProgramBlock(pb);
+
+		//rebind all copied program blocks to the new program
+		for( FunctionProgramBlock fpb : ret.getFunctionProgramBlocks().values() )
+			rsetProgram(fpb, ret);
+		for( ProgramBlock pb : ret.getProgramBlocks() )
+			rsetProgram(pb, ret);
+
+		return ret;
+	}
+
+	/**
+	 *
+	 * @param pb
+	 * @param prog
+	 */
+	private static void rsetProgram(ProgramBlock pb, Program prog)
+	{
+		pb.setProgram(prog);
+
+		if( pb instanceof WhileProgramBlock ) {
+			for( ProgramBlock c : ((WhileProgramBlock)pb).getChildBlocks() )
+				rsetProgram(c, prog);
+		}
+		else if( pb instanceof ForProgramBlock ) {
+			for( ProgramBlock c : ((ForProgramBlock)pb).getChildBlocks() )
+				rsetProgram(c, prog);
+		}
+		else if( pb instanceof IfProgramBlock ) {
+			for( ProgramBlock c : ((IfProgramBlock)pb).getChildBlocksIfBody() )
+				rsetProgram(c, prog);
+			for( ProgramBlock c : ((IfProgramBlock)pb).getChildBlocksElseBody() )
+				rsetProgram(c, prog);
+		}
+		else if( pb instanceof FunctionProgramBlock && !(pb instanceof ExternalFunctionProgramBlock) ) {
+			for( ProgramBlock c : ((FunctionProgramBlock)pb).getChildBlocks() )
+				rsetProgram(c, prog);
+		}
+	}
+
 	/**
 	 * This recursively creates a deep copy of program blocks and transparently replaces filenames according to the
 	 * specified parallel worker in order to avoid conflicts between parworkers. This happens recursively in order
@@ -23,6 +23,7 @@ package org.apache.sysml.runtime.instructions;
 import java.util.HashMap;
 
 import org.apache.sysml.lops.DataGen;
+import org.apache.sysml.lops.FusedCell;
 import org.apache.sysml.lops.UnaryCP;
 import org.apache.sysml.lops.LopProperties.ExecType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -44,6 +45,7 @@ import org.apache.sysml.runtime.instructions.cp.DataGenCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.DataPartitionCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.FileCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.FusedCellCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.IndexingCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.MMChainCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.MMTSJCPInstruction;
@@ -250,6 +252,7 @@ public class CPInstructionParser extends InstructionParser
 		String2CPInstructionType.put( "cov"   , CPINSTRUCTION_TYPE.Covariance);
 		String2CPInstructionType.put( "qsort"  , CPINSTRUCTION_TYPE.QSort);
 		String2CPInstructionType.put( "qpick"  , CPINSTRUCTION_TYPE.QPick);
+		String2CPInstructionType.put( "qselect", CPINSTRUCTION_TYPE.QPick);
 		
 		
 		String2CPInstructionType.put( "rangeReIndex", CPINSTRUCTION_TYPE.MatrixIndexing);
@@ -263,6 +266,8 @@ public class CPInstructionParser extends InstructionParser
 		String2CPInstructionType.put( "lu",    CPINSTRUCTION_TYPE.MultiReturnBuiltin);
 		String2CPInstructionType.put( "eigen", CPINSTRUCTION_TYPE.MultiReturnBuiltin);
 		
+		String2CPInstructionType.put( FusedCell.OPCODE, CPINSTRUCTION_TYPE.FusedCell);
+		
 		String2CPInstructionType.put( "partition", CPINSTRUCTION_TYPE.Partition);
 		String2CPInstructionType.put( "compress", CPINSTRUCTION_TYPE.Compression);
 		
@@ -393,8 +398,8 @@ public class CPInstructionParser extends InstructionParser
 			case Builtin: 
 				String []parts = InstructionUtils.getInstructionPartsWithValueType(str);
 				if ( parts[0].equals("log") || parts[0].equals("log_nz") ) {
-					if ( parts.length == 3 ) {
-						// B=log(A), y=log(x)
+					if ( parts.length == 3 || (parts.length == 4 && InstructionUtils.hasOptionalNumThreads(parts)) ) {
+						// B=log(A), y=log(x), (optional num threads for matrix inputs)
 						return BuiltinUnaryCPInstruction.parseInstruction(str);
 					} else if ( parts.length == 4 ) {
 						// B=log(A,10), y=log(x,10)
@@ -424,6 +429,9 @@ public class CPInstructionParser extends InstructionParser
 	
 			case Covariance:
 				return CovarianceCPInstruction.parseInstruction(str);
+			
+			case FusedCell:
+				return FusedCellCPInstruction.parseInstruction(str);
 				
 			case INVALID:
 			
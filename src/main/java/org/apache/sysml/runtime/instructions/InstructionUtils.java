@@ -19,6 +19,7 @@
 
 package org.apache.sysml.runtime.instructions;
 
+import java.util.Arrays;
 import java.util.StringTokenizer;
 
 import org.apache.sysml.lops.AppendM;
@@ -83,6 +84,7 @@ import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.UtilFunctions;
 
 
 public class InstructionUtils 
@@ -215,6 +217,47 @@ public class InstructionUtils
 		return ret;
 	}
 	
+	/**
+	 * Indicates if the given instruction parts end with the optional number 
+	 * of threads, i.e., a trailing integer literal without data and value type,
+	 * which multi-threaded CP operations append after their output operand.
+	 * 
+	 * @param parts instruction parts incl opcode
+	 * @return
+	 */
+	public static boolean hasOptionalNumThreads( String[] parts ) 
+	{
+		//note: operands always carry data and value types, opcodes are never integers
+		String last = parts[parts.length-1];
+		return !last.isEmpty() && UtilFunctions.isIntegerNumber(last);
+	}
+	
+	/**
+	 * Obtains the optional number of threads of the given instruction parts,
+	 * or 1 if the instruction does not carry a number of threads.
+	 * 
+	 * @param parts instruction parts incl opcode
+	 * @return
+	 */
+	public static int parseOptionalNumThreads( String[] parts ) 
+	{
+		return hasOptionalNumThreads(parts) ? 
+			Integer.parseInt(parts[parts.length-1]) : 1;
+	}
+	
+	/**
+	 * Removes the optional number of threads from the given instruction parts, 
+	 * i.e., returns the opcode and operands only.
+	 * 
+	 * @param parts instruction parts incl opcode
+	 * @return
+	 */
+	public static String[] removeOptionalNumThreads( String[] parts ) 
+	{
+		return hasOptionalNumThreads(parts) ? 
+			Arrays.copyOf(parts, parts.length-1) : parts;
+	}
+	
 	/**
 	 * 
 	 * @param str
@@ -636,6 +679,20 @@ public class InstructionUtils
 		throw new DMLRuntimeException("Unknown binary opcode " + opcode);
 	}
 	
+	/**
+	 * 
+	 * @param opcode
+	 * @param k number of threads
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static BinaryOperator parseBinaryOperator(String opcode, int k) 
+		throws DMLRuntimeException
+	{
+		BinaryOperator bop = parseBinaryOperator(opcode);
+		return (k > 1) ? new BinaryOperator(bop.fn, k) : bop;
+	}
+	
 	/**
 	 * scalar-matrix operator
 	 * 
@@ -653,6 +710,27 @@ public class InstructionUtils
 		return parseScalarBinaryOperator(opcode, arg1IsScalar, default_constant);
 	}
 	
+	/**
+	 * multi-threaded scalar-matrix operator
+	 * 
+	 * @param opcode
+	 * @param arg1IsScalar
+	 * @param k number of threads
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static ScalarOperator parseScalarBinaryOperator(String opcode, boolean arg1IsScalar, int k) 
+		throws DMLRuntimeException
+	{
+		ScalarOperator sop = parseScalarBinaryOperator(opcode, arg1IsScalar);
+		if( k <= 1 )
+			return sop;
+		
+		return (sop instanceof LeftScalarOperator) ?
+			new LeftScalarOperator(sop.fn, sop.getConstant(), k) :
+			new RightScalarOperator(sop.fn, sop.getConstant(), k);
+	}
+	
 	/**
 	 * scalar-matrix operator
 	 * 
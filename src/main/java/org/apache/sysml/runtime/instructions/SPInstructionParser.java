@@ -24,6 +24,7 @@ import java.util.HashMap;
 import org.apache.sysml.lops.Checkpoint;
 import org.apache.sysml.lops.Compression;
 import org.apache.sysml.lops.DataGen;
+import org.apache.sysml.lops.FusedCell;
 import org.apache.sysml.lops.WeightedCrossEntropy;
 import org.apache.sysml.lops.WeightedCrossEntropyR;
 import org.apache.sysml.lops.WeightedDivMM;
@@ -55,6 +56,7 @@ import org.apache.sysml.runtime.instructions.spark.CumulativeAggregateSPInstruct
 import org.apache.sysml.runtime.instructions.spark.CumulativeOffsetSPInstruction;
 import org.apache.sysml.runtime.instructions.spark.FrameAppendMSPInstruction;
 import org.apache.sysml.runtime.instructions.spark.FrameAppendRSPInstruction;
+import org.apache.sysml.runtime.instructions.spark.FusedCellSPInstruction;
 import org.apache.sysml.runtime.instructions.spark.IndexingSPInstruction;
 import org.apache.sysml.runtime.instructions.spark.MapmmChainSPInstruction;
 import org.apache.sysml.runtime.instructions.spark.MapmmSPInstruction;
@@ -133,6 +135,7 @@ public class SPInstructionParser extends InstructionParser
 		
 		//ternary aggregate operators
 		String2SPInstructionType.put( "tak+*"      , SPINSTRUCTION_TYPE.AggregateTernary);
+		String2SPInstructionType.put( FusedCell.OPCODE, SPINSTRUCTION_TYPE.FusedCell);
 
 		
 		String2SPInstructionType.put( "rangeReIndex"   	, SPINSTRUCTION_TYPE.MatrixIndexing);
@@ -330,6 +333,9 @@ public class SPInstructionParser extends InstructionParser
 				
 			case AggregateTernary:
 				return AggregateTernarySPInstruction.parseInstruction(str);
+			
+			case FusedCell:
+				return FusedCellSPInstruction.parseInstruction(str);
 				
 			case MatrixIndexing:
 				return IndexingSPInstruction.parseInstruction(str);
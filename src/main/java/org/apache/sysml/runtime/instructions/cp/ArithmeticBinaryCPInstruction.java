@@ -46,7 +46,8 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		String opcode = parseBinaryInstruction(parts, in1, in2, out);
 		
 		// Arithmetic operations must be performed on DOUBLE or INT
 		ValueType vt1 = in1.getValueType();
@@ -65,9 +66,10 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 					" and " + in2.getName() + " must produce a matrix, which " + out.getName() + "is not");
 		}
 		
+		int k = InstructionUtils.parseOptionalNumThreads(parts);
 		Operator operator = (dt1 != dt2) ?
-					InstructionUtils.parseScalarBinaryOperator(opcode, (dt1 == DataType.SCALAR)) : 
-					InstructionUtils.parseBinaryOperator(opcode);
+					InstructionUtils.parseScalarBinaryOperator(opcode, (dt1 == DataType.SCALAR), k) : 
+					InstructionUtils.parseBinaryOperator(opcode, k);
 		
 		if ( opcode.equalsIgnoreCase("+") && dt1 == DataType.SCALAR && dt2 == DataType.SCALAR) 
 		{
@@ -105,4 +107,34 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		
 		return null;
 	}
+	
+	/**
+	 * Creates a scalar-scalar arithmetic instruction from already constructed 
+	 * operands, equivalent to parsing the given instruction string. Returns 
+	 * null for non-scalar or non-numeric operands, which are left to the parser.
+	 * 
+	 * @param opcode
+	 * @param in1
+	 * @param in2
+	 * @param out
+	 * @param str
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static ArithmeticBinaryCPInstruction createScalarInstruction(String opcode, CPOperand in1, CPOperand in2, CPOperand out, String str)
+		throws DMLRuntimeException
+	{
+		if( in1.getDataType() != DataType.SCALAR || in2.getDataType() != DataType.SCALAR )
+			return null;
+		if( !opcode.equalsIgnoreCase("+") && (!isNumeric(in1.getValueType()) 
+			|| !isNumeric(in2.getValueType()) || !isNumeric(out.getValueType())) )
+			return null;
+		
+		Operator operator = InstructionUtils.parseBinaryOperator(opcode, 1);
+		return new ScalarScalarArithmeticCPInstruction(operator, in1, in2, out, opcode, str);
+	}
+	
+	private static boolean isNumeric(ValueType vt) {
+		return (vt == ValueType.DOUBLE || vt == ValueType.INT);
+	}
 }
@@ -41,7 +41,13 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		throws DMLRuntimeException
 	{	
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(instr);
-		InstructionUtils.checkNumFields ( parts, 3 );
+		return parseBinaryInstruction(parts, in1, in2, out);
+	}
+	
+	protected static String parseBinaryInstruction(String[] parts, CPOperand in1, CPOperand in2, CPOperand out)
+		throws DMLRuntimeException
+	{	
+		InstructionUtils.checkNumFields ( parts, 3, 4 ); //w/ or w/o num threads
 		
 		String opcode = parts[0];
 		in1.split(parts[1]);
@@ -65,5 +71,4 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction
 		
 		return opcode;
 	}
-	
 }
@@ -58,7 +58,7 @@ public abstract class BuiltinUnaryCPInstruction extends UnaryCPInstruction
 		String opcode = null;
 		ValueFunction func = null;
 		
-		//print or stop or cumulative aggregates
+		//print or stop or cumulative aggregates or multi-threaded matrix builtins
 		if( parts.length==4 ) 
 		{
 			opcode = parts[0];
@@ -66,8 +66,9 @@ public abstract class BuiltinUnaryCPInstruction extends UnaryCPInstruction
 			out.split(parts[2]);
 			func = Builtin.getBuiltinFnObject(opcode);
 			
-			if( Arrays.asList(new String[]{"ucumk+","ucum*","ucummin","ucummax"}).contains(opcode) )
-				return new MatrixBuiltinCPInstruction(new UnaryOperator(func,Integer.parseInt(parts[3])), in, out, opcode, str); 
+			if( Arrays.asList(new String[]{"ucumk+","ucum*","ucummin","ucummax"}).contains(opcode) 
+				|| in.getDataType() == DataType.MATRIX )
+				return new MatrixBuiltinCPInstruction(new UnaryOperator(func,InstructionUtils.parseOptionalNumThreads(parts)), in, out, opcode, str); 
 			else
 				return new ScalarBuiltinCPInstruction(new SimpleOperator(func), in, out, opcode, str);
 		}
@@ -31,10 +31,19 @@ import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTy
 
 public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 {	
+	private int _numThreads = 1;
+	
 	public CentralMomentCPInstruction(CMOperator cm, CPOperand in1, CPOperand in2, 
 			CPOperand in3, CPOperand out, String opcode, String str) 
+	{
+		this(cm, in1, in2, in3, out, 1, opcode, str);
+	}
+	
+	public CentralMomentCPInstruction(CMOperator cm, CPOperand in1, CPOperand in2, 
+			CPOperand in3, CPOperand out, int k, String opcode, String str) 
 	{
 		super(cm, in1, in2, in3, out, opcode, str);
+		_numThreads = k;
 	}
 
 	public static CentralMomentCPInstruction parseInstruction(String str)
@@ -53,16 +62,28 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 			throw new DMLRuntimeException("Unsupported opcode "+opcode);
 		}
 			
+		//optional num threads for cp (trailing integer operand)
+		int k = InstructionUtils.parseOptionalNumThreads(parts);
+		parts = InstructionUtils.removeOptionalNumThreads(parts);
+		
 		if ( parts.length == 4 ) {
-			// Example: CP.cm.mVar0.Var1.mVar2; (without weights)
+			// Example: CP.cm.mVar0.Var1.mVar2[.k]; (without weights)
 			in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-			parseUnaryInstruction(str, in1, in2, out);
+			in1.split(parts[1]);
+			in2.split(parts[2]);
+			out.split(parts[3]);
 		}
 		else if ( parts.length == 5) {
-			// CP.cm.mVar0.mVar1.Var2.mVar3; (with weights)
+			// CP.cm.mVar0.mVar1.Var2.mVar3[.k]; (with weights)
 			in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 			in3 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-			parseUnaryInstruction(str, in1, in2, in3, out);
+			in1.split(parts[1]);
+			in2.split(parts[2]);
+			in3.split(parts[3]);
+			out.split(parts[4]);
+		}
+		else {
+			throw new DMLRuntimeException("Unexpected number of operands in the instruction: " + str);
 		}
 	
 		/* 
@@ -86,7 +107,12 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 		
 		AggregateOperationTypes opType = CMOperator.getCMAggOpType(cmOrder);
 		CMOperator cm = new CMOperator(CM.getCMFnObject(opType), opType);
-		return new CentralMomentCPInstruction(cm, in1, in2, in3, out, opcode, str);
+		return new CentralMomentCPInstruction(cm, in1, in2, in3, out, k, opcode, str);
+	}
+	
+	@Override
+	public int getNumThreads() {
+		return _numThreads;
 	}
 	
 	@Override
@@ -114,11 +140,11 @@ public class CentralMomentCPInstruction extends AggregateUnaryCPInstruction
 		
 		CM_COV_Object cmobj = null; 
 		if (input3 == null ) {
-			cmobj = matBlock.cmOperations(cm_op);
+			cmobj = matBlock.cmOperations(cm_op, _numThreads);
 		}
 		else {
 			MatrixBlock wtBlock = ec.getMatrixInput(input2.getName());
-			cmobj = matBlock.cmOperations(cm_op, wtBlock);
+			cmobj = matBlock.cmOperations(cm_op, wtBlock, _numThreads);
 			ec.releaseMatrixInput(input2.getName());
 		}
 		
@@ -32,17 +32,32 @@ import org.apache.sysml.runtime.matrix.operators.Operator;
 public class CovarianceCPInstruction extends BinaryCPInstruction
 {
 	
+	private int _numThreads = 1;
+	
 	public CovarianceCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand out, String opcode, String istr )
+	{
+		this(op, in1, in2, out, 1, opcode, istr);
+	}
+	
+	public CovarianceCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand out, int k, String opcode, String istr )
 	{
 		super(op, in1, in2, out, opcode, istr);
 		_cptype = CPINSTRUCTION_TYPE.AggregateBinary;
+		_numThreads = k;
 	}
 	
 	public CovarianceCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out,
 								   String opcode, String istr )
+	{
+		this(op, in1, in2, in3, out, 1, opcode, istr);
+	}
+	
+	public CovarianceCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out,
+								   int k, String opcode, String istr )
 	{
 		super(op, in1, in2, in3, out, opcode, istr);
 		_cptype = CPINSTRUCTION_TYPE.AggregateBinary;
+		_numThreads = k;
 	}
 
 	/**
@@ -66,22 +81,36 @@ public class CovarianceCPInstruction extends BinaryCPInstruction
 			throw new DMLRuntimeException("CovarianceCPInstruction.parseInstruction():: Unknown opcode " + opcode);
 		}
 		
+		//optional num threads for cp (trailing integer operand)
+		int k = InstructionUtils.parseOptionalNumThreads(parts);
+		parts = InstructionUtils.removeOptionalNumThreads(parts);
+		
 		COVOperator cov = new COVOperator(COV.getCOMFnObject());
 		if ( parts.length == 4 ) {
-			// CP.cov.mVar0.mVar1.mVar2
-			parseBinaryInstruction(str, in1, in2, out);
-			return new CovarianceCPInstruction(cov, in1, in2, out, opcode, str);
+			// CP.cov.mVar0.mVar1.mVar2[.k]
+			in1.split(parts[1]);
+			in2.split(parts[2]);
+			out.split(parts[3]);
+			return new CovarianceCPInstruction(cov, in1, in2, out, k, opcode, str);
 		} else if ( parts.length == 5 ) {
-			// CP.cov.mVar0.mVar1.mVar2.mVar3
+			// CP.cov.mVar0.mVar1.mVar2.mVar3[.k]
 			in3 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-			parseBinaryInstruction(str, in1, in2, in3, out);
-			return new CovarianceCPInstruction(cov, in1, in2, in3, out, opcode, str);
+			in1.split(parts[1]);
+			in2.split(parts[2]);
+			in3.split(parts[3]);
+			out.split(parts[4]);
+			return new CovarianceCPInstruction(cov, in1, in2, in3, out, k, opcode, str);
 		}
 		else {
 			throw new DMLRuntimeException("Invalid number of arguments in Instruction: " + str);
 		}
 	}
 	
+	@Override
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
 	@Override
 	public void processInstruction(ExecutionContext ec) 
 		throws DMLRuntimeException
@@ -96,7 +125,7 @@ public class CovarianceCPInstruction extends BinaryCPInstruction
 		if ( input3 == null ) 
 		{
 			// Unweighted: cov.mvar0.mvar1.out
-			covobj = matBlock1.covOperations(cov_op, matBlock2);
+			covobj = matBlock1.covOperations(cov_op, matBlock2, _numThreads);
 			
 			ec.releaseMatrixInput(input1.getName());
 			ec.releaseMatrixInput(input2.getName());
@@ -106,7 +135,7 @@ public class CovarianceCPInstruction extends BinaryCPInstruction
 			// Weighted: cov.mvar0.mvar1.weights.out
 	        MatrixBlock wtBlock = ec.getMatrixInput(input3.getName());
 			
-			covobj = matBlock1.covOperations(cov_op, matBlock2, wtBlock);
+			covobj = matBlock1.covOperations(cov_op, matBlock2, wtBlock, _numThreads);
 			
 			ec.releaseMatrixInput(input1.getName());
 			ec.releaseMatrixInput(input2.getName());
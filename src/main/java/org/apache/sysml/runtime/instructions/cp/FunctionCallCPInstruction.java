@@ -39,6 +39,7 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.utils.InstructionProfiler;
 
 
 /**
@@ -171,7 +172,10 @@ public class FunctionCallCPInstruction extends CPInstruction
 		ExecutionContext fn_ec = ExecutionContextFactory.createContext(false, ec.getProgram());
 		fn_ec.setVariables(functionVariables);
 		
-		// execute the function block
+		// execute the function block (w/ optional function frame for profiling)
+		boolean profile = InstructionProfiler.isEnabled();
+		if( profile )
+			InstructionProfiler.pushFunction(_namespace, _functionName);
 		try {
 			fpb.execute(fn_ec);
 		}
@@ -182,6 +186,10 @@ public class FunctionCallCPInstruction extends CPInstruction
 			String fname = this._namespace + "::" + this._functionName;
 			throw new DMLRuntimeException("error executing function " + fname, e);
 		}
+		finally {
+			if( profile )
+				InstructionProfiler.popFunction();
+		}
 		
 		LocalVariableMap retVars = fn_ec.getVariables();  
 		
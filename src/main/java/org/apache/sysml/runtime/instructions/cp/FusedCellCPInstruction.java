@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.cp;
+
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixFusedCell;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator.CellType;
+
+/**
+ * CP instruction for fused chains of cellwise operations over an arbitrary
+ * number of matrix and scalar inputs, given as a postfix cell program.
+ * 
+ */
+public class FusedCellCPInstruction extends ComputationCPInstruction
+{	
+	private CPOperand[] _inputs = null;
+	private int _numThreads = -1;
+	
+	public FusedCellCPInstruction(FusedCellOperator op, CPOperand[] inputs, CPOperand out, String opcode, String istr, int k)
+	{
+		super(op, inputs[0], (inputs.length>1) ? inputs[1] : null, out, opcode, istr);
+		_cptype = CPINSTRUCTION_TYPE.FusedCell;
+		_inputs = inputs;
+		_numThreads = k;
+	}
+	
+	public CPOperand[] getInputs() {
+		return _inputs;
+	}
+	
+	public FusedCellOperator getOperator() {
+		return (FusedCellOperator)_optr;
+	}
+	
+	/**
+	 * 
+	 * @param str
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static FusedCellCPInstruction parseInstruction( String str ) 
+		throws DMLRuntimeException 
+	{
+		//parse instruction parts (without exec type)
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType( str );
+		if( parts.length < 6 )
+			throw new DMLRuntimeException("Invalid number of fields in fused cellwise instruction: " + str);
+		
+		String opcode = parts[0];
+		FusedCellOperator op = new FusedCellOperator(parts[1], CellType.valueOf(parts[2]));
+		CPOperand[] inputs = new CPOperand[parts.length-5];
+		for( int i=0; i<inputs.length; i++ )
+			inputs[i] = new CPOperand(parts[3+i]);
+		CPOperand out = new CPOperand(parts[parts.length-2]);
+		int k = Integer.parseInt(parts[parts.length-1]);
+		
+		return new FusedCellCPInstruction(op, inputs, out, opcode, str, k);
+	}
+	
+	@Override
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
+	@Override
+	public void processInstruction( ExecutionContext ec ) 
+		throws DMLRuntimeException
+	{
+		//get inputs (matrices and scalars)
+		MatrixBlock[] blocks = new MatrixBlock[_inputs.length];
+		double[] scalars = new double[_inputs.length];
+		for( int i=0; i<_inputs.length; i++ ) {
+			if( _inputs[i].getDataType() == DataType.MATRIX )
+				blocks[i] = ec.getMatrixInput(_inputs[i].getName());
+			else
+				scalars[i] = ec.getScalarInput(_inputs[i].getName(), 
+					_inputs[i].getValueType(), _inputs[i].isLiteral()).getDoubleValue();
+		}
+		
+		//execute fused cellwise operations
+		FusedCellOperator op = (FusedCellOperator)_optr;
+		MatrixBlock ret = LibMatrixFusedCell.execute(blocks, scalars, op, _numThreads);
+		
+		//release inputs and set output (scalar for full aggregates)
+		for( int i=0; i<_inputs.length; i++ )
+			if( _inputs[i].getDataType() == DataType.MATRIX )
+				ec.releaseMatrixInput(_inputs[i].getName());
+		if( op.getCellType() == CellType.FULL_AGG )
+			ec.setScalarOutput(output.getName(), new DoubleObject(ret.quickGetValue(0, 0)));
+		else
+			ec.setMatrixOutput(output.getName(), ret);
+	}
+}
@@ -80,6 +80,11 @@ public class MMChainCPInstruction extends UnaryCPInstruction
 		}
 	}
 	
+	@Override
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
 	@Override
 	public void processInstruction(ExecutionContext ec)
 		throws DMLRuntimeException 
@@ -68,6 +68,11 @@ public class MMTSJCPInstruction extends UnaryCPInstruction
 			return new MMTSJCPInstruction(new Operator(true), in1, titype, out, k, opcode, str);
 	}
 	
+	@Override
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
 	@Override
 	public void processInstruction(ExecutionContext ec)
 		throws DMLRuntimeException 
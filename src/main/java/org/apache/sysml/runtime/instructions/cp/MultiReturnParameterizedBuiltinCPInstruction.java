@@ -22,16 +22,20 @@ package org.apache.sysml.runtime.instructions.cp;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.transform.encode.Encoder;
 import org.apache.sysml.runtime.transform.encode.EncoderFactory;
+import org.apache.sysml.runtime.transform.encode.EncoderStreamingCSV;
 
 
 public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPInstruction 
@@ -79,9 +83,20 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 	public void processInstruction(ExecutionContext ec) 
 		throws DMLRuntimeException 
 	{
+		String spec = ec.getScalarInput(input2.getName(), input2.getValueType(), input2.isLiteral()).getStringValue();
+		
+		//streaming encode of unmodified csv inputs w/o input materialization
+		FrameObject fo = ec.getFrameObject(input1.getName());
+		if( EncoderStreamingCSV.isApplicable(fo) ) {
+			Pair<MatrixBlock,FrameBlock> ret = EncoderStreamingCSV.encode(
+				fo, spec, OptimizerUtils.getParallelTextReadParallelism());
+			ec.setMatrixOutput(getOutput(0).getName(), ret.getKey());
+			ec.setFrameOutput(getOutput(1).getName(), ret.getValue());
+			return;
+		}
+		
 		//obtain and pin input frame
 		FrameBlock fin = ec.getFrameInput(input1.getName());
-		String spec = ec.getScalarInput(input2.getName(), input2.getValueType(), input2.isLiteral()).getStringValue();
 		List<String> colnames = fin.getColumnNames(); 
 		
 		//execute block transform encode
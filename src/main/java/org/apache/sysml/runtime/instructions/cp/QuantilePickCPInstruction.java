@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.instructions.cp;
 
 import java.io.IOException;
 
+import org.apache.sysml.lops.PickByCount;
 import org.apache.sysml.lops.PickByCount.OperationTypes;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -28,6 +29,7 @@ import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.MetaData;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCM;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.NumItemsByEachReducerMetaData;
 import org.apache.sysml.runtime.matrix.operators.Operator;
@@ -39,6 +41,7 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction
 	
 	private OperationTypes _type = null;
 	private boolean _inmem = true;
+	private boolean _sorted = true;
 	
 	public QuantilePickCPInstruction(Operator op, CPOperand in, CPOperand out, OperationTypes type, boolean inmem, String opcode, String istr){
 		this(op, in, null, out, type, inmem, opcode, istr);
@@ -50,6 +53,11 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction
 		
 		_type = type;
 		_inmem = inmem;
+		_sorted = !opcode.equalsIgnoreCase(PickByCount.OPCODE_SELECT);
+	}
+	
+	public boolean isSortedInput() {
+		return _sorted;
 	}
 	
 	/**
@@ -65,7 +73,7 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction
 		String opcode = parts[0];
 		
 		//sanity check opcode
-		if ( !opcode.equalsIgnoreCase("qpick") ) {
+		if ( !opcode.equalsIgnoreCase(PickByCount.OPCODE) && !opcode.equalsIgnoreCase(PickByCount.OPCODE_SELECT) ) {
 			throw new DMLRuntimeException("Unknown opcode while parsing a QuantilePickCPInstruction: " + str);
 		}
 		
@@ -106,6 +114,12 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction
 	public void processInstruction(ExecutionContext ec)
 		throws DMLRuntimeException 
 	{
+		//selection w/o sort only for in-memory single quantiles and median
+		if( !_sorted && !(_inmem && (_type==OperationTypes.MEDIAN 
+			|| (_type==OperationTypes.VALUEPICK && input2.getDataType()==DataType.SCALAR))) ) {
+			throw new DMLRuntimeException("Unsupported qpick operation over unsorted input: "+_type);
+		}
+		
 		switch( _type ) 
 		{
 			case VALUEPICK: 
@@ -115,7 +129,9 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction
 
 					if ( input2.getDataType() == DataType.SCALAR ) {
 						ScalarObject quantile = ec.getScalarInput(input2.getName(), input2.getValueType(), input2.isLiteral());
-						double picked = matBlock.pickValue(quantile.getDoubleValue());
+						double picked = !_sorted ? //selection w/o sort
+								LibMatrixCM.pickValue(matBlock, quantile.getDoubleValue(), false) :
+								matBlock.pickValue(quantile.getDoubleValue());
 						ec.setScalarOutput(output.getName(), new DoubleObject(picked));
 					} 
 					else {
@@ -151,7 +167,9 @@ public class QuantilePickCPInstruction extends BinaryCPInstruction
 			case MEDIAN:
 				if( _inmem ) //INMEM MEDIAN
 				{
-					double picked = ec.getMatrixInput(input1.getName()).median();
+					MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
+					double picked = !_sorted ? //selection w/o sort
+							LibMatrixCM.median(matBlock) : matBlock.median();
 					ec.setScalarOutput(output.getName(), new DoubleObject(picked));
 					ec.releaseMatrixInput(input1.getName());
 					break;
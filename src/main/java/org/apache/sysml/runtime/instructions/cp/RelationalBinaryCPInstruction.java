@@ -40,7 +40,8 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
-		String opcode = parseBinaryInstruction(str, in1, in2, out);
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
+		String opcode = parseBinaryInstruction(parts, in1, in2, out);
 		
 		// TODO: Relational operations need not have value type checking
 		ValueType vt1 = in1.getValueType();
@@ -71,9 +72,10 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 										  + out.getName()
 										  + " is not");
 		
+		int k = InstructionUtils.parseOptionalNumThreads(parts);
 		Operator operator = (dt1 != dt2) ?
-					InstructionUtils.parseScalarBinaryOperator(opcode, (dt1 == DataType.SCALAR)) : 
-					InstructionUtils.parseBinaryOperator(opcode);
+					InstructionUtils.parseScalarBinaryOperator(opcode, (dt1 == DataType.SCALAR), k) : 
+					InstructionUtils.parseBinaryOperator(opcode, k);
 		
 		//for scalar relational operations we only allow boolean operands
 		//or when both operands are numeric (int or double)
@@ -37,14 +37,21 @@ public class UaggOuterChainCPInstruction extends UnaryCPInstruction
 	//operators
 	private AggregateUnaryOperator _uaggOp = null;
 	private BinaryOperator _bOp = null;
+	private int _numThreads = 1;
 
 	public UaggOuterChainCPInstruction(BinaryOperator bop, AggregateUnaryOperator uaggop, AggregateOperator aggop, CPOperand in1, CPOperand in2, CPOperand out, String opcode, String istr )
+	{
+		this(bop, uaggop, aggop, in1, in2, out, 1, opcode, istr);
+	}
+	
+	public UaggOuterChainCPInstruction(BinaryOperator bop, AggregateUnaryOperator uaggop, AggregateOperator aggop, CPOperand in1, CPOperand in2, CPOperand out, int k, String opcode, String istr )
 	{
 		super(bop, in1, in2, out, opcode, istr);
 		_cptype = CPINSTRUCTION_TYPE.UaggOuterChain;
 		
 		_uaggOp = uaggop;
 		_bOp = bop;
+		_numThreads = k;
 			
 		instString = istr;
 	}
@@ -62,6 +69,7 @@ public class UaggOuterChainCPInstruction extends UnaryCPInstruction
 			CPOperand in1 = new CPOperand(parts[3]);
 			CPOperand in2 = new CPOperand(parts[4]);
 			CPOperand out = new CPOperand(parts[5]);
+			int k = (parts.length > 6) ? Integer.parseInt(parts[6]) : 1;
 					
 			//derive aggregation operator from unary operator
 			String aopcode = InstructionUtils.deriveAggregateOperatorOpcode(parts[1]);
@@ -69,7 +77,7 @@ public class UaggOuterChainCPInstruction extends UnaryCPInstruction
 			String corrExists = (corrLoc != CorrectionLocationType.NONE) ? "true" : "false";
 			AggregateOperator aop = InstructionUtils.parseAggregateOperator(aopcode, corrExists, corrLoc.toString());
 
-			return new UaggOuterChainCPInstruction(bop, uaggop, aop, in1, in2, out, opcode, str);
+			return new UaggOuterChainCPInstruction(bop, uaggop, aop, in1, in2, out, k, opcode, str);
 		} 
 		else {
 			throw new DMLRuntimeException("UaggOuterChainCPInstruction.parseInstruction():: Unknown opcode " + opcode);
@@ -77,6 +85,11 @@ public class UaggOuterChainCPInstruction extends UnaryCPInstruction
 	}
 	
 	
+	@Override
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
 	@Override
 	public void processInstruction(ExecutionContext ec) 
 		throws DMLRuntimeException
@@ -95,7 +108,7 @@ public class UaggOuterChainCPInstruction extends UnaryCPInstruction
 			mbRight = ec.getMatrixInput(input1.getName());
 		}
 		
-		mbOut = mbLeft.uaggouterchainOperations(mbLeft, mbRight, mbOut, _bOp, _uaggOp);
+		mbOut = mbLeft.uaggouterchainOperations(mbLeft, mbRight, mbOut, _bOp, _uaggOp, _numThreads);
 
 		//release locks
 		ec.releaseMatrixInput(input1.getName());
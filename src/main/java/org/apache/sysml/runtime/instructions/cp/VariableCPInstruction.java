@@ -903,7 +903,9 @@ public class VariableCPInstruction extends CPInstruction
 		sb.append(varName);
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		//direct construction w/o re-parsing of the instruction string
+		CPOperand in1 = new CPOperand(varName, ValueType.UNKNOWN, DataType.SCALAR);
+		return new VariableCPInstruction(VariableOperationCode.RemoveVariable, in1, null, null, null, 1, "rmvar", str);
 	}
 	
 	public static Instruction prepareCopyInstruction(String srcVar, String destVar) throws DMLRuntimeException {
@@ -917,7 +919,7 @@ public class VariableCPInstruction extends CPInstruction
 		sb.append(destVar);
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		return createUntypedVariableInstruction(VariableOperationCode.CopyVariable, "cpvar", srcVar, destVar, null, str);
 	}
 	
 	public static Instruction prepareMoveInstruction(String srcVar, String destFileName, String format) throws DMLRuntimeException {
@@ -933,7 +935,7 @@ public class VariableCPInstruction extends CPInstruction
 		sb.append(format);
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		return createUntypedVariableInstruction(VariableOperationCode.MoveVariable, "mvvar", srcVar, destFileName, format, str);
 	}
 	
 	public static Instruction prepareMoveInstruction(String srcVar, String destVar) throws DMLRuntimeException {
@@ -949,7 +951,7 @@ public class VariableCPInstruction extends CPInstruction
 		sb.append(destVar);
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		return createUntypedVariableInstruction(VariableOperationCode.MoveVariable, "mvvar", srcVar, destVar, null, str);
 	}
 	
 	private static String getBasicCreateVarString(String varName, String fileName, boolean fNameOverride, DataType dt, String format) {
@@ -1014,7 +1016,10 @@ public class VariableCPInstruction extends CPInstruction
 		
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		//direct construction w/o re-parsing of the instruction string (csv requires format properties)
+		if( format.equalsIgnoreCase("csv") )
+			return parseInstruction(str);
+		return createCreateVariableInstruction(varName, fileName, fNameOverride, dt, format, mc, update, null, 12, str);
 	}	
 	
 	public static Instruction prepareCreateVariableInstruction(String varName, String fileName, boolean fNameOverride, DataType dt, String format, MatrixCharacteristics mc, UpdateType update, boolean hasHeader, String delim, boolean sparse) throws DMLRuntimeException {
@@ -1043,9 +1048,72 @@ public class VariableCPInstruction extends CPInstruction
 		
 		String str = sb.toString();
 
-		return parseInstruction(str);
+		//direct construction w/o re-parsing of the instruction string
+		FileFormatProperties fmtProperties = format.equalsIgnoreCase("csv") ? 
+				new CSVFileFormatProperties(hasHeader, delim, sparse) : null;
+		if( fmtProperties == null )
+			return parseInstruction(str);
+		return createCreateVariableInstruction(varName, fileName, fNameOverride, dt, format, mc, update, fmtProperties, 15, str);
 	}	
 	
+	/**
+	 * Creates a cpvar or mvvar instruction with untyped operands, equivalent
+	 * to parsing the given instruction string.
+	 * 
+	 * @param op
+	 * @param opcode
+	 * @param name1
+	 * @param name2
+	 * @param name3
+	 * @param str
+	 * @return
+	 */
+	private static VariableCPInstruction createUntypedVariableInstruction(VariableOperationCode op, String opcode, String name1, String name2, String name3, String str) 
+	{
+		CPOperand in1 = new CPOperand(name1, ValueType.UNKNOWN, DataType.UNKNOWN);
+		CPOperand in2 = new CPOperand(name2, ValueType.UNKNOWN, DataType.UNKNOWN);
+		CPOperand in3 = (name3 != null) ? new CPOperand(name3, ValueType.UNKNOWN, DataType.UNKNOWN) : null;
+		return new VariableCPInstruction(op, in1, in2, in3, null, getArity(op), opcode, str);
+	}
+	
+	/**
+	 * Creates a createvar instruction from its already known meta data, equivalent 
+	 * to parsing the given instruction string.
+	 * 
+	 * @param varName
+	 * @param fileName
+	 * @param fNameOverride
+	 * @param dt
+	 * @param format
+	 * @param mc
+	 * @param update
+	 * @param fmtProperties
+	 * @param arity
+	 * @param str
+	 * @return
+	 * @throws DMLRuntimeException 
+	 */
+	private static VariableCPInstruction createCreateVariableInstruction(String varName, String fileName, boolean fNameOverride, DataType dt, 
+			String format, MatrixCharacteristics mc, UpdateType update, FileFormatProperties fmtProperties, int arity, String str) 
+		throws DMLRuntimeException 
+	{
+		ValueType vt = dt==DataType.MATRIX ? ValueType.DOUBLE : ValueType.STRING;
+		CPOperand in1 = new CPOperand(varName, vt, dt);
+		CPOperand in2 = new CPOperand(fileName, ValueType.STRING, DataType.SCALAR);
+		CPOperand in3 = new CPOperand(String.valueOf(fNameOverride), ValueType.BOOLEAN, DataType.SCALAR);
+		
+		OutputInfo oi = OutputInfo.stringToOutputInfo(format);
+		InputInfo ii = OutputInfo.getMatchingInputInfo(oi);
+		MatrixCharacteristics mcNew = new MatrixCharacteristics(mc.getRows(), mc.getCols(), 
+				mc.getRowsPerBlock(), mc.getColsPerBlock(), mc.getNonZeros());
+		MatrixFormatMetaData iimd = new MatrixFormatMetaData(mcNew, oi, ii);
+		
+		if( fmtProperties != null )
+			return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, update, arity, fmtProperties, null, "createvar", str);
+		else
+			return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, update, arity, null, "createvar", str);
+	}
+	
 	@Override
 	public void updateInstructionThreadID(String pattern, String replace)
 		throws DMLRuntimeException
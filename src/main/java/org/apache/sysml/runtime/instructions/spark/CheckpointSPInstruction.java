@@ -26,11 +26,14 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.SparkCheckpointManager;
+import org.apache.sysml.runtime.controlprogram.context.SparkCheckpointManager.CheckpointPlan;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.spark.CompressionSPInstruction.CompressionFunction;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBlockFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyFrameBlockFunction;
@@ -98,8 +101,16 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 		// Note that persist is an transformation which will be triggered on-demand with the next rdd operations
 		// This prevents unnecessary overhead if the dataset is only consumed by cp operations.
 
+		// Note that the compiled storage level is refined at runtime by the checkpoint manager
+		// according to the reuse of the checkpoint and the free storage budget.
+		
+		SparkCheckpointManager cpm = sec.getCheckpointManager();
+		CheckpointPlan plan = cpm.getCheckpointPlan(output.getName(), 
+				mcIn, input1.getDataType()==DataType.MATRIX, _level);
+		StorageLevel level = plan.getStorageLevel();
+		
 		JavaPairRDD<?,?> out = null;
-		if( !in.getStorageLevel().equals( _level ) ) 
+		if( !StorageLevel.NONE().equals( level ) && !in.getStorageLevel().equals( level ) ) 
 		{
 			//investigate issue of unnecessarily large number of partitions
 			int numPartitions = getNumCoalescePartitions(mcIn, in);
@@ -129,8 +140,14 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 					.mapValues(new CreateSparseBlockFunction(SparseBlock.Type.CSR));
 			}
 			
+			//compress blocks if serialized blocks exceed the storage budget
+			if( plan.isCompressed() ) {
+				out = ((JavaPairRDD<MatrixIndexes,MatrixBlock>)out)
+					.mapValues(new CompressionFunction());
+			}
+			
 			//actual checkpoint into given storage level
-			out = out.persist( _level );
+			out = out.persist( level );
 		}
 		else {
 			out = in; //pass-through
@@ -152,6 +169,7 @@ public class CheckpointSPInstruction extends UnarySPInstruction
 			outro.setCheckpointRDD(true);         //mark as checkpointed
 			outro.addLineageChild(inro);          //keep lineage to prevent cycles on cleanup
 			cd.setRDDHandle(outro);
+			cpm.registerCheckpoint(outro, mcIn, plan);
 		}
 		sec.setVariable( output.getName(), cd);
 	}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark;
+
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.function.Function;
+import org.apache.spark.api.java.function.PairFunction;
+
+import scala.Tuple2;
+
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.DoubleObject;
+import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.LibMatrixFusedCell;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator.CellType;
+
+/**
+ * Spark instruction for fused chains of cellwise operations over an arbitrary
+ * number of matrix and scalar inputs. All matrix inputs are of equal size, 
+ * and hence joined by block indexes before the cell program is evaluated 
+ * per tuple of aligned blocks. Row and column aggregates are subsequently
+ * summed by output block index, and full aggregates into a single scalar.
+ * 
+ */
+public class FusedCellSPInstruction extends ComputationSPInstruction
+{
+	private CPOperand[] _inputs = null;
+	
+	public FusedCellSPInstruction(FusedCellOperator op, CPOperand[] inputs, CPOperand out, String opcode, String istr)
+	{
+		super(op, inputs[0], (inputs.length>1) ? inputs[1] : null, out, opcode, istr);
+		_sptype = SPINSTRUCTION_TYPE.FusedCell;
+		_inputs = inputs;
+	}
+	
+	/**
+	 * 
+	 * @param str
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static FusedCellSPInstruction parseInstruction( String str ) 
+		throws DMLRuntimeException 
+	{
+		String[] parts = InstructionUtils.getInstructionPartsWithValueType( str );
+		if( parts.length < 5 )
+			throw new DMLRuntimeException("Invalid number of fields in fused cellwise instruction: " + str);
+		
+		String opcode = parts[0];
+		FusedCellOperator op = new FusedCellOperator(parts[1], CellType.valueOf(parts[2]));
+		CPOperand[] inputs = new CPOperand[parts.length-4];
+		for( int i=0; i<inputs.length; i++ )
+			inputs[i] = new CPOperand(parts[3+i]);
+		CPOperand out = new CPOperand(parts[parts.length-1]);
+		
+		return new FusedCellSPInstruction(op, inputs, out, opcode, str);
+	}
+	
+	@Override
+	public void processInstruction(ExecutionContext ec) 
+		throws DMLRuntimeException
+	{	
+		SparkExecutionContext sec = (SparkExecutionContext)ec;
+		FusedCellOperator op = (FusedCellOperator) _optr;
+		
+		//get scalar inputs and join matrix inputs by block indexes
+		int len = _inputs.length;
+		double[] scalars = new double[len];
+		JavaPairRDD<MatrixIndexes,MatrixBlock[]> in = null;
+		String main = null;
+		for( int i=0; i<len; i++ ) {
+			CPOperand input = _inputs[i];
+			if( input.getDataType() == DataType.SCALAR ) {
+				scalars[i] = sec.getScalarInput(input.getName(), 
+					input.getValueType(), input.isLiteral()).getDoubleValue();
+			}
+			else if( in == null ) {
+				in = sec.getBinaryBlockRDDHandleForVariable(input.getName())
+					.mapValues(new CreateBlockArrayFunction(len, i));
+				main = input.getName();
+			}
+			else {
+				in = in.join(sec.getBinaryBlockRDDHandleForVariable(input.getName()))
+					.mapValues(new AppendBlockArrayFunction(i));
+			}
+		}
+		
+		//execute fused cellwise operations per aligned blocks
+		MatrixCharacteristics mcIn = sec.getMatrixCharacteristics(main);
+		CellType type = op.getCellType();
+		JavaPairRDD<MatrixIndexes,MatrixBlock> out = null;
+		if( type == CellType.FULL_AGG ) {
+			//aggregate partial sums into scalar output
+			out = in.mapValues(new RDDFusedCellFunction(op, scalars));
+			MatrixBlock tmp = RDDAggregateUtils.sumStable(out);
+			sec.setScalarOutput(output.getName(), new DoubleObject(tmp.quickGetValue(0, 0)));
+			return;
+		}
+		else if( type == CellType.ROW_AGG ) {
+			out = in.mapToPair(new RDDFusedCellAggFunction(op, scalars));
+			if( mcIn.getCols() > mcIn.getColsPerBlock() )
+				out = RDDAggregateUtils.sumByKeyStable(out);
+		}
+		else if( type == CellType.COL_AGG ) {
+			out = in.mapToPair(new RDDFusedCellAggFunction(op, scalars));
+			if( mcIn.getRows() > mcIn.getRowsPerBlock() )
+				out = RDDAggregateUtils.sumByKeyStable(out);
+		}
+		else {
+			out = in.mapValues(new RDDFusedCellFunction(op, scalars));
+		}
+		
+		//set output RDD handle, lineage, and matrix characteristics
+		MatrixCharacteristics mcOut = sec.getMatrixCharacteristics(output.getName());
+		if( !mcOut.dimsKnown() ) {
+			if( !mcIn.dimsKnown() )
+				throw new DMLRuntimeException("The output dimensions are not specified and cannot be inferred from input:" + mcIn.toString() + " " + mcOut.toString());
+			mcOut.set((type==CellType.COL_AGG) ? 1 : mcIn.getRows(), (type==CellType.ROW_AGG) ? 1 : mcIn.getCols(), 
+				mcIn.getRowsPerBlock(), mcIn.getColsPerBlock());
+		}
+		sec.setRDDHandleForVariable(output.getName(), out);
+		for( CPOperand input : _inputs )
+			if( input.getDataType() == DataType.MATRIX )
+				sec.addLineageRDD(output.getName(), input.getName());
+	}
+	
+	/**
+	 * 
+	 */
+	private static class CreateBlockArrayFunction implements Function<MatrixBlock, MatrixBlock[]> 
+	{
+		private static final long serialVersionUID = -3349580617633281543L;
+		
+		private int _len = -1;
+		private int _pos = -1;
+		
+		public CreateBlockArrayFunction(int len, int pos) {
+			_len = len;
+			_pos = pos;
+		}
+		
+		@Override
+		public MatrixBlock[] call(MatrixBlock arg0) 
+			throws Exception 
+		{
+			MatrixBlock[] ret = new MatrixBlock[_len];
+			ret[_pos] = arg0;
+			return ret;
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class AppendBlockArrayFunction implements Function<Tuple2<MatrixBlock[],MatrixBlock>, MatrixBlock[]> 
+	{
+		private static final long serialVersionUID = 4925178216364741928L;
+		
+		private int _pos = -1;
+		
+		public AppendBlockArrayFunction(int pos) {
+			_pos = pos;
+		}
+		
+		@Override
+		public MatrixBlock[] call(Tuple2<MatrixBlock[], MatrixBlock> arg0) 
+			throws Exception 
+		{
+			//shallow copy to keep input arrays unmodified
+			MatrixBlock[] ret = arg0._1().clone();
+			ret[_pos] = arg0._2();
+			return ret;
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class RDDFusedCellFunction implements Function<MatrixBlock[], MatrixBlock> 
+	{
+		private static final long serialVersionUID = -8171385245125347823L;
+		
+		private FusedCellOperator _op = null;
+		private double[] _scalars = null;
+		
+		public RDDFusedCellFunction(FusedCellOperator op, double[] scalars) {
+			_op = op;
+			_scalars = scalars;
+		}
+		
+		@Override
+		public MatrixBlock call(MatrixBlock[] arg0) 
+			throws Exception 
+		{
+			return LibMatrixFusedCell.execute(arg0, _scalars, _op);
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class RDDFusedCellAggFunction implements PairFunction<Tuple2<MatrixIndexes,MatrixBlock[]>, MatrixIndexes, MatrixBlock> 
+	{
+		private static final long serialVersionUID = 2396843164382611264L;
+		
+		private FusedCellOperator _op = null;
+		private double[] _scalars = null;
+		
+		public RDDFusedCellAggFunction(FusedCellOperator op, double[] scalars) {
+			_op = op;
+			_scalars = scalars;
+		}
+		
+		@Override
+		public Tuple2<MatrixIndexes, MatrixBlock> call(Tuple2<MatrixIndexes, MatrixBlock[]> arg0) 
+			throws Exception 
+		{
+			MatrixIndexes ix = arg0._1();
+			MatrixBlock blk = LibMatrixFusedCell.execute(arg0._2(), _scalars, _op);
+			MatrixIndexes ixOut = (_op.getCellType() == CellType.ROW_AGG) ?
+				new MatrixIndexes(ix.getRowIndex(), 1) : new MatrixIndexes(1, ix.getColumnIndex());
+			return new Tuple2<MatrixIndexes, MatrixBlock>(ixOut, blk);
+		}
+	}
+}
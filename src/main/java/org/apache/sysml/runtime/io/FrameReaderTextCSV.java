@@ -20,8 +20,13 @@
 package org.apache.sysml.runtime.io;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -144,9 +149,6 @@ public class FrameReaderTextCSV extends FrameReader
 		throws IOException
 	{
 		boolean hasHeader = _props.hasHeader();
-		boolean isFill = _props.isFill();
-		double dfillValue = _props.getFillValue();
-		String sfillValue = String.valueOf(_props.getFillValue());
 		String delim = _props.getDelim();
 		
 		//create record reader
@@ -154,7 +156,6 @@ public class FrameReaderTextCSV extends FrameReader
 		LongWritable key = new LongWritable();
 		Text value = new Text();
 		int row = rl;
-		int col = -1;
 		
 		//handle header if existing
 		if(first && hasHeader ) {
@@ -164,49 +165,256 @@ public class FrameReaderTextCSV extends FrameReader
 		}
 			
 		// Read the data
+		try {
+			while( reader.next(key, value) ) //foreach line
+				if( parseCSVRow(value.toString().trim(), dest, schema, row, clen) )
+					row++;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+	
+	/**
+	 * Parses a single csv line into the given row of the destination frame. 
+	 * Frame meta data lines (missing values / num distinct) are applied to
+	 * the column meta data of the destination frame instead.
+	 * 
+	 * @param cellStr trimmed csv line
+	 * @param dest destination frame block
+	 * @param schema frame schema
+	 * @param row 0-based row index in dest
+	 * @param clen number of columns
+	 * @return true if a data row was parsed, false for meta data lines
+	 * @throws IOException
+	 */
+	protected final boolean parseCSVRow(String cellStr, FrameBlock dest, List<ValueType> schema, int row, long clen) 
+		throws IOException
+	{
+		boolean isFill = _props.isFill();
+		double dfillValue = _props.getFillValue();
+		String sfillValue = String.valueOf(_props.getFillValue());
+		String[] parts = IOUtilFunctions.splitCSV(cellStr, _props.getDelim());
+		
+		//parse frame meta data (missing values / num distinct)
+		if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
+			if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
+				for( int j=0; j<dest.getNumColumns(); j++ )
+					dest.getColumnMetadata(j).setMvValue(parts[j+1]);
+			else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
+				for( int j=0; j<dest.getNumColumns(); j++ )
+					dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
+			return false;
+		}
+		
 		boolean emptyValuesFound = false;
-		try
+		int col = 0;
+		for( String part : parts ) //foreach cell
 		{
-			while( reader.next(key, value) ) //foreach line
-			{
-				String cellStr = value.toString().trim();
-				emptyValuesFound = false; col = 0;
-				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
-				
-				//parse frame meta data (missing values / num distinct)
-				if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) ) {
-					if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) )
-						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setMvValue(parts[j+1]);
-					else if( parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
-						for( int j=0; j<dest.getNumColumns(); j++ )
-							dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j+1]));
-					continue;
-				}
-				
-				for( String part : parts ) //foreach cell
-				{
-					part = part.trim();
-					if ( part.isEmpty() ) {
-						if( isFill && dfillValue!=0 )
-							dest.set(row, col, UtilFunctions.stringToObject(schema.get(col), sfillValue));
-						emptyValuesFound = true;
-					}
-					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema.get(col), part));
-					}
-					col++;
+			part = part.trim();
+			if ( part.isEmpty() ) {
+				if( isFill && dfillValue!=0 )
+					dest.set(row, col, UtilFunctions.stringToObject(schema.get(col), sfillValue));
+				emptyValuesFound = true;
+			}
+			else {
+				dest.set(row, col, UtilFunctions.stringToObject(schema.get(col), part));
+			}
+			col++;
+		}
+		
+		//sanity checks for empty values and number of columns
+		IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
+		IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+		return true;
+	}
+	
+	/**
+	 * Reads the given csv file chunk by chunk, where each chunk covers at most 
+	 * blen rows of a single input split, and passes the chunks to the given 
+	 * handler. In contrast to readFrameFromHDFS, the entire frame is never
+	 * materialized. For k<=1, splits and chunks are processed sequentially 
+	 * in file order; otherwise splits are processed in parallel by k threads,
+	 * which requires a thread-safe handler. Calls with equal numSplits see 
+	 * equal splits, which allows multi-pass algorithms over the same chunks.
+	 * 
+	 * @param fname file name
+	 * @param schema frame schema
+	 * @param names column names (overwritten by the header if existing)
+	 * @param clen number of columns, computed if unknown
+	 * @param blen maximum number of rows per chunk
+	 * @param numSplits number of requested input splits
+	 * @param k degree of parallelism
+	 * @param handler chunk handler
+	 * @throws IOException
+	 * @throws DMLRuntimeException
+	 */
+	public final void readFrameChunksFromHDFS(String fname, List<ValueType> schema, List<String> names, 
+			long clen, int blen, int numSplits, int k, FrameChunkHandler handler)
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+		FileInputFormat.addInputPath(job, path);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path); 
+		
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, numSplits);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+		
+		//compute number of columns if necessary
+		if( clen <= 0 )
+			clen = IOUtilFunctions.countNumColumnsCSV(splits, informat, job, _props.getDelim());
+		List<ValueType> lschema = createOutputSchema(schema, clen);
+		List<String> lnames = createOutputNames(names, clen);
+		
+		//obtain column names from header if existing
+		if( _props.hasHeader() ) {
+			RecordReader<LongWritable, Text> reader = informat.getRecordReader(splits[0], job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			try {
+				if( reader.next(key, value) )
+					lnames = Arrays.asList(value.toString().split(_props.getDelim()));
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+		
+		//core chunk-wise read (sequential/parallel)
+		try {
+			if( k <= 1 || splits.length <= 1 ) {
+				for( int i=0; i<splits.length; i++ )
+					readCSVFrameChunksFromInputSplit(splits[i], informat, job, 
+							lschema, lnames, clen, blen, i, handler);
+			}
+			else {
+				ExecutorService pool = Executors.newFixedThreadPool(Math.min(k, splits.length));
+				ArrayList<ReadChunksTask> tasks = new ArrayList<ReadChunksTask>();
+				for( int i=0; i<splits.length; i++ )
+					tasks.add(new ReadChunksTask(splits[i], informat, job, lschema, lnames, clen, blen, i, handler));
+				List<Future<Object>> rret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> read : rret )
+					read.get();
+			}
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed chunk-wise read of text csv input.", ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param split
+	 * @param informat
+	 * @param job
+	 * @param schema
+	 * @param names
+	 * @param clen
+	 * @param blen
+	 * @param splitID
+	 * @param handler
+	 * @throws Exception
+	 */
+	private void readCSVFrameChunksFromInputSplit( InputSplit split, TextInputFormat informat, JobConf job, 
+			List<ValueType> schema, List<String> names, long clen, int blen, int splitID, FrameChunkHandler handler)
+		throws Exception
+	{
+		RecordReader<LongWritable, Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
+		LongWritable key = new LongWritable();
+		Text value = new Text();
+		FrameBlock chunk = null;
+		long off = 0;
+		int row = 0;
+		
+		try {
+			//skip header if existing
+			if( splitID==0 && _props.hasHeader() )
+				reader.next(key, value);
+			
+			//read and pass full chunks
+			while( reader.next(key, value) ) {
+				if( chunk == null )
+					chunk = createOutputFrameBlock(schema, names, blen);
+				if( parseCSVRow(value.toString().trim(), chunk, schema, row, clen) && ++row == blen ) {
+					handler.process(chunk, splitID, off);
+					off += row;
+					row = 0;
+					chunk = null;
 				}
-				
-				//sanity checks for empty values and number of columns
-				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
-				row++;
 			}
 		}
 		finally {
 			IOUtilFunctions.closeSilently(reader);
 		}
+		
+		//pass last partial chunk
+		if( row > 0 )
+			handler.process(chunk.sliceOperations(0, row-1, 0, (int)clen-1, null), splitID, off);
+	}
+	
+	/**
+	 * Handler of frame chunks in chunk-wise csv reads.
+	 */
+	public static interface FrameChunkHandler 
+	{
+		/**
+		 * @param chunk frame chunk of at most blen rows
+		 * @param splitID 0-based index of the input split in file order
+		 * @param rowOffset row offset of the chunk within its split
+		 * @throws Exception
+		 */
+		public void process(FrameBlock chunk, int splitID, long rowOffset) 
+			throws Exception;
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private class ReadChunksTask implements Callable<Object> 
+	{
+		private InputSplit _split = null;
+		private TextInputFormat _informat = null;
+		private JobConf _job = null;
+		private List<ValueType> _schema = null;
+		private List<String> _names = null;
+		private long _clen = -1;
+		private int _blen = -1;
+		private int _splitID = -1;
+		private FrameChunkHandler _handler = null;
+		
+		public ReadChunksTask(InputSplit split, TextInputFormat informat, JobConf job, List<ValueType> schema, 
+				List<String> names, long clen, int blen, int splitID, FrameChunkHandler handler) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_schema = schema;
+			_names = names;
+			_clen = clen;
+			_blen = blen;
+			_splitID = splitID;
+			_handler = handler;
+		}
+
+		@Override
+		public Object call() 
+			throws Exception 
+		{
+			readCSVFrameChunksFromInputSplit(_split, _informat, _job, 
+					_schema, _names, _clen, _blen, _splitID, _handler);
+			return null;
+		}
 	}
 	
 	/**
@@ -19,10 +19,8 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
-import java.util.ArrayList;
-
 import org.apache.sysml.runtime.util.LongLongDoubleHashMap;
-import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleIterator;
 
 /**
  * Ctable map is an abstraction for the hashmap used for ctable's hash group-by
@@ -53,13 +51,13 @@ public class CTableMap
 	}
 	
 	/**
+	 * Returns an object-free iterator over all (row, col, value) entries.
 	 * 
 	 * @return
 	 */
-	@Deprecated
-	public ArrayList<LLDoubleEntry> entrySet()
+	public LLDoubleIterator getIterator()
 	{
-		return _map.extractValues();
+		return _map.getIterator();
 	}
 	
 	/**
@@ -94,6 +92,21 @@ public class CTableMap
 		_maxCol = Math.max(_maxCol, col);
 	}
 	
+	/**
+	 * Aggregates all entries of the given ctable map into this map, 
+	 * e.g., for merging thread-local partial contingency tables.
+	 * 
+	 * @param that
+	 */
+	public void merge(CTableMap that) 
+	{
+		_map.merge(that._map);
+		
+		//maintain internal summaries 
+		_maxRow = Math.max(_maxRow, that._maxRow);
+		_maxCol = Math.max(_maxCol, that._maxCol);
+	}
+	
 	/**
 	 * 
 	 * @param rlen
@@ -111,13 +124,15 @@ public class CTableMap
 		if( sparse ) //SPARSE <- cells
 		{
 			//append cells to sparse target (prevent shifting)
-			for( LLDoubleEntry e : _map.extractValues() ) 
+			LLDoubleIterator iter = _map.getIterator();
+			while( iter.hasNext() ) 
 			{
-				double value = e.value;
-				int rix = (int)e.key1;
-				int cix = (int)e.key2;
+				iter.next();
+				double value = iter.getValue();
+				long rix = iter.getKey1();
+				long cix = iter.getKey2();
 				if( value != 0 && rix<=rlen && cix<=clen )
-					mb.appendValue( rix-1, cix-1, value );
+					mb.appendValue( (int)rix-1, (int)cix-1, value );
 			}
 			
 			//sort sparse target representation
@@ -126,13 +141,15 @@ public class CTableMap
 		else  //DENSE <- cells
 		{
 			//directly insert cells into dense target 
-			for( LLDoubleEntry e : _map.extractValues() ) 
+			LLDoubleIterator iter = _map.getIterator();
+			while( iter.hasNext() ) 
 			{
-				double value = e.value;
-				int rix = (int)e.key1;
-				int cix = (int)e.key2;
+				iter.next();
+				double value = iter.getValue();
+				long rix = iter.getKey1();
+				long cix = iter.getKey2();
 				if( value != 0 && rix<=rlen && cix<=clen )
-					mb.quickSetValue( rix-1, cix-1, value );
+					mb.quickSetValue( (int)rix-1, (int)cix-1, value );
 			}
 		}
 		
@@ -81,6 +81,8 @@ public class LibMatrixAgg
 	private static final boolean NAN_AWARENESS = false;
 	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
 	private static final long PAR_INTERMEDIATE_SIZE_THRESHOLD = 2*1024*1024; //Max 2MB
+	private static final int GROUPED_AGG_BLOCKSIZE = 32*1024;     //Max 32K cells (512KB buffers)
+	private static final int GROUPED_AGG_MIN_BLOCKLEN = 64;       //Min 64 columns per block
 	
 	////////////////////////////////
 	// public matrix agg interface
@@ -827,6 +829,10 @@ public class LibMatrixAgg
 	 * stability. In contrast to other functions of aggregate, this implementation supports row and column
 	 * vectors for target and exploits sparse representations since KahanPlus is sparse-safe.
 	 * 
+	 * Multi-column targets are aggregated in a single pass over the target per column block, 
+	 * where the column blocks are sized such that the primitive group buffers (sums and 
+	 * corrections) fit into cache. 
+	 * 
 	 * @param target
 	 * @param weights
 	 * @param op
@@ -836,118 +842,182 @@ public class LibMatrixAgg
 		throws DMLRuntimeException
 	{
 		boolean rowVector = (target.getNumRows()==1 && target.getNumColumns()>1);
-		int numCols = (!rowVector) ? target.getNumColumns() : 1;
-		double w = 1; //default weight
 		
 		//skip empty blocks (sparse-safe operation)
 		if( target.isEmptyBlock(false) ) 
 			return;
 		
-		//init group buffers
-		int numCols2 = cu-cl;
-		KahanObject[][] buffer = new KahanObject[numGroups][numCols2];
-		for( int i=0; i<numGroups; i++ )
-			for( int j=0; j<numCols2; j++ )
-				buffer[i][j] = new KahanObject(aggop.initialValue, 0);
-			
-		if( rowVector ) //target is rowvector
-		{	
+		if( rowVector ) { //target is rowvector
 			//note: always sequential, no need to respect cl/cu 
+			groupedAggregateKahanPlusRowVector(groups, target, weights, result, numGroups, aggop);
+			return;
+		}
+		
+		//column vector or matrix 
+		int[] gix = getGroupIndexes(groups, numGroups);
+		KahanFunction kplus = (KahanFunction) aggop.increOp.fn;
+		KahanObject kbuff = new KahanObject(0, 0);
+		final int n = target.getNumColumns();
+		final int blksz = Math.min(cu-cl, Math.max(GROUPED_AGG_MIN_BLOCKLEN, GROUPED_AGG_BLOCKSIZE/numGroups));
+		
+		//init group buffers (sums and corrections per group and column of block)
+		double[] sum = new double[numGroups*blksz];
+		double[] corr = new double[numGroups*blksz];
+		
+		for( int bl=cl; bl<cu; bl+=blksz ) 
+		{
+			int bu = Math.min(bl+blksz, cu);
+			int blen = bu - bl;
+			Arrays.fill(sum, aggop.initialValue);
+			Arrays.fill(corr, 0);
 			
 			if( target.sparse ) //SPARSE target
 			{
-				if( !target.sparseBlock.isEmpty(0) )
+				SparseBlock a = target.sparseBlock;
+				
+				for( int i=0; i < gix.length; i++ ) 
 				{
-					int pos = target.sparseBlock.pos(0);
-					int len = target.sparseBlock.size(0);
-					int[] aix = target.sparseBlock.indexes(0);
-					double[] avals = target.sparseBlock.values(0);	
-					for( int j=pos; j<pos+len; j++ ) //for each nnz
-					{
-						int g = (int) groups.quickGetValue(aix[j], 0);		
-						if ( g > numGroups )
-							continue;
-						if ( weights != null )
-							w = weights.quickGetValue(aix[j],0);
-						aggop.increOp.fn.execute(buffer[g-1][0], avals[j]*w);						
-					}
-				}
+					int g = gix[i];
+					if( g < 0 || a.isEmpty(i) )
+						continue;
+					
+					int pos = a.pos(i);
+					int len = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					int j = (bl==0) ? pos : a.posFIndexGTE(i,bl);
+					j = (j>=0) ? j : pos+len;
+					double w = (weights != null) ? weights.quickGetValue(i,0) : 1;
 					
+					for( int gpos=g*blen-bl; j<pos+len && aix[j]<bu; j++ ) //for each nnz
+						kahanAdd(kplus, kbuff, sum, corr, gpos+aix[j], avals[j]*w);
+				}
 			}
 			else //DENSE target
 			{
-				for ( int i=0; i < target.getNumColumns(); i++ ) {
-					double d = target.denseBlock[ i ];
-					if( d != 0 ) //sparse-safe
-					{
-						int g = (int) groups.quickGetValue(i, 0);		
-						if ( g > numGroups )
-							continue;
-						if ( weights != null )
-							w = weights.quickGetValue(i,0);
-						// buffer is 0-indexed, whereas range of values for g = [1,numGroups]
-						aggop.increOp.fn.execute(buffer[g-1][0], d*w);
+				double[] a = target.denseBlock;
+				
+				for( int i=0, aix=0; i < gix.length; i++, aix+=n ) 
+				{
+					int g = gix[i];
+					if( g < 0 )
+						continue;
+					
+					double w = (weights != null) ? weights.quickGetValue(i,0) : 1;
+					for( int j=bl, gpos=g*blen-bl; j < bu; j++ ) {
+						double d = a[ aix+j ];
+						if( d != 0 ) //sparse-safe
+							kahanAdd(kplus, kbuff, sum, corr, gpos+j, d*w);
 					}
 				}
 			}
+			
+			// extract the results from group buffers
+			for( int i=0, gpos=0; i < numGroups; i++, gpos+=blen )
+				for( int j=0; j < blen; j++ )
+					result.appendValue(i, bl+j, sum[gpos+j]);
 		}
-		else //column vector or matrix 
+	}
+	
+	/**
+	 * 
+	 * @param groups
+	 * @param target
+	 * @param weights
+	 * @param result
+	 * @param numGroups
+	 * @param aggop
+	 * @throws DMLRuntimeException
+	 */
+	private static void groupedAggregateKahanPlusRowVector( MatrixBlock groups, MatrixBlock target, MatrixBlock weights, MatrixBlock result, int numGroups, AggregateOperator aggop ) 
+		throws DMLRuntimeException
+	{
+		double w = 1; //default weight
+		
+		//init group buffers
+		KahanObject[] buffer = new KahanObject[numGroups];
+		for( int i=0; i<numGroups; i++ )
+			buffer[i] = new KahanObject(aggop.initialValue, 0);
+		
+		if( target.sparse ) //SPARSE target
 		{
-			if( target.sparse ) //SPARSE target
+			if( !target.sparseBlock.isEmpty(0) )
 			{
-				SparseBlock a = target.sparseBlock;
-				
-				for( int i=0; i < groups.getNumRows(); i++ ) 
+				int pos = target.sparseBlock.pos(0);
+				int len = target.sparseBlock.size(0);
+				int[] aix = target.sparseBlock.indexes(0);
+				double[] avals = target.sparseBlock.values(0);	
+				for( int j=pos; j<pos+len; j++ ) //for each nnz
 				{
-					int g = (int) groups.quickGetValue(i, 0);		
+					int g = (int) groups.quickGetValue(aix[j], 0);		
 					if ( g > numGroups )
 						continue;
-					
-					if( !a.isEmpty(i) )
-					{
-						int pos = a.pos(i);
-						int len = a.size(i);
-						int[] aix = a.indexes(i);
-						double[] avals = a.values(i);	
-						int j = (cl==0) ? pos : a.posFIndexGTE(i,cl);
-						j = (j>=0) ? j : len;
-						
-						for( ; j<pos+len && aix[j]<cu; j++ ) //for each nnz
-						{
-							if ( weights != null )
-								w = weights.quickGetValue(aix[j],0);
-							aggop.increOp.fn.execute(buffer[g-1][aix[j]-cl], avals[j]*w);						
-						}
-					}
+					if ( weights != null )
+						w = weights.quickGetValue(aix[j],0);
+					aggop.increOp.fn.execute(buffer[g-1], avals[j]*w);						
 				}
 			}
-			else //DENSE target
-			{
-				double[] a = target.denseBlock;
-				
-				for( int i=0, aix=0; i < groups.getNumRows(); i++, aix+=numCols ) 
+		}
+		else //DENSE target
+		{
+			for ( int i=0; i < target.getNumColumns(); i++ ) {
+				double d = target.denseBlock[ i ];
+				if( d != 0 ) //sparse-safe
 				{
 					int g = (int) groups.quickGetValue(i, 0);		
 					if ( g > numGroups )
 						continue;
-				
-					for( int j=cl; j < cu; j++ ) {
-						double d = a[ aix+j ];
-						if( d != 0 ) { //sparse-safe
-							if ( weights != null )
-								w = weights.quickGetValue(i,0);
-							// buffer is 0-indexed, whereas range of values for g = [1,numGroups]
-							aggop.increOp.fn.execute(buffer[g-1][j-cl], d*w);
-						}
-					}
+					if ( weights != null )
+						w = weights.quickGetValue(i,0);
+					// buffer is 0-indexed, whereas range of values for g = [1,numGroups]
+					aggop.increOp.fn.execute(buffer[g-1], d*w);
 				}
 			}
 		}
 		
 		// extract the results from group buffers
 		for( int i=0; i < numGroups; i++ )
-			for( int j=0; j < numCols2; j++ )
-				result.appendValue(i, j+cl, buffer[i][j]._sum);
+			result.appendValue(i, 0, buffer[i]._sum);
+	}
+	
+	/**
+	 * 
+	 * @param kplus
+	 * @param kbuff
+	 * @param sum
+	 * @param corr
+	 * @param pos
+	 * @param val
+	 */
+	private static void kahanAdd( KahanFunction kplus, KahanObject kbuff, double[] sum, double[] corr, int pos, double val ) {
+		kbuff.set(sum[pos], corr[pos]);
+		kplus.execute2(kbuff, val);
+		sum[pos] = kbuff._sum;
+		corr[pos] = kbuff._correction;
+	}
+	
+	/**
+	 * Obtains the 0-based group index per row of the given groups column vector, 
+	 * where groups larger than the number of groups are indicated by -1. This 
+	 * avoids repeated value lookups on the groups for multi-column targets.
+	 * 
+	 * @param groups
+	 * @param numGroups
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static int[] getGroupIndexes( MatrixBlock groups, int numGroups ) 
+		throws DMLRuntimeException
+	{
+		int m = groups.getNumRows();
+		int[] ret = new int[m];
+		for( int i=0; i<m; i++ ) {
+			int g = (int) groups.quickGetValue(i, 0);
+			if( g <= 0 )
+				throw new DMLRuntimeException("Invalid value (" + g + ") encountered in 'groups' while computing groupedAggregate.");
+			ret[i] = (g > numGroups) ? -1 : g-1;
+		}
+		return ret;
 	}
 
 	/**
@@ -962,6 +1032,7 @@ public class LibMatrixAgg
 		throws DMLRuntimeException
 	{
 		CM cmFn = CM.getCMFnObject(((CMOperator) cmOp).getAggOpType());
+		int[] gix = getGroupIndexes(groups, numGroups);
 		double w = 1; //default weight
 		
 		//init group buffers
@@ -976,10 +1047,10 @@ public class LibMatrixAgg
 		{
 			SparseBlock a = target.sparseBlock;
 			
-			for( int i=0; i < groups.getNumRows(); i++ ) 
+			for( int i=0; i < gix.length; i++ ) 
 			{
-				int g = (int) groups.quickGetValue(i, 0);		
-				if ( g > numGroups )
+				int g = gix[i];
+				if ( g < 0 )
 					continue;
 				
 				if( !a.isEmpty(i) )
@@ -995,7 +1066,7 @@ public class LibMatrixAgg
 					{
 						if ( weights != null )
 							w = weights.quickGetValue(i, 0);
-						cmFn.execute(cmValues[g-1][aix[j]-cl], avals[j], w);						
+						cmFn.execute(cmValues[g][aix[j]-cl], avals[j], w);						
 					}
 					//TODO sparse unsafe correction
 				}
@@ -1005,10 +1076,10 @@ public class LibMatrixAgg
 		{
 			double[] a = target.denseBlock;
 			
-			for( int i=0, aix=0; i < groups.getNumRows(); i++, aix+=target.clen ) 
+			for( int i=0, aix=0; i < gix.length; i++, aix+=target.clen ) 
 			{
-				int g = (int) groups.quickGetValue(i, 0);		
-				if ( g > numGroups )
+				int g = gix[i];
+				if ( g < 0 )
 					continue;
 			
 				for( int j=cl; j<cu; j++ ) {
@@ -1016,7 +1087,7 @@ public class LibMatrixAgg
 					if ( weights != null )
 						w = weights.quickGetValue(i,0);
 					// buffer is 0-indexed, whereas range of values for g = [1,numGroups]
-					cmFn.execute(cmValues[g-1][j-cl], d, w);
+					cmFn.execute(cmValues[g][j-cl], d, w);
 				}
 			}
 		}
@@ -1025,7 +1096,7 @@ public class LibMatrixAgg
 		for( int i=0; i < numGroups; i++ ) 
 			for( int j=0; j < numCols2; j++ ) {
 				// result is 0-indexed, so is cmValues
-				result.appendValue(i, j, cmValues[i][j+cl].getRequiredResult(cmOp));
+				result.appendValue(i, j+cl, cmValues[i][j].getRequiredResult(cmOp));
 			}			
 	}
 	
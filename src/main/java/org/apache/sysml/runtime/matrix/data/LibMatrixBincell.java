@@ -19,7 +19,13 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Divide;
@@ -57,6 +63,8 @@ import org.apache.sysml.runtime.util.SortUtils;
  */
 public class LibMatrixBincell 
 {
+	//internal configuration
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
 
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
@@ -126,6 +134,128 @@ public class LibMatrixBincell
 			ret.examSparsity();
 	}
 	
+	/**
+	 * Multi-threaded matrix-scalar, scalar-matrix binary operations. The output
+	 * is expected to be reset to the same representation as for the single-threaded
+	 * operation. 
+	 * 
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		//fall back to sequential execution for small inputs, empty inputs
+		//(no work to partition) or non thread-safe sparse outputs
+		if(    k <= 1 || (long)m1.rlen*m1.clen < PAR_NUMCELL_THRESHOLD || m1.rlen <= k
+			|| m1.isEmptyBlock(false) || !ret.isThreadSafe() ) {
+			bincellOp(m1, ret, op);
+			return;
+		}
+		
+		//check internal assumptions 
+		if(   (op.sparseSafe && m1.isInSparseFormat()!=ret.isInSparseFormat())
+			||(!op.sparseSafe && ret.isInSparseFormat()) ) {
+			throw new DMLRuntimeException("Wrong output representation for safe="+op.sparseSafe+": "+m1.isInSparseFormat()+", "+ret.isInSparseFormat());
+		}
+		
+		//allocate output (in contrast to single-threaded, sparse rows are 
+		//allocated upfront in order to prevent synchronization)
+		if( ret.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+		
+		//core multi-threaded matrix-scalar computation
+		//(currently: always parallelization over number of rows)
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<BincellScalarTask> tasks = new ArrayList<BincellScalarTask>();
+			ArrayList<Integer> blklens = getBalancedBlockSizes(m1.rlen, k);
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new BincellScalarTask(m1, ret, op, lb, lb+blklens.get(i)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);	
+			pool.shutdown();
+			//aggregate partial nnz
+			ret.nonZeros = 0; //reset after execute
+			for( Future<Long> task : taskret )
+				ret.nonZeros += task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//ensure empty results sparse representation 
+		//(no additional memory requirements)
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity();
+	}
+	
+	/**
+	 * Multi-threaded matrix-matrix binary operations, MM, MV. The output is
+	 * expected to be reset according to the estimated output sparsity, as for
+	 * the single-threaded operation. 
+	 * 
+	 * @param m1
+	 * @param m2
+	 * @param ret
+	 * @param op
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		
+		//fall back to sequential execution for small inputs, outer vector 
+		//operations, empty inputs or non thread-safe sparse outputs
+		if(    k <= 1 || (long)m1.rlen*m1.clen < PAR_NUMCELL_THRESHOLD || m1.rlen <= k
+			|| atype == BinaryAccessType.OUTER_VECTOR_VECTOR || atype == BinaryAccessType.INVALID
+			|| m1.isEmptyBlock(false) || !ret.isThreadSafe() ) {
+			bincellOp(m1, m2, ret, op);
+			return;
+		}
+		
+		//allocate output (in contrast to single-threaded, sparse rows are 
+		//allocated upfront in order to prevent synchronization)
+		if( ret.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+		
+		//prepare right-hand-side vector (if necessary)
+		double[] b = (atype != BinaryAccessType.MATRIX_MATRIX) ?
+				DataConverter.convertToDoubleVector(m2) : null;
+		
+		//core multi-threaded binary computation
+		//(currently: always parallelization over number of rows)
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<BincellTask> tasks = new ArrayList<BincellTask>();
+			ArrayList<Integer> blklens = getBalancedBlockSizes(m1.rlen, k);
+			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+				tasks.add(new BincellTask(m1, m2, b, ret, op, atype, lb, lb+blklens.get(i)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);	
+			pool.shutdown();
+			//aggregate partial nnz
+			ret.nonZeros = 0; //reset after execute
+			for( Future<Long> task : taskret )
+				ret.nonZeros += task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//ensure empty results sparse representation 
+		//(no additional memory requirements)
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity();
+	}
+	
 	/**
 	 * NOTE: operations in place always require m1 and m2 to be of equal dimensions
 	 * 
@@ -966,55 +1096,74 @@ public class LibMatrixBincell
 		if( m1.sparse != ret.sparse )
 			throw new DMLRuntimeException("Unsupported safe binary scalar operations over different input/output representation: "+m1.sparse+" "+ret.sparse);
 		
-		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
-		
 		if( m1.sparse ) //SPARSE <- SPARSE
 		{	
 			//allocate sparse row structure
 			ret.allocateSparseRowsBlock();
-			SparseBlock a = m1.sparseBlock;
-			SparseBlock c = ret.sparseBlock;
-			int rlen = Math.min(m1.rlen, a.numRows());
+			ret.nonZeros = safeBinaryScalarSparse(m1, ret, op, 0, m1.rlen);
+		}
+		else { //DENSE <- DENSE
+			denseBinaryScalar(m1, ret, op);
+		}
+	}
+	
+	/**
+	 * Sparse-safe matrix-scalar operation over a row range of a sparse input,
+	 * with preallocated sparse output.
+	 * 
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return number of non-zeros in the given output rows
+	 * @throws DMLRuntimeException
+	 */
+	private static long safeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		boolean copyOnes = (op.fn instanceof NotEquals && op.getConstant()==0);
+		
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock c = ret.sparseBlock;
+		int rlen = Math.min(ru, a.numRows());
+		
+		long nnz = 0;
+		for(int r=rl; r<rlen; r++) {
+			if( a.isEmpty(r) ) continue;
 			
-			long nnz = 0;
-			for(int r=0; r<rlen; r++) {
-				if( a.isEmpty(r) ) continue;
-				
-				int apos = a.pos(r);
-				int alen = a.size(r);
-				int[] aix = a.indexes(r);
-				double[] avals = a.values(r);
+			int apos = a.pos(r);
+			int alen = a.size(r);
+			int[] aix = a.indexes(r);
+			double[] avals = a.values(r);
+			
+			if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
+				//create sparse row without repeated resizing
+				SparseRow crow = new SparseRow(alen);
+				crow.setSize(alen);
 				
-				if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
-					//create sparse row without repeated resizing
-					SparseRow crow = new SparseRow(alen);
-					crow.setSize(alen);
-					
-					//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
-					System.arraycopy(aix, apos, crow.indexes(), 0, alen);
-					Arrays.fill(crow.values(), 0, alen, 1);
-					c.set(r, crow, false);
-					nnz += alen;
+				//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
+				System.arraycopy(aix, apos, crow.indexes(), 0, alen);
+				Arrays.fill(crow.values(), 0, alen, 1);
+				c.set(r, crow, false);
+				nnz += alen;
+			}
+			else { //GENERAL CASE
+				//create sparse row without repeated resizing for specific ops
+				if( op.fn instanceof Multiply || op.fn instanceof Multiply2 
+					|| op.fn instanceof Power2  ) {
+					c.allocate(r, alen);
 				}
-				else { //GENERAL CASE
-					//create sparse row without repeated resizing for specific ops
-					if( op.fn instanceof Multiply || op.fn instanceof Multiply2 
-						|| op.fn instanceof Power2  ) {
-						c.allocate(r, alen);
-					}
-					
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c.append(r, aix[j], val);
-						nnz += (val != 0) ? 1 : 0; 
-					}
+				
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c.append(r, aix[j], val);
+					nnz += (val != 0) ? 1 : 0; 
 				}
 			}
-			ret.nonZeros = nnz;
-		}
-		else { //DENSE <- DENSE
-			denseBinaryScalar(m1, ret, op);
 		}
+		
+		return nnz;
 	}
 	
 	/**
@@ -1044,37 +1193,54 @@ public class LibMatrixBincell
 		if( m1.sparse ) //SPARSE MATRIX
 		{
 			ret.allocateDenseBlock();
-			
-			SparseBlock a = m1.sparseBlock;
-			double[] c = ret.denseBlock;			
-			int m = m1.rlen;
-			int n = m1.clen;
-			
-			//init dense result with unsafe 0-value
-			double cval0 = op.executeScalar(0);
-			Arrays.fill(c, cval0);
-			
-			//compute non-zero input values
-			int nnz = m*n;
-			for(int i=0, cix=0; i<m; i++, cix+=n) {
-				if( !a.isEmpty(i) ) {
-					int apos = a.pos(i);
-					int alen = a.size(i);
-					int[] aix = a.indexes(i);
-					double[] avals = a.values(i);
-					for(int j=apos; j<apos+alen; j++) {
-						double val = op.executeScalar(avals[j]);
-						c[ cix+aix[j] ] = val;
-						nnz -= (val==0) ? 1 : 0;
-					}
-				}
-			}
-			ret.nonZeros = nnz;
+			ret.nonZeros = unsafeBinaryScalarSparse(m1, ret, op, 0, m1.rlen);
 		}
 		else { //DENSE MATRIX
 			denseBinaryScalar(m1, ret, op);
 		}
 	}
+	
+	/**
+	 * Sparse-unsafe matrix-scalar operation over a row range of a sparse input,
+	 * with preallocated dense output.
+	 * 
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return number of non-zeros in the given output rows
+	 * @throws DMLRuntimeException
+	 */
+	private static long unsafeBinaryScalarSparse(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		SparseBlock a = m1.sparseBlock;
+		double[] c = ret.denseBlock;			
+		int n = m1.clen;
+		
+		//init dense result with unsafe 0-value
+		double cval0 = op.executeScalar(0);
+		Arrays.fill(c, rl*n, ru*n, cval0);
+		
+		//compute non-zero input values
+		long nnz = (cval0 != 0) ? (long)(ru-rl)*n : 0;
+		for(int i=rl, cix=rl*n; i<ru; i++, cix+=n) {
+			if( !a.isEmpty(i) ) {
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for(int j=apos; j<apos+alen; j++) {
+					double val = op.executeScalar(avals[j]);
+					c[ cix+aix[j] ] = val;
+					nnz += (val!=0 ? 1 : 0) - (cval0!=0 ? 1 : 0);
+				}
+			}
+		}
+		
+		return nnz;
+	}
 
 	/**
 	 * 
@@ -1089,17 +1255,37 @@ public class LibMatrixBincell
 		//allocate dense block (if necessary), incl clear nnz
 		ret.allocateDenseBlock(true);
 		
+		//compute scalar operation, incl nnz maintenance
+		ret.nonZeros = denseBinaryScalar(m1, ret, op, 0, m1.rlen);
+	}
+	
+	/**
+	 * Matrix-scalar operation over a row range of a dense input,
+	 * with preallocated dense output.
+	 * 
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return number of non-zeros in the given output rows
+	 * @throws DMLRuntimeException 
+	 */
+	private static long denseBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
 		double[] a = m1.denseBlock;
 		double[] c = ret.denseBlock;
 		
 		//compute scalar operation, incl nnz maintenance
-		int limit = m1.rlen*m1.clen;
-		int nnz = 0;
-		for( int i=0; i<limit; i++ ) {
+		int n = m1.clen;
+		long nnz = 0;
+		for( int i=rl*n; i<ru*n; i++ ) {
 			c[i] = op.executeScalar( a[i] );
 			nnz += (c[i] != 0) ? 1 : 0;
 		}
-		ret.nonZeros = nnz;
+		
+		return nnz;
 	}
 	
 	/**
@@ -1363,5 +1549,271 @@ public class LibMatrixBincell
 		}
 	}
 	
+	/**
+	 * Matrix-scalar operation over a row range, with preallocated output.
+	 * 
+	 * @param m1
+	 * @param ret
+	 * @param op
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return number of non-zeros in the given output rows
+	 * @throws DMLRuntimeException
+	 */
+	private static long bincellOpScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		if( m1.sparse && ret.sparse ) //SPARSE <- SPARSE
+			return safeBinaryScalarSparse(m1, ret, op, rl, ru);
+		else if( m1.sparse ) //DENSE <- SPARSE
+			return unsafeBinaryScalarSparse(m1, ret, op, rl, ru);
+		else //DENSE <- DENSE
+			return denseBinaryScalar(m1, ret, op, rl, ru);
+	}
+	
+	/**
+	 * Matrix-matrix or matrix-vector operation over a row range, with preallocated
+	 * output. This generic kernel covers all combinations of dense and sparse inputs
+	 * and outputs, and is used for both sparse-safe and sparse-unsafe operations.
+	 * 
+	 * @param m1
+	 * @param m2
+	 * @param b dense copy of m2 for matrix-vector operations, otherwise null
+	 * @param ret
+	 * @param op
+	 * @param atype
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return number of non-zeros in the given output rows
+	 * @throws DMLRuntimeException
+	 */
+	private static long bincellOpRows(MatrixBlock m1, MatrixBlock m2, double[] b, MatrixBlock ret, 
+			BinaryOperator op, BinaryAccessType atype, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		final int n = m1.clen;
+		final ValueFunction fn = op.fn;
+		final boolean mm = (atype == BinaryAccessType.MATRIX_MATRIX);
+		
+		//row buffers for sparse or empty inputs
+		double[] abuff = new double[n];
+		double[] bbuff = mm ? new double[n] : null;
+		double[] cbuff = ret.sparse ? new double[n] : null;
+		long lnnz = 0;
+		
+		if( ret.sparse && op.sparseSafe && mm && m1.sparse && m2.sparse ) 
+		{
+			//SPARSE <- SPARSE-SPARSE: merge of non-zero rows
+			SparseBlock a = m1.sparseBlock;
+			SparseBlock bs = m2.sparseBlock;
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl; i<ru; i++ ) {
+				boolean aempty = (a==null || a.isEmpty(i));
+				boolean bempty = (bs==null || bs.isEmpty(i));
+				if( aempty && bempty ) 
+					continue;
+				int apos = aempty ? 0 : a.pos(i);
+				int alen = aempty ? 0 : a.size(i);
+				int[] aix = aempty ? null : a.indexes(i);
+				double[] avals = aempty ? null : a.values(i);
+				int bpos = bempty ? 0 : bs.pos(i);
+				int blen = bempty ? 0 : bs.size(i);
+				int[] bix = bempty ? null : bs.indexes(i);
+				double[] bvals = bempty ? null : bs.values(i);
+				c.allocate(i, Math.min(alen+blen, n));
+				int p1 = apos, p2 = bpos;
+				while( p1 < apos+alen || p2 < bpos+blen ) {
+					int c1 = (p1 < apos+alen) ? aix[p1] : Integer.MAX_VALUE;
+					int c2 = (p2 < bpos+blen) ? bix[p2] : Integer.MAX_VALUE;
+					if( c1 < c2 )
+						c.append(i, c1, fn.execute(avals[p1++], 0));
+					else if( c1 > c2 )
+						c.append(i, c2, fn.execute(0, bvals[p2++]));
+					else
+						c.append(i, c1, fn.execute(avals[p1++], bvals[p2++]));
+				}
+				lnnz += c.size(i);
+			}
+		}
+		else if( ret.sparse && m1.sparse && fn instanceof Multiply ) 
+		{
+			//SPARSE <- SPARSE-ANY: iterate over non-zeros of left input only
+			SparseBlock a = m1.sparseBlock;
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl; i<ru; i++ ) {
+				if( a==null || a.isEmpty(i) ) 
+					continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				c.allocate(i, alen);
+				for( int j=apos; j<apos+alen; j++ ) {
+					double v2 = mm ? m2.quickGetValue(i, aix[j]) :
+						(atype == BinaryAccessType.MATRIX_ROW_VECTOR) ? b[aix[j]] : b[i];
+					c.append(i, aix[j], fn.execute(avals[j], v2));
+				}
+				lnnz += c.size(i);
+			}
+		}
+		else
+		{
+			//GENERAL CASE: row-wise computation over dense rows
+			double[] c = ret.sparse ? cbuff : ret.denseBlock;
+			for( int i=rl; i<ru; i++ ) {
+				int cix = ret.sparse ? 0 : i*n;
+				
+				//prepare left input row
+				double[] avals = abuff;
+				int aix = 0;
+				if( !m1.sparse && m1.denseBlock != null ) {
+					avals = m1.denseBlock;
+					aix = i*n;
+				}
+				else
+					getSparseRow(m1, i, abuff);
+				
+				//compute output row
+				if( atype == BinaryAccessType.MATRIX_COL_VECTOR ) {
+					double v2 = b[i];
+					for( int j=0; j<n; j++ )
+						c[cix+j] = fn.execute(avals[aix+j], v2);
+				}
+				else if( atype == BinaryAccessType.MATRIX_ROW_VECTOR ) {
+					for( int j=0; j<n; j++ )
+						c[cix+j] = fn.execute(avals[aix+j], b[j]);
+				}
+				else { //MATRIX_MATRIX
+					double[] bvals = bbuff;
+					int bix = 0;
+					if( !m2.sparse && m2.denseBlock != null ) {
+						bvals = m2.denseBlock;
+						bix = i*n;
+					}
+					else
+						getSparseRow(m2, i, bbuff);
+					for( int j=0; j<n; j++ )
+						c[cix+j] = fn.execute(avals[aix+j], bvals[bix+j]);
+				}
+				
+				//append to sparse output and maintain nnz
+				if( ret.sparse ) {
+					SparseBlock cs = ret.sparseBlock;
+					for( int j=0; j<n; j++ )
+						cs.append(i, j, c[j]);
+					lnnz += cs.isEmpty(i) ? 0 : cs.size(i);
+				}
+				else {
+					for( int j=cix; j<cix+n; j++ )
+						lnnz += (c[j] != 0) ? 1 : 0;
+				}
+			}
+		}
+		
+		return lnnz;
+	}
+	
+	/**
+	 * Scatters the given row of a sparse (or empty dense) matrix block
+	 * into a zero-initialized dense row buffer.
+	 * 
+	 * @param mb
+	 * @param r
+	 * @param buff
+	 */
+	private static void getSparseRow(MatrixBlock mb, int r, double[] buff) 
+	{
+		Arrays.fill(buff, 0);
+		SparseBlock a = mb.sparseBlock;
+		if( mb.sparse && a != null && !a.isEmpty(r) ) {
+			int apos = a.pos(r);
+			int alen = a.size(r);
+			int[] aix = a.indexes(r);
+			double[] avals = a.values(r);
+			for( int j=apos; j<apos+alen; j++ )
+				buff[aix[j]] = avals[j];
+		}
+	}
+	
+	/**
+	 * 
+	 * @param len
+	 * @param k
+	 * @return
+	 */
+	private static ArrayList<Integer> getBalancedBlockSizes(int len, int k) {
+		ArrayList<Integer> ret = new ArrayList<Integer>();
+		int base = len / k;
+		int rest = len % k;
+		for( int i=0; i<k; i++ ) {
+			int val = base + (i<rest?1:0);
+			if( val > 0 )
+				ret.add(val);
+		}	
+		return ret; 
+	}
+	
+	/////////////////////////////////////////////////////////
+	// Task Implementations for Multi-Threaded Operations  //
+	/////////////////////////////////////////////////////////
+	
+	/**
+	 * 
+	 */
+	private static class BincellScalarTask implements Callable<Long> 
+	{
+		private MatrixBlock _m1  = null;
+		private MatrixBlock _ret = null;
+		private ScalarOperator _op = null;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected BincellScalarTask( MatrixBlock m1, MatrixBlock ret, ScalarOperator op, int rl, int ru ) {
+			_m1 = m1;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			//compute matrix-scalar over row partition, incl nnz
+			return bincellOpScalar(_m1, _ret, _op, _rl, _ru);
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class BincellTask implements Callable<Long> 
+	{
+		private MatrixBlock _m1  = null;
+		private MatrixBlock _m2  = null;
+		private double[] _b = null;
+		private MatrixBlock _ret = null;
+		private BinaryOperator _op = null;
+		private BinaryAccessType _atype = null;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected BincellTask( MatrixBlock m1, MatrixBlock m2, double[] b, MatrixBlock ret, 
+				BinaryOperator op, BinaryAccessType atype, int rl, int ru ) {
+			_m1 = m1;
+			_m2 = m2;
+			_b = b;
+			_ret = ret;
+			_op = op;
+			_atype = atype;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			//compute binary operation over row partition, incl nnz
+			return bincellOpRows(_m1, _m2, _b, _ret, _op, _atype, _rl, _ru);
+		}
+	}
 }
 
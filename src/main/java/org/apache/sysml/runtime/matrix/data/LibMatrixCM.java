@@ -0,0 +1,501 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.CM;
+import org.apache.sysml.runtime.functionobjects.COV;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysml.runtime.matrix.operators.CMOperator;
+import org.apache.sysml.runtime.matrix.operators.COVOperator;
+
+/**
+ * Library for central moment, covariance, and quantile operations over 
+ * column vectors, i.e., cm(X,[W,]order), cov(X,Y[,W]), median(X), and
+ * quantile(X,p).
+ * 
+ * Central moment and covariance compute partial CM_COV_Object aggregates
+ * over k disjoint row ranges, which are merged with the combine function 
+ * of the CM/COV function objects. Single quantiles (incl. the median) over 
+ * unweighted vectors are computed via selection (quickselect), which avoids 
+ * the full sort of the vector.
+ * 
+ */
+public class LibMatrixCM 
+{
+	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
+	
+	private LibMatrixCM() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Central moment over the given column vector with optional weights.
+	 * 
+	 * @param in input column vector
+	 * @param weights weight column vector or null
+	 * @param op
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static CM_COV_Object cmOperations(MatrixBlock in, MatrixBlock weights, CMOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		int rlen = in.getNumRows();
+		
+		//sequential execution for small inputs
+		if( k <= 1 || rlen < PAR_NUMCELL_THRESHOLD ) {
+			CM_COV_Object cmobj = new CM_COV_Object();
+			cmAggregate(in, weights, op.fn, cmobj, 0, rlen);
+			return cmobj;
+		}
+		
+		//multi-threaded execution over row partitions
+		CM_COV_Object cmobj = new CM_COV_Object();
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<CMTask> tasks = new ArrayList<CMTask>();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k && i*blklen<rlen; i++ )
+				tasks.add(new CMTask(in, weights, null, copyFnObject(op.fn), i*blklen, Math.min((i+1)*blklen, rlen)));
+			for( Future<CM_COV_Object> task : pool.invokeAll(tasks) )
+				op.fn.execute(cmobj, task.get()); //merge partial aggregates
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return cmobj;
+	}
+	
+	/**
+	 * Covariance over the given column vectors with optional weights.
+	 * 
+	 * @param in1 first input column vector
+	 * @param in2 second input column vector
+	 * @param weights weight column vector or null
+	 * @param op
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static CM_COV_Object covOperations(MatrixBlock in1, MatrixBlock in2, MatrixBlock weights, COVOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		int rlen = in1.getNumRows();
+		
+		//sequential execution for small inputs
+		if( k <= 1 || rlen < PAR_NUMCELL_THRESHOLD ) {
+			CM_COV_Object covobj = new CM_COV_Object();
+			covAggregate(in1, in2, weights, op.fn, covobj, 0, rlen);
+			return covobj;
+		}
+		
+		//multi-threaded execution over row partitions
+		CM_COV_Object covobj = new CM_COV_Object();
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<CMTask> tasks = new ArrayList<CMTask>();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k && i*blklen<rlen; i++ )
+				tasks.add(new CMTask(in1, weights, in2, op.fn, i*blklen, Math.min((i+1)*blklen, rlen)));
+			for( Future<CM_COV_Object> task : pool.invokeAll(tasks) )
+				op.fn.execute(covobj, task.get()); //merge partial aggregates
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return covobj;
+	}
+	
+	/**
+	 * Picks the value at the given quantile from an unsorted and unweighted 
+	 * column vector via selection. The semantics are equivalent to 
+	 * {@link MatrixBlock#pickValue(double, boolean)} over the sorted vector.
+	 * 
+	 * @param in unsorted input column vector
+	 * @param quantile
+	 * @param average average the two middle values of an even-length input
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static double pickValue(MatrixBlock in, double quantile, boolean average) 
+		throws DMLRuntimeException
+	{
+		if( in.getNumColumns() != 1 ) {
+			throw new DMLRuntimeException("Invalid input dimensions (" + in.getNumRows() + "x" + in.getNumColumns() + ") to quantile selection.");
+		}
+		
+		int n = in.getNumRows();
+		if( n == 0 )
+			throw new DMLRuntimeException("Invalid empty input to quantile selection.");
+		
+		// do averaging only if it is asked for; and n is even
+		average = average && (n%2 == 0);
+		
+		//extract non-zero values, with negative values before positive values
+		double[] vals = extractNonZeros(in);
+		int nz = vals.length;
+		int nneg = 0;
+		for( int i=0; i<nz; i++ )
+			if( vals[i] < 0 )
+				swap(vals, nneg++, i);
+		int nzeros = n - nz;
+		
+		//select the value(s) at the requested rank(s), where ranks are 1-based
+		int pos = Math.max((int) Math.ceil(quantile*n), 1);
+		double val = pickRank(vals, nneg, nzeros, pos);
+		if( average && pos < n )
+			val = (val + pickRank(vals, nneg, nzeros, pos+1)) / 2;
+		
+		return val;
+	}
+	
+	/**
+	 * Median of an unsorted and unweighted column vector via selection.
+	 * 
+	 * @param in unsorted input column vector
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static double median(MatrixBlock in) 
+		throws DMLRuntimeException
+	{
+		return pickValue(in, 0.5, true);
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @param weights
+	 * @param fn
+	 * @param cmobj
+	 * @param rl
+	 * @param ru
+	 * @throws DMLRuntimeException
+	 */
+	private static void cmAggregate(MatrixBlock in, MatrixBlock weights, ValueFunction fn, CM_COV_Object cmobj, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		if( weights == null ) //UNWEIGHTED
+		{
+			if( in.sparse && in.sparseBlock!=null ) //SPARSE
+			{
+				SparseBlock a = in.sparseBlock;
+				int nzcount = 0;
+				for( int r=rl; r<Math.min(ru, a.numRows()); r++ ) {
+					if( a.isEmpty(r) ) 
+						continue;
+					int apos = a.pos(r);
+					int alen = a.size(r);
+					double[] avals = a.values(r);
+					for( int i=apos; i<apos+alen; i++ ) {
+						fn.execute(cmobj, avals[i]);
+						nzcount++;
+					}
+				}
+				// account for zeros in the vector
+				fn.execute(cmobj, 0.0, ru-rl-nzcount);
+			}
+			else if( in.denseBlock!=null ) //DENSE
+			{
+				//always vector (see check in matrix block)
+				double[] a = in.denseBlock;
+				for( int i=rl; i<ru; i++ )
+					fn.execute(cmobj, a[i]);
+			}
+		}
+		else //WEIGHTED
+		{
+			if( in.sparse && in.sparseBlock!=null ) //SPARSE
+			{
+				for( int i=rl; i<ru; i++ ) 
+					fn.execute(cmobj, in.quickGetValue(i,0), weights.quickGetValue(i,0));
+			}
+			else if( in.denseBlock!=null ) //DENSE
+			{
+				double[] a = in.denseBlock;
+				if( !weights.sparse ) {
+					//both dense vectors (default case)
+					if( weights.denseBlock!=null ) {
+						double[] w = weights.denseBlock;
+						for( int i=rl; i<ru; i++ )
+							fn.execute(cmobj, a[i], w[i]);
+					}
+				}
+				else {
+					for( int i=rl; i<ru; i++ ) 
+						fn.execute(cmobj, a[i], weights.quickGetValue(i,0));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * 
+	 * @param in1
+	 * @param in2
+	 * @param weights
+	 * @param fn
+	 * @param covobj
+	 * @param rl
+	 * @param ru
+	 * @throws DMLRuntimeException
+	 */
+	private static void covAggregate(MatrixBlock in1, MatrixBlock in2, MatrixBlock weights, COV fn, CM_COV_Object covobj, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		if( weights == null ) //UNWEIGHTED
+		{
+			if( in1.sparse && in1.sparseBlock!=null ) //SPARSE
+			{
+				for( int i=rl; i<ru; i++ ) 
+					fn.execute(covobj, in1.quickGetValue(i,0), in2.quickGetValue(i,0));
+			}
+			else if( in1.denseBlock!=null ) //DENSE
+			{
+				double[] a = in1.denseBlock;
+				if( !in2.sparse ) {
+					//both dense vectors (default case)
+					if( in2.denseBlock!=null ) {
+						double[] b = in2.denseBlock;
+						for( int i=rl; i<ru; i++ )
+							fn.execute(covobj, a[i], b[i]);
+					}
+				}
+				else {
+					for( int i=rl; i<ru; i++ )
+						fn.execute(covobj, a[i], in2.quickGetValue(i,0));
+				}
+			}
+		}
+		else //WEIGHTED
+		{
+			if( in1.sparse && in1.sparseBlock!=null ) //SPARSE
+			{
+				for( int i=rl; i<ru; i++ ) 
+					fn.execute(covobj, in1.quickGetValue(i,0), in2.quickGetValue(i,0), weights.quickGetValue(i,0));
+			}
+			else if( in1.denseBlock!=null ) //DENSE
+			{
+				double[] a = in1.denseBlock;
+				if( !in2.sparse && !weights.sparse ) {
+					//all dense vectors (default case)
+					if( in2.denseBlock!=null ) {
+						double[] b = in2.denseBlock;
+						double[] w = weights.denseBlock;
+						for( int i=rl; i<ru; i++ )
+							fn.execute(covobj, a[i], b[i], w[i]);
+					}
+				}
+				else {
+					for( int i=rl; i<ru; i++ )
+						fn.execute(covobj, a[i], in2.quickGetValue(i,0), weights.quickGetValue(i,0));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Creates a new function object for thread-local use. This is required 
+	 * for correctness because CM function objects hold internal buffers.
+	 * 
+	 * @param fn
+	 * @return
+	 */
+	private static ValueFunction copyFnObject(ValueFunction fn) {
+		if( fn instanceof CM )
+			return CM.getCMFnObject(((CM)fn).getAggOpType());
+		return fn;
+	}
+	
+	/**
+	 * 
+	 * @param in
+	 * @return
+	 */
+	private static double[] extractNonZeros(MatrixBlock in) 
+	{
+		int n = in.getNumRows();
+		double[] ret = null;
+		
+		if( in.sparse && in.sparseBlock!=null ) //SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			int nz = 0;
+			for( int r=0; r<Math.min(n, a.numRows()); r++ )
+				nz += a.isEmpty(r) ? 0 : a.size(r);
+			ret = new double[nz];
+			int pos = 0;
+			for( int r=0; r<Math.min(n, a.numRows()); r++ ) {
+				if( a.isEmpty(r) ) 
+					continue;
+				int apos = a.pos(r);
+				int alen = a.size(r);
+				double[] avals = a.values(r);
+				for( int i=apos; i<apos+alen; i++ )
+					if( avals[i] != 0 )
+						ret[pos++] = avals[i];
+			}
+			if( pos < nz ) {
+				double[] tmp = new double[pos];
+				System.arraycopy(ret, 0, tmp, 0, pos);
+				ret = tmp;
+			}
+		}
+		else if( in.denseBlock!=null ) //DENSE
+		{
+			double[] a = in.denseBlock;
+			int nz = 0;
+			for( int i=0; i<n; i++ )
+				nz += (a[i]!=0) ? 1 : 0;
+			ret = new double[nz];
+			int pos = 0;
+			for( int i=0; i<n; i++ )
+				if( a[i] != 0 )
+					ret[pos++] = a[i];
+		}
+		else //EMPTY
+			ret = new double[0];
+		
+		return ret;
+	}
+	
+	/**
+	 * Returns the value of the given 1-based rank, where vals contains 
+	 * the negative values in [0,nneg) and the positive values in [nneg,vals.length),
+	 * and nzeros zeros are ranked between the negative and positive values.
+	 * 
+	 * @param vals
+	 * @param nneg
+	 * @param nzeros
+	 * @param rank
+	 * @return
+	 */
+	private static double pickRank(double[] vals, int nneg, int nzeros, int rank) 
+	{
+		if( rank <= nneg )
+			return quickSelect(vals, 0, nneg-1, rank-1);
+		else if( rank <= nneg+nzeros )
+			return 0;
+		else
+			return quickSelect(vals, nneg, vals.length-1, rank-nzeros-1);
+	}
+	
+	/**
+	 * Iterative quickselect with median-of-three pivots that returns 
+	 * the value at position kth (in sorted order) within a[lo,hi], and 
+	 * partially reorders a[lo,hi] in place.
+	 * 
+	 * @param a
+	 * @param lo
+	 * @param hi inclusive upper bound
+	 * @param kth
+	 * @return
+	 */
+	private static double quickSelect(double[] a, int lo, int hi, int kth) 
+	{
+		while( hi > lo ) 
+		{
+			//median-of-three pivot selection
+			int mid = (lo + hi) >>> 1;
+			if( a[mid] < a[lo] ) swap(a, lo, mid);
+			if( a[hi] < a[lo] )  swap(a, lo, hi);
+			if( a[hi] < a[mid] ) swap(a, mid, hi);
+			double pivot = a[mid];
+			
+			//hoare partitioning 
+			int i = lo, j = hi;
+			while( i <= j ) {
+				while( a[i] < pivot ) i++;
+				while( a[j] > pivot ) j--;
+				if( i <= j )
+					swap(a, i++, j--);
+			}
+			
+			//continue with the partition containing kth
+			if( kth <= j )
+				hi = j;
+			else if( kth >= i )
+				lo = i;
+			else
+				return a[kth];
+		}
+		
+		return a[kth];
+	}
+	
+	/**
+	 * 
+	 * @param a
+	 * @param i
+	 * @param j
+	 */
+	private static void swap(double[] a, int i, int j) {
+		double tmp = a[i];
+		a[i] = a[j];
+		a[j] = tmp;
+	}
+	
+	/**
+	 * 
+	 * 
+	 */
+	private static class CMTask implements Callable<CM_COV_Object> 
+	{
+		private MatrixBlock _in1 = null;
+		private MatrixBlock _weights = null;
+		private MatrixBlock _in2 = null; //null for cm
+		private ValueFunction _fn = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected CMTask( MatrixBlock in1, MatrixBlock weights, MatrixBlock in2, ValueFunction fn, int rl, int ru ) {
+			_in1 = in1;
+			_weights = weights;
+			_in2 = in2;
+			_fn = fn;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public CM_COV_Object call() throws DMLRuntimeException
+		{
+			CM_COV_Object ret = new CM_COV_Object();
+			if( _in2 == null )
+				cmAggregate(_in1, _weights, _fn, ret, _rl, _ru);
+			else
+				covAggregate(_in1, _in2, _weights, (COV)_fn, ret, _rl, _ru);
+			return ret;
+		}
+	}
+}
@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.CTable;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleIterator;
+
+/**
+ * Library for multi-threaded ctable (contingency table) operations, i.e., 
+ * F = ctable(A,B,W), ctable(A,B,w), ctable(A,v,w), and ctable(A,v,W), where 
+ * inputs B/W are either matrices aligned with A or scalars.
+ * 
+ * The rows of A are partitioned into k tasks that build thread-local partial 
+ * results, which are subsequently merged. If the output dimensions are known 
+ * and the dense output is small, every task aggregates into a primitive dense 
+ * array; otherwise, every task aggregates into a hash-based ctable map.
+ * 
+ */
+public class LibMatrixCTable 
+{
+	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
+	public static final long PAR_DENSE_NUMCELL_THRESHOLD = 1024*1024; //Max 1M output cells per thread
+	
+	private LibMatrixCTable() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Indicates if the ctable operation over the given input is 
+	 * executed multi-threaded.
+	 * 
+	 * @param in1
+	 * @param k
+	 * @return
+	 */
+	public static boolean isParallelCTable(MatrixBlock in1, int k) {
+		return k > 1 && (long)in1.getNumRows()*in1.getNumColumns() >= PAR_NUMCELL_THRESHOLD
+			&& in1.getNumRows() > 1;
+	}
+	
+	/**
+	 * Multi-threaded ctable operation, which aggregates into the given dense 
+	 * result block if available, and into the given result map otherwise. 
+	 * Matrix inputs in2/in3 that are null are replaced by the scalars 
+	 * cst2/cst3, respectively.
+	 * 
+	 * @param in1
+	 * @param in2 matrix or null
+	 * @param cst2
+	 * @param in3 matrix or null
+	 * @param cst3
+	 * @param ignoreZeros
+	 * @param resultMap
+	 * @param resultBlock dense result block or null
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void ctable(MatrixBlock in1, MatrixBlock in2, double cst2, MatrixBlock in3, double cst3, 
+			boolean ignoreZeros, CTableMap resultMap, MatrixBlock resultBlock, int k) 
+		throws DMLRuntimeException
+	{
+		//redirect small inputs to sequential execution
+		if( !isParallelCTable(in1, k) ) {
+			if( resultBlock != null ) {
+				resultBlock.allocateDenseBlock();
+				ctable(in1, in2, cst2, in3, cst3, ignoreZeros, null, resultBlock.getDenseBlock(), 
+					resultBlock.getNumRows(), resultBlock.getNumColumns(), 0, in1.getNumRows());
+				resultBlock.recomputeNonZeros();
+			}
+			else {
+				ctable(in1, in2, cst2, in3, cst3, ignoreZeros, resultMap, null, 0, 0, 0, in1.getNumRows());
+			}
+			return;
+		}
+		
+		//thread-local dense arrays if known output dimensions and small dense output
+		boolean localDense = (resultBlock != null && !resultBlock.isInSparseFormat()
+			&& (long)resultBlock.getNumRows()*resultBlock.getNumColumns() <= PAR_DENSE_NUMCELL_THRESHOLD);
+		int rlen = in1.getNumRows();
+		
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<CTableTask> tasks = new ArrayList<CTableTask>();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k && i*blklen<rlen; i++ )
+				tasks.add(new CTableTask(in1, in2, cst2, in3, cst3, ignoreZeros, localDense ? 
+					resultBlock : null, i*blklen, Math.min((i+1)*blklen, rlen)));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			pool.shutdown();
+			
+			//merge thread-local partial results
+			if( localDense ) {
+				resultBlock.allocateDenseBlock();
+				double[] c = resultBlock.getDenseBlock();
+				for( CTableTask task : tasks ) {
+					double[] tmp = task.getDenseResult();
+					for( int i=0; i<c.length; i++ )
+						c[i] += tmp[i];
+				}
+				resultBlock.recomputeNonZeros();
+			}
+			else if( resultBlock != null ) {
+				for( CTableTask task : tasks )
+					aggregateMapIntoBlock(task.getMapResult(), resultBlock);
+				resultBlock.recomputeNonZeros();
+			}
+			else {
+				for( CTableTask task : tasks )
+					resultMap.merge(task.getMapResult());
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Core ctable computation over the row range [rl,ru) of in1, which 
+	 * aggregates either into the given map or into the dense array c 
+	 * of dimensions crlen x cclen.
+	 * 
+	 * @param in1
+	 * @param in2
+	 * @param cst2
+	 * @param in3
+	 * @param cst3
+	 * @param ignoreZeros
+	 * @param map
+	 * @param c
+	 * @param crlen
+	 * @param cclen
+	 * @param rl
+	 * @param ru
+	 * @throws DMLRuntimeException
+	 */
+	private static void ctable(MatrixBlock in1, MatrixBlock in2, double cst2, MatrixBlock in3, double cst3, 
+			boolean ignoreZeros, CTableMap map, double[] c, int crlen, int cclen, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		CTable ctable = CTable.getCTableFnObject();
+		
+		if( ignoreZeros && in2 != null && in3 == null //SPARSE-SAFE & SPARSE INPUTS
+			&& in1.isInSparseFormat() && in2.isInSparseFormat() )
+		{
+			//note: only used if both inputs have aligned zeros, which
+			//allows us to infer that the nnz both inputs are equivalent
+			SparseBlock a = in1.getSparseBlock();
+			SparseBlock b = in2.getSparseBlock();
+			if( a == null || b == null )
+				return;
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int alen = a.size(i);
+				int apos = a.pos(i);
+				double[] avals = a.values(i);
+				int bpos = b.pos(i);
+				double[] bvals = b.values(i);
+				for( int j=0; j<alen; j++ ) {
+					if( c != null )
+						ctable.execute(avals[apos+j], bvals[bpos+j], cst3, ignoreZeros, c, crlen, cclen);
+					else
+						ctable.execute(avals[apos+j], bvals[bpos+j], cst3, ignoreZeros, map);
+				}
+			}
+		}
+		else //SPARSE-UNSAFE | GENERIC INPUTS
+		{
+			//sparse-unsafe ctable execution
+			//(because input values of 0 are invalid and have to result in errors) 
+			int n = in1.getNumColumns();
+			for( int i=rl; i<ru; i++ )
+				for( int j=0; j<n; j++ ) {
+					double v1 = in1.quickGetValue(i, j);
+					double v2 = (in2 != null) ? in2.quickGetValue(i, j) : cst2;
+					double w = (in3 != null) ? in3.quickGetValue(i, j) : cst3;
+					if( c != null )
+						ctable.execute(v1, v2, w, ignoreZeros, c, crlen, cclen);
+					else
+						ctable.execute(v1, v2, w, ignoreZeros, map);
+				}
+		}
+	}
+	
+	/**
+	 * Adds all entries of the given ctable map, which fall into the dimensions
+	 * of the dense target block, into the target block.
+	 * 
+	 * @param map
+	 * @param ret
+	 */
+	private static void aggregateMapIntoBlock(CTableMap map, MatrixBlock ret) 
+	{
+		ret.allocateDenseBlock();
+		double[] c = ret.getDenseBlock();
+		int rlen = ret.getNumRows();
+		int clen = ret.getNumColumns();
+		LLDoubleIterator iter = map.getIterator();
+		while( iter.hasNext() ) {
+			iter.next();
+			long rix = iter.getKey1();
+			long cix = iter.getKey2();
+			if( rix <= rlen && cix <= clen )
+				c[(int)(rix-1)*clen + (int)(cix-1)] += iter.getValue();
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class CTableTask implements Callable<Object>
+	{
+		private MatrixBlock _in1 = null;
+		private MatrixBlock _in2 = null;
+		private double _cst2 = -1;
+		private MatrixBlock _in3 = null;
+		private double _cst3 = -1;
+		private boolean _ignoreZeros = false;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		//thread-local partial results
+		private CTableMap _map = null;
+		private double[] _c = null;
+		private int _crlen = -1;
+		private int _cclen = -1;
+		
+		protected CTableTask(MatrixBlock in1, MatrixBlock in2, double cst2, MatrixBlock in3, double cst3, 
+			boolean ignoreZeros, MatrixBlock denseOut, int rl, int ru) 
+		{
+			_in1 = in1;
+			_in2 = in2;
+			_cst2 = cst2;
+			_in3 = in3;
+			_cst3 = cst3;
+			_ignoreZeros = ignoreZeros;
+			_rl = rl;
+			_ru = ru;
+			if( denseOut != null ) {
+				_crlen = denseOut.getNumRows();
+				_cclen = denseOut.getNumColumns();
+			}
+		}
+		
+		public CTableMap getMapResult() {
+			return _map;
+		}
+		
+		public double[] getDenseResult() {
+			return _c;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			//allocate thread-local partial result
+			if( _crlen >= 0 )
+				_c = new double[_crlen*_cclen];
+			else
+				_map = new CTableMap();
+			
+			//compute ctable over row partition
+			ctable(_in1, _in2, _cst2, _in3, _cst3, _ignoreZeros, _map, _c, _crlen, _cclen, _rl, _ru);
+			
+			return null;
+		}
+	}
+}
@@ -0,0 +1,646 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator.CellType;
+
+/**
+ * Library for fused cellwise operations, i.e., chains of unary and binary
+ * cellwise operations over equally-sized matrices and scalars, which are
+ * evaluated in a single pass without materialized intermediates. 
+ * 
+ * The postfix program of a fused operator is evaluated in a row-vectorized
+ * manner, i.e., each operation is applied to an entire row segment (dense) 
+ * or the gathered non-zero cells of a row (sparse-safe), which keeps the 
+ * interpretation overhead per cell small. Supported variants are dense 
+ * (sparse inputs are densified per row), sparse-safe sparse (iterating 
+ * only over the non-zeros of a sparse-safe driver input), as well as full, 
+ * row, and column aggregation (sums over the cellwise output). Large inputs
+ * are processed multi-threaded over disjoint row partitions, where partial 
+ * full and column aggregates are merged with Kahan summation.
+ */
+public class LibMatrixFusedCell 
+{
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
+	
+	private LibMatrixFusedCell() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Executes the fused cellwise operator over the given inputs, where
+	 * matrix inputs are given as matrix blocks and scalar inputs as 
+	 * values at the same positions (with null matrix blocks).
+	 * 
+	 * @param inputs matrix inputs, null for scalar inputs
+	 * @param scalars scalar inputs, ignored for matrix inputs
+	 * @param op fused cellwise operator
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock execute(MatrixBlock[] inputs, double[] scalars, FusedCellOperator op) 
+		throws DMLRuntimeException
+	{
+		return execute(inputs, scalars, op, 1);
+	}
+	
+	/**
+	 * Executes the fused cellwise operator over the given inputs with up to k
+	 * threads. The output is a matrix of input size (no aggregation), a column
+	 * vector (row sums), a row vector (column sums), or a 1x1 matrix (full sum).
+	 * 
+	 * @param inputs matrix inputs, null for scalar inputs
+	 * @param scalars scalar inputs, ignored for matrix inputs
+	 * @param op fused cellwise operator
+	 * @param k degree of parallelism
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public static MatrixBlock execute(MatrixBlock[] inputs, double[] scalars, FusedCellOperator op, int k) 
+		throws DMLRuntimeException
+	{
+		//check for valid and equally-sized matrix inputs
+		MatrixBlock first = null;
+		for( MatrixBlock in : inputs ) {
+			if( in == null ) 
+				continue;
+			if( first == null )
+				first = in;
+			else if( in.getNumRows() != first.getNumRows() || in.getNumColumns() != first.getNumColumns() )
+				throw new DMLRuntimeException("Fused cellwise operations require equally-sized inputs: "
+					+ first.getNumRows()+"x"+first.getNumColumns()+" vs "+in.getNumRows()+"x"+in.getNumColumns());
+		}
+		if( first == null )
+			throw new DMLRuntimeException("Fused cellwise operations require at least one matrix input.");
+		
+		final int m = first.getNumRows();
+		final int n = first.getNumColumns();
+		CellType type = op.getCellType();
+		
+		//select sparse-safe driver (sparsest sparse-safe input)
+		int driver = -1;
+		for( int i=0; i<inputs.length; i++ )
+			if( inputs[i] != null && (inputs[i].isInSparseFormat() || inputs[i].isEmptyBlock(false))
+				&& (driver < 0 || inputs[i].getNonZeros() < inputs[driver].getNonZeros())
+				&& op.isSparseSafe(i) ) 
+				driver = i;
+		
+		//create output block 
+		MatrixBlock ret = null;
+		switch( type ) {
+			case NO_AGG:   ret = new MatrixBlock(m, n, driver >= 0 && inputs[driver].isInSparseFormat()); break;
+			case ROW_AGG:  ret = new MatrixBlock(m, 1, false); break;
+			case COL_AGG:  ret = new MatrixBlock(1, n, false); break;
+			case FULL_AGG: ret = new MatrixBlock(1, 1, false); break;
+		}
+		
+		//early abort for empty sparse-safe driver
+		if( driver >= 0 && inputs[driver].isEmptyBlock(false) )
+			return ret;
+		
+		//allocate output (once, for thread-safe row partitions)
+		if( ret.isInSparseFormat() )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+		
+		//core fused cellwise operation (sequential or multi-threaded)
+		double[] agg = null;
+		if( k <= 1 || (long)m*n < PAR_NUMCELL_THRESHOLD || m <= k ) {
+			agg = (driver >= 0) ? 
+				executeSparseSafe(inputs, scalars, op, driver, ret, 0, m) :
+				executeDense(inputs, scalars, op, ret, 0, m);
+		}
+		else {
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool(k);
+				ArrayList<FusedCellTask> tasks = new ArrayList<FusedCellTask>();
+				ArrayList<Integer> blklens = getBalancedBlockSizes(m, k);
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new FusedCellTask(inputs, scalars, op, driver, ret, lb, lb+blklens.get(i)));
+				List<Future<double[]>> rtasks = pool.invokeAll(tasks);
+				pool.shutdown();
+				//merge partial aggregates (if required)
+				for( Future<double[]> rtask : rtasks )
+					agg = mergeAggregates(agg, rtask.get());
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		//write final column or full aggregates
+		if( agg != null ) {
+			double[] c = ret.getDenseBlock();
+			System.arraycopy(agg, 0, c, 0, agg.length/2);
+		}
+		
+		//post-processing 
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	/**
+	 * Dense evaluation over all cells, where sparse inputs are densified per row.
+	 * 
+	 * @param inputs
+	 * @param scalars
+	 * @param op
+	 * @param ret
+	 * @param rl
+	 * @param ru
+	 * @return partial column or full aggregates (sums and corrections), otherwise null
+	 * @throws DMLRuntimeException
+	 */
+	private static double[] executeDense(MatrixBlock[] inputs, double[] scalars, FusedCellOperator op, MatrixBlock ret, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		final int n = getNumColumns(inputs);
+		CellType type = op.getCellType();
+		ProgramState state = new ProgramState(op, inputs.length, n);
+		double[] agg = createAggregates(type, n);
+		
+		//prepare row buffers for sparse inputs
+		double[][] sbuff = new double[inputs.length][];
+		for( int i=0; i<inputs.length; i++ )
+			if( inputs[i] != null && inputs[i].isInSparseFormat() && !inputs[i].isEmptyBlock(false) )
+				sbuff[i] = new double[n];
+		
+		double[] c = ret.getDenseBlock();
+		
+		for( int i=rl; i<ru; i++ ) 
+		{
+			//bind input rows 
+			for( int j=0; j<inputs.length; j++ ) {
+				MatrixBlock in = inputs[j];
+				if( in == null ) //scalar
+					state.bindConstant(j, scalars[j]);
+				else if( in.isEmptyBlock(false) )
+					state.bindConstant(j, 0);
+				else if( !in.isInSparseFormat() )
+					state.bindVector(j, in.getDenseBlock(), i*n);
+				else {
+					SparseBlock a = in.getSparseBlock();
+					if( a.isEmpty(i) )
+						state.bindConstant(j, 0);
+					else {
+						double[] tmp = sbuff[j];
+						Arrays.fill(tmp, 0);
+						int apos = a.pos(i);
+						int alen = a.size(i);
+						int[] aix = a.indexes(i);
+						double[] avals = a.values(i);
+						for( int k=apos; k<apos+alen; k++ )
+							tmp[aix[k]] = avals[k];
+						state.bindVector(j, tmp, 0);
+					}
+				}
+			}
+			
+			//evaluate program and write or aggregate output row
+			evaluate(op, state, n);
+			switch( type ) {
+				case NO_AGG:   state.copyResult(c, i*n, n); break;
+				case ROW_AGG:  c[i] = state.sumResult(n); break;
+				case COL_AGG:  state.colSumResult(agg, null, 0, n); break;
+				case FULL_AGG: state.addResult(agg, 0, 1, state.sumResult(n)); break;
+			}
+		}
+		
+		return agg;
+	}
+	
+	/**
+	 * Sparse-safe evaluation over the non-zeros of the sparse driver input, where
+	 * all other inputs are gathered at the positions of these non-zeros.
+	 * 
+	 * @param inputs
+	 * @param scalars
+	 * @param op
+	 * @param driver
+	 * @param ret
+	 * @param rl
+	 * @param ru
+	 * @return partial column or full aggregates (sums and corrections), otherwise null
+	 * @throws DMLRuntimeException
+	 */
+	private static double[] executeSparseSafe(MatrixBlock[] inputs, double[] scalars, FusedCellOperator op, int driver, MatrixBlock ret, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		final int n = getNumColumns(inputs);
+		CellType type = op.getCellType();
+		SparseBlock a = inputs[driver].getSparseBlock();
+		double[] agg = createAggregates(type, n);
+		
+		//determine max row nnz for buffer allocation 
+		int maxlen = 0;
+		for( int i=rl; i<ru; i++ )
+			if( !a.isEmpty(i) )
+				maxlen = Math.max(maxlen, a.size(i));
+		
+		ProgramState state = new ProgramState(op, inputs.length, maxlen);
+		double[][] gbuff = new double[inputs.length][];
+		for( int i=0; i<inputs.length; i++ )
+			if( inputs[i] != null && i != driver && !inputs[i].isEmptyBlock(false) )
+				gbuff[i] = new double[maxlen];
+		
+		//output (preallocated dense or sparse)
+		double[] c = ret.isInSparseFormat() ? null : ret.getDenseBlock();
+		SparseBlock csb = ret.isInSparseFormat() ? ret.getSparseBlock() : null;
+		
+		for( int i=rl; i<ru; i++ ) 
+		{
+			if( a.isEmpty(i) )
+				continue;
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			int[] aix = a.indexes(i);
+			
+			//bind gathered input values 
+			for( int j=0; j<inputs.length; j++ ) {
+				MatrixBlock in = inputs[j];
+				if( j == driver )
+					state.bindVector(j, a.values(i), apos);
+				else if( in == null ) //scalar
+					state.bindConstant(j, scalars[j]);
+				else if( in.isEmptyBlock(false) )
+					state.bindConstant(j, 0);
+				else if( !in.isInSparseFormat() ) {
+					double[] b = in.getDenseBlock();
+					double[] tmp = gbuff[j];
+					int bix = i*n;
+					for( int k=0; k<alen; k++ )
+						tmp[k] = b[bix+aix[apos+k]];
+					state.bindVector(j, tmp, 0);
+				}
+				else {
+					SparseBlock b = in.getSparseBlock();
+					if( b.isEmpty(i) ) 
+						state.bindConstant(j, 0);
+					else {
+						//merge-gather over sorted column indexes
+						double[] tmp = gbuff[j];
+						int bpos = b.pos(i);
+						int bend = bpos + b.size(i);
+						int[] bix = b.indexes(i);
+						double[] bvals = b.values(i);
+						for( int k=0, bk=bpos; k<alen; k++ ) {
+							int col = aix[apos+k];
+							while( bk < bend && bix[bk] < col ) 
+								bk++;
+							tmp[k] = (bk < bend && bix[bk] == col) ? bvals[bk] : 0;
+						}
+						state.bindVector(j, tmp, 0);
+					}
+				}
+			}
+			
+			//evaluate program and write or aggregate output row
+			evaluate(op, state, alen);
+			switch( type ) {
+				case NO_AGG:
+					if( c != null ) 
+						state.scatterResult(c, i*n, aix, apos, alen);
+					else 
+						state.appendResult(csb, i, aix, apos, alen);
+					break;
+				case ROW_AGG:  c[i] = state.sumResult(alen); break;
+				case COL_AGG:  state.colSumResult(agg, aix, apos, alen); break;
+				case FULL_AGG: state.addResult(agg, 0, 1, state.sumResult(alen)); break;
+			}
+		}
+		
+		return agg;
+	}
+	
+	/**
+	 * Evaluates the postfix program over vectors of the given length. 
+	 * 
+	 * @param op
+	 * @param state
+	 * @param len
+	 * @throws DMLRuntimeException
+	 */
+	private static void evaluate(FusedCellOperator op, ProgramState state, int len) 
+		throws DMLRuntimeException
+	{
+		int sp = 0;
+		for( int pc=0; pc<op.getProgramLength(); pc++ ) 
+		{
+			switch( op.getInstType(pc) ) 
+			{
+				case FusedCellOperator.INPUT:
+					state.push(sp++, op.getInput(pc));
+					break;
+				
+				case FusedCellOperator.LITERAL:
+					state.pushConstant(sp++, op.getLiteral(pc));
+					break;
+					
+				case FusedCellOperator.UNARY: {
+					ValueFunction fn = op.getFunction(pc);
+					int p = sp - 1;
+					if( state.isConst[p] ) 
+						state.cval[p] = fn.execute(state.cval[p]);
+					else {
+						double[] a = state.vec[p]; 
+						int aix = state.off[p];
+						double[] c = state.buff[p];
+						for( int j=0; j<len; j++ )
+							c[j] = fn.execute(a[aix+j]);
+						state.setVector(p, c, 0);
+					}
+					break;
+				}
+				
+				case FusedCellOperator.BINARY: {
+					ValueFunction fn = op.getFunction(pc);
+					int p1 = sp - 2, p2 = sp - 1;
+					double[] c = state.buff[p1];
+					if( state.isConst[p1] && state.isConst[p2] ) {
+						state.cval[p1] = fn.execute(state.cval[p1], state.cval[p2]);
+					}
+					else if( state.isConst[p2] ) { //vector-scalar
+						double[] a = state.vec[p1];
+						int aix = state.off[p1];
+						double bval = state.cval[p2];
+						for( int j=0; j<len; j++ )
+							c[j] = fn.execute(a[aix+j], bval);
+						state.setVector(p1, c, 0);
+					}
+					else if( state.isConst[p1] ) { //scalar-vector
+						double aval = state.cval[p1];
+						double[] b = state.vec[p2];
+						int bix = state.off[p2];
+						for( int j=0; j<len; j++ )
+							c[j] = fn.execute(aval, b[bix+j]);
+						state.setVector(p1, c, 0);
+					}
+					else { //vector-vector
+						double[] a = state.vec[p1];
+						int aix = state.off[p1];
+						double[] b = state.vec[p2];
+						int bix = state.off[p2];
+						for( int j=0; j<len; j++ )
+							c[j] = fn.execute(a[aix+j], b[bix+j]);
+						state.setVector(p1, c, 0);
+					}
+					sp--;
+					break;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * 
+	 * @param inputs
+	 * @return
+	 */
+	private static int getNumColumns(MatrixBlock[] inputs) {
+		for( MatrixBlock in : inputs )
+			if( in != null )
+				return in.getNumColumns();
+		return -1;
+	}
+	
+	/**
+	 * Creates a buffer of partial column or full aggregates, where the 
+	 * first half holds the sums and the second half the Kahan corrections.
+	 * 
+	 * @param type
+	 * @param n
+	 * @return
+	 */
+	private static double[] createAggregates(CellType type, int n) {
+		switch( type ) {
+			case COL_AGG:  return new double[2*n];
+			case FULL_AGG: return new double[2];
+			default:       return null;
+		}
+	}
+	
+	/**
+	 * Merges two buffers of partial aggregates with Kahan summation.
+	 * 
+	 * @param agg1
+	 * @param agg2
+	 * @return
+	 */
+	private static double[] mergeAggregates(double[] agg1, double[] agg2) {
+		if( agg1 == null || agg2 == null )
+			return (agg1 != null) ? agg1 : agg2;
+		KahanObject kbuff = new KahanObject(0, 0);
+		KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		int len = agg1.length / 2;
+		for( int j=0; j<len; j++ ) {
+			kbuff.set(agg1[j], agg1[len+j]);
+			kplus.execute2(kbuff, agg2[j]);
+			kplus.execute2(kbuff, agg2[len+j]);
+			agg1[j] = kbuff._sum;
+			agg1[len+j] = kbuff._correction;
+		}
+		return agg1;
+	}
+	
+	/**
+	 * 
+	 * @param len
+	 * @param k
+	 * @return
+	 */
+	private static ArrayList<Integer> getBalancedBlockSizes(int len, int k) {
+		ArrayList<Integer> ret = new ArrayList<Integer>();
+		int base = len / k;
+		int rest = len % k;
+		for( int i=0; i<k; i++ ) {
+			int val = base + (i<rest?1:0);
+			if( val > 0 )
+				ret.add(val);
+		}	
+		return ret; 
+	}
+	
+	/**
+	 * Evaluation state of a postfix program, consisting of bound inputs (vectors 
+	 * with offsets or constants) and the operand stack with scratch buffers.
+	 */
+	private static class ProgramState
+	{
+		//bound inputs
+		private final double[][] ivec;
+		private final int[] ioff;
+		private final boolean[] iconst;
+		private final double[] ival;
+		
+		//operand stack
+		private final double[][] vec;
+		private final int[] off;
+		private final boolean[] isConst;
+		private final double[] cval;
+		private final double[][] buff;
+		
+		//aggregation buffers
+		private final KahanObject kbuff = new KahanObject(0, 0);
+		private final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		
+		public ProgramState(FusedCellOperator op, int numInputs, int len) {
+			ivec = new double[numInputs][];
+			ioff = new int[numInputs];
+			iconst = new boolean[numInputs];
+			ival = new double[numInputs];
+			int depth = op.getStackDepth();
+			vec = new double[depth][];
+			off = new int[depth];
+			isConst = new boolean[depth];
+			cval = new double[depth];
+			buff = new double[depth][len];
+		}
+		
+		public void bindVector(int input, double[] a, int aix) {
+			ivec[input] = a;
+			ioff[input] = aix;
+			iconst[input] = false;
+		}
+		
+		public void bindConstant(int input, double v) {
+			iconst[input] = true;
+			ival[input] = v;
+		}
+		
+		public void push(int p, int input) {
+			if( iconst[input] )
+				pushConstant(p, ival[input]);
+			else
+				setVector(p, ivec[input], ioff[input]);
+		}
+		
+		public void pushConstant(int p, double v) {
+			isConst[p] = true;
+			cval[p] = v;
+		}
+		
+		public void setVector(int p, double[] a, int aix) {
+			isConst[p] = false;
+			vec[p] = a;
+			off[p] = aix;
+		}
+		
+		public double sumResult(int len) {
+			if( isConst[0] )
+				return cval[0] * len;
+			//kahan summation for numerical stability
+			double[] a = vec[0];
+			int aix = off[0];
+			double sum = 0, corr = 0;
+			for( int j=0; j<len; j++ ) {
+				double y = a[aix+j] - corr;
+				double t = sum + y;
+				corr = (t - sum) - y;
+				sum = t;
+			}
+			return sum;
+		}
+		
+		public void copyResult(double[] c, int cix, int len) {
+			if( isConst[0] )
+				Arrays.fill(c, cix, cix+len, cval[0]);
+			else
+				System.arraycopy(vec[0], off[0], c, cix, len);
+		}
+		
+		public void colSumResult(double[] agg, int[] aix, int apos, int len) {
+			int n = agg.length / 2;
+			for( int j=0; j<len; j++ ) {
+				double v = isConst[0] ? cval[0] : vec[0][off[0]+j];
+				if( v != 0 )
+					addResult(agg, (aix != null) ? aix[apos+j] : j, n, v);
+			}
+		}
+		
+		public void addResult(double[] agg, int pos, int n, double v) {
+			kbuff.set(agg[pos], agg[n+pos]);
+			kplus.execute2(kbuff, v);
+			agg[pos] = kbuff._sum;
+			agg[n+pos] = kbuff._correction;
+		}
+		
+		public void scatterResult(double[] c, int cix, int[] aix, int apos, int len) {
+			for( int j=0; j<len; j++ )
+				c[cix+aix[apos+j]] = isConst[0] ? cval[0] : vec[0][off[0]+j];
+		}
+		
+		public void appendResult(SparseBlock c, int r, int[] aix, int apos, int len) {
+			c.allocate(r, len);
+			for( int j=0; j<len; j++ ) {
+				double v = isConst[0] ? cval[0] : vec[0][off[0]+j];
+				if( v != 0 )
+					c.append(r, aix[apos+j], v);
+			}
+		}
+	}
+	
+	/**
+	 * Task of a multi-threaded fused cellwise operation over a row partition,
+	 * returning its partial column or full aggregates (if required).
+	 */
+	private static class FusedCellTask implements Callable<double[]> 
+	{
+		private final MatrixBlock[] _inputs;
+		private final double[] _scalars;
+		private final FusedCellOperator _op;
+		private final int _driver;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+		
+		protected FusedCellTask(MatrixBlock[] inputs, double[] scalars, FusedCellOperator op, int driver, MatrixBlock ret, int rl, int ru) {
+			_inputs = inputs;
+			_scalars = scalars;
+			_op = op;
+			_driver = driver;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public double[] call() throws DMLRuntimeException {
+			return (_driver >= 0) ?
+				executeSparseSafe(_inputs, _scalars, _op, _driver, _ret, _rl, _ru) :
+				executeDense(_inputs, _scalars, _op, _ret, _rl, _ru);
+		}
+	}
+}
@@ -19,7 +19,12 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Builtin;
@@ -49,6 +54,7 @@ import org.apache.sysml.runtime.util.SortUtils;
  */
 public class LibMatrixOuterAgg 
 {
+	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements (outer product)
 
 	private LibMatrixOuterAgg() {
 		//prevent instantiation via private constructor
@@ -79,6 +85,19 @@ public class LibMatrixOuterAgg
 			    && (((Builtin)(uaggOp.aggOp.increOp.fn)).bFunc == Builtin.BuiltinFunctionCode.MININDEX));						
 	}
 	
+	/**
+	 * This will return if uaggOp is a column aggregate (colSums), i.e., 
+	 * an aggregate over the columns of the left-hand-side row vector.
+	 * 
+	 * @param uaggOp
+	 * @return
+	 */
+	private static boolean isColAggregate(AggregateUnaryOperator uaggOp)
+	{
+		return (uaggOp.indexFn instanceof ReduceRow 
+			&& !isRowIndexMax(uaggOp) && !isRowIndexMin(uaggOp));
+	}
+	
 	
 	/**
 	 * This will return if uaggOp is of type RowIndexMin
@@ -329,61 +348,143 @@ public class LibMatrixOuterAgg
 	 */
 	public static void aggregateMatrix(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp) 
 			throws DMLRuntimeException
+	{
+		int len = isColAggregate(uaggOp) ? in1Val.getNumColumns() : in1Val.getNumRows();
+		aggregateMatrix(in1Val, outVal, bv, bvi, bOp, uaggOp, 0, len);
+	}
+	
+	/**
+	 * Multi-threaded unary aggregate outer chain, where the rows (or columns for
+	 * colSums) of the left-hand-side are partitioned across k tasks. All tasks 
+	 * share the sorted right-hand-side vector bv and index vector bvi read-only.
+	 * For full aggregates, every task computes a partial count which is summed
+	 * up after all tasks finished.
+	 * 
+	 * @param in1Val
+	 * @param outVal
+	 * @param bv
+	 * @param bvi
+	 * @param bOp
+	 * @param uaggOp
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void aggregateMatrix(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp, int k) 
+			throws DMLRuntimeException
+	{
+		boolean colAgg = isColAggregate(uaggOp);
+		boolean fullAgg = (uaggOp.indexFn instanceof ReduceAll);
+		int len = colAgg ? in1Val.getNumColumns() : in1Val.getNumRows();
+		
+		//redirect small inputs and sparse colsums to sequential execution
+		if( k <= 1 || len < 2*k || (long)len * bv.length < PAR_NUMCELL_THRESHOLD 
+			|| (colAgg && in1Val.isInSparseFormat()) ) {
+			aggregateMatrix(in1Val, outVal, bv, bvi, bOp, uaggOp);
+			return;
+		}
+		
+		//allocate output once (lazy allocation is not thread-safe)
+		outVal.allocateDenseBlock();
+		
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<OuterAggTask> tasks = new ArrayList<OuterAggTask>();
+			int blklen = (int)(Math.ceil((double)len/k));
+			for( int i=0; i<k && i*blklen<len; i++ ) {
+				MatrixBlock out = fullAgg ? new MatrixBlock(outVal.getNumRows(), outVal.getNumColumns(), false) : outVal;
+				tasks.add(new OuterAggTask(in1Val, out, bv, bvi, bOp, uaggOp, i*blklen, Math.min((i+1)*blklen, len)));
+			}
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			pool.shutdown();
+			
+			//aggregate partial counts of full aggregates
+			if( fullAgg ) {
+				double cnt = 0;
+				for( OuterAggTask task : tasks )
+					cnt += task.getOutput().quickGetValue(0, 0);
+				outVal.quickSetValue(0, 0, cnt);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//maintain nnz (not thread-safe in quickSetValue)
+		outVal.recomputeNonZeros();
+	}
+	
+	/**
+	 * Unary aggregate outer chain over the rows (or columns for colSums)
+	 * in the range [rl,ru) of the left-hand-side.
+	 * 
+	 * @param in1Val
+	 * @param outVal
+	 * @param bv
+	 * @param bvi
+	 * @param bOp
+	 * @param uaggOp
+	 * @param rl
+	 * @param ru
+	 * @throws DMLRuntimeException
+	 */
+	private static void aggregateMatrix(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp, int rl, int ru) 
+			throws DMLRuntimeException
 	{		
 		// compute unary aggregate outer chain
 		if(isRowIndexMax(uaggOp)) 
 		{
 			if(bOp.fn instanceof LessThan) {
-				uaRIMLt(in1Val, outVal, bv, bvi, bOp);
+				uaRIMLt(in1Val, outVal, bv, bvi, bOp, rl, ru);
 			} else if(bOp.fn instanceof LessThanEquals) {
-				uaRIMLe(in1Val, outVal, bv, bvi, bOp);
+				uaRIMLe(in1Val, outVal, bv, bvi, bOp, rl, ru);
 			} else if(bOp.fn instanceof GreaterThan) { 
-				uaRIMGt(in1Val, outVal, bv, bvi, bOp);
+				uaRIMGt(in1Val, outVal, bv, bvi, bOp, rl, ru);
 			} else if(bOp.fn instanceof GreaterThanEquals) {
-				uaRIMGe(in1Val, outVal, bv, bvi, bOp);
+				uaRIMGe(in1Val, outVal, bv, bvi, bOp, rl, ru);
 			} else if(bOp.fn instanceof Equals){ 
-				uaRIMEq(in1Val, outVal, bv, bvi, bOp);	
+				uaRIMEq(in1Val, outVal, bv, bvi, bOp, rl, ru);	
 			} else if (bOp.fn instanceof NotEquals) {
-				uaRIMNe(in1Val, outVal, bv, bvi, bOp);
+				uaRIMNe(in1Val, outVal, bv, bvi, bOp, rl, ru);
 			}
 		} else if(isRowIndexMin(uaggOp)) 
 		{
 				if(bOp.fn instanceof LessThan) {
-					uaRIMinLt(in1Val, outVal, bv, bvi, bOp);
+					uaRIMinLt(in1Val, outVal, bv, bvi, bOp, rl, ru);
 				} else if(bOp.fn instanceof LessThanEquals) {
-					uaRIMinLe(in1Val, outVal, bv, bvi, bOp);
+					uaRIMinLe(in1Val, outVal, bv, bvi, bOp, rl, ru);
 				} else if(bOp.fn instanceof GreaterThan) { 
-					uaRIMinGt(in1Val, outVal, bv, bvi, bOp);
+					uaRIMinGt(in1Val, outVal, bv, bvi, bOp, rl, ru);
 				} else if(bOp.fn instanceof GreaterThanEquals) {
-					uaRIMinGe(in1Val, outVal, bv, bvi, bOp);
+					uaRIMinGe(in1Val, outVal, bv, bvi, bOp, rl, ru);
 				} else if(bOp.fn instanceof Equals){ 
-					uaRIMinEq(in1Val, outVal, bv, bvi, bOp);	
+					uaRIMinEq(in1Val, outVal, bv, bvi, bOp, rl, ru);	
 				} else if (bOp.fn instanceof NotEquals) {
-					uaRIMinNe(in1Val, outVal, bv, bvi, bOp);
+					uaRIMinNe(in1Val, outVal, bv, bvi, bOp, rl, ru);
 				}
 		} else if(uaggOp.indexFn instanceof ReduceCol) {
 			if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals) {
-				uaRowSumLtGe(in1Val, outVal, bv, bOp);
+				uaRowSumLtGe(in1Val, outVal, bv, bOp, rl, ru);
 			} else if(bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals) {
-				uaRowSumGtLe(in1Val, outVal, bv, bOp);
+				uaRowSumGtLe(in1Val, outVal, bv, bOp, rl, ru);
 			} else if(bOp.fn instanceof Equals || bOp.fn instanceof NotEquals) {
-				uaRowSumEqNe(in1Val, outVal, bv, bOp);
+				uaRowSumEqNe(in1Val, outVal, bv, bOp, rl, ru);
 			}
 		} else if(uaggOp.indexFn instanceof ReduceRow) {
 			if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals) {
-				uaColSumLtGe(in1Val, outVal, bv, bOp);
+				uaColSumLtGe(in1Val, outVal, bv, bOp, rl, ru);
 			} else if(bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals) {
-				uaColSumGtLe(in1Val, outVal, bv, bOp);
+				uaColSumGtLe(in1Val, outVal, bv, bOp, rl, ru);
 			} else if(bOp.fn instanceof Equals || bOp.fn instanceof NotEquals) {
-				uaColSumEqNe(in1Val, outVal, bv, bOp);
+				uaColSumEqNe(in1Val, outVal, bv, bOp, rl, ru);
 			}
 		} else if(uaggOp.indexFn instanceof ReduceAll) {
 			if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals) {
-				uaSumLtGe(in1Val, outVal, bv, bOp);
+				uaSumLtGe(in1Val, outVal, bv, bOp, rl, ru);
 			} else if(bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals) {
-				uaSumGtLe(in1Val, outVal, bv, bOp);
+				uaSumGtLe(in1Val, outVal, bv, bOp, rl, ru);
 			} else if(bOp.fn instanceof Equals || bOp.fn instanceof NotEquals) {
-				uaSumEqNe(in1Val, outVal, bv, bOp);
+				uaSumEqNe(in1Val, outVal, bv, bOp, rl, ru);
 			}
 		}
 	}
@@ -395,15 +496,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRowSumLtGe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
+	private static void uaRowSumLtGe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int agg0 = sumRowSumLtGeColSumGtLe(0.0, bv, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int cnt = (ai == 0) ? agg0: sumRowSumLtGeColSumGtLe(ai, bv, bOp);
 			out.quickSetValue(i, 0, cnt);
@@ -417,15 +519,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRowSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
+	private static void uaRowSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int agg0 = sumRowSumGtLeColSumLtGe(0.0, bv, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int cnt = (ai == 0) ? agg0: sumRowSumGtLeColSumLtGe(ai, bv, bOp);
 			out.quickSetValue(i, 0, cnt);
@@ -440,15 +543,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRowSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
+	private static void uaRowSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int agg0 = sumEqNe(0.0, bv, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int cnt = (ai == 0) ? agg0: sumEqNe(ai, bv, bOp);
 			out.quickSetValue(i, 0, cnt);
@@ -462,15 +566,17 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaColSumLtGe(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, BinaryOperator bOp) 
+	private static void uaColSumLtGe(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		if (in1Val.isInSparseFormat())
 			s_uaColSumLtGe(in1Val, outVal, bv, bOp);
 		else
-			d_uaColSumLtGe(in1Val, outVal, bv, bOp);
+			d_uaColSumLtGe(in1Val, outVal, bv, bOp, rl, ru);
 	}
 
 	/**
@@ -480,15 +586,17 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaColSumGtLe(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, BinaryOperator bOp) 
+	private static void uaColSumGtLe(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		if (in1Val.isInSparseFormat())
 			s_uaColSumGtLe(in1Val, outVal, bv, bOp);
 		else
-			d_uaColSumGtLe(in1Val, outVal, bv, bOp);
+			d_uaColSumGtLe(in1Val, outVal, bv, bOp, rl, ru);
 	}
 
 	
@@ -499,15 +607,17 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaColSumEqNe(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, BinaryOperator bOp) 
+	private static void uaColSumEqNe(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		if (in1Val.isInSparseFormat())
 			s_uaColSumEqNe(in1Val, outVal, bv, bOp);
 		else
-			d_uaColSumEqNe(in1Val, outVal, bv, bOp);
+			d_uaColSumEqNe(in1Val, outVal, bv, bOp, rl, ru);
 	}
 
 	
@@ -518,15 +628,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaSumLtGe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
+	private static void uaSumLtGe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int agg0 = sumRowSumLtGeColSumGtLe(0.0, bv, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int cnt = (ai == 0) ? agg0: sumRowSumLtGeColSumGtLe(ai, bv, bOp);
 			cnt += (int)out.quickGetValue(0, 0);
@@ -541,15 +652,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
+	private static void uaSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int agg0 = sumRowSumGtLeColSumLtGe(0.0, bv, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int cnt = (ai == 0) ? agg0: sumRowSumGtLeColSumLtGe(ai, bv, bOp);
 			cnt += (int)out.quickGetValue(0, 0);
@@ -565,15 +677,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
+	private static void uaSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int agg0 = sumEqNe(0.0, bv, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int cnt = (ai == 0) ? agg0: sumEqNe(ai, bv, bOp);
 			cnt += (int)out.quickGetValue(0, 0);
@@ -589,15 +702,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMLt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMLt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uarimaxLt(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uarimaxLt(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -611,15 +725,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMLe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMLe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uarimaxLe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uarimaxLe(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -633,15 +748,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMGt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMGt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uarimaxGt(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uarimaxGt(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -656,15 +772,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMGe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMGe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uarimaxGe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uarimaxGe(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -679,15 +796,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMEq(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMEq(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uarimaxEq(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uarimaxEq(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -703,15 +821,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMNe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMNe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uarimaxNe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uarimaxNe(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -726,15 +845,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMinLt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMinLt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uariminLt(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uariminLt(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -748,15 +868,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMinLe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMinLe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uariminLe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uariminLe(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -770,15 +891,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMinGt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMinGt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uariminGt(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uariminGt(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -793,15 +915,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMinGe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMinGe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uariminGe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uariminGe(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -816,15 +939,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMinEq(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMinEq(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uariminEq(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uariminEq(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -840,15 +964,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void uaRIMinNe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static void uaRIMinNe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int ind0 = uariminNe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(i, 0);
 			int ind = (ai == 0) ? ind0: uariminNe(ai, bv, bvi, bOp);
 			out.quickSetValue(i, 0, ind);
@@ -863,16 +988,17 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
 	private static void d_uaColSumLtGe(MatrixBlock in, MatrixBlock out, double[] bv, 
-			BinaryOperator bOp) 
+			BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{
 		int agg0 = sumRowSumGtLeColSumLtGe(0.0, bv, bOp);
-		int m = in.clen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(0, i);
 			int cnt = (ai == 0) ? agg0: sumRowSumGtLeColSumLtGe(ai, bv, bOp);
 			out.quickSetValue(0, i, cnt);
@@ -924,15 +1050,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void d_uaColSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
+	private static void d_uaColSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{
 		int agg0 = sumRowSumLtGeColSumGtLe(0.0, bv, bOp);
-		int m = in.clen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(0, i);
 			int cnt = (ai == 0) ? agg0: sumRowSumLtGeColSumGtLe(ai, bv, bOp);
 			out.quickSetValue(0, i, cnt);
@@ -984,15 +1111,16 @@ public class LibMatrixOuterAgg
 	 * @param out
 	 * @param bv
 	 * @param bOp
+	 * @param rl
+	 * @param ru
 	 * @throws DMLRuntimeException
 	 */
-	private static void d_uaColSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
+	private static void d_uaColSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp, int rl, int ru) 
 			throws DMLRuntimeException
 	{		
 		int agg0 = sumEqNe(0.0, bv, bOp);
-		int m = in.clen;
 		
-		for( int i=0; i<m; i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			double ai = in.quickGetValue(0, i);
 			int cnt = (ai == 0) ? agg0: sumEqNe(ai, bv, bOp);
 			out.quickSetValue(0, i, cnt);
@@ -1601,4 +1729,42 @@ public class LibMatrixOuterAgg
     	}
 	}
 
-}
\ No newline at end of file
+	/**
+	 * 
+	 */
+	private static class OuterAggTask implements Callable<Object>
+	{
+		private MatrixBlock _in = null;
+		private MatrixBlock _out = null;
+		private double[] _bv = null;
+		private int[] _bvi = null;
+		private BinaryOperator _bOp = null;
+		private AggregateUnaryOperator _uaggOp = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected OuterAggTask(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, 
+			BinaryOperator bOp, AggregateUnaryOperator uaggOp, int rl, int ru) 
+		{
+			_in = in;
+			_out = out;
+			_bv = bv;
+			_bvi = bvi;
+			_bOp = bOp;
+			_uaggOp = uaggOp;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		public MatrixBlock getOutput() {
+			return _out;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			aggregateMatrix(_in, _out, _bv, _bvi, _bOp, _uaggOp, _rl, _ru);
+			return null;
+		}
+	}
+}
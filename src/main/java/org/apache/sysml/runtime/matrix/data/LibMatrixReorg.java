@@ -117,7 +117,7 @@ public class LibMatrixReorg
 				return diag(in, out); 
 			case SORT:      
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn(), op.getNumThreads());
 			
 			default:        
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
@@ -358,6 +358,26 @@ public class LibMatrixReorg
 	 */
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret) 
 		throws DMLRuntimeException
+	{
+		return sort(in, out, by, desc, ixret, 1);
+	}
+	
+	/**
+	 * Sort (order) operation with optional multi-threading. The index vector
+	 * sort is stable, and only sorts the non-zero values of the orderby column,
+	 * while the run of zeros is spliced in afterwards.
+	 * 
+	 * @param in
+	 * @param out
+	 * @param by
+	 * @param desc
+	 * @param ixret
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException 
+	 */
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret, int k) 
+		throws DMLRuntimeException
 	{
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
@@ -379,7 +399,7 @@ public class LibMatrixReorg
 			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
 				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense
-				Arrays.sort(out.denseBlock);
+				sortByValue(out.denseBlock, null, rlen, k);
 				if( desc )
 					sortReverseDense(out);
 				return out;
@@ -397,36 +417,30 @@ public class LibMatrixReorg
 		
 		//step 3: index vector sorting
 		
-		//create index vector and extract values
+		//create index vector and extract non-zero values 
+		//(non-zeros at the beginning, zeros at the end in row order)
 		int[] vix = new int[rlen];
 		double[] values = new double[rlen];
-		for( int i=0; i<rlen; i++ ) {
-			vix[i] = i;
-			values[i] = in.quickGetValue(i, by-1);
+		int nnz = copyColNonZeros(in, by-1, values, vix);
+		
+		//negate values if descending order requested, which keeps
+		//the stable order of equal values (no need for reversing)
+		if( desc ) {
+			for( int i=0; i<nnz; i++ )
+				values[i] = -values[i];
 		}
 		
-		//sort index vector on extracted data (unstable)
-		SortUtils.sortByValue(0, rlen, values, vix);
-
-		//flip order if descending requested (note that this needs to happen
-		//before we ensure stable outputs, hence we also flip values)
-		if(desc) {
-			sortReverseDense(vix);
-			sortReverseDense(values);
-		}
-		
-		//final pass to ensure stable output
-		for( int i=0; i<rlen-1; i++ ) {
-			double tmp = values[i];
-			//determine run of equal values
-			int len = 0;
-			while( i+len+1<rlen && tmp==values[i+len+1] )
-				len++;
-			//unstable sort of run indexes (equal value guaranteed)
-			if( len>0 ) {
-				Arrays.sort(vix, i, i+len+1);
-				i += len; //skip processed run
-			}
+		//sort index vector on extracted non-zero data (stable)
+		sortByValue(values, vix, nnz, k);
+		
+		//splice zero run in between negative and positive values
+		int neg = 0;
+		while( neg<nnz && values[neg]<0 )
+			neg++;
+		if( neg < nnz && nnz < rlen ) {
+			reverse(vix, neg, rlen);
+			reverse(vix, neg, neg+rlen-nnz);
+			reverse(vix, neg+rlen-nnz, rlen);
 		}
 
 		//step 4: create output matrix (guaranteed non-empty, see step 2)
@@ -462,6 +476,71 @@ public class LibMatrixReorg
 		return out;
 	}
 	
+	/**
+	 * Sorts the first len values in ascending order, and reorders the optional 
+	 * index array accordingly. If indexes are given, the sort is stable, assuming 
+	 * that the indexes are initially in ascending order. For large inputs and 
+	 * k&gt;1, this is done via a multi-threaded merge sort, where sorted partitions 
+	 * are merged pairwise and in parallel over the temporary buffers.
+	 * 
+	 * @param values
+	 * @param vix indexes or null
+	 * @param len
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	public static void sortByValue(double[] values, int[] vix, int len, int k) 
+		throws DMLRuntimeException
+	{
+		//redirect small inputs to sequential execution
+		if( k <= 1 || len < PAR_NUMCELL_THRESHOLD ) {
+			if( vix != null )
+				SortUtils.sortByValueStable(0, len, values, vix);
+			else
+				Arrays.sort(values, 0, len);
+			return;
+		}
+		
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			
+			//step 1: sort k partitions independently
+			int blklen = (int)(Math.ceil((double)len/k));
+			int numBlks = (int)(Math.ceil((double)len/blklen));
+			ArrayList<SortTask> tasks = new ArrayList<SortTask>();
+			for( int i=0; i<numBlks; i++ )
+				tasks.add(new SortTask(values, vix, i*blklen, Math.min((i+1)*blklen, len)));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			
+			//step 2: pairwise merge of sorted partitions (ping-pong buffers)
+			double[] vals1 = values, vals2 = new double[len];
+			int[] ix1 = vix, ix2 = (vix != null) ? new int[len] : null;
+			for( int w=blklen; w<len; w*=2 ) {
+				ArrayList<MergeTask> mtasks = new ArrayList<MergeTask>();
+				for( int lo=0; lo<len; lo+=2*w )
+					mtasks.add(new MergeTask(vals1, ix1, vals2, ix2, lo, 
+						Math.min(lo+w, len), Math.min(lo+2*w, len)));
+				for( Future<Object> task : pool.invokeAll(mtasks) )
+					task.get();
+				//swap input and output buffers
+				double[] tvals = vals1; vals1 = vals2; vals2 = tvals;
+				int[] tix = ix1; ix1 = ix2; ix2 = tix;
+			}
+			pool.shutdown();
+			
+			//copy final result back if necessary
+			if( vals1 != values ) {
+				System.arraycopy(vals1, 0, values, 0, len);
+				if( vix != null )
+					System.arraycopy(ix1, 0, vix, 0, len);
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
 	/**
 	 * CP reshape operation (single input, single output matrix) 
 	 *
@@ -2191,6 +2270,70 @@ public class LibMatrixReorg
 	}
 	
 
+	/**
+	 * Copies the non-zero values of the given column and their row indexes
+	 * to the beginning of the output arrays, and the row indexes of all zero 
+	 * values in ascending order to the end of the index array.
+	 * 
+	 * @param in
+	 * @param col
+	 * @param values
+	 * @param vix
+	 * @return number of non-zero values
+	 */
+	private static int copyColNonZeros( MatrixBlock in, int col, double[] values, int[] vix )
+	{
+		int rlen = in.rlen;
+		int nnz = 0, zpos = rlen;
+		
+		if( in.sparse ) { //SPARSE
+			SparseBlock a = in.sparseBlock;
+			for( int i=0; i<rlen; i++ ) {
+				double val = (a==null || a.isEmpty(i)) ? 0 : a.get(i, col);
+				if( val != 0 ) {
+					values[nnz] = val;
+					vix[nnz++] = i;
+				}
+				else
+					vix[--zpos] = i;
+			}
+		}
+		else { //DENSE
+			double[] a = in.denseBlock;
+			int clen = in.clen;
+			for( int i=0, aix=col; i<rlen; i++, aix+=clen ) {
+				double val = a[aix];
+				if( val != 0 ) {
+					values[nnz] = val;
+					vix[nnz++] = i;
+				}
+				else
+					vix[--zpos] = i;
+			}
+		}
+		
+		//restore ascending order of zero indexes
+		reverse(vix, nnz, rlen);
+		
+		return nnz;
+	}
+	
+	/**
+	 * In-place reverse of the given array range.
+	 * 
+	 * @param a
+	 * @param rl inclusive
+	 * @param ru exclusive
+	 */
+	private static void reverse( int[] a, int rl, int ru )
+	{
+		for( int i=rl, j=ru-1; i<j; i++, j-- ) {
+			int tmp = a[i];
+			a[i] = a[j];
+			a[j] = tmp;
+		}
+	}
+	
 	/**
 	 * Utility method for in-place transformation of an ascending sorted
 	 * order into a descending sorted order. This method assumes dense
@@ -2381,4 +2524,93 @@ public class LibMatrixReorg
 			return null;
 		}
 	}
+	
+	/**
+	 * 
+	 */
+	private static class SortTask implements Callable<Object>
+	{
+		private double[] _values = null;
+		private int[] _vix = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected SortTask(double[] values, int[] vix, int rl, int ru) {
+			_values = values;
+			_vix = vix;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			//sort partition (stable if indexes are given)
+			if( _vix != null )
+				SortUtils.sortByValueStable(_rl, _ru, _values, _vix);
+			else
+				Arrays.sort(_values, _rl, _ru);
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private static class MergeTask implements Callable<Object>
+	{
+		private double[] _in = null;
+		private int[] _inix = null;
+		private double[] _out = null;
+		private int[] _outix = null;
+		private int _lo = -1;
+		private int _mid = -1;
+		private int _hi = -1;
+		
+		protected MergeTask(double[] in, int[] inix, double[] out, int[] outix, int lo, int mid, int hi) {
+			_in = in;
+			_inix = inix;
+			_out = out;
+			_outix = outix;
+			_lo = lo;
+			_mid = mid;
+			_hi = hi;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			double[] a = _in;
+			double[] c = _out;
+			int i = _lo, j = _mid, cix = _lo;
+			
+			//stable merge of sorted runs [lo,mid) and [mid,hi)
+			//(left run wins on equal values, which retains the index order)
+			if( _inix != null ) {
+				while( i < _mid && j < _hi ) {
+					if( a[j] < a[i] ) {
+						_outix[cix] = _inix[j];
+						c[cix++] = a[j++];
+					}
+					else {
+						_outix[cix] = _inix[i];
+						c[cix++] = a[i++];
+					}
+				}
+				System.arraycopy(_inix, i, _outix, cix, _mid-i);
+				System.arraycopy(_inix, j, _outix, cix+_mid-i, _hi-j);
+			}
+			else {
+				while( i < _mid && j < _hi )
+					c[cix++] = (a[j] < a[i]) ? a[j++] : a[i++];
+			}
+			
+			//copy remaining values of both runs
+			System.arraycopy(a, i, c, cix, _mid-i);
+			System.arraycopy(a, j, c, cix+_mid-i, _hi-j);
+			
+			return null;
+		}
+	}
 }
@@ -30,6 +30,11 @@ import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.random.Well1024a;
 import org.apache.hadoop.io.DataInputBuffer;
@@ -101,6 +106,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public static final SparseBlock.Type DEFAULT_INPLACE_SPARSEBLOCK = SparseBlock.Type.CSR;
 	//basic header (int rlen, int clen, byte type)
 	public static final int HEADER_SIZE = 9;
+	//min number of cells for multi-threaded unary operations
+	private static final long PAR_UNARY_NUMCELL_THRESHOLD = 1024*1024;
 	
 	public enum BlockType{
 		EMPTY_BLOCK,  
@@ -153,6 +160,40 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		copy(that);
 	}
 	
+	/**
+	 * Creates a dense matrix block that wraps (without copy) the given
+	 * row-major array of length rl*cl as its dense block.
+	 * 
+	 * @param rl number of rows
+	 * @param cl number of columns
+	 * @param dense row-major dense values
+	 * @throws DMLRuntimeException
+	 */
+	public MatrixBlock(int rl, int cl, double[] dense) 
+		throws DMLRuntimeException 
+	{
+		if( dense == null || (long)rl*cl != dense.length )
+			throw new DMLRuntimeException("Invalid dense array for a "+rl+"x"+cl+" matrix block.");
+		reset(rl, cl, false, -1, 0);
+		denseBlock = dense;
+		recomputeNonZeros();
+	}
+	
+	/**
+	 * Creates a sparse matrix block that wraps (without copy) the
+	 * given sparse block with the given number of non-zeros.
+	 * 
+	 * @param rl number of rows
+	 * @param cl number of columns
+	 * @param nnz number of non-zeros
+	 * @param sblock sparse block
+	 */
+	public MatrixBlock(int rl, int cl, long nnz, SparseBlock sblock) {
+		reset(rl, cl, true, nnz, 0);
+		sparseBlock = sblock;
+		nonZeros = nnz;
+	}
+	
 	public MatrixBlock(MatrixBlock that, SparseBlock.Type stype, boolean deep) {
 		this(that.rlen, that.clen, that.sparse);
 		
@@ -2754,7 +2795,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			ret.reset(rlen, clen, sp, this.nonZeros);
 		
 		//core scalar operations
-		LibMatrixBincell.bincellOp(this, ret, op);
+		if( op.getNumThreads() > 1 )
+			LibMatrixBincell.bincellOp(this, ret, op, op.getNumThreads());
+		else
+			LibMatrixBincell.bincellOp(this, ret, op);
 		
 		return ret;
 	}
@@ -2788,6 +2832,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			else
 				LibMatrixAgg.cumaggregateUnaryMatrix(this, ret, op);
 		}
+		else if( isParallelUnaryOperation(op, ret) )
+		{
+			//multi-threaded unary operations over row partitions
+			parallelUnaryOperations(op, ret, op.getNumThreads());
+		}
 		else
 		{
 			//default execute unary operations
@@ -2804,6 +2853,190 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		return ret;
 	}
+	
+	/**
+	 * Indicates if the given unary operation is executed multi-threaded,
+	 * which requires a sufficiently large, non-empty input and a 
+	 * thread-safe output.
+	 * 
+	 * @param op
+	 * @param ret
+	 * @return
+	 */
+	private boolean isParallelUnaryOperation(UnaryOperator op, MatrixBlock ret) {
+		int k = op.getNumThreads();
+		return k > 1 && (long)rlen*clen >= PAR_UNARY_NUMCELL_THRESHOLD 
+			&& rlen > k && !isEmptyBlock(false) && ret.isThreadSafe()
+			&& (sparse || denseBlock != null);
+	}
+	
+	/**
+	 * 
+	 * @param op
+	 * @param ret
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private void parallelUnaryOperations(UnaryOperator op, MatrixBlock ret, int k) 
+		throws DMLRuntimeException
+	{
+		//allocate output (sparse rows are allocated upfront 
+		//in order to prevent synchronization)
+		if( ret.sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlock();
+		
+		executeUnaryTasks(op, ret, k);
+	}
+	
+	/**
+	 * 
+	 * @param op
+	 * @param ret output, or null for in-place operations
+	 * @param k
+	 * @throws DMLRuntimeException
+	 */
+	private void executeUnaryTasks(UnaryOperator op, MatrixBlock ret, int k) 
+		throws DMLRuntimeException
+	{
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<UnaryTask> tasks = new ArrayList<UnaryTask>();
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new UnaryTask(this, ret, op, i*blklen, Math.min((i+1)*blklen, rlen)));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);	
+			pool.shutdown();
+			//aggregate partial nnz
+			long lnnz = 0;
+			for( Future<Long> task : taskret )
+				lnnz += task.get();
+			if( ret != null )
+				ret.nonZeros = lnnz;
+			else
+				nonZeros = lnnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Unary operation over the row range [rl,ru) into a pre-allocated
+	 * output, where sparse-unsafe operations require a dense output.
+	 * 
+	 * @param op
+	 * @param ret
+	 * @param rl
+	 * @param ru
+	 * @return number of non-zeros in the output row range
+	 * @throws DMLRuntimeException
+	 */
+	private long unaryOperations(UnaryOperator op, MatrixBlock ret, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		final int n = clen;
+		long lnnz = 0;
+		
+		if( sparse && ret.sparse ) //SPARSE <- SPARSE
+		{
+			SparseBlock a = sparseBlock;
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				c.allocate(i, alen); //avoid repeated alloc
+				for( int j=apos; j<apos+alen; j++ ) {
+					double val = op.fn.execute(avals[j]);
+					c.append(i, aix[j], val);
+					lnnz += (val != 0) ? 1 : 0;
+				}
+			}
+		}
+		else if( sparse ) //DENSE <- SPARSE
+		{
+			SparseBlock a = sparseBlock;
+			double[] c = ret.denseBlock;
+			double val0 = op.sparseSafe ? 0 : op.fn.execute(0);
+			if( val0 != 0 )
+				Arrays.fill(c, rl*n, ru*n, val0);
+			for( int i=rl, cix=rl*n; i<ru; i++, cix+=n ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					c[cix+aix[j]] = op.fn.execute(avals[j]);
+			}
+			for( int i=rl*n; i<ru*n; i++ )
+				lnnz += (c[i] != 0) ? 1 : 0;
+		}
+		else //DENSE <- DENSE
+		{
+			double[] a = denseBlock;
+			double[] c = ret.denseBlock;
+			for( int i=rl*n; i<ru*n; i++ ) {
+				c[i] = op.fn.execute(a[i]);
+				lnnz += (c[i] != 0) ? 1 : 0;
+			}
+		}
+		
+		return lnnz;
+	}
+	
+	/**
+	 * In-place unary operation over the row range [rl,ru) of a dense
+	 * block or a MCSR sparse block (sparse-safe operations only).
+	 * 
+	 * @param op
+	 * @param rl
+	 * @param ru
+	 * @return number of non-zeros in the row range
+	 * @throws DMLRuntimeException
+	 */
+	private long unaryOperationsInPlace(UnaryOperator op, int rl, int ru) 
+		throws DMLRuntimeException
+	{
+		final int n = clen;
+		long lnnz = 0;
+		
+		if( sparse ) //SPARSE (MCSR), sparse-safe
+		{
+			for( int r=rl; r<ru; r++ ) {
+				if( sparseBlock.isEmpty(r) ) continue;
+				SparseRow arow = sparseBlock.get(r);
+				int alen = arow.size();
+				int[] aix = arow.indexes();
+				double[] avals = arow.values();
+				int pos = 0;
+				for( int i=0; i<alen; i++ ) {
+					double v = op.fn.execute(avals[i]);
+					if( v != 0 ) {
+						avals[pos] = v;
+						aix[pos] = aix[i];
+						pos++;
+					}
+				}
+				arow.setSize(pos);
+				lnnz += pos;
+			}
+		}
+		else //DENSE
+		{
+			double[] a = denseBlock;
+			for( int i=rl*n; i<ru*n; i++ ) {
+				a[i] = op.fn.execute(a[i]);
+				lnnz += (a[i] != 0) ? 1 : 0;
+			}
+		}
+		
+		return lnnz;
+	}
 
 	/**
 	 * 
@@ -2919,7 +3152,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public void unaryOperationsInPlace(UnaryOperator op) 
 		throws DMLRuntimeException
 	{
-		if(op.sparseSafe)
+		int k = op.getNumThreads();
+		if( k > 1 && (long)rlen*clen >= PAR_UNARY_NUMCELL_THRESHOLD && rlen > k
+			&& ((!sparse && denseBlock != null) || (sparse && op.sparseSafe 
+			&& sparseBlock != null && sparseBlock.isThreadSafe())) ) {
+			//multi-threaded in-place over row partitions
+			executeUnaryTasks(op, null, k);
+		}
+		else if(op.sparseSafe)
 			sparseUnaryOperationsInPlace(op);
 		else
 			denseUnaryOperationsInPlace(op);
@@ -2938,7 +3178,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( isEmptyBlock(false) )
 			return;
 		
-		if(sparse)
+		if(sparse && sparseBlock.isThreadSafe())
+		{
+			//MCSR: compaction and truncation of individual rows
+			nonZeros = unaryOperationsInPlace(op, 0, Math.min(rlen, sparseBlock.numRows()));
+		}
+		else if(sparse)
 		{
 			nonZeros=0;
 			for(int r=0; r<Math.min(rlen, sparseBlock.numRows()); r++)
@@ -2948,24 +3193,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				
 				int apos = sparseBlock.pos(r);
 				int alen = sparseBlock.size(r);
-				int[] aix = sparseBlock.indexes(r);
 				double[] avals = sparseBlock.values(r);
 				
-				int pos=0;
-				for(int i=apos; i<apos+alen; i++)
-				{
-					double v=op.fn.execute(avals[i]);
-					if(v!=0) {
-						avals[pos]=v;
-						aix[pos]=aix[i];
-						pos++;
-						nonZeros++;
-					}
+				int lnnz = 0;
+				for(int i=apos; i<apos+alen; i++) {
+					avals[i] = op.fn.execute(avals[i]);
+					lnnz += (avals[i]!=0) ? 1 : 0;
 				}
-				//TODO perf sparse block: truncate replaced by deleteIndexrange
-				sparseBlock.deleteIndexRange(r, pos, clen);
+				
+				//delete new zeros in reverse order (stable positions)
+				for(int i=apos+alen-1; i>=apos && lnnz<alen; i--)
+					if( sparseBlock.values(r)[i]==0 )
+						sparseBlock.set(r, sparseBlock.indexes(r)[i], 0);
+				nonZeros += lnnz;
 			}
-			
 		}
 		else
 		{
@@ -3047,7 +3288,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			ret.reset(rows, cols, resultSparse.sparse, resultSparse.estimatedNonZeros);
 		
 		//core binary cell operation
-		LibMatrixBincell.bincellOp( this, that, ret, op );
+		if( op.getNumThreads() > 1 )
+			LibMatrixBincell.bincellOp( this, that, ret, op, op.getNumThreads() );
+		else
+			LibMatrixBincell.bincellOp( this, that, ret, op );
 		
 		return ret;
 	}
@@ -4720,6 +4964,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public CM_COV_Object cmOperations(CMOperator op) 
 		throws DMLRuntimeException 
+	{
+		return cmOperations(op, 1);
+	}
+	
+	/**
+	 * Central moment with optional multi-threading over row partitions.
+	 * 
+	 * @param op
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public CM_COV_Object cmOperations(CMOperator op, int k) 
+		throws DMLRuntimeException 
 	{
 		// dimension check for input column vectors
 		if ( this.getNumColumns() != 1) {
@@ -4727,45 +4985,34 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					+ this.getNumRows() + "," + this.getNumColumns() + "] matrix.");
 		}
 		
-		CM_COV_Object cmobj = new CM_COV_Object();
-		
 		// empty block handling (important for result corretness, otherwise
 		// we get a NaN due to 0/0 on reading out the required result)
 		if( isEmptyBlock(false) ) {
+			CM_COV_Object cmobj = new CM_COV_Object();
 			op.fn.execute(cmobj, 0.0, getNumRows());
 			return cmobj;
 		}
 		
-		int nzcount = 0;
-		if(sparse && sparseBlock!=null) //SPARSE
-		{
-			for(int r=0; r<Math.min(rlen, sparseBlock.numRows()); r++)
-			{
-				if(sparseBlock.isEmpty(r)) 
-					continue;
-				int apos = sparseBlock.pos(r);
-				int alen = sparseBlock.size(r);
-				double[] avals = sparseBlock.values(r);
-				for(int i=apos; i<apos+alen; i++) {
-					op.fn.execute(cmobj, avals[i]);
-					nzcount++;
-				}
-			}
-			// account for zeros in the vector
-			op.fn.execute(cmobj, 0.0, this.getNumRows()-nzcount);
-		}
-		else if(denseBlock!=null)  //DENSE
-		{
-			//always vector (see check above)
-			for(int i=0; i<rlen; i++)
-				op.fn.execute(cmobj, denseBlock[i]);
-		}
-
-		return cmobj;
+		return LibMatrixCM.cmOperations(this, null, op, k);
 	}
-		
+	
 	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights) 
 		throws DMLRuntimeException 
+	{
+		return cmOperations(op, weights, 1);
+	}
+	
+	/**
+	 * Weighted central moment with optional multi-threading over row partitions.
+	 * 
+	 * @param op
+	 * @param weights
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights, int k) 
+		throws DMLRuntimeException 
 	{
 		/* this._data must be a 1 dimensional vector */
 		if ( this.getNumColumns() != 1 || weights.getNumColumns() != 1) {
@@ -4777,34 +5024,26 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					+ weights.getNumRows() + "," + weights.getNumColumns() +"]");
 		}
 		
-		CM_COV_Object cmobj = new CM_COV_Object();
-		if (sparse && sparseBlock!=null) //SPARSE
-		{
-			for(int i=0; i < rlen; i++) 
-				op.fn.execute(cmobj, this.quickGetValue(i,0), weights.quickGetValue(i,0));
-		}
-		else if(denseBlock!=null) //DENSE
-		{
-			//always vectors (see check above)
-			if( !weights.sparse )
-			{
-				//both dense vectors (default case)
-				if(weights.denseBlock!=null)
-					for( int i=0; i<rlen; i++ )
-						op.fn.execute(cmobj, denseBlock[i], weights.denseBlock[i]);
-			}
-			else
-			{
-				for(int i=0; i<rlen; i++) 
-					op.fn.execute(cmobj, denseBlock[i], weights.quickGetValue(i,0) );
-			}
-		}
-		
-		return cmobj;
+		return LibMatrixCM.cmOperations(this, weights, op, k);
 	}
 	
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that) 
 		throws DMLRuntimeException 
+	{
+		return covOperations(op, that, 1);
+	}
+	
+	/**
+	 * Covariance with optional multi-threading over row partitions.
+	 * 
+	 * @param op
+	 * @param that
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, int k) 
+		throws DMLRuntimeException 
 	{
 		/* this._data must be a 1 dimensional vector */
 		if ( this.getNumColumns() != 1 || that.getNumColumns() != 1 ) {
@@ -4816,34 +5055,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					+ that.getNumRows() + "," + that.getNumColumns() +"]");
 		}
 		
-		CM_COV_Object covobj = new CM_COV_Object();
-		if(sparse && sparseBlock!=null) //SPARSE
-		{
-			for(int i=0; i < rlen; i++ ) 
-				op.fn.execute(covobj, this.quickGetValue(i,0), that.quickGetValue(i,0));
-		}
-		else if(denseBlock!=null) //DENSE
-		{
-			//always vectors (see check above)
-			if( !that.sparse )
-			{
-				//both dense vectors (default case)
-				if(that.denseBlock!=null)
-					for( int i=0; i<rlen; i++ )
-						op.fn.execute(covobj, denseBlock[i], that.denseBlock[i]);
-			}
-			else
-			{
-				for(int i=0; i<rlen; i++)
-					op.fn.execute(covobj, denseBlock[i], that.quickGetValue(i,0));
-			}
-		}
-		
-		return covobj;
+		return LibMatrixCM.covOperations(this, that, null, op, k);
 	}
 	
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, MatrixBlock weights) 
 		throws DMLRuntimeException 
+	{
+		return covOperations(op, that, weights, 1);
+	}
+	
+	/**
+	 * Weighted covariance with optional multi-threading over row partitions.
+	 * 
+	 * @param op
+	 * @param that
+	 * @param weights
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, MatrixBlock weights, int k) 
+		throws DMLRuntimeException 
 	{
 		/* this._data must be a 1 dimensional vector */
 		if ( this.getNumColumns() != 1 || that.getNumColumns() != 1 || weights.getNumColumns() != 1) {
@@ -4860,33 +5092,25 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					+ weights.getNumRows() + "," + weights.getNumColumns() +"]");
 		}
 		
-		CM_COV_Object covobj = new CM_COV_Object();
-		if(sparse && sparseBlock!=null) //SPARSE
-		{
-			for(int i=0; i < rlen; i++ ) 
-				op.fn.execute(covobj, this.quickGetValue(i,0), that.quickGetValue(i,0), weights.quickGetValue(i,0));
-		}
-		else if(denseBlock!=null) //DENSE
-		{
-			//always vectors (see check above)
-			if( !that.sparse && !weights.sparse )
-			{
-				//all dense vectors (default case)
-				if(that.denseBlock!=null)
-					for( int i=0; i<rlen; i++ )
-						op.fn.execute(covobj, denseBlock[i], that.denseBlock[i], weights.denseBlock[i]);
-			}
-			else
-			{
-				for(int i=0; i<rlen; i++)
-					op.fn.execute(covobj, denseBlock[i], that.quickGetValue(i,0), weights.quickGetValue(i,0));
-			}
-		}
-		
-		return covobj;
+		return LibMatrixCM.covOperations(this, that, weights, op, k);
 	}
 
 	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result) throws DMLRuntimeException {
+		return sortOperations(weights, result, 1);
+	}
+	
+	/**
+	 * Quantile sort with optional multi-threading, which produces a two-column
+	 * matrix of sorted non-zero values and their weights, with a single row 
+	 * for the zero value (and its aggregated weight) spliced in.
+	 * 
+	 * @param weights
+	 * @param result
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result, int k) throws DMLRuntimeException {
 		boolean wtflag = (weights!=null);
 		
 		MatrixBlock wts= (weights == null ? null : checkType(weights));
@@ -4907,21 +5131,24 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 			result.reset(dim1, 2, false);
 		
-		// Copy the input elements into a temporary array for sorting
-		// First column is data and second column is weights
+		// Copy the non-zero input values (and their weights) into temporary arrays for 
+		// sorting, the zero value is spliced in after sorting (only non-zeros are sorted)
 		// (since the inputs are vectors, they are likely dense - hence quickget is sufficient)
-		MatrixBlock tdw = new MatrixBlock(dim1, 2, false);
+		double[] vals = new double[dim1-1];
+		double[] wvals = wtflag ? new double[dim1-1] : null;
+		int[] vix = wtflag ? new int[dim1-1] : null;
 		double d, w, zero_wt=0;
-		int ind = 1;
+		int nz = 0;
 		if( wtflag ) // w/ weights
 		{
 			for ( int i=0; i<rlen; i++ ) {
 				d = quickGetValue(i,0);
 				w = wts.quickGetValue(i,0);
 				if ( d != 0 ) {
-					tdw.quickSetValue(ind, 0, d);
-					tdw.quickSetValue(ind, 1, w);
-					ind++;
+					vals[nz] = d;
+					wvals[nz] = w;
+					vix[nz] = nz;
+					nz++;
 				}
 				else
 					zero_wt += w;
@@ -4932,20 +5159,31 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			zero_wt = getNumRows() - getNonZeros();
 			for( int i=0; i<rlen; i++ ) {
 				d = quickGetValue(i,0);
-				if( d != 0 ){
-					tdw.quickSetValue(ind, 0, d);
-					tdw.quickSetValue(ind, 1, 1);
-					ind++;
-				}
+				if( d != 0 )
+					vals[nz++] = d;
 			}
 		}
-		tdw.quickSetValue(0, 0, 0.0);
-		tdw.quickSetValue(0, 1, zero_wt); //num zeros in input
 		
-		// Sort td and tw based on values inside td (ascending sort), incl copy into result
-		SortIndex sfn = SortIndex.getSortIndexFnObject(1, false, false);
-		ReorgOperator rop = new ReorgOperator(sfn);
-		LibMatrixReorg.reorg(tdw, (MatrixBlock)result, rop);
+		// Sort non-zero values (ascending, stable w/ weights), incl reordered weights
+		LibMatrixReorg.sortByValue(vals, vix, nz, k);
+		
+		// Copy sorted values and weights into result, with the zero value in between
+		// the negative and positive values (remaining rows, if any, are zero as well)
+		MatrixBlock ret = (MatrixBlock)result;
+		ret.allocateDenseBlock();
+		double[] c = ret.denseBlock;
+		int neg = 0;
+		while( neg<nz && vals[neg]<0 )
+			neg++;
+		int zlen = dim1 - nz;
+		for( int i=0; i<nz; i++ ) {
+			int cix = 2 * ((i<neg) ? i : i+zlen);
+			c[cix] = vals[i];
+			c[cix+1] = wtflag ? wvals[vix[i]] : 1;
+		}
+		c[2*neg] = 0;
+		c[2*neg+1] = zero_wt; //num zeros in input
+		ret.recomputeNonZeros();
 		
 		return result;
 	}
@@ -5231,6 +5469,26 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public MatrixBlock  uaggouterchainOperations(MatrixBlock mbLeft, MatrixBlock mbRight, MatrixBlock mbOut, BinaryOperator bOp, AggregateUnaryOperator uaggOp) 
 		throws DMLRuntimeException
+	{
+		return uaggouterchainOperations(mbLeft, mbRight, mbOut, bOp, uaggOp, 1);
+	}
+	
+	/**
+	 * Unary aggregate outer chain, where k specifies the degree of parallelism. 
+	 * The sorted right-hand-side vector and index structures are shared read-only 
+	 * across all threads.
+	 * 
+	 * @param mbLeft
+	 * @param mbRight
+	 * @param mbOut
+	 * @param bOp
+	 * @param uaggOp
+	 * @param k
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public MatrixBlock  uaggouterchainOperations(MatrixBlock mbLeft, MatrixBlock mbRight, MatrixBlock mbOut, BinaryOperator bOp, AggregateUnaryOperator uaggOp, int k) 
+		throws DMLRuntimeException
 	{
 		double bv[] = DataConverter.convertToDoubleVector(mbRight);
 		int bvi[] = null;
@@ -5252,7 +5510,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			else
 				mbOut.reset(iRows, iCols, false);
 
-			LibMatrixOuterAgg.aggregateMatrix(mbLeft, mbOut, bv, bvi, bOp, uaggOp);
+			LibMatrixOuterAgg.aggregateMatrix(mbLeft, mbOut, bv, bvi, bOp, uaggOp, k);
 		} else
 			throw new DMLRuntimeException("Unsupported operator for unary aggregate operations.");
 		
@@ -5269,6 +5527,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 * * This implementation supports that the target is passed as column or row vector,
 	 *   in case of row vectors we also use sparse-safe implementations for sparse safe
 	 *   aggregation operators.
+	 * * Multi-column targets (with given number of groups) are aggregated for all 
+	 *   columns in one pass, optionally weighted by row.
 	 * 
 	 * @param tgt
 	 * @param wghts
@@ -5303,7 +5563,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		MatrixBlock weights = checkType(wghts);
 		
 		//check valid dimensions
-		boolean validMatrixOp = (weights == null && ngroups>=1);
+		boolean validMatrixOp = (ngroups>=1);
 		if( this.getNumColumns() != 1 || (weights!=null && weights.getNumColumns()!=1) )
 			throw new DMLRuntimeException("groupedAggregate can only operate on 1-dimensional column matrices for groups and weights.");
 		if( target.getNumColumns() != 1 && op instanceof CMOperator && !validMatrixOp )
@@ -6173,6 +6433,34 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	///////////////////////////
 	// Helper classes
+	
+	/**
+	 * Task for multi-threaded unary operations over a row partition,
+	 * returning the number of non-zeros of this partition.
+	 */
+	private static class UnaryTask implements Callable<Long> 
+	{
+		private MatrixBlock _m1 = null;
+		private MatrixBlock _ret = null; //null for in-place
+		private UnaryOperator _op = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected UnaryTask( MatrixBlock m1, MatrixBlock ret, UnaryOperator op, int rl, int ru ) {
+			_m1 = m1;
+			_ret = ret;
+			_op = op;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			return (_ret != null) ? 
+				_m1.unaryOperations(_op, _ret, _rl, _ru) :
+				_m1.unaryOperationsInPlace(_op, _rl, _ru);
+		}
+	}
 
 	public static class SparsityEstimate
 	{
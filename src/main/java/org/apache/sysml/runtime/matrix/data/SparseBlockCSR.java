@@ -60,6 +60,23 @@ public class SparseBlockCSR extends SparseBlock
 		_size = 0;
 	}
 	
+	/**
+	 * Creates a sparse block that wraps (without copy) the given
+	 * CSR arrays, where rowPtr is of length rlen+1 and colInd, values 
+	 * hold at least nnz entries with sorted column indexes per row.
+	 * 
+	 * @param rowPtr row pointer array
+	 * @param colInd column index array
+	 * @param values value array
+	 * @param nnz number of non-zeros
+	 */
+	public SparseBlockCSR(int[] rowPtr, int[] colInd, double[] values, int nnz) {
+		_ptr = rowPtr;
+		_indexes = colInd;
+		_values = values;
+		_size = nnz;
+	}
+	
 	/**
 	 * Copy constructor sparse block abstraction. 
 	 */
@@ -32,7 +32,7 @@ import org.apache.sysml.runtime.matrix.data.CTableMap;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
-import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
+import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleIterator;
 
 
 public class GMRCtableBuffer 
@@ -126,7 +126,6 @@ public class GMRCtableBuffer
 	 * @param reporter
 	 * @throws RuntimeException
 	 */
-	@SuppressWarnings("deprecation")
 	public void flushBuffer( Reporter reporter ) 
 		throws RuntimeException 
 	{
@@ -150,9 +149,11 @@ public class GMRCtableBuffer
 					}
 					
 					//output result data 
-					for(LLDoubleEntry e: resultMap.entrySet()) {
-						key = new MatrixIndexes(e.key1, e.key2);
-						value.setValue(e.value);
+					LLDoubleIterator iter = resultMap.getIterator();
+					while( iter.hasNext() ) {
+						iter.next();
+						key = new MatrixIndexes(iter.getKey1(), iter.getKey2());
+						value.setValue(iter.getValue());
 						for(Integer i: resultIDs) {
 							_collector.collectOutput(key, value, i, reporter);
 						}
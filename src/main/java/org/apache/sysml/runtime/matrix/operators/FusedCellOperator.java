@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.operators;
+
+import java.util.ArrayList;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+
+/**
+ * Operator of a fused chain of cellwise operations, represented as a postfix
+ * program over matrix and scalar inputs, literals, unary and binary functions. 
+ * For example, X * (1 - Y) + exp(-Z) / 2 is represented as
+ * 
+ *   i:0,l:1.0,i:1,b:-,b:*,l:0.0,i:2,b:-,u:exp,l:2.0,b:/,b:+
+ * 
+ * where i:k refers to the k-th input, l:v to a literal value, and u:/b: to 
+ * unary/binary operations with their regular runtime opcodes.
+ */
+public class FusedCellOperator extends Operator 
+{
+	private static final long serialVersionUID = -3476571373489466342L;
+
+	public static final String TOKEN_DELIM = ",";
+	public static final String INPUT_PREFIX = "i:";
+	public static final String LITERAL_PREFIX = "l:";
+	public static final String UNARY_PREFIX = "u:";
+	public static final String BINARY_PREFIX = "b:";
+	
+	public enum CellType {
+		NO_AGG,   //cellwise output of input size
+		ROW_AGG,  //row sums of cellwise output
+		COL_AGG,  //column sums of cellwise output
+		FULL_AGG, //sum of cellwise output
+	}
+	
+	//instruction types of postfix program
+	public static final byte INPUT = 0;
+	public static final byte LITERAL = 1;
+	public static final byte UNARY = 2;
+	public static final byte BINARY = 3;
+	
+	private final String _program;
+	private final CellType _type;
+	private final byte[] _itypes;
+	private final int[] _inputs;
+	private final double[] _literals;
+	private final ValueFunction[] _fns;
+	private final String[] _opcodes;
+	private final int _depth;
+	
+	public FusedCellOperator(String program, CellType type) 
+		throws DMLRuntimeException
+	{
+		_program = program;
+		_type = type;
+		
+		String[] tokens = program.split(TOKEN_DELIM);
+		int len = tokens.length;
+		_itypes = new byte[len];
+		_inputs = new int[len];
+		_literals = new double[len];
+		_fns = new ValueFunction[len];
+		_opcodes = new String[len];
+		
+		//parse program and determine max stack depth
+		int depth = 0, maxDepth = 0;
+		for( int i=0; i<len; i++ ) {
+			String t = tokens[i];
+			if( t.startsWith(INPUT_PREFIX) ) {
+				_itypes[i] = INPUT;
+				_inputs[i] = Integer.parseInt(t.substring(INPUT_PREFIX.length()));
+				depth++;
+			}
+			else if( t.startsWith(LITERAL_PREFIX) ) {
+				_itypes[i] = LITERAL;
+				_literals[i] = Double.parseDouble(t.substring(LITERAL_PREFIX.length()));
+				depth++;
+			}
+			else if( t.startsWith(UNARY_PREFIX) ) {
+				_itypes[i] = UNARY;
+				_opcodes[i] = t.substring(UNARY_PREFIX.length());
+				_fns[i] = Builtin.getBuiltinFnObject(_opcodes[i]);
+				if( _fns[i] == null || depth < 1 )
+					throw new DMLRuntimeException("Invalid unary operation in fused cell program: "+t);
+			}
+			else if( t.startsWith(BINARY_PREFIX) ) {
+				_itypes[i] = BINARY;
+				_opcodes[i] = t.substring(BINARY_PREFIX.length());
+				_fns[i] = InstructionUtils.parseBinaryOperator(_opcodes[i]).fn;
+				if( depth < 2 )
+					throw new DMLRuntimeException("Invalid binary operation in fused cell program: "+t);
+				depth--;
+			}
+			else {
+				throw new DMLRuntimeException("Unknown token in fused cell program: "+t);
+			}
+			maxDepth = Math.max(maxDepth, depth);
+		}
+		
+		if( depth != 1 )
+			throw new DMLRuntimeException("Invalid fused cell program: "+program);
+		_depth = maxDepth;
+	}
+	
+	public String getProgram() {
+		return _program;
+	}
+	
+	public CellType getCellType() {
+		return _type;
+	}
+	
+	public int getProgramLength() {
+		return _itypes.length;
+	}
+	
+	public int getStackDepth() {
+		return _depth;
+	}
+	
+	public byte getInstType(int pos) {
+		return _itypes[pos];
+	}
+	
+	public int getInput(int pos) {
+		return _inputs[pos];
+	}
+	
+	public double getLiteral(int pos) {
+		return _literals[pos];
+	}
+	
+	public ValueFunction getFunction(int pos) {
+		return _fns[pos];
+	}
+	
+	/**
+	 * Indicates if the program is sparse-safe with regard to the given input, 
+	 * i.e., if it evaluates to zero whenever this input is zero, independent of
+	 * the values of all other (non-literal) inputs.
+	 * 
+	 * @param input
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	public boolean isSparseSafe(int input) 
+		throws DMLRuntimeException
+	{
+		//stack of zero-preserving flags and literal values 
+		ArrayList<Boolean> safe = new ArrayList<Boolean>();
+		ArrayList<Double> lit = new ArrayList<Double>();
+		
+		for( int i=0; i<_itypes.length; i++ ) {
+			switch( _itypes[i] ) {
+				case INPUT:
+					safe.add(_inputs[i] == input);
+					lit.add(null);
+					break;
+				case LITERAL:
+					safe.add(_literals[i] == 0);
+					lit.add(_literals[i]);
+					break;
+				case UNARY: {
+					int p = safe.size()-1;
+					safe.set(p, safe.get(p) && _fns[i].execute(0d) == 0);
+					lit.set(p, (lit.get(p)!=null) ? _fns[i].execute(lit.get(p)) : null);
+					break;
+				}
+				case BINARY: {
+					int p2 = safe.size()-1, p1 = p2-1;
+					boolean s1 = safe.get(p1), s2 = safe.get(p2);
+					Double l1 = lit.get(p1), l2 = lit.get(p2);
+					boolean ret = false;
+					if( s1 && s2 )
+						ret = (_fns[i].execute(0d, 0d) == 0);
+					else if( s1 && l2 != null )
+						ret = (_fns[i].execute(0d, l2) == 0);
+					else if( s2 && l1 != null )
+						ret = (_fns[i].execute(l1, 0d) == 0);
+					else if( s1 || s2 ) //arbitrary other operand
+						ret = _opcodes[i].equals("*");
+					safe.remove(p2); lit.remove(p2);
+					safe.set(p1, ret);
+					lit.set(p1, (l1!=null && l2!=null) ? _fns[i].execute(l1, l2) : null);
+					break;
+				}
+			}
+		}
+		
+		return safe.get(0);
+	}
+	
+	@Override
+	public String toString() {
+		return "fcell(" + _type.name() + ", " + _program + ")";
+	}
+}
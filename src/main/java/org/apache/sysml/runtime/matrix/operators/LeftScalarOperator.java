@@ -35,7 +35,11 @@ public class LeftScalarOperator extends ScalarOperator
 	private static final long serialVersionUID = 2360577666575746424L;
 	
 	public LeftScalarOperator(ValueFunction p, double cst) {
-		super(p, cst);
+		this(p, cst, 1);
+	}
+	
+	public LeftScalarOperator(ValueFunction p, double cst, int numThreads) {
+		super(p, cst, numThreads);
 		
 		//disable sparse-safe for c^M because 1^0=1
 		if( fn instanceof Power )
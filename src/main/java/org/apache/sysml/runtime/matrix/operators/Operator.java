@@ -38,4 +38,12 @@ public class Operator implements Serializable
 	{
 		sparseSafe = sparseSafeFlag;
 	}
+	
+	/**
+	 * 
+	 * @return degree of parallelism (1 for single-threaded operators)
+	 */
+	public int getNumThreads() {
+		return 1;
+	}
 }
@@ -37,6 +37,10 @@ public class RightScalarOperator extends ScalarOperator
 	public RightScalarOperator(ValueFunction p, double cst) {
 		super(p, cst);
 	}
+	
+	public RightScalarOperator(ValueFunction p, double cst, int numThreads) {
+		super(p, cst, numThreads);
+	}
 
 	@Override
 	public double executeScalar(double in) throws DMLRuntimeException {
@@ -44,11 +44,17 @@ public class ScalarOperator  extends Operator
 	
 	public ValueFunction fn;
 	protected double _constant;
+	private int k; //num threads
 	
-	public ScalarOperator(ValueFunction p, double cst)
+	public ScalarOperator(ValueFunction p, double cst) {
+		this(p, cst, 1); //default single-threaded
+	}
+	
+	public ScalarOperator(ValueFunction p, double cst, int numThreads)
 	{
 		fn = p;
 		_constant = cst;
+		k = numThreads;
 		
 		//as long as (0 op v)=0, then op is sparsesafe
 		//note: additional functionobjects might qualify according to constant
@@ -62,6 +68,10 @@ public class ScalarOperator  extends Operator
 		return _constant;
 	}
 	
+	public int getNumThreads() {
+		return k;
+	}
+	
 	public void setConstant(double cst) {
 		//set constant
 		_constant = cst;
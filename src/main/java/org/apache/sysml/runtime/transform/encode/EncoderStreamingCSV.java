@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.transform.encode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV.FrameChunkHandler;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.Pair;
+import org.apache.sysml.runtime.transform.OmitAgent;
+
+/**
+ * Streaming two-pass transform encode over csv files, which avoids to 
+ * materialize the input frame. The first pass builds the meta data (e.g., 
+ * recode maps and impute values) chunk by chunk in file order, and the 
+ * second pass applies the encoders chunk by chunk (in parallel over splits) 
+ * into the preallocated output matrix. Hence, the memory requirements are 
+ * bounded by the meta data, the output, and one chunk per thread.
+ * 
+ */
+public class EncoderStreamingCSV 
+{
+	//target number of cells per frame chunk (non-final for testing)
+	public static long CHUNK_NUMCELLS = 4L * 1024 * 1024;
+	
+	/**
+	 * Indicates if the given frame can be encoded via the streaming
+	 * encode, i.e., if it is an unmodified csv file not yet in memory.
+	 * 
+	 * @param fo frame object
+	 * @return true if streaming encode is applicable
+	 */
+	public static boolean isApplicable(FrameObject fo) {
+		if( !OptimizerUtils.ALLOW_STREAMING_TRANSFORM_ENCODE || !(fo.getMetaData() instanceof MatrixFormatMetaData) )
+			return false;
+		MatrixFormatMetaData iimd = (MatrixFormatMetaData) fo.getMetaData();
+		return iimd.getInputInfo() == InputInfo.CSVInputInfo
+			&& fo.isHDFSFileExists() && !fo.isDirty() && !fo.isCached(true)
+			&& fo.getRDDHandle() == null;
+	}
+	
+	/**
+	 * Builds and applies the given transform specification over the csv 
+	 * file of the given frame object.
+	 * 
+	 * @param fo frame object of csv input
+	 * @param spec transform specification
+	 * @param k degree of parallelism
+	 * @return pair of encoded matrix and meta data frame
+	 * @throws DMLRuntimeException
+	 */
+	public static Pair<MatrixBlock,FrameBlock> encode(FrameObject fo, String spec, int k) 
+		throws DMLRuntimeException
+	{
+		CSVFileFormatProperties props = (fo.getFileFormatProperties() instanceof CSVFileFormatProperties) ?
+			(CSVFileFormatProperties) fo.getFileFormatProperties() : new CSVFileFormatProperties();
+		FrameReaderTextCSV reader = new FrameReaderTextCSV(props);
+		long clen = fo.getNumColumns();
+		List<ValueType> schema = (fo.getSchema()!=null) ? fo.getSchema() : 
+			Collections.nCopies(clen>=1 ? (int)clen : 1, ValueType.STRING);
+		List<String> names = Collections.emptyList();
+		int blen = (int) Math.max(1, CHUNK_NUMCELLS / Math.max(clen, 1));
+		
+		try {
+			//pass 1: sequential build of meta data in file order
+			//(equal recode maps as the in-memory transform encode)
+			BuildChunkHandler build = new BuildChunkHandler(spec);
+			reader.readFrameChunksFromHDFS(fo.getFileName(), schema, names, clen, blen, k, 1, build);
+			Encoder encoder = build.getEncoder();
+			if( encoder == null ) //empty input
+				encoder = build.createEncoder(FrameBlock.createColNames((int)Math.max(clen, 1)));
+			int ncol = build.getColumnNames().size();
+			FrameBlock meta = new FrameBlock(ncol, ValueType.STRING);
+			meta = encoder.getMetaData(meta);
+			encoder.initMetaData(meta);
+			meta.setColumnNames(build.getColumnNames());
+			
+			//pass 2: apply encoders into output (sequential w/ omit
+			//because output row offsets are unknown in advance)
+			boolean omit = containsOmit(encoder);
+			ApplyChunkHandler apply = new ApplyChunkHandler(encoder, 
+					build.getSplitOffsets(), build.getNumRows(), omit);
+			reader.readFrameChunksFromHDFS(fo.getFileName(), schema, names, 
+					clen, blen, k, omit ? 1 : k, apply);
+			MatrixBlock out = apply.getOutput(ncol);
+			
+			return new Pair<MatrixBlock,FrameBlock>(out, meta);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param encoder
+	 * @return
+	 */
+	private static boolean containsOmit(Encoder encoder) {
+		if( encoder instanceof EncoderComposite ) {
+			for( Encoder e : ((EncoderComposite)encoder).getEncoders() )
+				if( e instanceof OmitAgent && e.isApplicable() )
+					return true;
+			return false;
+		}
+		return (encoder instanceof OmitAgent && encoder.isApplicable());
+	}
+	
+	/**
+	 * Chunk handler for building the encoder meta data, which requires 
+	 * sequential processing of chunks in file order.
+	 */
+	private static class BuildChunkHandler implements FrameChunkHandler
+	{
+		private String _spec = null;
+		private Encoder _encoder = null;
+		private List<String> _colnames = null;
+		private ArrayList<Long> _splitRows = new ArrayList<Long>();
+		private long _nrow = 0;
+		
+		public BuildChunkHandler(String spec) {
+			_spec = spec;
+		}
+		
+		@Override
+		public void process(FrameBlock chunk, int splitID, long rowOffset) 
+			throws Exception 
+		{
+			//create encoder from column names of first chunk
+			if( _encoder == null )
+				_encoder = createEncoder(chunk.getColumnNames());
+			
+			//build meta data and maintain split row counts
+			_encoder.build(chunk);
+			while( _splitRows.size() <= splitID )
+				_splitRows.add(0L);
+			_splitRows.set(splitID, _splitRows.get(splitID) + chunk.getNumRows());
+			_nrow += chunk.getNumRows();
+		}
+		
+		public Encoder createEncoder(List<String> colnames) 
+			throws DMLRuntimeException 
+		{
+			_colnames = colnames;
+			return EncoderFactory.createEncoder(_spec, colnames, colnames.size(), null);
+		}
+		
+		public Encoder getEncoder() {
+			return _encoder;
+		}
+		
+		public List<String> getColumnNames() {
+			return _colnames;
+		}
+		
+		public long getNumRows() {
+			return _nrow;
+		}
+		
+		public long[] getSplitOffsets() {
+			//row offset per split via cumsum on row counts
+			long[] ret = new long[_splitRows.size()];
+			for( int i=1; i<ret.length; i++ )
+				ret[i] = ret[i-1] + _splitRows.get(i-1);
+			return ret;
+		}
+	}
+	
+	/**
+	 * Chunk handler for applying the encoders into the output matrix, 
+	 * which is thread-safe if chunks are written to disjoint row ranges.
+	 */
+	private static class ApplyChunkHandler implements FrameChunkHandler
+	{
+		private Encoder _encoder = null;
+		private long[] _splitOffsets = null;
+		private long _nrow = -1;
+		private boolean _compact = false;
+		private MatrixBlock _out = null;
+		private long _pos = 0;
+		
+		public ApplyChunkHandler(Encoder encoder, long[] splitOffsets, long nrow, boolean compact) {
+			_encoder = encoder;
+			_splitOffsets = splitOffsets;
+			_nrow = nrow;
+			_compact = compact;
+		}
+		
+		@Override
+		public void process(FrameBlock chunk, int splitID, long rowOffset) 
+			throws Exception 
+		{
+			//encode chunk into a temporary output
+			MatrixBlock tmp = _encoder.apply(chunk, 
+				new MatrixBlock(chunk.getNumRows(), chunk.getNumColumns(), false));
+			
+			//copy into output at split-specific row offset or, if 
+			//rows are potentially omitted, at the current position
+			MatrixBlock out = getOrCreateOutput(tmp.getNumColumns());
+			int rl = (int) (_compact ? _pos : _splitOffsets[splitID] + rowOffset);
+			if( tmp.getNumRows() > 0 )
+				out.copy(rl, rl+tmp.getNumRows()-1, 0, tmp.getNumColumns()-1, tmp, false);
+			_pos += _compact ? tmp.getNumRows() : 0;
+		}
+		
+		private synchronized MatrixBlock getOrCreateOutput(int ncol) {
+			if( _out == null ) {
+				_out = new MatrixBlock((int)_nrow, ncol, false);
+				_out.allocateDenseBlock();
+			}
+			return _out;
+		}
+		
+		public MatrixBlock getOutput(int ncol) 
+			throws DMLRuntimeException 
+		{
+			//handle empty input
+			if( _out == null )
+				return new MatrixBlock(0, ncol, false);
+			
+			//remove trailing rows of omitted rows
+			MatrixBlock ret = _out;
+			if( _compact && _pos < _nrow ) {
+				ret = (_pos > 0) ? _out.sliceOperations(0, (int)_pos-1, 
+					0, _out.getNumColumns()-1, new MatrixBlock()) : 
+					new MatrixBlock(0, _out.getNumColumns(), false);
+			}
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+	}
+}
@@ -28,24 +28,42 @@ import java.util.ArrayList;
  * to be more memory-efficient which is important for large maps in order
  * to keep data in the caches and prevent high-latency random memory access. 
  * 
+ * The map uses open addressing with linear probing over primitive arrays 
+ * (interleaved long keys and double values), i.e., it does not create any 
+ * objects per entry. Since ctable only produces positive row/column keys, 
+ * Long.MIN_VALUE is reserved as empty marker and not allowed as key1.
+ * 
  */
 public class LongLongDoubleHashMap 
 {
 	private static final int INIT_CAPACITY = 8;
 	private static final int RESIZE_FACTOR = 2;
 	private static final float LOAD_FACTOR = 0.75f;
+	private static final int MAX_CAPACITY = 1 << 29; //2*cap keys < max int
+	private static final long EMPTY = Long.MIN_VALUE;
 
-	private LLDoubleEntry[] data = null;
-	private int size = -1;
+	private long[] _keys = null; //interleaved key1/key2
+	private double[] _vals = null;
+	private int _size = -1;
+	private int _maxSize = -1; //resize threshold
 	
-	public LongLongDoubleHashMap()
-	{
-		data = new LLDoubleEntry[INIT_CAPACITY];
-		size = 0;
+	public LongLongDoubleHashMap() {
+		this(INIT_CAPACITY);
+	}
+	
+	/**
+	 * 
+	 * @param capacity initial capacity, rounded up to the next power of two
+	 */
+	public LongLongDoubleHashMap(int capacity) {
+		int cap = INIT_CAPACITY;
+		while( cap < capacity && cap < MAX_CAPACITY )
+			cap *= RESIZE_FACTOR;
+		allocate(cap);
 	}
 
 	public int size() {
-		return size;
+		return _size;
 	}
 	
 	/**
@@ -57,26 +75,54 @@ public class LongLongDoubleHashMap
 	public void addValue(long key1, long key2, double value)
 	{
 		//compute entry index position
-		int hash = hash(key1, key2);
-		int ix = indexFor(hash, data.length);
-
-		//find existing entry and add value
-		for( LLDoubleEntry e = data[ix]; e!=null; e = e.next ) {
-			if( e.key1==key1 && e.key2==key2 ) {
-				e.value += value;
+		int mask = _vals.length - 1;
+		int ix = hash(key1, key2) & mask;
+		
+		//linear probing until existing or empty slot
+		while( true ) {
+			long k1 = _keys[2*ix];
+			if( k1 == EMPTY ) {
+				//add non-existing entry
+				_keys[2*ix] = key1;
+				_keys[2*ix+1] = key2;
+				_vals[ix] = value;
+				
+				//resize if necessary
+				if( ++_size >= _maxSize )
+					resize();
+				return;
+			}
+			else if( k1 == key1 && _keys[2*ix+1] == key2 ) {
+				_vals[ix] += value;
 				return; //no need to append or resize
 			}
+			ix = (ix + 1) & mask;
 		}
-		
-		//add non-existing entry (constant time)
-		LLDoubleEntry enew = new LLDoubleEntry(key1, key2, value);
-		enew.next = data[ix]; //colliding entries / null
-		data[ix] = enew;
-		size++;
-		
-		//resize if necessary
-		if( size >= LOAD_FACTOR*data.length )
-			resize();
+	}
+	
+	/**
+	 * Adds all entries of the given map to this map, where 
+	 * values of existing keys are aggregated via sum.
+	 * 
+	 * @param that
+	 */
+	public void merge(LongLongDoubleHashMap that) 
+	{
+		long[] keys = that._keys;
+		double[] vals = that._vals;
+		for( int i=0; i<vals.length; i++ )
+			if( keys[2*i] != EMPTY )
+				addValue(keys[2*i], keys[2*i+1], vals[i]);
+	}
+	
+	/**
+	 * Returns a reusable iterator over all entries, which exposes 
+	 * keys and values without creating an object per entry.
+	 * 
+	 * @return
+	 */
+	public LLDoubleIterator getIterator() {
+		return new LLDoubleIterator();
 	}
 	
 	/**
@@ -85,43 +131,45 @@ public class LongLongDoubleHashMap
 	 */
 	public ArrayList<LLDoubleEntry> extractValues()
 	{
-		ArrayList<LLDoubleEntry> ret = new ArrayList<LLDoubleEntry>();
-		for( LLDoubleEntry e : data ) {
-			if( e != null ) {
-				while( e.next!=null ) {
-					ret.add(e);
-					e = e.next;
-				}
-				ret.add(e);	
-			}
-		}
+		ArrayList<LLDoubleEntry> ret = new ArrayList<LLDoubleEntry>(_size);
+		for( int i=0; i<_vals.length; i++ )
+			if( _keys[2*i] != EMPTY )
+				ret.add(new LLDoubleEntry(_keys[2*i], _keys[2*i+1], _vals[i]));
 
 		return ret;
 	}
 	
+	/**
+	 * 
+	 * @param capacity
+	 */
+	private void allocate(int capacity) {
+		_keys = new long[2*capacity];
+		_vals = new double[capacity];
+		for( int i=0; i<capacity; i++ )
+			_keys[2*i] = EMPTY;
+		_size = 0;
+		_maxSize = (int)(LOAD_FACTOR*capacity);
+	}
+	
 	/**
 	 * 
 	 */
 	private void resize() {
 		//check for integer overflow on resize
-		if( data.length > Integer.MAX_VALUE/RESIZE_FACTOR )
-			return;
-		
-		//resize data array and copy existing contents
-		LLDoubleEntry[] olddata = data;
-		data = new LLDoubleEntry[data.length*RESIZE_FACTOR];
-		size = 0;
-		
-		//rehash all entries
-		for( LLDoubleEntry e : olddata ) {
-			if( e != null ) {
-				while( e.next!=null ) {
-					addValue(e.key1, e.key2, e.value);
-					e = e.next;
-				}
-				addValue(e.key1, e.key2, e.value);	
-			}
+		if( _vals.length >= MAX_CAPACITY ) {
+			if( _size < _vals.length )
+				return; //remaining empty slots
+			throw new RuntimeException("Maximum capacity of LongLongDoubleHashMap exceeded: "+_size);
 		}
+		
+		//resize data arrays and rehash existing contents
+		long[] oldkeys = _keys;
+		double[] oldvals = _vals;
+		allocate(_vals.length*RESIZE_FACTOR);
+		for( int i=0; i<oldvals.length; i++ )
+			if( oldkeys[2*i] != EMPTY )
+				addValue(oldkeys[2*i], oldkeys[2*i+1], oldvals[i]);
 	}
 	
 	/**
@@ -141,16 +189,6 @@ public class LongLongDoubleHashMap
 		h ^= (h >>> 20) ^ (h >>> 12);
 		return h ^ (h >>> 7) ^ (h >>> 4);
 	}
-
-	/**
-	 * 
-	 * @param h
-	 * @param length
-	 * @return
-	 */
-	private static int indexFor(int h, int length) {
-		return h & (length-1);
-	}
 	
 	/**
 	 * 
@@ -159,13 +197,53 @@ public class LongLongDoubleHashMap
 		public long key1 = Long.MAX_VALUE;
 		public long key2 = Long.MAX_VALUE;
 		public double value = Double.MAX_VALUE;
-		public LLDoubleEntry next = null;
 		
 		public LLDoubleEntry(long k1, long k2, double val) {
 			key1 = k1;
 			key2 = k2;
 			value = val;
-			next = null;
+		}
+	}
+	
+	/**
+	 * Cursor-style iterator over the primitive map entries. After 
+	 * a call to next, the current entry is accessible via getKey1, 
+	 * getKey2, and getValue. Modifications of the map during 
+	 * iteration are not supported.
+	 */
+	public class LLDoubleIterator {
+		private int _pos = -1;
+		private int _next = -1;
+		
+		private LLDoubleIterator() {
+			_next = findNext(0);
+		}
+		
+		public boolean hasNext() {
+			return _next < _vals.length;
+		}
+		
+		public void next() {
+			_pos = _next;
+			_next = findNext(_pos+1);
+		}
+		
+		public long getKey1() {
+			return _keys[2*_pos];
+		}
+		
+		public long getKey2() {
+			return _keys[2*_pos+1];
+		}
+		
+		public double getValue() {
+			return _vals[_pos];
+		}
+		
+		private int findNext(int ix) {
+			while( ix < _vals.length && _keys[2*ix] == EMPTY )
+				ix++;
+			return ix;
 		}
 	}
 }
@@ -291,6 +291,19 @@ public class MapReduceTool
 		return ret;
 	}
 	
+	/**
+	 * 
+	 * @param fname
+	 * @return
+	 * @throws IOException
+	 */
+	public static long getFileModificationTimeOnHDFS( String fname ) 
+		throws IOException
+	{
+		FileSystem fs = FileSystem.get(_rJob);
+		return fs.getFileStatus(new Path(fname)).getModificationTime();
+	}
+	
 	private static BufferedReader setupInputFile ( String filename ) throws IOException {
         Path pt=new Path(filename);
         FileSystem fs = FileSystem.get(_rJob);
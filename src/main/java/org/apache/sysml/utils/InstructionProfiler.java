@@ -0,0 +1,422 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.utils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.parser.DMLProgram;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.instructions.spark.ComputationSPInstruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+
+/**
+ * Instruction-level profiler, enabled via -profile, that attributes wall time, 
+ * allocated bytes, buffer pool acquire/release/eviction time, output dimensions
+ * and degree of parallelism to individual instructions, identified by their 
+ * function call stack, script line and opcode. 
+ * 
+ * Allocated bytes and buffer pool times are maintained per thread and hence 
+ * only cover work done in the thread that executes the instruction. Function 
+ * call stacks are maintained per thread as well, i.e., instructions of parfor 
+ * workers are attributed to their own stacks.
+ * 
+ */
+public class InstructionProfiler 
+{
+	private static final Log LOG = LogFactory.getLog(InstructionProfiler.class.getName());
+	
+	public enum ProfileFormat {
+		JSON,   //json trace
+		CSV,    //csv trace
+		STACKS, //folded stacks (flame graphs)
+	}
+	
+	public static final String ROOT_FRAME = "main";
+	
+	//indexes of per-instruction snapshots
+	private static final int SNAP_TIME = 0;
+	private static final int SNAP_ALLOC = 1;
+	private static final int SNAP_ACQUIRE = 2;
+	private static final int SNAP_RELEASE = 3;
+	private static final int SNAP_EVICT = 4;
+	
+	//profile entries by stack, line and opcode
+	private static final ConcurrentHashMap<String, ProfileEntry> _entries = 
+			new ConcurrentHashMap<String, ProfileEntry>();
+	
+	//per-thread function call stacks and buffer pool times (acquire, release, evict)
+	private static final ThreadLocal<ArrayList<String>> _stack = new ThreadLocal<ArrayList<String>>() {
+		@Override
+		protected ArrayList<String> initialValue() { 
+			return new ArrayList<String>();
+		}
+	};
+	private static final ThreadLocal<long[]> _bpTimes = new ThreadLocal<long[]>() {
+		@Override
+		protected long[] initialValue() { 
+			return new long[3];
+		}
+	};
+	
+	//thread mx bean for per-thread allocated bytes (null if not supported)
+	private static final com.sun.management.ThreadMXBean _tmxb = createThreadMXBean();
+	
+	private InstructionProfiler() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * 
+	 * @return true if instruction-level profiling is enabled
+	 */
+	public static boolean isEnabled() {
+		return DMLScript.PROFILE != null;
+	}
+	
+	/**
+	 * Clears all profile entries (required if multiple scripts executed in one JVM).
+	 */
+	public static void reset() {
+		_entries.clear();
+	}
+	
+	/**
+	 * 
+	 * @param fname output filename
+	 * @return profile format according to the filename extension
+	 */
+	public static ProfileFormat getFormat( String fname ) {
+		String lfname = fname.toLowerCase();
+		if( lfname.endsWith(".json") )
+			return ProfileFormat.JSON;
+		else if( lfname.endsWith(".csv") )
+			return ProfileFormat.CSV;
+		return ProfileFormat.STACKS;
+	}
+	
+	/**
+	 * Pushes a function frame to the call stack of the current thread.
+	 * 
+	 * @param namespace function namespace
+	 * @param fname function name
+	 */
+	public static void pushFunction( String namespace, String fname ) {
+		_stack.get().add( DMLProgram.DEFAULT_NAMESPACE.equals(namespace) ? 
+			fname : DMLProgram.constructFunctionKey(namespace, fname) );
+	}
+	
+	/**
+	 * Pops the top function frame from the call stack of the current thread.
+	 */
+	public static void popFunction() {
+		ArrayList<String> stack = _stack.get();
+		if( !stack.isEmpty() )
+			stack.remove(stack.size()-1);
+	}
+	
+	public static void incrementAcquireTime( long delta ) {
+		_bpTimes.get()[0] += delta;
+	}
+	
+	public static void incrementReleaseTime( long delta ) {
+		_bpTimes.get()[1] += delta;
+	}
+	
+	public static void incrementEvictionTime( long delta ) {
+		_bpTimes.get()[2] += delta;
+	}
+	
+	/**
+	 * Takes a snapshot of the counters of the current thread before 
+	 * instruction execution.
+	 * 
+	 * @return snapshot of time, allocated bytes and buffer pool times
+	 */
+	public static long[] startInstruction() {
+		long[] bpTimes = _bpTimes.get();
+		long[] snap = new long[5];
+		snap[SNAP_ALLOC] = getAllocatedBytes();
+		snap[SNAP_ACQUIRE] = bpTimes[0];
+		snap[SNAP_RELEASE] = bpTimes[1];
+		snap[SNAP_EVICT] = bpTimes[2];
+		snap[SNAP_TIME] = System.nanoTime();
+		return snap;
+	}
+	
+	/**
+	 * Attributes the counter deltas since the given snapshot and the output 
+	 * characteristics to the profile entry of the executed instruction.
+	 * 
+	 * @param inst executed instruction
+	 * @param ec execution context
+	 * @param snap snapshot obtained before instruction execution
+	 */
+	public static void finishInstruction( Instruction inst, ExecutionContext ec, long[] snap ) 
+	{
+		long time = System.nanoTime() - snap[SNAP_TIME];
+		long alloc = (snap[SNAP_ALLOC] >= 0) ? getAllocatedBytes() - snap[SNAP_ALLOC] : -1;
+		long[] bpTimes = _bpTimes.get();
+		
+		//obtain or create profile entry
+		String stack = getStack();
+		String opcode = inst.getExtendedOpcode();
+		String key = stack + "|" + inst.getLineNum() + "|" + opcode;
+		ProfileEntry entry = _entries.get(key);
+		if( entry == null ) {
+			ProfileEntry tmp = new ProfileEntry(stack, inst.getLineNum(), 
+				opcode, inst instanceof FunctionCallCPInstruction);
+			entry = _entries.putIfAbsent(key, tmp);
+			entry = (entry != null) ? entry : tmp;
+		}
+		
+		//maintain counters and output characteristics
+		synchronized( entry ) {
+			entry.count++;
+			entry.time += time;
+			entry.alloc = (alloc >= 0 && entry.alloc >= 0) ? entry.alloc + alloc : -1;
+			entry.acquireTime += bpTimes[0] - snap[SNAP_ACQUIRE];
+			entry.releaseTime += bpTimes[1] - snap[SNAP_RELEASE];
+			entry.evictTime += bpTimes[2] - snap[SNAP_EVICT];
+			entry.threads = Math.max(entry.threads, (inst instanceof CPInstruction) ? 
+				Math.max(((CPInstruction)inst).getNumThreads(), 1) : 1);
+			maintainOutputCharacteristics(entry, inst, ec);
+		}
+	}
+	
+	/**
+	 * 
+	 * @return profile entries in descending order of execution time
+	 */
+	public static ArrayList<ProfileEntry> getEntries() {
+		ArrayList<ProfileEntry> ret = new ArrayList<ProfileEntry>(_entries.values());
+		Collections.sort(ret, new Comparator<ProfileEntry>() {
+			@Override
+			public int compare(ProfileEntry o1, ProfileEntry o2) {
+				return Long.compare(o2.time, o1.time);
+			}
+		});
+		return ret;
+	}
+	
+	/**
+	 * Writes the profile to the given local file, in the format according 
+	 * to the filename extension.
+	 * 
+	 * @param fname output filename
+	 * @throws IOException
+	 */
+	public static void writeProfile( String fname ) 
+		throws IOException
+	{
+		ArrayList<ProfileEntry> entries = getEntries();
+		ProfileFormat format = getFormat(fname);
+		
+		BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(
+				new FileOutputStream(new File(fname)), "UTF-8"));
+		try {
+			switch( format ) {
+				case JSON:   writeJSON(bw, entries); break;
+				case CSV:    writeCSV(bw, entries); break;
+				case STACKS: writeStacks(bw, entries); break;
+			}
+		}
+		finally {
+			bw.close();
+		}
+		
+		LOG.info("Wrote instruction profile ("+format+", "+entries.size()+" entries) to '"+fname+"'.");
+	}
+	
+	private static void writeJSON( BufferedWriter bw, ArrayList<ProfileEntry> entries ) 
+		throws IOException
+	{
+		bw.write("{\"instructions\":[\n");
+		for( int i=0; i<entries.size(); i++ ) {
+			ProfileEntry e = entries.get(i);
+			bw.write("{\"stack\":\"" + escapeJSON(e.stack) + "\""
+				+ ",\"line\":" + e.line
+				+ ",\"opcode\":\"" + escapeJSON(e.opcode) + "\""
+				+ ",\"count\":" + e.count + ",\"time_ms\":" + toMillis(e.time) 
+				+ ",\"alloc_bytes\":" + e.alloc + ",\"acquire_ms\":" + toMillis(e.acquireTime) 
+				+ ",\"release_ms\":" + toMillis(e.releaseTime) + ",\"evict_ms\":" + toMillis(e.evictTime)
+				+ ",\"rows\":" + e.rows + ",\"cols\":" + e.cols + ",\"nnz\":" + e.nnz 
+				+ ",\"threads\":" + e.threads + "}");
+			bw.write( (i < entries.size()-1) ? ",\n" : "\n" );
+		}
+		bw.write("]}\n");
+	}
+	
+	private static void writeCSV( BufferedWriter bw, ArrayList<ProfileEntry> entries ) 
+		throws IOException
+	{
+		bw.write("stack,line,opcode,count,time_ms,alloc_bytes,acquire_ms,release_ms,evict_ms,rows,cols,nnz,threads\n");
+		for( ProfileEntry e : entries ) {
+			bw.write(escapeCSV(e.stack) + "," + e.line + "," + escapeCSV(e.opcode) + "," 
+				+ e.count + "," + toMillis(e.time) + "," + e.alloc + "," + toMillis(e.acquireTime) + ","
+				+ toMillis(e.releaseTime) + "," + toMillis(e.evictTime) + "," + e.rows + "," + e.cols + ","
+				+ e.nnz + "," + e.threads + "\n");
+		}
+	}
+	
+	private static void writeStacks( BufferedWriter bw, ArrayList<ProfileEntry> entries ) 
+		throws IOException
+	{
+		//one line per entry w/ execution time in microseconds, where function
+		//calls are excluded as their time is covered by the nested instructions
+		for( ProfileEntry e : entries ) {
+			long micros = e.time / 1000;
+			if( e.functionCall || micros <= 0 )
+				continue;
+			bw.write(e.stack + ";L" + e.line + ":" + e.opcode.replace(' ', '_').replace(';', '_') + " " + micros + "\n");
+		}
+	}
+	
+	private static void maintainOutputCharacteristics( ProfileEntry entry, Instruction inst, ExecutionContext ec ) 
+	{
+		String varname = null;
+		if( inst instanceof ComputationCPInstruction )
+			varname = ((ComputationCPInstruction)inst).getOutputVariableName();
+		else if( inst instanceof ComputationSPInstruction )
+			varname = ((ComputationSPInstruction)inst).getOutputVariableName();
+		
+		Data dat = (varname != null) ? ec.getVariables().get(varname) : null;
+		if( dat instanceof CacheableData ) {
+			MatrixCharacteristics mc = ((CacheableData<?>)dat).getMatrixCharacteristics();
+			entry.rows = mc.getRows();
+			entry.cols = mc.getCols();
+			entry.nnz = mc.getNonZeros();
+		}
+		else if( dat instanceof ScalarObject ) {
+			entry.rows = 1;
+			entry.cols = 1;
+			entry.nnz = -1;
+		}
+	}
+	
+	private static String getStack() {
+		ArrayList<String> stack = _stack.get();
+		if( stack.isEmpty() )
+			return ROOT_FRAME;
+		StringBuilder sb = new StringBuilder(ROOT_FRAME);
+		for( String frame : stack ) {
+			sb.append(';');
+			sb.append(frame);
+		}
+		return sb.toString();
+	}
+	
+	private static long getAllocatedBytes() {
+		return (_tmxb != null) ? 
+			_tmxb.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+	}
+	
+	private static com.sun.management.ThreadMXBean createThreadMXBean() 
+	{
+		try {
+			java.lang.management.ThreadMXBean tmxb = ManagementFactory.getThreadMXBean();
+			if( tmxb instanceof com.sun.management.ThreadMXBean ) {
+				com.sun.management.ThreadMXBean ret = (com.sun.management.ThreadMXBean) tmxb;
+				if( ret.isThreadAllocatedMemorySupported() ) {
+					ret.setThreadAllocatedMemoryEnabled(true);
+					return ret;
+				}
+			}
+		}
+		catch(Throwable ex) {
+			LOG.debug("Per-thread allocated bytes not supported: " + ex.getMessage());
+		}
+		return null;
+	}
+	
+	private static String toMillis( long nanos ) {
+		return String.format("%.3f", nanos/1e6);
+	}
+	
+	private static String escapeJSON( String str ) {
+		return str.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+	
+	private static String escapeCSV( String str ) {
+		return str.contains(",") || str.contains("\"") ? 
+			"\"" + str.replace("\"", "\"\"") + "\"" : str;
+	}
+	
+	/**
+	 * Profile entry of an individual instruction, i.e., aggregated over all
+	 * executions of the same opcode at the same script line and stack.
+	 */
+	public static class ProfileEntry
+	{
+		private final String stack;
+		private final int line;
+		private final String opcode;
+		private final boolean functionCall;
+		private long count = 0;
+		private long time = 0;         //in nano sec
+		private long alloc = 0;        //in bytes, -1 if unknown
+		private long acquireTime = 0;  //in nano sec
+		private long releaseTime = 0;  //in nano sec (incl eviction)
+		private long evictTime = 0;    //in nano sec
+		private long rows = -1;
+		private long cols = -1;
+		private long nnz = -1;
+		private int threads = 1;
+		
+		private ProfileEntry( String stack, int line, String opcode, boolean functionCall ) {
+			this.stack = stack;
+			this.line = line;
+			this.opcode = opcode;
+			this.functionCall = functionCall;
+		}
+		
+		public String getStack() { return stack; }
+		public int getLine() { return line; }
+		public String getOpcode() { return opcode; }
+		public synchronized long getCount() { return count; }
+		public synchronized long getTime() { return time; }
+		public synchronized long getAllocatedBytes() { return alloc; }
+		public synchronized long getAcquireTime() { return acquireTime; }
+		public synchronized long getReleaseTime() { return releaseTime; }
+		public synchronized long getEvictionTime() { return evictTime; }
+		public synchronized long getRows() { return rows; }
+		public synchronized long getCols() { return cols; }
+		public synchronized long getNonZeros() { return nnz; }
+		public synchronized int getNumThreads() { return threads; }
+	}
+}
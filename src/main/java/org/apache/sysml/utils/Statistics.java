@@ -32,6 +32,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
@@ -72,7 +73,19 @@ public class Statistics
 	private static AtomicLong hopRecompileTime = new AtomicLong(0); //in nano sec
 	private static AtomicLong hopRecompilePred = new AtomicLong(0); //count
 	private static AtomicLong hopRecompileSB = new AtomicLong(0);   //count
-
+	private static AtomicLong hopRecompileCacheHits = new AtomicLong(0);   //count
+	private static AtomicLong hopRecompileCacheMisses = new AtomicLong(0); //count
+
+	//Compile phase stats (parse, validate, hops, rewrites incl IPA, lops, instructions)
+	private static AtomicLong compileParseTime = new AtomicLong(0);    //in nano sec
+	private static AtomicLong compileValidateTime = new AtomicLong(0); //in nano sec
+	private static AtomicLong compileHopsTime = new AtomicLong(0);     //in nano sec
+	private static AtomicLong compileRewriteTime = new AtomicLong(0);  //in nano sec
+	private static AtomicLong compileLopsTime = new AtomicLong(0);     //in nano sec
+	private static AtomicLong compileInstTime = new AtomicLong(0);     //in nano sec
+	private static AtomicLong programCacheHits = new AtomicLong(0);    //count
+	private static AtomicLong programCacheMisses = new AtomicLong(0);  //count
+	
 	//Function recompile stats 
 	private static AtomicLong funRecompileTime = new AtomicLong(0); //in nano sec
 	private static AtomicLong funRecompiles = new AtomicLong(0); //count
@@ -85,6 +98,15 @@ public class Statistics
 	private static AtomicLong sparkCollectCount = new AtomicLong(0L);
 	private static AtomicLong sparkBroadcast = new AtomicLong(0L);
 	private static AtomicLong sparkBroadcastCount = new AtomicLong(0L);
+	private static AtomicLong sparkBroadcastCacheHits = new AtomicLong(0L);
+	private static AtomicLong sparkBroadcastCacheMisses = new AtomicLong(0L);
+	private static AtomicLong sparkBroadcastBytes = new AtomicLong(0L); //shipped
+	
+	//Buffer pool page cache stats
+	private static AtomicLong pageCacheHits = new AtomicLong(0); //count
+	private static AtomicLong pageCacheLocalHits = new AtomicLong(0); //count
+	private static AtomicLong pageCacheMisses = new AtomicLong(0); //count
+	private static AtomicLong pageCacheDrops = new AtomicLong(0); //count
 
 	//PARFOR optimization stats 
 	private static long parforOptTime = 0; //in milli sec
@@ -292,6 +314,61 @@ public class Statistics
 		hopRecompileSB.addAndGet(delta);
 	}
 
+	public static void incRecompilePlanCacheHits() {
+		hopRecompileCacheHits.incrementAndGet();
+	}
+	
+	public static void incRecompilePlanCacheMisses() {
+		hopRecompileCacheMisses.incrementAndGet();
+	}
+	
+	public static void incrementProgramCacheHits() {
+		programCacheHits.incrementAndGet();
+	}
+	
+	public static void incrementProgramCacheMisses() {
+		programCacheMisses.incrementAndGet();
+	}
+	
+	public static void incrementCompileParseTime( long delta ) {
+		compileParseTime.addAndGet(delta);
+	}
+	
+	public static void incrementCompileValidateTime( long delta ) {
+		compileValidateTime.addAndGet(delta);
+	}
+	
+	public static void incrementCompileHopsTime( long delta ) {
+		compileHopsTime.addAndGet(delta);
+	}
+	
+	public static void incrementCompileRewriteTime( long delta ) {
+		compileRewriteTime.addAndGet(delta);
+	}
+	
+	public static void incrementCompileLopsTime( long delta ) {
+		compileLopsTime.addAndGet(delta);
+	}
+	
+	public static void incrementCompileInstTime( long delta ) {
+		compileInstTime.addAndGet(delta);
+	}
+	
+	/**
+	 * Resets the compile phase times, which are intentionally not reset
+	 * by {@link #reset()} as it is invoked after the initial compilation.
+	 */
+	public static void resetCompilePhaseTimes() {
+		compileParseTime.set(0);
+		compileValidateTime.set(0);
+		compileHopsTime.set(0);
+		compileRewriteTime.set(0);
+		compileLopsTime.set(0);
+		compileInstTime.set(0);
+		programCacheHits.set(0);
+		programCacheMisses.set(0);
+	}
+	
 	public static void incrementFunRecompileTime( long delta ) {
 		//note: not synchronized due to use of atomics
 		funRecompileTime.addAndGet(delta);
@@ -302,6 +379,20 @@ public class Statistics
 		funRecompiles.incrementAndGet();
 	}
 	
+	public static void incrementPageCacheHits(boolean local) {
+		pageCacheHits.incrementAndGet();
+		if( local )
+			pageCacheLocalHits.incrementAndGet();
+	}
+	
+	public static void incrementPageCacheMisses() {
+		pageCacheMisses.incrementAndGet();
+	}
+	
+	public static void incrementPageCacheDrops() {
+		pageCacheDrops.incrementAndGet();
+	}
+	
 	public static synchronized void incrementParForOptimCount(){
 		parforOptCount ++;
 	}
@@ -319,8 +410,10 @@ public class Statistics
 	}
 
 	public static void startCompileTimer() {
-		if( DMLScript.STATISTICS )
+		if( DMLScript.STATISTICS ) {
 			compileStartTime = System.nanoTime();
+			resetCompilePhaseTimes();
+		}
 	}
 
 	public static void stopCompileTimer() {
@@ -362,6 +455,8 @@ public class Statistics
 		hopRecompileTime.set(0);
 		hopRecompilePred.set(0);
 		hopRecompileSB.set(0);
+		hopRecompileCacheHits.set(0);
+		hopRecompileCacheMisses.set(0);
 		
 		parforOptCount = 0;
 		parforOptTime = 0;
@@ -372,6 +467,15 @@ public class Statistics
 		lTotalLixUIP.set(0);
 		lTotalUIPVar.set(0);
 		
+		pageCacheHits.set(0);
+		pageCacheLocalHits.set(0);
+		pageCacheMisses.set(0);
+		pageCacheDrops.set(0);
+		
+		sparkBroadcastCacheHits.set(0);
+		sparkBroadcastCacheMisses.set(0);
+		sparkBroadcastBytes.set(0);
+		
 		resetJITCompileTime();
 		resetJVMgcTime();
 		resetJVMgcCount();
@@ -448,6 +552,30 @@ public class Statistics
 		sparkBroadcastCount.addAndGet(c);
 	}
 	
+	public static void incSparkBroadcastCacheHits() {
+		sparkBroadcastCacheHits.incrementAndGet();
+	}
+	
+	public static void incSparkBroadcastCacheMisses() {
+		sparkBroadcastCacheMisses.incrementAndGet();
+	}
+	
+	public static void incSparkBroadcastBytes(long bytes) {
+		sparkBroadcastBytes.addAndGet(bytes);
+	}
+	
+	public static long getSparkBroadcastCacheHits() {
+		return sparkBroadcastCacheHits.get();
+	}
+	
+	public static long getSparkBroadcastCacheMisses() {
+		return sparkBroadcastCacheMisses.get();
+	}
+	
+	public static long getSparkBroadcastBytes() {
+		return sparkBroadcastBytes.get();
+	}
+	
 	
 	public static String getCPHeavyHitterCode( Instruction inst )
 	{
@@ -586,6 +714,46 @@ public class Statistics
 		return hopRecompileSB.get();
 	}
 	
+	public static long getHopRecompilePlanCacheHits(){
+		return hopRecompileCacheHits.get();
+	}
+	
+	public static long getHopRecompilePlanCacheMisses(){
+		return hopRecompileCacheMisses.get();
+	}
+	
+	public static long getProgramCacheHits(){
+		return programCacheHits.get();
+	}
+	
+	public static long getProgramCacheMisses(){
+		return programCacheMisses.get();
+	}
+	
+	public static long getCompileParseTime(){
+		return compileParseTime.get();
+	}
+	
+	public static long getCompileValidateTime(){
+		return compileValidateTime.get();
+	}
+	
+	public static long getCompileHopsTime(){
+		return compileHopsTime.get();
+	}
+	
+	public static long getCompileRewriteTime(){
+		return compileRewriteTime.get();
+	}
+	
+	public static long getCompileLopsTime(){
+		return compileLopsTime.get();
+	}
+	
+	public static long getCompileInstTime(){
+		return compileInstTime.get();
+	}
+	
 	public static long getFunRecompileTime(){
 		return funRecompileTime.get();
 	}
@@ -623,6 +791,16 @@ public class Statistics
 		if( DMLScript.STATISTICS ) {
 			sb.append("Total elapsed time:\t\t" + String.format("%.3f", (getCompileTime()+getRunTime())*1e-9) + " sec.\n"); // nanoSec --> sec
 			sb.append("Total compilation time:\t\t" + String.format("%.3f", getCompileTime()*1e-9) + " sec.\n"); // nanoSec --> sec
+			sb.append("Compile phases (PRS/VAL/HOP/RW/LOP/INST):\t" 
+					+ String.format("%.3f", compileParseTime.get()*1e-9) + "/"
+					+ String.format("%.3f", compileValidateTime.get()*1e-9) + "/"
+					+ String.format("%.3f", compileHopsTime.get()*1e-9) + "/"
+					+ String.format("%.3f", compileRewriteTime.get()*1e-9) + "/"
+					+ String.format("%.3f", compileLopsTime.get()*1e-9) + "/"
+					+ String.format("%.3f", compileInstTime.get()*1e-9) + " sec.\n");
+			if( programCacheHits.get()+programCacheMisses.get() > 0 )
+				sb.append("Compiled program cache (hit, miss):\t" + programCacheHits.get() 
+					+ "/" + programCacheMisses.get() + ".\n");
 		}
 		sb.append("Total execution time:\t\t" + String.format("%.3f", getRunTime()*1e-9) + " sec.\n"); // nanoSec --> sec
 		if( OptimizerUtils.isSparkExecutionMode() ) {
@@ -659,12 +837,20 @@ public class Statistics
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( CacheableData.CACHING_BUFFER_PAGECACHE )
+				sb.append("Cache pages (hit/local, miss, drop):\t" + pageCacheHits.get() + "/" 
+					+ pageCacheLocalHits.get() + ", " + pageCacheMisses.get() + ", " + pageCacheDrops.get() + ".\n");
+			if( CacheableData.CACHING_BUFFER_MMAP )
+				sb.append("Cache mmap (hit, miss, write, bytes r/w):\t" + CacheStatistics.displayMMap() + ".\n");
 			if(DMLScript.REUSE_NONZEROED_OUTPUT) {
 				sb.append("Allocation time (Dense/Sparse):\t" + String.format("%.3f", denseBlockAllocationTime.doubleValue()/1000000000) 
 						+ "/" + String.format("%.3f", sparseBlockAllocationTime.doubleValue()/1000000000)  + " sec.\n");
 			}
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
+			if( hopRecompileCacheHits.get()+hopRecompileCacheMisses.get() > 0 )
+				sb.append("HOP DAGs plan cache (hit, miss):\t" + hopRecompileCacheHits.get() 
+					+ "/" + hopRecompileCacheMisses.get() + ".\n");
 			if( getFunRecompiles()>0 ) {
 				sb.append("Functions recompiled:\t\t" + getFunRecompiles() + ".\n");
 				sb.append("Functions recompile time:\t" + String.format("%.3f", ((double)getFunRecompileTime())/1000000000) + " sec.\n");	
@@ -681,6 +867,8 @@ public class Statistics
 								 ((double)sparkParallelize.get())*1e-9,
 								 ((double)sparkBroadcast.get())*1e-9,
 								 ((double)sparkCollect.get())*1e-9));
+				sb.append("Spark bc cache (hit, miss, bytes):\t" + sparkBroadcastCacheHits.get() + ", " 
+						+ sparkBroadcastCacheMisses.get() + ", " + sparkBroadcastBytes.get() + ".\n");
 			}
 			if( parforOptCount>0 ){
 				sb.append("ParFor loops optimized:\t\t" + getParforOptCount() + ".\n");
@@ -167,6 +167,16 @@ public class FullGroupedAggregateMatrixTest extends AutomatedTestBase
 		runGroupedAggregateOperationTest(TEST_NAME1, OpType.SUM, true, ExecType.CP, cols2);
 	}
 	
+	@Test
+	public void testGroupedAggMeanDenseWideCP() {
+		runGroupedAggregateOperationTest(TEST_NAME1, OpType.MEAN, false, ExecType.CP, cols2);
+	}
+	
+	@Test
+	public void testGroupedAggVarSparseWideCP() {
+		runGroupedAggregateOperationTest(TEST_NAME1, OpType.VARIANCE, true, ExecType.CP, cols2);
+	}
+	
 	//special CP testcases (negative)
 	
 	@Test
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.aggregate;
+
+import org.junit.Test;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.mr.GroupedAggregateInstruction;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Component test for multi-column grouped aggregates, which compares the 
+ * single- and multi-threaded one-pass aggregation of all target columns 
+ * with separate grouped aggregates per target column.
+ * 
+ */
+public class GroupedAggregateMultiColumnTest extends AutomatedTestBase 
+{
+	private final static int rows = 4073;
+	private final static int cols = 347;
+	private final static int numGroups = 523; //multiple column blocks
+	private final static int k = 4;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSumDense() throws DMLRuntimeException {
+		runGroupedAggregateTest("sum", false, false);
+	}
+	
+	@Test
+	public void testSumSparse() throws DMLRuntimeException {
+		runGroupedAggregateTest("sum", true, false);
+	}
+	
+	@Test
+	public void testSumDenseWeighted() throws DMLRuntimeException {
+		runGroupedAggregateTest("sum", false, true);
+	}
+	
+	@Test
+	public void testSumSparseWeighted() throws DMLRuntimeException {
+		runGroupedAggregateTest("sum", true, true);
+	}
+	
+	@Test
+	public void testMeanDense() throws DMLRuntimeException {
+		runGroupedAggregateTest("mean", false, false);
+	}
+	
+	@Test
+	public void testVarianceSparseWeighted() throws DMLRuntimeException {
+		runGroupedAggregateTest("variance", true, true);
+	}
+	
+	/**
+	 * 
+	 * @param fn
+	 * @param sparse
+	 * @param weighted
+	 * @throws DMLRuntimeException
+	 */
+	private void runGroupedAggregateTest(String fn, boolean sparse, boolean weighted) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock target = MatrixBlock.randOperations(rows, cols, sparse?0.05:0.9, -1, 1, "uniform", 7);
+		MatrixBlock groups = DataConverter.convertToMatrixBlock(
+			TestUtils.round(getRandomMatrix(rows, 1, 1, numGroups, 1.0, 3)));
+		MatrixBlock weights = weighted ? MatrixBlock.randOperations(rows, 1, 1.0, 1, 3, "uniform", 9) : null;
+		Operator op = GroupedAggregateInstruction.parseGroupedAggOperator(fn, null);
+		
+		//one-pass multi-column grouped aggregates (single- and multi-threaded)
+		MatrixBlock ret1 = groups.groupedAggOperations(target, weights, new MatrixBlock(), numGroups, op, 1);
+		MatrixBlock retk = groups.groupedAggOperations(target, weights, new MatrixBlock(), numGroups, op, k);
+		
+		//grouped aggregates per target column
+		double[][] expected = new double[numGroups][cols];
+		for( int j=0; j<cols; j++ ) {
+			MatrixBlock col = target.sliceOperations(0, rows-1, j, j, new MatrixBlock());
+			MatrixBlock tmp = groups.groupedAggOperations(col, weights, new MatrixBlock(), numGroups, op, 1);
+			for( int i=0; i<numGroups; i++ )
+				expected[i][j] = tmp.quickGetValue(i, 0);
+		}
+		
+		//compare results
+		TestUtils.compareMatrices(expected, DataConverter.convertToDoubleMatrix(ret1), numGroups, cols, eps);
+		TestUtils.compareMatrices(expected, DataConverter.convertToDoubleMatrix(retk), numGroups, cols, eps);
+	}
+}
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.CM;
+import org.apache.sysml.runtime.functionobjects.COV;
+import org.apache.sysml.runtime.instructions.CPInstructionParser;
+import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysml.runtime.instructions.cp.CentralMomentCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.CovarianceCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.QuantilePickCPInstruction;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCM;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.CMOperator;
+import org.apache.sysml.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysml.runtime.matrix.operators.COVOperator;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Component test for multi-threaded central moment and covariance, which 
+ * compares the sequential and multi-threaded results, as well as for the
+ * selection-based quantiles, which are compared with the sort-based quantiles.
+ * 
+ */
+public class CentralMomentCovarianceMultiThreadedTest extends AutomatedTestBase 
+{
+	private final static int rows = 1234567;
+	private final static int rows2 = 10007;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1;
+	private final static int k = 4;
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testCentralMomentDense() throws DMLRuntimeException {
+		runCentralMomentTest(false, false);
+	}
+	
+	@Test
+	public void testCentralMomentSparse() throws DMLRuntimeException {
+		runCentralMomentTest(true, false);
+	}
+	
+	@Test
+	public void testCentralMomentWeightsDense() throws DMLRuntimeException {
+		runCentralMomentTest(false, true);
+	}
+	
+	@Test
+	public void testCentralMomentWeightsSparse() throws DMLRuntimeException {
+		runCentralMomentTest(true, true);
+	}
+	
+	@Test
+	public void testCovarianceDense() throws DMLRuntimeException {
+		runCovarianceTest(false, false);
+	}
+	
+	@Test
+	public void testCovarianceSparse() throws DMLRuntimeException {
+		runCovarianceTest(true, false);
+	}
+	
+	@Test
+	public void testCovarianceWeightsDense() throws DMLRuntimeException {
+		runCovarianceTest(false, true);
+	}
+	
+	@Test
+	public void testCovarianceWeightsSparse() throws DMLRuntimeException {
+		runCovarianceTest(true, true);
+	}
+	
+	@Test
+	public void testQuantileSelectionDense() throws DMLRuntimeException {
+		runQuantileSelectionTest(false);
+	}
+	
+	@Test
+	public void testQuantileSelectionSparse() throws DMLRuntimeException {
+		runQuantileSelectionTest(true);
+	}
+	
+	@Test(expected=DMLRuntimeException.class)
+	public void testQuantileSelectionRowVector() throws DMLRuntimeException {
+		//unsorted row vectors are rejected instead of being picked as sorted input
+		MatrixBlock A = MatrixBlock.randOperations(1, rows2, sparsity1, -10, 10, "uniform", 7);
+		LibMatrixCM.median(A);
+	}
+	
+	@Test
+	public void testParseCentralMoment() throws DMLRuntimeException {
+		runParseCentralMomentTest(false, -1);
+	}
+	
+	@Test
+	public void testParseCentralMomentThreads() throws DMLRuntimeException {
+		runParseCentralMomentTest(false, k);
+	}
+	
+	@Test
+	public void testParseCentralMomentWeightsThreads() throws DMLRuntimeException {
+		runParseCentralMomentTest(true, k);
+	}
+	
+	@Test
+	public void testParseCovariance() throws DMLRuntimeException {
+		runParseCovarianceTest(false, -1);
+	}
+	
+	@Test
+	public void testParseCovarianceWeightsThreads() throws DMLRuntimeException {
+		runParseCovarianceTest(true, k);
+	}
+	
+	@Test
+	public void testParseQuantilePickSorted() throws DMLRuntimeException {
+		runParseQuantilePickTest(true);
+	}
+	
+	@Test
+	public void testParseQuantilePickUnsorted() throws DMLRuntimeException {
+		runParseQuantilePickTest(false);
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @param weights
+	 * @throws DMLRuntimeException
+	 */
+	private void runCentralMomentTest(boolean sparse, boolean weights) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock A = MatrixBlock.randOperations(rows, 1, sparse?sparsity2:sparsity1, -1, 1, "uniform", 7);
+		MatrixBlock W = weights ? MatrixBlock.randOperations(rows, 1, 1.0, 1, 5, "uniform", 3) : null;
+		
+		for( int order : new int[]{0, 2, 3, 4} ) {
+			AggregateOperationTypes type = CMOperator.getCMAggOpType(order);
+			CMOperator op1 = new CMOperator(CM.getCMFnObject(type), type);
+			CMOperator opk = new CMOperator(CM.getCMFnObject(type), type);
+			
+			//sequential and multi-threaded results
+			CM_COV_Object ret1 = weights ? A.cmOperations(op1, W, 1) : A.cmOperations(op1, 1);
+			CM_COV_Object retk = weights ? A.cmOperations(opk, W, k) : A.cmOperations(opk, k);
+			
+			Assert.assertEquals(ret1.getWeight(), retk.getWeight(), eps*ret1.getWeight());
+			Assert.assertEquals(ret1.getRequiredResult(op1), retk.getRequiredResult(opk), eps);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @param weights
+	 * @throws DMLRuntimeException
+	 */
+	private void runCovarianceTest(boolean sparse, boolean weights) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock A = MatrixBlock.randOperations(rows, 1, sparse?sparsity2:sparsity1, -1, 1, "uniform", 7);
+		MatrixBlock B = MatrixBlock.randOperations(rows, 1, sparse?sparsity2:sparsity1, -1, 1, "uniform", 11);
+		MatrixBlock W = weights ? MatrixBlock.randOperations(rows, 1, 1.0, 1, 5, "uniform", 3) : null;
+		COVOperator op = new COVOperator(COV.getCOMFnObject());
+		
+		//sequential and multi-threaded results
+		CM_COV_Object ret1 = weights ? A.covOperations(op, B, W, 1) : A.covOperations(op, B, 1);
+		CM_COV_Object retk = weights ? A.covOperations(op, B, W, k) : A.covOperations(op, B, k);
+		
+		Assert.assertEquals(ret1.getWeight(), retk.getWeight(), eps*ret1.getWeight());
+		Assert.assertEquals(ret1.getRequiredResult(op), retk.getRequiredResult(op), eps);
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @throws DMLRuntimeException
+	 */
+	private void runQuantileSelectionTest(boolean sparse) 
+		throws DMLRuntimeException
+	{
+		//odd and even number of rows for median w/ and w/o averaging
+		for( int n : new int[]{rows2, rows2+1} ) {
+			MatrixBlock A = MatrixBlock.randOperations(n, 1, sparse?sparsity2:sparsity1, -10, 10, "uniform", 7);
+			MatrixBlock S = (MatrixBlock) A.sortOperations(null, new MatrixBlock());
+			
+			//median via sort and selection
+			Assert.assertEquals(S.median(), LibMatrixCM.median(A), eps);
+			
+			//quantiles via sort and selection, incl. quantiles that hit the zero values
+			for( double q : new double[]{0, 0.01, 0.25, 0.5, 0.5 + sparsity2/4, 0.75, 0.99, 1} )
+				Assert.assertEquals(S.pickValue(q), LibMatrixCM.pickValue(A, q, false), eps);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param sorted
+	 * @throws DMLRuntimeException
+	 */
+	private void runParseQuantilePickTest(boolean sorted) 
+		throws DMLRuntimeException
+	{
+		String inst = "CP" + Lop.OPERAND_DELIMITOR + (sorted ? "qpick" : "qselect")
+			+ Lop.OPERAND_DELIMITOR + createOperand("A", "MATRIX")
+			+ Lop.OPERAND_DELIMITOR + createOperand("B", "SCALAR")
+			+ Lop.OPERAND_DELIMITOR + "MEDIAN" + Lop.OPERAND_DELIMITOR + "true";
+		
+		//selection mode is given by the opcode, independent of the input dimensions
+		QuantilePickCPInstruction qpick = (QuantilePickCPInstruction) 
+			CPInstructionParser.parseSingleInstruction(inst);
+		Assert.assertEquals(sorted, qpick.isSortedInput());
+		Assert.assertEquals("A", qpick.input1.getName());
+		Assert.assertEquals("B", qpick.getOutputVariableName());
+	}
+	
+	/**
+	 * 
+	 * @param weights
+	 * @param numThreads number of threads, or -1 for instructions w/o k
+	 * @throws DMLRuntimeException
+	 */
+	private void runParseCentralMomentTest(boolean weights, int numThreads) 
+		throws DMLRuntimeException
+	{
+		String inst = "CP" + Lop.OPERAND_DELIMITOR + "cm" 
+			+ Lop.OPERAND_DELIMITOR + createOperand("A", "MATRIX")
+			+ (weights ? Lop.OPERAND_DELIMITOR + createOperand("W", "MATRIX") : "")
+			+ Lop.OPERAND_DELIMITOR + "2" + Lop.DATATYPE_PREFIX + "SCALAR" + Lop.VALUETYPE_PREFIX + "INT" + Lop.VALUETYPE_PREFIX + "true"
+			+ Lop.OPERAND_DELIMITOR + createOperand("B", "SCALAR")
+			+ ((numThreads > 0) ? Lop.OPERAND_DELIMITOR + numThreads : "");
+		
+		CentralMomentCPInstruction cm = (CentralMomentCPInstruction) 
+			CPInstructionParser.parseSingleInstruction(inst);
+		Assert.assertEquals("A", cm.input1.getName());
+		Assert.assertEquals("B", cm.getOutputVariableName());
+		Assert.assertEquals(Math.max(numThreads, 1), cm.getNumThreads());
+	}
+	
+	/**
+	 * 
+	 * @param weights
+	 * @param numThreads number of threads, or -1 for instructions w/o k
+	 * @throws DMLRuntimeException
+	 */
+	private void runParseCovarianceTest(boolean weights, int numThreads) 
+		throws DMLRuntimeException
+	{
+		String inst = "CP" + Lop.OPERAND_DELIMITOR + "cov" 
+			+ Lop.OPERAND_DELIMITOR + createOperand("A", "MATRIX")
+			+ Lop.OPERAND_DELIMITOR + createOperand("C", "MATRIX")
+			+ (weights ? Lop.OPERAND_DELIMITOR + createOperand("W", "MATRIX") : "")
+			+ Lop.OPERAND_DELIMITOR + createOperand("B", "SCALAR")
+			+ ((numThreads > 0) ? Lop.OPERAND_DELIMITOR + numThreads : "");
+		
+		CovarianceCPInstruction cov = (CovarianceCPInstruction) 
+			CPInstructionParser.parseSingleInstruction(inst);
+		Assert.assertEquals("A", cov.input1.getName());
+		Assert.assertEquals("C", cov.input2.getName());
+		Assert.assertEquals("B", cov.getOutputVariableName());
+		Assert.assertEquals(Math.max(numThreads, 1), cov.getNumThreads());
+	}
+	
+	private static String createOperand(String var, String dt) {
+		return var + Lop.DATATYPE_PREFIX + dt + Lop.VALUETYPE_PREFIX + "DOUBLE";
+	}
+}
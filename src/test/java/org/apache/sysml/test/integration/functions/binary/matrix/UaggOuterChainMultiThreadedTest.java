@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Component test for multi-threaded unary aggregate outer chains, which 
+ * compares the results of single- and multi-threaded rowSums, colSums, 
+ * sum, and rowIndexMax over outer comparisons.
+ * 
+ */
+public class UaggOuterChainMultiThreadedTest extends AutomatedTestBase 
+{
+	private final static int rows = 23457;
+	private final static int cols = 1137;
+	private final static int k = 4;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testRowSumsLess() throws DMLRuntimeException {
+		runUaggOuterChainTest("uark+", "<", false);
+	}
+	
+	@Test
+	public void testRowSumsEquals() throws DMLRuntimeException {
+		runUaggOuterChainTest("uark+", "==", false);
+	}
+	
+	@Test
+	public void testColSumsGreaterEquals() throws DMLRuntimeException {
+		runUaggOuterChainTest("uack+", ">=", true);
+	}
+	
+	@Test
+	public void testSumLessEquals() throws DMLRuntimeException {
+		runUaggOuterChainTest("uak+", "<=", false);
+	}
+	
+	@Test
+	public void testRowIndexMaxGreater() throws DMLRuntimeException {
+		runUaggOuterChainTest("uarimax", ">", false);
+	}
+	
+	/**
+	 * 
+	 * @param aggop
+	 * @param bop
+	 * @param colAgg
+	 * @throws DMLRuntimeException
+	 */
+	private void runUaggOuterChainTest(String aggop, String bop, boolean colAgg) 
+		throws DMLRuntimeException
+	{
+		//left: vector to aggregate over, right: vector for outer comparisons
+		MatrixBlock left = colAgg ? MatrixBlock.randOperations(1, rows, 0.9, 0, 10, "uniform", 7) :
+			MatrixBlock.randOperations(rows, 1, 0.9, 0, 10, "uniform", 7);
+		MatrixBlock right = colAgg ? MatrixBlock.randOperations(cols, 1, 1.0, 0, 10, "uniform", 3) :
+			MatrixBlock.randOperations(1, cols, 1.0, 0, 10, "uniform", 3);
+		AggregateUnaryOperator uaggOp = InstructionUtils.parseBasicAggregateUnaryOperator(aggop);
+		BinaryOperator bOp = InstructionUtils.parseBinaryOperator(bop);
+		
+		MatrixBlock ret1 = left.uaggouterchainOperations(left, right, null, bOp, uaggOp, 1);
+		MatrixBlock retk = left.uaggouterchainOperations(left, right, null, bOp, uaggOp, k);
+		
+		//compare results and maintained nnz
+		int m = ret1.getNumRows(), n = ret1.getNumColumns();
+		Assert.assertEquals(m, retk.getNumRows());
+		Assert.assertEquals(n, retk.getNumColumns());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(retk), m, n, eps);
+		ret1.recomputeNonZeros();
+		Assert.assertEquals(ret1.getNonZeros(), retk.getNonZeros());
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.binary.matrix_full_cellwise;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.GreaterThan;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Component test for multi-threaded cellwise binary operations, which 
+ * compares the sequential and multi-threaded results (incl. nnz) for inputs 
+ * above the parallelization threshold.
+ * 
+ */
+public class FullCellwiseMultiThreadedTest extends AutomatedTestBase 
+{
+	private final static int rows = 1501;
+	private final static int cols = 1023;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static int k = 4;
+	private final static double eps = 1e-10;
+	
+	public enum OperandType {
+		MATRIX,
+		ROW_VECTOR,
+		COL_VECTOR,
+		SCALAR,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testMatrixMatrixDense() throws DMLRuntimeException {
+		runCellwiseMultiThreadedTest(OperandType.MATRIX, false);
+	}
+	
+	@Test
+	public void testMatrixMatrixSparse() throws DMLRuntimeException {
+		runCellwiseMultiThreadedTest(OperandType.MATRIX, true);
+	}
+	
+	@Test
+	public void testMatrixRowVectorDense() throws DMLRuntimeException {
+		runCellwiseMultiThreadedTest(OperandType.ROW_VECTOR, false);
+	}
+	
+	@Test
+	public void testMatrixRowVectorSparse() throws DMLRuntimeException {
+		runCellwiseMultiThreadedTest(OperandType.ROW_VECTOR, true);
+	}
+	
+	@Test
+	public void testMatrixColVectorDense() throws DMLRuntimeException {
+		runCellwiseMultiThreadedTest(OperandType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testMatrixColVectorSparse() throws DMLRuntimeException {
+		runCellwiseMultiThreadedTest(OperandType.COL_VECTOR, true);
+	}
+	
+	@Test
+	public void testMatrixScalarDense() throws DMLRuntimeException {
+		runCellwiseMultiThreadedTest(OperandType.SCALAR, false);
+	}
+	
+	@Test
+	public void testMatrixScalarSparse() throws DMLRuntimeException {
+		runCellwiseMultiThreadedTest(OperandType.SCALAR, true);
+	}
+	
+	/**
+	 * 
+	 * @param type
+	 * @param sparse
+	 * @throws DMLRuntimeException
+	 */
+	private void runCellwiseMultiThreadedTest(OperandType type, boolean sparse) 
+		throws DMLRuntimeException
+	{
+		double sparsity = sparse ? sparsity2 : sparsity1;
+		MatrixBlock A = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		
+		//sparse-safe and sparse-unsafe operations
+		ValueFunction[] fns = new ValueFunction[]{ Plus.getPlusFnObject(), 
+			Minus.getMinusFnObject(), Multiply.getMultiplyFnObject(), GreaterThan.getGreaterThanFnObject() };
+		
+		for( ValueFunction fn : fns ) 
+		{
+			MatrixBlock ret1 = null, retk = null;
+			if( type == OperandType.SCALAR ) {
+				for( boolean left : new boolean[]{true, false} ) {
+					ScalarOperator sop1 = left ? new LeftScalarOperator(fn, 0.5) : new RightScalarOperator(fn, 0.5);
+					ScalarOperator sopk = left ? new LeftScalarOperator(fn, 0.5, k) : new RightScalarOperator(fn, 0.5, k);
+					ret1 = (MatrixBlock) A.scalarOperations(sop1, new MatrixBlock());
+					retk = (MatrixBlock) A.scalarOperations(sopk, new MatrixBlock());
+					compareResults(ret1, retk);
+				}
+			}
+			else {
+				int brows = (type == OperandType.ROW_VECTOR) ? 1 : rows;
+				int bcols = (type == OperandType.COL_VECTOR) ? 1 : cols;
+				MatrixBlock B = MatrixBlock.randOperations(brows, bcols, sparsity, -1, 1, "uniform", 3);
+				ret1 = (MatrixBlock) A.binaryOperations(new BinaryOperator(fn), B, new MatrixBlock());
+				retk = (MatrixBlock) A.binaryOperations(new BinaryOperator(fn, k), B, new MatrixBlock());
+				compareResults(ret1, retk);
+			}
+		}
+	}
+	
+	/**
+	 * 
+	 * @param ret1
+	 * @param retk
+	 * @throws DMLRuntimeException
+	 */
+	private void compareResults(MatrixBlock ret1, MatrixBlock retk) 
+		throws DMLRuntimeException
+	{
+		//compare exact nnz with maintained nnz of multi-threaded result
+		ret1.recomputeNonZeros();
+		Assert.assertEquals(ret1.getNonZeros(), retk.getNonZeros());
+		
+		//compare cell values
+		double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] dk = DataConverter.convertToDoubleMatrix(retk);
+		TestUtils.compareMatrices(d1, dk, rows, cols, eps);
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.context.SparkCheckpointManager;
+import org.apache.sysml.runtime.controlprogram.context.SparkCheckpointManager.ReuseInfo;
+import org.apache.sysml.runtime.instructions.CPInstructionParser;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the reuse analysis of the runtime checkpoint manager, which
+ * determines storage levels and early unpersist of checkpoints.
+ */
+public class CheckpointReuseAnalysisTest extends AutomatedTestBase 
+{
+	private final static String VAR = "_mVar2";
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testReuseSingleConsumer() throws DMLRuntimeException {
+		ArrayList<Instruction> inst = new ArrayList<Instruction>();
+		inst.add(createBinary("+", VAR, "_mVar1", "_mVar3"));
+		inst.add(createBinary("+", "_mVar3", "_mVar1", "_mVar4"));
+		inst.add(createRmvar(VAR));
+		ReuseInfo ri = SparkCheckpointManager.analyzeReuse(inst, 0, VAR);
+		Assert.assertEquals(1, ri.getNumConsumers());
+		Assert.assertTrue(ri.getLastConsumer() == inst.get(0));
+		Assert.assertFalse(ri.hasSparkConsumers());
+	}
+	
+	@Test
+	public void testReuseMultipleConsumers() throws DMLRuntimeException {
+		ArrayList<Instruction> inst = new ArrayList<Instruction>();
+		inst.add(createBinary("+", VAR, VAR, "_mVar3"));
+		inst.add(createBinary("*", "_mVar3", VAR, "_mVar4"));
+		inst.add(createBinary("-", "_mVar4", "_mVar3", "_mVar5"));
+		inst.add(createRmvar(VAR));
+		ReuseInfo ri = SparkCheckpointManager.analyzeReuse(inst, 0, VAR);
+		Assert.assertEquals(3, ri.getNumConsumers());
+		Assert.assertTrue(ri.getLastConsumer() == inst.get(1));
+	}
+	
+	@Test
+	public void testReuseNoConsumers() throws DMLRuntimeException {
+		ArrayList<Instruction> inst = new ArrayList<Instruction>();
+		inst.add(createBinary("+", "_mVar1", "_mVar1", "_mVar3"));
+		inst.add(createRmvar(VAR));
+		ReuseInfo ri = SparkCheckpointManager.analyzeReuse(inst, 0, VAR);
+		Assert.assertEquals(0, ri.getNumConsumers());
+		Assert.assertNull(ri.getLastConsumer());
+	}
+	
+	@Test
+	public void testReuseLiveOut() throws DMLRuntimeException {
+		ArrayList<Instruction> inst = new ArrayList<Instruction>();
+		inst.add(createBinary("+", VAR, "_mVar1", "_mVar3"));
+		ReuseInfo ri = SparkCheckpointManager.analyzeReuse(inst, 0, VAR);
+		Assert.assertEquals(SparkCheckpointManager.UNBOUNDED_REUSE, ri.getNumConsumers());
+	}
+	
+	@Test
+	public void testReuseAlias() throws DMLRuntimeException {
+		ArrayList<Instruction> inst = new ArrayList<Instruction>();
+		inst.add(CPInstructionParser.parseSingleInstruction(
+			"CP" + Lop.OPERAND_DELIMITOR + "cpvar" + Lop.OPERAND_DELIMITOR 
+			+ VAR + Lop.OPERAND_DELIMITOR + "B"));
+		inst.add(createRmvar(VAR));
+		ReuseInfo ri = SparkCheckpointManager.analyzeReuse(inst, 0, VAR);
+		Assert.assertEquals(SparkCheckpointManager.UNBOUNDED_REUSE, ri.getNumConsumers());
+	}
+	
+	private static Instruction createBinary(String opcode, String in1, String in2, String out) 
+		throws DMLRuntimeException
+	{
+		return CPInstructionParser.parseSingleInstruction(
+			"CP" + Lop.OPERAND_DELIMITOR + opcode 
+			+ Lop.OPERAND_DELIMITOR + createOperand(in1)
+			+ Lop.OPERAND_DELIMITOR + createOperand(in2)
+			+ Lop.OPERAND_DELIMITOR + createOperand(out));
+	}
+	
+	private static Instruction createRmvar(String var) 
+		throws DMLRuntimeException
+	{
+		return CPInstructionParser.parseSingleInstruction(
+			"CP" + Lop.OPERAND_DELIMITOR + "rmvar" + Lop.OPERAND_DELIMITOR + var);
+	}
+	
+	private static String createOperand(String var) {
+		return var + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "DOUBLE";
+	}
+}
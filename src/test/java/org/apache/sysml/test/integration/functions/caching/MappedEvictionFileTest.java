@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MappedEvictionFile;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the memory-mapped eviction file, both as a component (write, 
+ * restore, delete and reuse of extents, concurrent reads and deletes) 
+ * and as the eviction backend of the lazy write buffer.
+ */
+public class MappedEvictionFileTest extends AutomatedTestBase 
+{
+	private final static int SEG_SIZE = 4*1024*1024; //4MB
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testWriteReadDense() throws Exception {
+		runWriteReadTest(false);
+	}
+	
+	@Test
+	public void testWriteReadSparse() throws Exception {
+		runWriteReadTest(true);
+	}
+	
+	@Test
+	public void testDeleteReuse() throws Exception {
+		MappedEvictionFile mfile = createMappedFile(2L*SEG_SIZE);
+		try {
+			//fill mapped file until no free extent is large enough
+			MatrixBlock mb = MatrixBlock.randOperations(200, 200, 1.0, -1, 1, "uniform", 7);
+			ArrayList<String> keys = new ArrayList<String>();
+			while( mfile.writeBlock("b"+keys.size(), mb, mb.getExactSerializedSize()) )
+				keys.add("b"+keys.size());
+			Assert.assertTrue(keys.size() > 0);
+			Assert.assertTrue(mfile.getSize() <= mfile.getCapacity());
+			
+			//release all extents (in interleaved order, which requires coalescing)
+			for( int i=0; i<keys.size(); i+=2 )
+				Assert.assertTrue(mfile.deleteBlock(keys.get(i)));
+			for( int i=1; i<keys.size(); i+=2 )
+				Assert.assertTrue(mfile.deleteBlock(keys.get(i)));
+			Assert.assertEquals(0, mfile.getSize());
+			Assert.assertFalse(mfile.containsBlock(keys.get(0)));
+			
+			//write block that only fits into an entire coalesced segment
+			MatrixBlock mb2 = MatrixBlock.randOperations(500, 1000, 1.0, -1, 1, "uniform", 3);
+			Assert.assertTrue(mfile.writeBlock("large", mb2, mb2.getExactSerializedSize()));
+			compareBlocks(mb2, (MatrixBlock)mfile.readBlock("large"));
+		}
+		finally {
+			mfile.close();
+		}
+	}
+	
+	@Test
+	public void testWriteFailureRelease() throws Exception {
+		MappedEvictionFile mfile = createMappedFile(SEG_SIZE);
+		try {
+			//block serialization that fails with an io exception
+			MatrixBlock mb = MatrixBlock.randOperations(200, 200, 1.0, -1, 1, "uniform", 7);
+			MatrixBlock mbErr = new MatrixBlock(mb) {
+				private static final long serialVersionUID = 1L;
+				@Override
+				public void write(DataOutput out) throws IOException {
+					throw new IOException("Failed write.");
+				}
+			};
+			try {
+				mfile.writeBlock("b", mbErr, mb.getExactSerializedSize());
+				Assert.fail("Expected io exception.");
+			}
+			catch(IOException ex) {
+				//expected
+			}
+			
+			//extent of the failed write is released
+			Assert.assertEquals(0, mfile.getSize());
+			Assert.assertFalse(mfile.containsBlock("b"));
+			Assert.assertTrue(mfile.writeBlock("b", mb, mb.getExactSerializedSize()));
+			compareBlocks(mb, (MatrixBlock)mfile.readBlock("b"));
+		}
+		finally {
+			mfile.close();
+		}
+	}
+	
+	@Test
+	public void testConcurrentReadDelete() throws Exception {
+		final MappedEvictionFile mfile = createMappedFile(SEG_SIZE);
+		final MatrixBlock mb1 = MatrixBlock.randOperations(300, 300, 1.0, 1, 1, "uniform", 7);
+		final MatrixBlock mb2 = MatrixBlock.randOperations(300, 300, 1.0, 2, 2, "uniform", 3);
+		mfile.writeBlock("b", mb1, mb1.getExactSerializedSize());
+		
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			ArrayList<Callable<Boolean>> tasks = new ArrayList<Callable<Boolean>>();
+			//concurrent delete and re-allocation of the extent w/ different content
+			tasks.add(new Callable<Boolean>() {
+				@Override
+				public Boolean call() throws Exception {
+					for( int i=0; i<200; i++ ) {
+						mfile.deleteBlock("b");
+						MatrixBlock mb = (i%2==0) ? mb2 : mb1;
+						mfile.writeBlock("b", mb, mb.getExactSerializedSize());
+					}
+					return true;
+				}
+			});
+			//concurrent reads only see consistent blocks (or no block)
+			for( int t=0; t<3; t++ )
+				tasks.add(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws Exception {
+						for( int i=0; i<200; i++ ) {
+							MatrixBlock mb = (MatrixBlock) mfile.readBlock("b");
+							if( mb != null && mb.sum() != 300*300 && mb.sum() != 2*300*300 )
+								return false;
+						}
+						return true;
+					}
+				});
+			List<Future<Boolean>> rets = pool.invokeAll(tasks);
+			for( Future<Boolean> ret : rets )
+				Assert.assertTrue(ret.get());
+		}
+		finally {
+			pool.shutdown();
+			mfile.close();
+		}
+	}
+	
+	@Test
+	public void testBufferPoolEvictionRestore() throws Exception {
+		boolean oldStats = DMLScript.STATISTICS;
+		try {
+			//enable memory-mapped eviction file via configuration
+			DMLConfig conf = new DMLConfig();
+			conf.setTextValue(DMLConfig.CP_CACHING_MMAP, "true");
+			ConfigurationManager.setLocalConfig(conf);
+			LocalFileUtils.createWorkingDirectory();
+			CacheableData.initCaching();
+			Assert.assertTrue(CacheableData.CACHING_BUFFER_MMAP);
+			DMLScript.STATISTICS = true;
+			CacheStatistics.reset();
+			
+			//write blocks that exceed the buffer pool size (evictions)
+			MatrixBlock mb = MatrixBlock.randOperations(1000, 1000, 1.0, -1, 1, "uniform", 7);
+			int numBlocks = (int)(LazyWriteBuffer.getWriteBufferSize() / mb.getExactSerializedSize()) + 3;
+			for( int i=0; i<numBlocks; i++ )
+				LazyWriteBuffer.writeBlock("blk"+i, mb);
+			Assert.assertTrue(CacheStatistics.getMMapWrites() > 0);
+			
+			//restore all blocks (evicted blocks from the mapped file)
+			for( int i=0; i<numBlocks; i++ )
+				compareBlocks(mb, (MatrixBlock)LazyWriteBuffer.readBlock("blk"+i, true));
+			Assert.assertTrue(CacheStatistics.getMMapHits() > 0);
+			Assert.assertEquals(0, CacheStatistics.getMMapMisses());
+			
+			for( int i=0; i<numBlocks; i++ )
+				LazyWriteBuffer.deleteBlock("blk"+i);
+		}
+		finally {
+			CacheableData.cleanupCacheDir();
+			LocalFileUtils.cleanupWorkingDirectory();
+			ConfigurationManager.clearLocalConfigs();
+			CacheableData.CACHING_BUFFER_MMAP = false;
+			DMLScript.STATISTICS = oldStats;
+		}
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @throws Exception
+	 */
+	private void runWriteReadTest(boolean sparse) 
+		throws Exception
+	{
+		MappedEvictionFile mfile = createMappedFile(2L*SEG_SIZE);
+		try {
+			MatrixBlock mb1 = MatrixBlock.randOperations(400, 300, sparse?0.1:0.9, -1, 1, "uniform", 7);
+			MatrixBlock mb2 = MatrixBlock.randOperations(300, 400, sparse?0.1:0.9, -1, 1, "uniform", 3);
+			Assert.assertEquals(sparse, mb1.isInSparseFormat());
+			
+			Assert.assertTrue(mfile.writeBlock("b1", mb1, mb1.getExactSerializedSize()));
+			Assert.assertTrue(mfile.writeBlock("b2", mb2, mb2.getExactSerializedSize()));
+			Assert.assertTrue(mfile.containsBlock("b1") && mfile.containsBlock("b2"));
+			Assert.assertTrue(mfile.getSize() >= mb1.getExactSerializedSize() + mb2.getExactSerializedSize());
+			
+			//restore blocks and compare
+			compareBlocks(mb1, (MatrixBlock)mfile.readBlock("b1"));
+			compareBlocks(mb2, (MatrixBlock)mfile.readBlock("b2"));
+			Assert.assertNull(mfile.readBlock("b3"));
+		}
+		finally {
+			mfile.close();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param capacity
+	 * @return
+	 * @throws Exception
+	 */
+	private MappedEvictionFile createMappedFile(long capacity) 
+		throws Exception
+	{
+		File f = File.createTempFile("systemml_mmap", ".dat");
+		f.deleteOnExit();
+		return new MappedEvictionFile(f.getAbsolutePath(), capacity, SEG_SIZE);
+	}
+	
+	/**
+	 * 
+	 * @param mb1
+	 * @param mb2
+	 * @throws Exception
+	 */
+	private static void compareBlocks(MatrixBlock mb1, MatrixBlock mb2) 
+		throws Exception
+	{
+		Assert.assertNotNull(mb2);
+		Assert.assertEquals(mb1.getNonZeros(), mb2.getNonZeros());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(mb1);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(mb2);
+		TestUtils.compareMatrices(d1, d2, mb1.getNumRows(), mb1.getNumColumns(), eps);
+	}
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.PageCache;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the size-class page pool of serialized cache blocks, i.e., 
+ * the reuse of pages, the overhead of size classes, the byte budget, 
+ * the eviction of soft references, and the thread-local fast path.
+ */
+public class PageCacheTest extends AutomatedTestBase 
+{
+	private final static int SMALL_SIZE = 5000; //thread-local size class
+	private final static int LARGE_SIZE = 8*1024*1024+1; //global size class
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testPageReuse() {
+		PageCache.init();
+		try {
+			//page is reused for differently sized requests of the same class
+			byte[] page = new byte[(int)PageCache.getPageSize(SMALL_SIZE)];
+			PageCache.putPage(page);
+			Assert.assertSame(page, PageCache.getPage(SMALL_SIZE-300));
+			Assert.assertNull(PageCache.getPage(SMALL_SIZE));
+			
+			//pages that do not match a size class are dropped
+			PageCache.putPage(new byte[SMALL_SIZE]);
+			Assert.assertNull(PageCache.getPage(SMALL_SIZE));
+		}
+		finally {
+			PageCache.clear();
+		}
+	}
+	
+	@Test
+	public void testPageOverhead() {
+		for( long size=1; size<=(1L<<30); size=size*3/2+7 ) {
+			long psize = PageCache.getPageSize(size);
+			Assert.assertTrue(psize >= size);
+			Assert.assertTrue(size <= 4096 || psize <= size * 1.125);
+			Assert.assertEquals(psize, PageCache.getPageSize(psize));
+			
+			//the write buffer is charged with the page size
+			ByteBuffer bbuff = new ByteBuffer(size, true);
+			Assert.assertTrue(bbuff.getReservedSize() >= size);
+			Assert.assertTrue(size <= 4096 || bbuff.getReservedSize() <= size * 1.125);
+		}
+	}
+	
+	@Test
+	public void testPoolBudget() {
+		PageCache.init();
+		try {
+			//strong references prevent reclaiming pooled pages
+			long psize = PageCache.getPageSize(LARGE_SIZE);
+			int numPages = (int)(PageCache.getPoolBudget() / psize);
+			ArrayList<byte[]> pages = new ArrayList<byte[]>();
+			for( int i=0; i<numPages+2; i++ ) {
+				byte[] page = new byte[(int)psize];
+				pages.add(page);
+				PageCache.putPage(page);
+				Assert.assertTrue(PageCache.getPoolSize() <= PageCache.getPoolBudget());
+			}
+			Assert.assertEquals(numPages * psize, PageCache.getPoolSize());
+			
+			//all pooled pages are reusable, pages over budget were dropped
+			for( int i=0; i<numPages; i++ )
+				Assert.assertNotNull(PageCache.getPage(LARGE_SIZE));
+			Assert.assertNull(PageCache.getPage(LARGE_SIZE));
+			Assert.assertEquals(0, PageCache.getPoolSize());
+		}
+		finally {
+			PageCache.clear();
+		}
+	}
+	
+	@Test
+	public void testSoftReferenceEviction() {
+		PageCache.init();
+		try {
+			long psize = PageCache.getPageSize(LARGE_SIZE);
+			int numPages = (int)Math.min(PageCache.getPoolBudget() / psize, 4);
+			for( int i=0; i<numPages; i++ )
+				PageCache.putPage(new byte[(int)psize]);
+			Assert.assertEquals(numPages * psize, PageCache.getPoolSize());
+			
+			//memory pressure clears all soft references before an OOM
+			try {
+				ArrayList<byte[]> tmp = new ArrayList<byte[]>();
+				while( true )
+					tmp.add(new byte[32*1024*1024]);
+			}
+			catch(OutOfMemoryError ex) {
+				//expected
+			}
+			
+			//reclaimed pages are not returned, and released from the budget
+			Assert.assertNull(PageCache.getPage(LARGE_SIZE));
+			Assert.assertEquals(0, PageCache.getPoolSize());
+		}
+		finally {
+			PageCache.clear();
+		}
+	}
+	
+	@Test
+	public void testThreadLocalFastPath() throws Exception {
+		PageCache.init();
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			//first small page is kept in the thread-local slot
+			byte[] page1 = new byte[(int)PageCache.getPageSize(SMALL_SIZE)];
+			PageCache.putPage(page1);
+			Assert.assertEquals(0, PageCache.getPoolSize());
+			Assert.assertNull(pool.submit(new GetPageTask(SMALL_SIZE)).get());
+			
+			//second small page goes to the global pool (slot occupied)
+			byte[] page2 = new byte[(int)PageCache.getPageSize(SMALL_SIZE)];
+			PageCache.putPage(page2);
+			Assert.assertEquals(page2.length, PageCache.getPoolSize());
+			Assert.assertSame(page2, pool.submit(new GetPageTask(SMALL_SIZE)).get());
+			
+			//thread-local page is only visible to the owning thread
+			Assert.assertSame(page1, PageCache.getPage(SMALL_SIZE));
+			Assert.assertNull(PageCache.getPage(SMALL_SIZE));
+		}
+		finally {
+			pool.shutdown();
+			PageCache.clear();
+		}
+	}
+	
+	private static class GetPageTask implements Callable<byte[]> {
+		private final int _size;
+		
+		public GetPageTask(int size) {
+			_size = size;
+		}
+		
+		@Override
+		public byte[] call() {
+			return PageCache.getPage(_size);
+		}
+	}
+}
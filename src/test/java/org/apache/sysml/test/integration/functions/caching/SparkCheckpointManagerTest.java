@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.context.SparkCheckpointManager;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the runtime decisions of the spark checkpoint manager (storage levels, 
+ * compressed checkpoints, early unpersist) for a loop over a checkpointed dense 
+ * input that exceeds the storage budget, against the compiled checkpoints.
+ */
+public class SparkCheckpointManagerTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "SparkCheckpointManager";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + SparkCheckpointManagerTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 2500;
+	private final static int cols = 300;
+	private final static double budget = 1e-6; //fraction of data memory budget
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) ); 
+	}
+	
+	@Test
+	public void testCheckpointStorageLevels() {
+		runCheckpointManagerTest(true, false, false);
+	}
+	
+	@Test
+	public void testCheckpointCompressed() {
+		runCheckpointManagerTest(true, true, false);
+	}
+	
+	@Test
+	public void testCheckpointEarlyUnpersist() {
+		runCheckpointManagerTest(true, false, true);
+	}
+	
+	@Test
+	public void testCheckpointAll() {
+		runCheckpointManagerTest(true, true, true);
+	}
+	
+	private void runCheckpointManagerTest(boolean levels, boolean compress, boolean unpersist) 
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		
+		rtplatform = RUNTIME_PLATFORM.SPARK;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", input("X"), output("R") };
+			
+			//generate and write dense, compressible input
+			double[][] X = TestUtils.round(getRandomMatrix(rows, cols, 0, 5, 1.0, 7));
+			writeInputMatrixWithMTD("X", X, true);
+			
+			//run with compiled checkpoints (reference)
+			setCheckpointConfig(false, false, false, 1.0);
+			runTest(true, false, null, -1); 
+			HashMap<CellIndex, Double> ref = readDMLMatrixFromHDFS("R");
+			
+			//run with runtime checkpoint decisions and exceeded budget
+			setCheckpointConfig(levels, compress, unpersist, budget);
+			runTest(true, false, null, -1); 
+			HashMap<CellIndex, Double> ret = readDMLMatrixFromHDFS("R");
+			
+			//compare results
+			TestUtils.compareMatrices(ref, ret, eps, "Stat-Compiled", "Stat-Runtime");
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			setCheckpointConfig(false, false, false, 1.0);
+		}
+	}
+	
+	private static void setCheckpointConfig(boolean levels, boolean compress, boolean unpersist, double budget) {
+		SparkCheckpointManager.RUNTIME_STORAGE_LEVELS = levels;
+		SparkCheckpointManager.COMPRESSED_CHECKPOINTS = compress;
+		SparkCheckpointManager.EARLY_UNPERSIST = unpersist;
+		SparkCheckpointManager.STORAGE_BUDGET_FRACTION = budget;
+	}
+}
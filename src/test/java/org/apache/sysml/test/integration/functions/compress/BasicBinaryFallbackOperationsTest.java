@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Binary operations with matrix or column vector operands, which are
+ * not applicable to the distinct values and hence fall back to the
+ * uncompressed matrix block.
+ */
+public class BasicBinaryFallbackOperationsTest extends AutomatedTestBase
+{	
+	private static final int rows = 1321;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+	}
+	
+	public enum OperandType {
+		MATRIX,
+		COL_VECTOR,
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testDenseMatrixCompression() {
+		runBinaryFallbackOperationsTest(SparsityType.DENSE, OperandType.MATRIX, true);
+	}
+	
+	@Test
+	public void testSparseMatrixCompression() {
+		runBinaryFallbackOperationsTest(SparsityType.SPARSE, OperandType.MATRIX, true);
+	}
+	
+	@Test
+	public void testDenseColVectorCompression() {
+		runBinaryFallbackOperationsTest(SparsityType.DENSE, OperandType.COL_VECTOR, true);
+	}
+	
+	@Test
+	public void testSparseColVectorCompression() {
+		runBinaryFallbackOperationsTest(SparsityType.SPARSE, OperandType.COL_VECTOR, true);
+	}
+	
+	@Test
+	public void testDenseMatrixNoCompression() {
+		runBinaryFallbackOperationsTest(SparsityType.DENSE, OperandType.MATRIX, false);
+	}
+	
+	@Test
+	public void testSparseMatrixNoCompression() {
+		runBinaryFallbackOperationsTest(SparsityType.SPARSE, OperandType.MATRIX, false);
+	}
+	
+	@Test
+	public void testDenseColVectorNoCompression() {
+		runBinaryFallbackOperationsTest(SparsityType.DENSE, OperandType.COL_VECTOR, false);
+	}
+	
+	@Test
+	public void testSparseColVectorNoCompression() {
+		runBinaryFallbackOperationsTest(SparsityType.SPARSE, OperandType.COL_VECTOR, false);
+	}
+	
+	/**
+	 * 
+	 * @param sptype
+	 * @param otype
+	 * @param compress
+	 */
+	private void runBinaryFallbackOperationsTest(SparsityType sptype, OperandType otype, boolean compress)
+	{
+		try
+		{
+			//generate input data
+			double sparsity = (sptype==SparsityType.DENSE) ? sparsity1 : sparsity2;
+			double[][] input = TestUtils.round(TestUtils.generateTestMatrix(rows, cols, -10, 10, sparsity, 7));
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//generate matrix or column vector operand (incl zeros)
+			int ocols = (otype==OperandType.MATRIX) ? cols : 1;
+			double[][] operand = TestUtils.generateTestMatrix(rows, ocols, -1, 1, 0.7, 3);
+			MatrixBlock ob = DataConverter.convertToMatrixBlock(operand);
+			
+			//binary uncompressed
+			BinaryOperator bop = new BinaryOperator(Multiply.getMultiplyFnObject());
+			MatrixBlock ret1 = (MatrixBlock)mb.binaryOperations(bop, ob, new MatrixBlock());
+			
+			//binary compressed (fallback to uncompressed)
+			MatrixBlock ret2 = (MatrixBlock)cmb.binaryOperations(bop, ob, new MatrixBlock());
+			Assert.assertFalse(ret2 instanceof CompressedMatrixBlock 
+					&& ((CompressedMatrixBlock)ret2).isCompressed());
+			
+			//compare exact number of non-zeros
+			ret1.recomputeNonZeros();
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
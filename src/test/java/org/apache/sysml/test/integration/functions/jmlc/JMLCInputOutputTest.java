@@ -198,4 +198,52 @@ public class JMLCInputOutputTest extends AutomatedTestBase {
 		conn.close();
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testMatrixInputOutputDenseArray() throws DMLException {
+		Connection conn = new Connection();
+		String str = "X = read('./tmp/X', rows=-1, cols=-1);\nY = X * 2;\nwrite(Y, './tmp/Y');";
+		PreparedScript script = conn.prepareScript(str, new String[] { "X" }, new String[] { "Y" }, false);
+
+		double[] X = new double[] { 1, 2, 0, 4, 5, 6 };
+		script.setMatrix("X", X, 2, 3, false);
+		double[] Y = script.executeScript().getDenseMatrix("Y");
+		Assert.assertArrayEquals(new double[] { 2, 4, 0, 8, 10, 12 }, Y, 0);
+		Assert.assertArrayEquals(new double[] { 1, 2, 0, 4, 5, 6 }, X, 0);
+		conn.close();
+	}
+
+	@Test
+	public void testMatrixInputOutputCSRArrays() throws DMLException {
+		Connection conn = new Connection();
+		String str = "X = read('./tmp/X', rows=-1, cols=-1);\nY = X * 2;\nwrite(Y, './tmp/Y');";
+		PreparedScript script = conn.prepareScript(str, new String[] { "X" }, new String[] { "Y" }, false);
+
+		//3x4 matrix with non-zeros (0,1)=1, (2,0)=3, (2,3)=4, empty row 1
+		int[] rowPtr = new int[] { 0, 1, 1, 3 };
+		int[] colIdx = new int[] { 1, 0, 3 };
+		double[] vals = new double[] { 1, 3, 4 };
+		script.setMatrix("X", rowPtr, colIdx, vals, 3, 4, false);
+		double[] Y = script.executeScript().getDenseMatrix("Y");
+		Assert.assertArrayEquals(new double[] { 0, 2, 0, 0, 0, 0, 0, 0, 6, 0, 0, 8 }, Y, 0);
+		conn.close();
+	}
+
+	@Test
+	public void testFrameInputOutputColumns() throws DMLException {
+		Connection conn = new Connection();
+		String str = "F = read('./tmp/F', data_type='frame', format='csv');\nwrite(F, './tmp/R', format='csv');";
+		PreparedScript script = conn.prepareScript(str, new String[] { "F" }, new String[] { "R" }, false);
+
+		String[] c1 = new String[] { "a", "b", "c" };
+		long[] c2 = new long[] { 1, 2, 3 };
+		double[] c3 = new double[] { 1.5, 2.5, 3.5 };
+		script.setFrame("F", new Object[] { c1, c2, c3 }, null, false);
+		Object[] R = script.executeScript().getFrameColumns("R");
+		Assert.assertEquals(3, R.length);
+		Assert.assertArrayEquals(c1, (String[]) R[0]);
+		Assert.assertArrayEquals(c2, (long[]) R[1]);
+		Assert.assertArrayEquals(c3, (double[]) R[2], 0);
+		conn.close();
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.jmlc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.PreparedScriptPool;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Concurrent scoring via pooled copies of a prepared script, 
+ * compared against sequential scoring with the original script.
+ */
+public class PreparedScriptPoolTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "reuse-glm-predict";
+	private final static String TEST_NAME2 = "reuse-msvm-predict";
+	private final static String TEST_DIR = "functions/jmlc/";
+	private final static String MODEL_FILE = "sentiment_model.mtx";
+	private final static String TEST_CLASS_DIR = TEST_DIR + PreparedScriptPoolTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 107;
+	private final static int cols = 46; //fixed
+	
+	private final static int nRuns = 24;
+	private final static int nThreads = 4;
+	
+	private final static double sparsity = 0.7;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "predicted_y" }) ); 
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "predicted_y" }) );
+	}
+	
+	@Test
+	public void testJMLCPoolGLMDeep() throws IOException {
+		runJMLCPoolTest(TEST_NAME1, true);
+	}
+	
+	@Test
+	public void testJMLCPoolGLMShallow() throws IOException {
+		runJMLCPoolTest(TEST_NAME1, false);
+	}
+	
+	@Test
+	public void testJMLCPoolMSVMDeep() throws IOException {
+		runJMLCPoolTest(TEST_NAME2, true);
+	}
+	
+	@Test
+	public void testJMLCPoolMSVMShallow() throws IOException {
+		runJMLCPoolTest(TEST_NAME2, false);
+	}
+
+	/**
+	 * 
+	 * @param testname
+	 * @param deep
+	 * @throws IOException
+	 */
+	private void runJMLCPoolTest( String testname, boolean deep ) 
+		throws IOException
+	{	
+		TestConfiguration config = getTestConfiguration(testname);
+		loadTestConfiguration(config);
+		
+		//generate inputs
+		final ArrayList<double[][]> Xset = new ArrayList<double[][]>();
+		for( int i=0; i<nRuns; i++ )
+			Xset.add(getRandomMatrix(rows, cols, -1, 1, sparsity, 7+i));
+		
+		Connection conn = new Connection();
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		
+		try
+		{
+			//read and precompile script, bind model with reuse
+			String script = conn.readScript(SCRIPT_DIR + TEST_DIR + testname + ".dml");	
+			PreparedScript pstmt = conn.prepareScript(script, new String[]{"X","W"}, new String[]{"predicted_y"}, false);
+			String modelData = conn.readScript(SCRIPT_DIR + TEST_DIR + MODEL_FILE );
+			double[][] W = conn.convertToDoubleMatrix(modelData, rows, cols); 
+			pstmt.setMatrix("W", W, true);
+			
+			//sequential scoring with the original script
+			ArrayList<double[][]> Yset = new ArrayList<double[][]>();
+			for( int i=0; i<nRuns; i++ ) {
+				pstmt.setMatrix("X", Xset.get(i));
+				Yset.add(pstmt.executeScript().getMatrix("predicted_y"));
+			}
+			
+			//concurrent scoring with pooled copies
+			final PreparedScriptPool spool = new PreparedScriptPool(pstmt, nThreads, deep);
+			spool.prepare(2);
+			ArrayList<Future<double[][]>> rets = new ArrayList<Future<double[][]>>();
+			for( int i=0; i<nRuns; i++ ) {
+				final double[][] X = Xset.get(i);
+				rets.add(pool.submit(new Callable<double[][]>() {
+					@Override
+					public double[][] call() throws Exception {
+						PreparedScript ps = spool.acquire();
+						try {
+							ps.setMatrix("X", X);
+							ResultVariables rs = ps.executeScript();
+							return rs.getMatrix("predicted_y");
+						}
+						finally {
+							spool.release(ps);
+						}
+					}
+				}));
+			}
+			
+			//compare results
+			for( int i=0; i<nRuns; i++ )
+				TestUtils.compareMatrices(Yset.get(i), rets.get(i).get(), 
+					Yset.get(i).length, Yset.get(i)[0].length, eps);
+			Assert.assertTrue(spool.getNumIdle() <= nThreads);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new IOException(ex);
+		}
+		finally {
+			pool.shutdown();
+			conn.close();
+		}
+	}
+}
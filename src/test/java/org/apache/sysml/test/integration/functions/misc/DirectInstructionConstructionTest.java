@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.BinaryOp;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.OpOp2;
+import org.apache.sysml.hops.LiteralOp;
+import org.apache.sysml.hops.MemoTable;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.lops.compile.Dag;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.InstructionParser;
+import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Checks that instructions constructed directly by the lop compiler and 
+ * VariableCPInstruction.prepare* are equal (w.r.t. all instance fields) 
+ * to the instructions obtained by parsing their instruction strings.
+ */
+public class DirectInstructionConstructionTest extends AutomatedTestBase 
+{
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testRemoveVariable() throws Exception {
+		checkParsedInstruction(VariableCPInstruction.prepareRemoveInstruction("_mVar1"));
+	}
+	
+	@Test
+	public void testCopyVariable() throws Exception {
+		checkParsedInstruction(VariableCPInstruction.prepareCopyInstruction("_mVar1", "A"));
+	}
+	
+	@Test
+	public void testMoveVariable() throws Exception {
+		checkParsedInstruction(VariableCPInstruction.prepareMoveInstruction("_mVar1", "A"));
+	}
+	
+	@Test
+	public void testMoveVariableFile() throws Exception {
+		checkParsedInstruction(VariableCPInstruction.prepareMoveInstruction("_mVar1", "./out/A", "binary"));
+	}
+	
+	@Test
+	public void testCreateMatrixVariableBinary() throws Exception {
+		checkParsedInstruction(VariableCPInstruction.prepareCreateVariableInstruction("_mVar1", "./tmp/A", 
+			true, DataType.MATRIX, "binaryblock", new MatrixCharacteristics(1000, 10, 1000, 1000, 7000), UpdateType.COPY));
+	}
+	
+	@Test
+	public void testCreateMatrixVariableTextInplace() throws Exception {
+		checkParsedInstruction(VariableCPInstruction.prepareCreateVariableInstruction("_mVar1", "./tmp/A", 
+			false, DataType.MATRIX, "textcell", new MatrixCharacteristics(-1, 10, 1000, 1000, -1), UpdateType.INPLACE));
+	}
+	
+	@Test
+	public void testCreateFrameVariableBinary() throws Exception {
+		checkParsedInstruction(VariableCPInstruction.prepareCreateVariableInstruction("_fVar1", "./tmp/F", 
+			true, DataType.FRAME, "binaryblock", new MatrixCharacteristics(1000, 10, 1000, 1000, -1), UpdateType.COPY));
+	}
+	
+	@Test
+	public void testCreateMatrixVariableCSV() throws Exception {
+		checkParsedInstruction(VariableCPInstruction.prepareCreateVariableInstruction("_mVar1", "./tmp/A", 
+			true, DataType.MATRIX, "csv", new MatrixCharacteristics(1000, 10, 1000, 1000, 7000), UpdateType.COPY, true, ";", false));
+	}
+	
+	@Test
+	public void testCreateFrameVariableCSV() throws Exception {
+		checkParsedInstruction(VariableCPInstruction.prepareCreateVariableInstruction("_fVar1", "./tmp/F", 
+			false, DataType.FRAME, "csv", new MatrixCharacteristics(1000, 10, 1000, 1000, -1), UpdateType.COPY, false, ",", true));
+	}
+	
+	@Test
+	public void testScalarArithmeticLopCompile() throws Exception {
+		boolean flagOld = OptimizerUtils.ALLOW_DIRECT_INSTRUCTION_CONSTRUCTION;
+		try {
+			OptimizerUtils.ALLOW_DIRECT_INSTRUCTION_CONSTRUCTION = true;
+			
+			//scalar inputs (variables and literals)
+			Hop a = createScalarRead("a", ValueType.DOUBLE);
+			Hop b = createScalarRead("b", ValueType.INT);
+			Hop s = createScalarRead("s", ValueType.STRING);
+			
+			//scalar arithmetic over variable and literal operands
+			ArrayList<Hop> hops = new ArrayList<Hop>();
+			hops.add(createScalarWrite("c1", createBinary(a, b, OpOp2.PLUS, ValueType.DOUBLE)));
+			hops.add(createScalarWrite("c2", createBinary(b, new LiteralOp(2), OpOp2.PLUS, ValueType.INT)));
+			hops.add(createScalarWrite("c3", createBinary(new LiteralOp(7), b, OpOp2.MINUS, ValueType.INT)));
+			hops.add(createScalarWrite("c4", createBinary(a, new LiteralOp(2), OpOp2.MULT, ValueType.DOUBLE)));
+			hops.add(createScalarWrite("c5", createBinary(a, new LiteralOp(3.5), OpOp2.DIV, ValueType.DOUBLE)));
+			hops.add(createScalarWrite("c6", createBinary(b, new LiteralOp(3), OpOp2.MODULUS, ValueType.INT)));
+			hops.add(createScalarWrite("c7", createBinary(a, b, OpOp2.INTDIV, ValueType.DOUBLE)));
+			hops.add(createScalarWrite("c8", createBinary(a, new LiteralOp(2), OpOp2.POW, ValueType.DOUBLE)));
+			hops.add(createScalarWrite("c9", createBinary(s, a, OpOp2.PLUS, ValueType.STRING)));
+			hops.add(createScalarWrite("c10", createBinary(createBinary(a, b, OpOp2.MINUS, 
+				ValueType.DOUBLE), a, OpOp2.MULT, ValueType.DOUBLE)));
+			
+			//compile hops to lops and instructions (similar to recompile)
+			Hop.resetVisitStatus(hops);
+			MemoTable memo = new MemoTable();
+			for( Hop hop : hops )
+				hop.refreshMemEstimates(memo);
+			Dag<Lop> dag = new Dag<Lop>();
+			for( Hop hop : hops )
+				hop.constructLops().addToDag(dag);
+			ArrayList<Instruction> insts = dag.getJobs(ConfigurationManager.getDMLConfig());
+			
+			//compare all generated instructions with their parsed counterparts
+			int numArithmetic = 0;
+			for( Instruction inst : insts ) {
+				checkParsedInstruction(inst);
+				numArithmetic += inst.getOpcode().matches("\\+|-|\\*|/|%%|%/%|\\^") ? 1 : 0;
+			}
+			Assert.assertEquals("Unexpected number of scalar arithmetic instructions.", 11, numArithmetic);
+		}
+		finally {
+			OptimizerUtils.ALLOW_DIRECT_INSTRUCTION_CONSTRUCTION = flagOld;
+		}
+	}
+	
+	/**
+	 * 
+	 * @param name
+	 * @param vt
+	 * @return
+	 */
+	private static Hop createScalarRead(String name, ValueType vt) {
+		return new DataOp(name, DataType.SCALAR, vt, DataOpTypes.TRANSIENTREAD, name, 0, 0, -1, -1, -1);
+	}
+	
+	/**
+	 * 
+	 * @param name
+	 * @param input
+	 * @return
+	 */
+	private static Hop createScalarWrite(String name, Hop input) {
+		return new DataOp(name, DataType.SCALAR, input.getValueType(), input, DataOpTypes.TRANSIENTWRITE, name);
+	}
+	
+	/**
+	 * 
+	 * @param in1
+	 * @param in2
+	 * @param op
+	 * @param vt
+	 * @return
+	 */
+	private static Hop createBinary(Hop in1, Hop in2, OpOp2 op, ValueType vt) {
+		return new BinaryOp("tmp", DataType.SCALAR, vt, op, in1, in2);
+	}
+	
+	/**
+	 * Parses the instruction string of the given instruction and 
+	 * compares all instance fields of both instructions.
+	 * 
+	 * @param inst
+	 * @throws Exception
+	 */
+	private static void checkParsedInstruction(Instruction inst) 
+		throws Exception 
+	{
+		Instruction parsed = InstructionParser.parseSingleInstruction(inst.toString());
+		parsed.setLocation(inst);
+		compareFields(inst, parsed, inst.toString());
+	}
+	
+	/**
+	 * Recursively compares the non-static fields of the given objects, 
+	 * except for unique instruction IDs.
+	 * 
+	 * @param o1
+	 * @param o2
+	 * @param path
+	 * @throws IllegalAccessException
+	 */
+	private static void compareFields(Object o1, Object o2, String path) 
+		throws IllegalAccessException 
+	{
+		if( o1 == o2 )
+			return;
+		Assert.assertNotNull("Missing value: " + path, o1);
+		Assert.assertNotNull("Missing value: " + path, o2);
+		Assert.assertEquals("Different classes: " + path, o1.getClass(), o2.getClass());
+		
+		if( o1 instanceof String || o1 instanceof Number || o1 instanceof Boolean 
+			|| o1 instanceof Character || o1 instanceof Enum ) {
+			Assert.assertEquals("Different values: " + path, o1, o2);
+		}
+		else if( o1.getClass().isArray() ) {
+			Assert.assertEquals("Different lengths: " + path, Array.getLength(o1), Array.getLength(o2));
+			for( int i=0; i<Array.getLength(o1); i++ )
+				compareFields(Array.get(o1, i), Array.get(o2, i), path + "[" + i + "]");
+		}
+		else {
+			for( Class<?> c = o1.getClass(); c != null && c != Object.class; c = c.getSuperclass() )
+				for( Field f : c.getDeclaredFields() ) {
+					if( Modifier.isStatic(f.getModifiers()) || f.getName().equals("instID") )
+						continue;
+					f.setAccessible(true);
+					compareFields(f.get(o1), f.get(o2), path + "." + f.getName());
+				}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibMatrixFusedCell;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator;
+import org.apache.sysml.runtime.matrix.operators.FusedCellOperator.CellType;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Component test for multi-threaded fused cellwise operations, which 
+ * compares the results of single- and multi-threaded execution for all
+ * cell types over dense and sparse(-safe) inputs.
+ * 
+ */
+public class FusedCellMultiThreadedTest extends AutomatedTestBase 
+{
+	private final static int rows = 3071;
+	private final static int cols = 1137;
+	private final static int k = 4;
+	private final static double eps = 1e-8;
+	
+	private final static String PROGRAM_DENSE = "i:0,i:1,b:-,l:2.0,b:^";   //(X-Y)^2
+	private final static String PROGRAM_SPARSE = "i:0,i:1,u:abs,b:*";     //X*abs(Y)
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testNoAggDense() throws DMLRuntimeException {
+		runFusedCellTest(PROGRAM_DENSE, CellType.NO_AGG, false);
+	}
+	
+	@Test
+	public void testNoAggSparse() throws DMLRuntimeException {
+		runFusedCellTest(PROGRAM_SPARSE, CellType.NO_AGG, true);
+	}
+	
+	@Test
+	public void testRowAggDense() throws DMLRuntimeException {
+		runFusedCellTest(PROGRAM_DENSE, CellType.ROW_AGG, false);
+	}
+	
+	@Test
+	public void testRowAggSparse() throws DMLRuntimeException {
+		runFusedCellTest(PROGRAM_SPARSE, CellType.ROW_AGG, true);
+	}
+	
+	@Test
+	public void testColAggDense() throws DMLRuntimeException {
+		runFusedCellTest(PROGRAM_DENSE, CellType.COL_AGG, false);
+	}
+	
+	@Test
+	public void testColAggSparse() throws DMLRuntimeException {
+		runFusedCellTest(PROGRAM_SPARSE, CellType.COL_AGG, true);
+	}
+	
+	@Test
+	public void testFullAggDense() throws DMLRuntimeException {
+		runFusedCellTest(PROGRAM_DENSE, CellType.FULL_AGG, false);
+	}
+	
+	@Test
+	public void testFullAggSparse() throws DMLRuntimeException {
+		runFusedCellTest(PROGRAM_SPARSE, CellType.FULL_AGG, true);
+	}
+	
+	/**
+	 * 
+	 * @param program
+	 * @param type
+	 * @param sparse
+	 * @throws DMLRuntimeException
+	 */
+	private void runFusedCellTest(String program, CellType type, boolean sparse) 
+		throws DMLRuntimeException
+	{
+		double sp = sparse ? 0.05 : 0.9;
+		MatrixBlock X = MatrixBlock.randOperations(rows, cols, sp, -1, 1, "uniform", 7);
+		MatrixBlock Y = MatrixBlock.randOperations(rows, cols, 0.9, -1, 1, "uniform", 3);
+		MatrixBlock[] inputs = new MatrixBlock[]{X, Y};
+		double[] scalars = new double[inputs.length];
+		FusedCellOperator op = new FusedCellOperator(program, type);
+		
+		MatrixBlock ret1 = LibMatrixFusedCell.execute(inputs, scalars, op, 1);
+		MatrixBlock retk = LibMatrixFusedCell.execute(inputs, scalars, op, k);
+		
+		//compare results and maintained nnz
+		int m = ret1.getNumRows(), n = ret1.getNumColumns();
+		Assert.assertEquals(m, retk.getNumRows());
+		Assert.assertEquals(n, retk.getNumColumns());
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(retk), m, n, eps);
+		Assert.assertEquals(ret1.getNonZeros(), retk.getNonZeros());
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.InstructionProfiler;
+import org.apache.sysml.utils.InstructionProfiler.ProfileEntry;
+
+public class InstructionProfilerTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "InstructionProfiler";
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + InstructionProfilerTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 350;
+	private final static int cols = 40;
+	private final static int iters = 3;
+	private final static int loopLine = 34; //line of Z = Z + 1
+	private final static double sparsity = 0.7;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testProfileJSON() {
+		runInstructionProfilerTest("profile.json");
+	}
+	
+	@Test
+	public void testProfileCSV() {
+		runInstructionProfilerTest("profile.csv");
+	}
+	
+	@Test
+	public void testProfileStacks() {
+		runInstructionProfilerTest("profile.folded");
+	}
+
+	/**
+	 * 
+	 * @param fname
+	 */
+	private void runInstructionProfilerTest( String fname )
+	{	
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			File profile = new File(getCurLocalTempDir(), fname);
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-profile", profile.getPath(), "-args", 
+				input("X"), Integer.toString(iters), output("R") };
+			
+			double[][] X = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			runTest(true, false, null, -1); 
+			
+			//compare with expected result 2*X+1+iters
+			double[][] R = new double[rows][cols];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					R[i][j] = 2 * X[i][j] + 1 + iters;
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = TestUtils.convert2DDoubleArrayToHashMap(R);
+			TestUtils.compareMatrices(dmlfile, expected, eps, "DML", "Expected");
+			
+			//check profile entries of loop body and function
+			boolean loop = false, function = false;
+			for( ProfileEntry e : InstructionProfiler.getEntries() ) {
+				if( e.getLine() == loopLine && e.getOpcode().equals("+") ) {
+					Assert.assertEquals(InstructionProfiler.ROOT_FRAME, e.getStack());
+					Assert.assertEquals(iters, e.getCount());
+					Assert.assertEquals(rows, e.getRows());
+					Assert.assertEquals(cols, e.getCols());
+					loop = true;
+				}
+				function |= e.getStack().equals(InstructionProfiler.ROOT_FRAME+";scale");
+			}
+			Assert.assertTrue("Missing profile of loop body.", loop);
+			Assert.assertTrue("Missing profile of function.", function);
+			
+			//check written profile
+			Assert.assertTrue("Missing profile file.", profile.exists());
+			String content = FileUtils.readFileToString(profile, "UTF-8");
+			switch( InstructionProfiler.getFormat(fname) ) {
+				case JSON: 
+					Assert.assertTrue(content.startsWith("{\"instructions\":["));
+					Assert.assertTrue(content.contains("\"line\":"+loopLine+",\"opcode\":\"+\""));
+					break;
+				case CSV:
+					Assert.assertTrue(content.startsWith("stack,line,opcode,count,time_ms"));
+					Assert.assertTrue(content.contains("main,"+loopLine+",+,"+iters+","));
+					break;
+				case STACKS:
+					Assert.assertTrue(content.contains("main;scale;L"));
+					break;
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
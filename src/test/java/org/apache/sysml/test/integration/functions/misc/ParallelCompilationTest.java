@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+public class ParallelCompilationTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "ParallelCompilation";
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParallelCompilationTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 350;
+	private final static int cols = 40;
+	private final static int iters = 3;
+	private final static double sparsity = 0.7;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testSequentialCompilation() {
+		runParallelCompilationTest(false);
+	}
+	
+	@Test
+	public void testParallelCompilation() {
+		runParallelCompilationTest(true);
+	}
+
+	/**
+	 * 
+	 * @param parallel
+	 */
+	private void runParallelCompilationTest( boolean parallel )
+	{	
+		boolean oldFlag = OptimizerUtils.ALLOW_PARALLEL_COMPILATION;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), 
+				Integer.toString(iters), output("R") };
+			
+			double[][] X = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			OptimizerUtils.ALLOW_PARALLEL_COMPILATION = parallel;
+			
+			runTest(true, false, null, -1); 
+			
+			//compare with expected result iters * (2*X+1) - 2 + sum(X^2)
+			double s = 0;
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					s += X[i][j] * X[i][j];
+			double[][] R = new double[rows][cols];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					R[i][j] = iters * (2 * X[i][j] + 1) - 2 + s;
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = TestUtils.convert2DDoubleArrayToHashMap(R);
+			TestUtils.compareMatrices(dmlfile, expected, eps, "DML", "Expected");
+			
+			//check that the compile phases have been recorded
+			Assert.assertTrue("Missing lop construction time.", Statistics.getCompileLopsTime() > 0);
+			Assert.assertTrue("Missing instruction generation time.", Statistics.getCompileInstTime() > 0);
+		}
+		finally
+		{
+			OptimizerUtils.ALLOW_PARALLEL_COMPILATION = oldFlag;
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+public class ProgramCacheTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "ProgramCache";
+	private final static String TEST_NAME2 = "ProgramCacheSource";
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ProgramCacheTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 350;
+	private final static int cols = 40;
+	private final static int iters = 3;
+	private final static double sparsity = 0.7;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testProgramCacheReuse() {
+		runProgramCacheTest(false);
+	}
+	
+	@Test
+	public void testProgramCacheInputInvalidation() {
+		runProgramCacheTest(true);
+	}
+	
+	@Test
+	public void testProgramCacheSourceReuse() {
+		runProgramCacheSourceTest(false);
+	}
+	
+	@Test
+	public void testProgramCacheSourceInvalidation() {
+		runProgramCacheSourceTest(true);
+	}
+
+	/**
+	 * 
+	 * @param changeInput
+	 */
+	private void runProgramCacheTest( boolean changeInput )
+	{	
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), 
+				Integer.toString(iters), output("R") };
+			enableProgramCache();
+			
+			//first run: compile and populate cache
+			double[][] X = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			runTest(true, false, null, -1); 
+			checkResult(X, 1);
+			Assert.assertEquals(0, Statistics.getProgramCacheHits());
+			Assert.assertEquals(1, Statistics.getProgramCacheMisses());
+			
+			//second run: reuse cached program, unless input metadata changed
+			if( changeInput ) {
+				X = getRandomMatrix(rows+7, cols, 0, 1, sparsity, 3);
+				writeInputMatrixWithMTD("X", X, true);
+			}
+			runTest(true, false, null, -1); 
+			checkResult(X, 1);
+			Assert.assertEquals(changeInput ? 0 : 1, Statistics.getProgramCacheHits());
+			Assert.assertEquals(changeInput ? 1 : 0, Statistics.getProgramCacheMisses());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * 
+	 * @param changeSource
+	 */
+	private void runProgramCacheSourceTest( boolean changeSource )
+	{	
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME2);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), 
+				Integer.toString(iters), output("R") };
+			enableProgramCache();
+			
+			//first run: compile and populate cache
+			double[][] X = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			writeSourcedScript(1);
+			runTest(true, false, null, -1); 
+			checkResult(X, 1);
+			Assert.assertEquals(0, Statistics.getProgramCacheHits());
+			Assert.assertEquals(1, Statistics.getProgramCacheMisses());
+			
+			//second run: reuse cached program, unless sourced script changed
+			if( changeSource )
+				writeSourcedScript(2);
+			runTest(true, false, null, -1); 
+			checkResult(X, changeSource ? 2 : 1);
+			Assert.assertEquals(changeSource ? 0 : 1, Statistics.getProgramCacheHits());
+			Assert.assertEquals(changeSource ? 1 : 0, Statistics.getProgramCacheMisses());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Enables the program cache in the test configuration.
+	 * 
+	 * @throws IOException
+	 */
+	private void enableProgramCache() 
+		throws IOException 
+	{
+		File cacheDir = new File(getCurLocalTempDir(), "progcache");
+		String conf = FileUtils.readFileToString(getCurConfigFile(), "UTF-8");
+		conf = conf.replace("</root>", "<"+DMLConfig.PROGRAM_CACHE+">"
+			+ cacheDir.getPath() + "</"+DMLConfig.PROGRAM_CACHE+"></root>");
+		FileUtils.write(getCurConfigFile(), conf, "UTF-8");
+	}
+	
+	/**
+	 * Writes the script sourced by ProgramCacheSource.dml, 
+	 * whose function scale computes X * s + offset.
+	 * 
+	 * @param offset
+	 * @throws IOException
+	 */
+	private void writeSourcedScript( int offset ) 
+		throws IOException 
+	{
+		String script = "scale = function(Matrix[Double] X, Double s) return (Matrix[Double] Y) {\n"
+			+ "   Y = X * s + " + offset + ";\n"
+			+ "   if( sum(Y) < 0 ) {\n"
+			+ "      print(\"unexpected negative sum\");\n"
+			+ "   }\n"
+			+ "}\n";
+		FileUtils.write(new File(input("ProgramCacheFns.dml")), script, "UTF-8");
+	}
+	
+	/**
+	 * 
+	 * @param X
+	 * @param offset
+	 */
+	private void checkResult( double[][] X, int offset )
+	{
+		//compare with expected result iters * (2*X+offset) + sum(X^2)
+		double s = 0;
+		for( int i=0; i<X.length; i++ )
+			for( int j=0; j<cols; j++ )
+				s += X[i][j] * X[i][j];
+		double[][] R = new double[X.length][cols];
+		for( int i=0; i<X.length; i++ )
+			for( int j=0; j<cols; j++ )
+				R[i][j] = iters * (2 * X[i][j] + offset) + s;
+		HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+		HashMap<CellIndex, Double> expected = TestUtils.convert2DDoubleArrayToHashMap(R);
+		TestUtils.compareMatrices(dmlfile, expected, eps, "DML", "Expected");
+	}
+}
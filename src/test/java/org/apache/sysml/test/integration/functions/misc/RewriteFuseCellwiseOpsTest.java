@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.FusedCell;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Test for fused cellwise operator chains (dense, sparse-safe, and full/row/col aggregates).
+ * 
+ */
+public class RewriteFuseCellwiseOpsTest extends AutomatedTestBase 
+{
+	private static final String TEST_NAME1 = "RewriteFuseCellwiseOpsTest1"; //X*(1-Y)+exp(-Z)/2
+	private static final String TEST_NAME2 = "RewriteFuseCellwiseOpsTest2"; //X*abs(Y-Z)*3 (sparse-safe)
+	private static final String TEST_NAME3 = "RewriteFuseCellwiseOpsTest3"; //rowSums(X*(Y-Z)^2)
+	private static final String TEST_NAME4 = "RewriteFuseCellwiseOpsTest4"; //sum((X-Y)^2)
+	private static final String TEST_NAME5 = "RewriteFuseCellwiseOpsTest5"; //colSums((X!=0)*Z)
+	
+	private static final String TEST_DIR = "functions/misc/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + RewriteFuseCellwiseOpsTest.class.getSimpleName() + "/";
+	
+	private static final int rows = 1132;
+	private static final int cols = 73;
+	private static final double sparsity1 = 0.7;
+	private static final double sparsity2 = 0.05;
+	private static final double eps = Math.pow(10, -10);
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration( TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "S" }) );
+		addTestConfiguration( TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "S" }) );
+		addTestConfiguration( TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] { "S" }) );
+		addTestConfiguration( TEST_NAME4, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME4, new String[] { "S" }) );
+		addTestConfiguration( TEST_NAME5, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME5, new String[] { "S" }) );
+	}
+	
+	@Test
+	public void testFuseCellwiseDenseNoRewriteCP() {
+		testFuseCellwiseOps( TEST_NAME1, false, false, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseDenseCP() {
+		testFuseCellwiseOps( TEST_NAME1, false, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseDenseSparseCP() {
+		testFuseCellwiseOps( TEST_NAME1, true, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseSparseSafeDenseCP() {
+		testFuseCellwiseOps( TEST_NAME2, false, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseSparseSafeSparseCP() {
+		testFuseCellwiseOps( TEST_NAME2, true, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseRowAggDenseCP() {
+		testFuseCellwiseOps( TEST_NAME3, false, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseRowAggSparseCP() {
+		testFuseCellwiseOps( TEST_NAME3, true, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseFullAggNoRewriteCP() {
+		testFuseCellwiseOps( TEST_NAME4, false, false, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseFullAggDenseCP() {
+		testFuseCellwiseOps( TEST_NAME4, false, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseFullAggSparseCP() {
+		testFuseCellwiseOps( TEST_NAME4, true, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseColAggDenseCP() {
+		testFuseCellwiseOps( TEST_NAME5, false, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseColAggSparseCP() {
+		testFuseCellwiseOps( TEST_NAME5, true, true, ExecType.CP );
+	}
+	
+	@Test
+	public void testFuseCellwiseDenseSP() {
+		testFuseCellwiseOps( TEST_NAME1, false, true, ExecType.SPARK );
+	}
+	
+	@Test
+	public void testFuseCellwiseSparseSafeSparseSP() {
+		testFuseCellwiseOps( TEST_NAME2, true, true, ExecType.SPARK );
+	}
+	
+	@Test
+	public void testFuseCellwiseRowAggDenseSP() {
+		testFuseCellwiseOps( TEST_NAME3, false, true, ExecType.SPARK );
+	}
+	
+	@Test
+	public void testFuseCellwiseRowAggSparseSP() {
+		testFuseCellwiseOps( TEST_NAME3, true, true, ExecType.SPARK );
+	}
+	
+	@Test
+	public void testFuseCellwiseFullAggSparseSP() {
+		testFuseCellwiseOps( TEST_NAME4, true, true, ExecType.SPARK );
+	}
+	
+	@Test
+	public void testFuseCellwiseColAggDenseSP() {
+		testFuseCellwiseOps( TEST_NAME5, false, true, ExecType.SPARK );
+	}
+	
+	/**
+	 * 
+	 * @param testname
+	 * @param sparse
+	 * @param rewrites
+	 * @param instType
+	 */
+	private void testFuseCellwiseOps( String testname, boolean sparse, boolean rewrites, ExecType instType )
+	{	
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		switch( instType ){
+			case SPARK: rtplatform = RUNTIME_PLATFORM.SPARK; break;
+			default: rtplatform = RUNTIME_PLATFORM.HYBRID; break;
+		}
+		
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		boolean rewritesOld = OptimizerUtils.ALLOW_OPERATOR_FUSION;
+		OptimizerUtils.ALLOW_OPERATOR_FUSION = rewrites;
+		
+		try
+		{	
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[]{"-explain", "-stats", "-args", 
+				input("X"), input("Y"), input("Z"), output("S") };
+			
+			fullRScriptName = HOME + testname + ".R";
+			rCmd = getRCmd(inputDir(), expectedDir());
+			
+			//generate actual datasets
+			double sp = sparse ? sparsity2 : sparsity1;
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sp, 7);
+			double[][] Y = getRandomMatrix(rows, cols, -1, 1, sp, 3);
+			double[][] Z = getRandomMatrix(rows, cols, -1, 1, sparsity1, 9);
+			writeInputMatrixWithMTD("X", X, true);
+			writeInputMatrixWithMTD("Y", Y, true);
+			writeInputMatrixWithMTD("Z", Z, true);
+			
+			runTest(true, false, null, -1); 
+			runRScript(true); 
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("S");
+			HashMap<CellIndex, Double> rfile  = readRMatrixFromFS("S");
+			TestUtils.compareMatrices(dmlfile, rfile, eps, "Stat-DML", "Stat-R");
+			
+			//check for applied rewrites
+			String prefix = (instType==ExecType.SPARK) ? Instruction.SP_INST_PREFIX : "";
+			Assert.assertEquals("Unexpected fusion: ", rewrites, 
+				Statistics.getCPHeavyHitterOpCodes().contains(prefix+FusedCell.OPCODE));
+		}
+		finally
+		{
+			OptimizerUtils.ALLOW_OPERATOR_FUSION = rewritesOld;
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}	
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueLockFree;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Component test for the local parfor task queues, which checks that every 
+ * task is read exactly once by concurrent readers and that all readers obtain
+ * NO_MORE_TASKS after the input has been closed. The small capacity of the 
+ * lock-free queue enforces frequent wraparounds and waiting writers.
+ * 
+ */
+public class ParForTaskQueueTest extends AutomatedTestBase 
+{
+	private final static int numTasks = 100000;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testTaskQueueSingleWriter() {
+		runTaskQueueTest(new LocalTaskQueue<Integer>(), 1, 8);
+	}
+	
+	@Test
+	public void testTaskQueueMultiWriter() {
+		runTaskQueueTest(new LocalTaskQueue<Integer>(), 4, 8);
+	}
+	
+	@Test
+	public void testTaskQueueLockFreeSingleWriter() {
+		runTaskQueueTest(new LocalTaskQueueLockFree<Integer>(16), 1, 8);
+	}
+	
+	@Test
+	public void testTaskQueueLockFreeMultiWriter() {
+		runTaskQueueTest(new LocalTaskQueueLockFree<Integer>(16), 4, 8);
+	}
+	
+	@Test
+	public void testTaskQueueLockFreeSingleReader() {
+		runTaskQueueTest(new LocalTaskQueueLockFree<Integer>(), 4, 1);
+	}
+	
+	private void runTaskQueueTest( final LocalTaskQueue<Integer> queue, final int numWriters, int numReaders )
+	{
+		ExecutorService pool = Executors.newFixedThreadPool(numWriters + numReaders);
+		try
+		{
+			final AtomicIntegerArray counts = new AtomicIntegerArray(numTasks);
+			
+			//start readers (consume until end of stream)
+			Future<?>[] readers = new Future<?>[numReaders];
+			for( int i=0; i<numReaders; i++ )
+				readers[i] = pool.submit(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							Integer t = null;
+							while( (t = queue.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS )
+								counts.incrementAndGet(t);
+						}
+						catch(InterruptedException ex) {
+							throw new RuntimeException(ex);
+						}
+					}
+				});
+			
+			//start writers (disjoint ranges of tasks) 
+			Future<?>[] writers = new Future<?>[numWriters];
+			for( int i=0; i<numWriters; i++ ) {
+				final int rl = i * numTasks / numWriters;
+				final int ru = (i+1) * numTasks / numWriters;
+				writers[i] = pool.submit(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							for( int j=rl; j<ru; j++ )
+								queue.enqueueTask(j);
+						}
+						catch(InterruptedException ex) {
+							throw new RuntimeException(ex);
+						}
+					}
+				});
+			}
+			
+			//close input after all writes, and wait for readers
+			for( Future<?> f : writers )
+				f.get();
+			queue.closeInput();
+			for( Future<?> f : readers )
+				f.get();
+			
+			//check that every task was read exactly once
+			for( int i=0; i<numTasks; i++ )
+				if( counts.get(i) != 1 )
+					Assert.fail("Wrong number of reads of task "+i+": "+counts.get(i));
+			if( queue.size() != 0 )
+				Assert.fail("Wrong queue size after end of stream: "+queue.size());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.recompile;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.AggUnaryOp;
+import org.apache.sysml.hops.DataOp;
+import org.apache.sysml.hops.Hop;
+import org.apache.sysml.hops.Hop.AggOp;
+import org.apache.sysml.hops.Hop.DataOpTypes;
+import org.apache.sysml.hops.Hop.Direction;
+import org.apache.sysml.hops.recompile.RecompilePlanCache;
+import org.apache.sysml.hops.recompile.RecompilePlanCache.PlanKey;
+import org.apache.sysml.hops.rewrite.HopRewriteUtils;
+import org.apache.sysml.lops.LopProperties.ExecType;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+public class RecompilePlanCacheTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "recompile_plan_cache";
+	private final static String TEST_DIR = "functions/recompile/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + RecompilePlanCacheTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 1200;
+	private final static int cols = 70;
+	private final static int iters = 10;
+	private final static double sparsity = 0.7;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testRecompileWithPlanCache() {
+		runPlanCacheTest(true);
+	}
+	
+	@Test
+	public void testRecompileWithoutPlanCache() {
+		runPlanCacheTest(false);
+	}
+
+	@Test
+	public void testPlanCacheMissForcedExecType() {
+		runPlanCacheMissTest(1);
+	}
+	
+	@Test
+	public void testPlanCacheMissNumThreads() {
+		runPlanCacheMissTest(2);
+	}
+	
+	@Test
+	public void testPlanCacheMissInplaceSizeUpdate() {
+		runPlanCacheMissTest(3);
+	}
+	
+	@Test
+	public void testPlanCacheMissInvalidate() {
+		runPlanCacheMissTest(4);
+	}
+	
+	@Test
+	public void testPlanCacheMissCompilerConfig() {
+		runPlanCacheMissTest(5);
+	}
+	
+	/**
+	 * Probes the plan cache for a rowSums(X) dag before and after
+	 * a hop-level or configuration change, which must cause a miss.
+	 * 
+	 * @param change
+	 */
+	private void runPlanCacheMissTest( int change )
+	{
+		try
+		{
+			//create hop dag and symbol table
+			DataOp X = new DataOp("X", DataType.MATRIX, ValueType.DOUBLE, 
+				DataOpTypes.TRANSIENTREAD, "X", rows, cols, -1, 1000, 1000);
+			AggUnaryOp agg = HopRewriteUtils.createAggUnaryOp(X, AggOp.SUM, Direction.Row);
+			ArrayList<Hop> hops = new ArrayList<Hop>();
+			hops.add(agg);
+			LocalVariableMap vars = new LocalVariableMap();
+			vars.put("X", new MatrixObject(ValueType.DOUBLE, "X", new MatrixFormatMetaData(
+				new MatrixCharacteristics(rows, cols, 1000, 1000, rows*cols), 
+				OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo)));
+			
+			//populate cache and check hit
+			RecompilePlanCache.clear();
+			PlanKey key = RecompilePlanCache.createKey(hops, vars);
+			RecompilePlanCache.put(key, new ArrayList<Instruction>());
+			Assert.assertNotNull("Unexpected plan cache miss.", 
+				RecompilePlanCache.get(RecompilePlanCache.createKey(hops, vars)));
+			
+			//apply change and check miss
+			switch( change ) {
+				case 1: agg.setForcedExecType(ExecType.SPARK); break;
+				case 2: agg.setMaxNumThreads(1); break;
+				case 3: agg.setDim1(rows+1); break;
+				case 4: RecompilePlanCache.invalidate(hops); break;
+				case 5: 
+					CompilerConfig cconf = new CompilerConfig();
+					cconf.set(ConfigType.BLOCK_SIZE, 2000);
+					ConfigurationManager.setLocalConfig(cconf);
+					break;
+			}
+			Assert.assertNull("Unexpected plan cache hit.", 
+				RecompilePlanCache.get(RecompilePlanCache.createKey(hops, vars)));
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+			RecompilePlanCache.clear();
+		}
+	}
+	
+	/**
+	 * 
+	 * @param cache
+	 */
+	private void runPlanCacheTest( boolean cache )
+	{	
+		boolean oldFlagRecompile = CompilerConfig.FLAG_DYN_RECOMPILE;
+		boolean oldFlagCache = RecompilePlanCache.ENABLED;
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("V"), 
+				Integer.toString(iters), output("R") };
+			
+			double[][] V = getRandomMatrix(rows, cols, 0, 1, sparsity, 7);
+			writeInputMatrixWithMTD("V", V, true);
+			
+			CompilerConfig.FLAG_DYN_RECOMPILE = true;
+			RecompilePlanCache.ENABLED = cache;
+			RecompilePlanCache.clear();
+			
+			runTest(true, false, null, -1); 
+			
+			//compare with expected result iters * rowSums(t(V) %*% V)
+			double[][] R = new double[cols][1];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					for( int k=0; k<cols; k++ )
+						R[j][0] += iters * V[i][j] * V[i][k];
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			HashMap<CellIndex, Double> expected = TestUtils.convert2DDoubleArrayToHashMap(R);
+			TestUtils.compareMatrices(dmlfile, expected, eps, "DML", "Expected");
+			
+			//check plan cache statistics (all but the first two iterations)
+			if( cache )
+				Assert.assertTrue("Unexpected number of plan cache hits: " + Statistics.getHopRecompilePlanCacheHits(),
+					Statistics.getHopRecompilePlanCacheHits() >= iters-2);
+			else
+				Assert.assertEquals("Unexpected plan cache accesses.", 0, 
+					Statistics.getHopRecompilePlanCacheHits()+Statistics.getHopRecompilePlanCacheMisses());
+		}
+		finally
+		{
+			CompilerConfig.FLAG_DYN_RECOMPILE = oldFlagRecompile;
+			RecompilePlanCache.ENABLED = oldFlagCache;
+			RecompilePlanCache.clear();
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.CPInstructionParser;
+import org.apache.sysml.runtime.instructions.cp.QuantileSortCPInstruction;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Component test for multi-threaded sort (order) and quantile sort, which 
+ * compares the sequential and multi-threaded results for inputs above the
+ * parallelization threshold, as well as for parsing quantile sort 
+ * instructions with and without number of threads.
+ * 
+ */
+public class FullSortMultiThreadedTest extends AutomatedTestBase 
+{
+	private final static int rows = 1500000;
+	private final static int cols = 2;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.8; //sparse via explicit conversion
+	private final static int k = 4;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testQuantileSortDense() throws DMLRuntimeException {
+		runQuantileSortTest(false, false);
+	}
+	
+	@Test
+	public void testQuantileSortSparse() throws DMLRuntimeException {
+		runQuantileSortTest(true, false);
+	}
+	
+	@Test
+	public void testQuantileSortWeightsDense() throws DMLRuntimeException {
+		runQuantileSortTest(false, true);
+	}
+	
+	@Test
+	public void testQuantileSortWeightsSparse() throws DMLRuntimeException {
+		runQuantileSortTest(true, true);
+	}
+	
+	@Test
+	public void testOrderDense() throws DMLRuntimeException {
+		runOrderTest(false);
+	}
+	
+	@Test
+	public void testOrderSparse() throws DMLRuntimeException {
+		runOrderTest(true);
+	}
+	
+	@Test
+	public void testParseQuantileSort() throws DMLRuntimeException {
+		//unweighted and weighted, w/o num threads (as before) and w/ num threads 
+		runParseQuantileSortTest(false, -1);
+		runParseQuantileSortTest(true, -1);
+		runParseQuantileSortTest(false, k);
+		runParseQuantileSortTest(true, k);
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @param weights
+	 * @throws DMLRuntimeException
+	 */
+	private void runQuantileSortTest(boolean sparse, boolean weights) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock A = createInput(1, sparse, 7);
+		MatrixBlock W = weights ? MatrixBlock.randOperations(rows, 1, 1.0, 1, 5, "uniform", 3) : null;
+		
+		//sequential and multi-threaded results
+		MatrixBlock ret1 = (MatrixBlock) A.sortOperations(W, new MatrixBlock(), 1);
+		MatrixBlock retk = (MatrixBlock) A.sortOperations(W, new MatrixBlock(), k);
+		
+		compareResults(ret1, retk);
+	}
+	
+	/**
+	 * 
+	 * @param sparse
+	 * @throws DMLRuntimeException
+	 */
+	private void runOrderTest(boolean sparse) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock A = createInput(cols, sparse, 7);
+		
+		//sequential and multi-threaded results, asc/desc, data/index
+		for( boolean desc : new boolean[]{false, true} )
+			for( boolean ixret : new boolean[]{false, true} ) {
+				MatrixBlock ret1 = LibMatrixReorg.sort(A, new MatrixBlock(), 1, desc, ixret, 1);
+				MatrixBlock retk = LibMatrixReorg.sort(A, new MatrixBlock(), 1, desc, ixret, k);
+				compareResults(ret1, retk);
+			}
+	}
+	
+	/**
+	 * 
+	 * @param weights
+	 * @param numThreads number of threads, or -1 for instructions w/o k
+	 * @throws DMLRuntimeException
+	 */
+	private void runParseQuantileSortTest(boolean weights, int numThreads) 
+		throws DMLRuntimeException
+	{
+		String inst = "CP" + Lop.OPERAND_DELIMITOR + "qsort" 
+			+ Lop.OPERAND_DELIMITOR + createOperand("A")
+			+ (weights ? Lop.OPERAND_DELIMITOR + createOperand("W") : "")
+			+ Lop.OPERAND_DELIMITOR + createOperand("B")
+			+ ((numThreads > 0) ? Lop.OPERAND_DELIMITOR + numThreads : "");
+		
+		QuantileSortCPInstruction qsort = (QuantileSortCPInstruction) 
+			CPInstructionParser.parseSingleInstruction(inst);
+		Assert.assertEquals("A", qsort.input1.getName());
+		Assert.assertEquals(weights, qsort.input2 != null);
+		if( weights )
+			Assert.assertEquals("W", qsort.input2.getName());
+		Assert.assertEquals("B", qsort.getOutputVariableName());
+		Assert.assertEquals(Math.max(numThreads, 1), qsort.getNumThreads());
+	}
+	
+	/**
+	 * 
+	 * @param ncol
+	 * @param sparse
+	 * @param seed
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static MatrixBlock createInput(int ncol, boolean sparse, long seed) 
+		throws DMLRuntimeException
+	{
+		//rounded values in order to test the stability of the sort
+		MatrixBlock A = MatrixBlock.randOperations(rows, ncol, sparse?sparsity2:sparsity1, -100, 100, "uniform", seed);
+		double[][] dA = TestUtils.round(DataConverter.convertToDoubleMatrix(A));
+		A = DataConverter.convertToMatrixBlock(dA);
+		
+		//force sparse representation (vectors are dense by default)
+		if( sparse ) {
+			MatrixBlock tmp = new MatrixBlock();
+			tmp.copy(A, true);
+			A = tmp;
+		}
+		return A;
+	}
+	
+	/**
+	 * 
+	 * @param ret1
+	 * @param retk
+	 * @throws DMLRuntimeException
+	 */
+	private static void compareResults(MatrixBlock ret1, MatrixBlock retk) 
+		throws DMLRuntimeException
+	{
+		Assert.assertEquals(ret1.getNumRows(), retk.getNumRows());
+		Assert.assertEquals(ret1.getNonZeros(), retk.getNonZeros());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] dk = DataConverter.convertToDoubleMatrix(retk);
+		TestUtils.compareMatrices(d1, dk, ret1.getNumRows(), ret1.getNumColumns(), eps);
+	}
+	
+	/**
+	 * 
+	 * @param var
+	 * @return
+	 */
+	private static String createOperand(String var) {
+		return var + Lop.DATATYPE_PREFIX + "MATRIX" + Lop.VALUETYPE_PREFIX + "DOUBLE";
+	}
+}
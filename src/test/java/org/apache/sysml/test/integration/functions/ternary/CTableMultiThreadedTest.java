@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.ternary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCTable;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Component test for multi-threaded ctable operations, which compares 
+ * the results of the sequential ctable with the multi-threaded ctable
+ * over thread-local hash maps and thread-local dense arrays.
+ * 
+ */
+public class CTableMultiThreadedTest extends AutomatedTestBase 
+{
+	private final static int rows = 1234567;
+	private final static int maxVal1 = 37;
+	private final static int maxVal2 = 1003;
+	private final static int k = 4;
+	private final static double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testCTableWeightsHashMap() throws DMLRuntimeException {
+		runCTableTest(true, false);
+	}
+	
+	@Test
+	public void testCTableWeightsDenseArray() throws DMLRuntimeException {
+		runCTableTest(true, true);
+	}
+	
+	@Test
+	public void testCTableScalarWeightHashMap() throws DMLRuntimeException {
+		runCTableTest(false, false);
+	}
+	
+	@Test
+	public void testCTableScalarWeightDenseArray() throws DMLRuntimeException {
+		runCTableTest(false, true);
+	}
+	
+	/**
+	 * 
+	 * @param weights
+	 * @param dims
+	 * @throws DMLRuntimeException
+	 */
+	private void runCTableTest(boolean weights, boolean dims) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock A = createIntegerVector(maxVal1, 7);
+		MatrixBlock B = createIntegerVector(maxVal2, 3);
+		MatrixBlock W = weights ? MatrixBlock.randOperations(rows, 1, 1.0, 0, 1, "uniform", 11) : null;
+		SimpleOperator op = new SimpleOperator(null);
+		
+		//sequential reference result
+		CTableMap map1 = new CTableMap();
+		if( weights )
+			A.ternaryOperations(op, B, W, map1, null);
+		else
+			A.ternaryOperations(op, B, 1, false, map1, null);
+		MatrixBlock ret1 = DataConverter.convertToMatrixBlock(map1, maxVal1, maxVal2);
+		
+		//multi-threaded result (w/ known dims via dense result)
+		CTableMap mapk = new CTableMap();
+		MatrixBlock retk = dims ? new MatrixBlock(maxVal1, maxVal2, false) : null;
+		LibMatrixCTable.ctable(A, B, 0, W, 1, false, mapk, retk, k);
+		if( !dims ) {
+			Assert.assertEquals(map1.size(), mapk.size());
+			Assert.assertEquals(map1.getMaxRow(), mapk.getMaxRow());
+			Assert.assertEquals(map1.getMaxColumn(), mapk.getMaxColumn());
+			retk = DataConverter.convertToMatrixBlock(mapk, maxVal1, maxVal2);
+		}
+		
+		//compare results and nnz
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(retk), maxVal1, maxVal2, eps);
+		Assert.assertEquals(ret1.getNonZeros(), retk.getNonZeros());
+	}
+	
+	/**
+	 * 
+	 * @param maxVal
+	 * @param seed
+	 * @return
+	 * @throws DMLRuntimeException
+	 */
+	private static MatrixBlock createIntegerVector(int maxVal, long seed) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock tmp = MatrixBlock.randOperations(rows, 1, 1.0, 1, maxVal, "uniform", seed);
+		UnaryOperator op = new UnaryOperator(Builtin.getBuiltinFnObject("round"));
+		return (MatrixBlock) tmp.unaryOperations(op, new MatrixBlock());
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.transform;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.transform.encode.EncoderStreamingCSV;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Compares the streaming two-pass transform encode over csv files 
+ * with the in-memory transform encode over materialized frames.
+ */
+public class TransformFrameEncodeStreamingTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "TransformFrameEncodeStreaming";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformFrameEncodeStreamingTest.class.getSimpleName() + "/";
+	
+	//dataset and transform tasks without missing values
+	private final static String DATASET1 	= "homes3/homes.csv";
+	private final static String SPEC1 		= "homes3/homes.tfspec_recode.json"; 
+	private final static String SPEC2 		= "homes3/homes.tfspec_dummy2.json";
+	
+	//dataset and transform tasks with missing values
+	private final static String DATASET2 	= "homes/homes.csv";
+	private final static String SPEC4 		= "homes3/homes.tfspec_impute.json";
+	private final static String SPEC5 		= "homes3/homes.tfspec_omit2.json";
+	
+	//small chunk size to force multiple chunks per split
+	private final static long CHUNK_NUMCELLS = 64;
+	
+	public enum TransformType {
+		RECODE,
+		DUMMY,
+		IMPUTE,
+		OMIT,
+	}
+	
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "y" }) );
+	}
+	
+	@Test
+	public void testHomesRecodeStreamingCSV() {
+		runTransformTest(TransformType.RECODE, false);
+	}
+	
+	@Test
+	public void testHomesDummycodeStreamingCSV() {
+		runTransformTest(TransformType.DUMMY, false);
+	}
+	
+	@Test
+	public void testHomesImputeStreamingCSV() {
+		runTransformTest(TransformType.IMPUTE, false);
+	}
+	
+	@Test
+	public void testHomesOmitStreamingCSV() {
+		runTransformTest(TransformType.OMIT, false);
+	}
+	
+	@Test
+	public void testHomesRecodeStreamingCSVSmallChunks() {
+		runTransformTest(TransformType.RECODE, true);
+	}
+	
+	@Test
+	public void testHomesDummycodeStreamingCSVSmallChunks() {
+		runTransformTest(TransformType.DUMMY, true);
+	}
+	
+	@Test
+	public void testHomesImputeStreamingCSVSmallChunks() {
+		runTransformTest(TransformType.IMPUTE, true);
+	}
+	
+	@Test
+	public void testHomesOmitStreamingCSVSmallChunks() {
+		runTransformTest(TransformType.OMIT, true);
+	}
+	
+	/**
+	 * 
+	 * @param type
+	 * @param smallChunks
+	 */
+	private void runTransformTest( TransformType type, boolean smallChunks )
+	{
+		//set runtime platform
+		RUNTIME_PLATFORM rtold = rtplatform;
+		boolean streamingOld = OptimizerUtils.ALLOW_STREAMING_TRANSFORM_ENCODE;
+		long chunkOld = EncoderStreamingCSV.CHUNK_NUMCELLS;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		if( smallChunks )
+			EncoderStreamingCSV.CHUNK_NUMCELLS = CHUNK_NUMCELLS;
+		
+		//set transform specification
+		String SPEC = null; String DATASET = null;
+		switch( type ) {
+			case RECODE: SPEC = SPEC1; DATASET = DATASET1; break;
+			case DUMMY:  SPEC = SPEC2; DATASET = DATASET1; break;
+			case IMPUTE: SPEC = SPEC4; DATASET = DATASET2; break;
+			case OMIT:   SPEC = SPEC5; DATASET = DATASET2; break;
+		}
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			
+			//run in-memory transform encode
+			OptimizerUtils.ALLOW_STREAMING_TRANSFORM_ENCODE = false;
+			programArgs = new String[]{"-nvargs", 
+				"DATA=" + HOME + "input/" + DATASET,
+				"TFSPEC=" + HOME + "input/" + SPEC,
+				"TFDATA=" + output("tfout1"),
+				"TFMETA=" + output("tfmeta1"),
+				"OFMT=csv" };
+			runTest(true, false, null, -1); 
+			
+			//run streaming transform encode
+			OptimizerUtils.ALLOW_STREAMING_TRANSFORM_ENCODE = true;
+			programArgs = new String[]{"-nvargs", 
+				"DATA=" + HOME + "input/" + DATASET,
+				"TFSPEC=" + HOME + "input/" + SPEC,
+				"TFDATA=" + output("tfout2"),
+				"TFMETA=" + output("tfmeta2"),
+				"OFMT=csv" };
+			runTest(true, false, null, -1); 
+			
+			//compare outputs
+			double[][] R1 = DataConverter.convertToDoubleMatrix(MatrixReaderFactory
+				.createMatrixReader(InputInfo.CSVInputInfo)
+				.readMatrixFromHDFS(output("tfout1"), -1L, -1L, 1000, 1000, -1));
+			double[][] R2 = DataConverter.convertToDoubleMatrix(MatrixReaderFactory
+				.createMatrixReader(InputInfo.CSVInputInfo)
+				.readMatrixFromHDFS(output("tfout2"), -1L, -1L, 1000, 1000, -1));
+			TestUtils.compareMatrices(R1, R2, R1.length, R1[0].length, 0);
+			
+			//compare meta data frames (column-wise, independent of row order)
+			FrameBlock M1 = readDMLFrameFromHDFS("tfmeta1", InputInfo.BinaryBlockInputInfo);
+			FrameBlock M2 = readDMLFrameFromHDFS("tfmeta2", InputInfo.BinaryBlockInputInfo);
+			Assert.assertEquals(M1.getNumColumns(), M2.getNumColumns());
+			Assert.assertEquals(M1.getColumnNames(), M2.getColumnNames());
+			for( int j=0; j<M1.getNumColumns(); j++ )
+				Assert.assertEquals("Wrong meta data in column "+j, 
+					getSortedColumn(M1, j), getSortedColumn(M2, j));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = rtold;
+			OptimizerUtils.ALLOW_STREAMING_TRANSFORM_ENCODE = streamingOld;
+			EncoderStreamingCSV.CHUNK_NUMCELLS = chunkOld;
+		}
+	}
+	
+	/**
+	 * 
+	 * @param fb
+	 * @param col
+	 * @return
+	 */
+	private static ArrayList<String> getSortedColumn(FrameBlock fb, int col) {
+		ArrayList<String> ret = new ArrayList<String>();
+		for( int i=0; i<fb.getNumRows(); i++ )
+			if( fb.get(i, col) != null )
+				ret.add(fb.get(i, col).toString());
+		Collections.sort(ret);
+		return ret;
+	}
+}
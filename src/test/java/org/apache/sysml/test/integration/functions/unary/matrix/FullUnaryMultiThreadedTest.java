@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Component test for multi-threaded unary operations, which compares 
+ * the results and nnz of single- and multi-threaded unary operations
+ * for sparse-safe and sparse-unsafe builtin functions.
+ * 
+ */
+public class FullUnaryMultiThreadedTest extends AutomatedTestBase 
+{
+	private final static int rows = 2017;
+	private final static int cols = 1001;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static int k = 4;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testExpDense() throws DMLRuntimeException {
+		runUnaryTest("exp", false, false);
+	}
+	
+	@Test
+	public void testExpSparse() throws DMLRuntimeException {
+		runUnaryTest("exp", true, false);
+	}
+	
+	@Test
+	public void testRoundDense() throws DMLRuntimeException {
+		runUnaryTest("round", false, false);
+	}
+	
+	@Test
+	public void testRoundSparse() throws DMLRuntimeException {
+		runUnaryTest("round", true, false);
+	}
+	
+	@Test
+	public void testSigmoidSparse() throws DMLRuntimeException {
+		runUnaryTest("sigmoid", true, false);
+	}
+	
+	@Test
+	public void testExpDenseInPlace() throws DMLRuntimeException {
+		runUnaryTest("exp", false, true);
+	}
+	
+	@Test
+	public void testRoundSparseInPlace() throws DMLRuntimeException {
+		runUnaryTest("round", true, true);
+	}
+	
+	/**
+	 * 
+	 * @param opcode
+	 * @param sparse
+	 * @param inplace
+	 * @throws DMLRuntimeException
+	 */
+	private void runUnaryTest(String opcode, boolean sparse, boolean inplace) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock in = MatrixBlock.randOperations(rows, cols, 
+			sparse?sparsity2:sparsity1, -3, 3, "uniform", 7);
+		UnaryOperator op1 = new UnaryOperator(Builtin.getBuiltinFnObject(opcode), 1);
+		UnaryOperator opk = new UnaryOperator(Builtin.getBuiltinFnObject(opcode), k);
+		
+		MatrixBlock ret1 = null, retk = null;
+		if( inplace ) {
+			ret1 = new MatrixBlock(in);
+			retk = new MatrixBlock(in);
+			ret1.unaryOperationsInPlace(op1);
+			retk.unaryOperationsInPlace(opk);
+		}
+		else {
+			ret1 = (MatrixBlock) in.unaryOperations(op1, new MatrixBlock());
+			retk = (MatrixBlock) in.unaryOperations(opk, new MatrixBlock());
+		}
+		
+		//compare results and maintained nnz
+		TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1),
+			DataConverter.convertToDoubleMatrix(retk), rows, cols, eps);
+		long nnz = retk.getNonZeros();
+		retk.recomputeNonZeros();
+		Assert.assertEquals(retk.getNonZeros(), nnz);
+		Assert.assertEquals(ret1.getNonZeros(), nnz);
+	}
+}
@@ -52,6 +52,7 @@ import org.junit.runners.Suite;
 	FullGroupedAggregateTest.class,
 	FullGroupedAggregateMatrixTest.class,
 	FullRowAggregateTest.class,
+	GroupedAggregateMultiColumnTest.class,
 	
 	PushdownSumBinaryTest.class,
 })
@@ -28,6 +28,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	BinUaggChainTest.class,
 	
+	CentralMomentCovarianceMultiThreadedTest.class,
 	CentralMomentTest.class,
 	CovarianceTest.class,
 	
@@ -51,6 +52,7 @@ import org.junit.runners.Suite;
 	ScalarMultiplicationTest.class,
 	ScalarSubtractionTest.class,
 	TransposeMatrixMultiplicationTest.class,
+	UaggOuterChainMultiThreadedTest.class,
 	UaggOuterChainTest.class,
 	UltraSparseMRMatrixMultiplicationTest.class,
 	ZipMMSparkMatrixMultiplicationTest.class
@@ -26,7 +26,12 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-	CachingPWriteExportTest.class
+	BroadcastReuseTest.class,
+	CachingPWriteExportTest.class,
+	CheckpointReuseAnalysisTest.class,
+	MappedEvictionFileTest.class,
+	PageCacheTest.class,
+	SparkCheckpointManagerTest.class
 })
 
 
@@ -26,6 +26,8 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	BasicBinaryFallbackOperationsTest.class,
+	BasicBinaryRowVectorOperationsTest.class,
 	BasicCompressionTest.class,
 	BasicGetValueTest.class,
 	BasicMatrixAppendTest.class,
@@ -36,6 +38,7 @@ import org.junit.runners.Suite;
 	BasicScalarOperationsTest.class,
 	BasicTransposeSelfLeftMatrixMultTest.class,
 	BasicUnaryAggregateTest.class,
+	BasicUnaryOperationsTest.class,
 	BasicVectorMatrixMultTest.class,
 	CompressedLinregCG.class,
 	CompressedSerializationTest.class,
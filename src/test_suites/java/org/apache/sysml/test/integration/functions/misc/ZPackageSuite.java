@@ -29,9 +29,12 @@ import org.junit.runners.Suite;
 	ConditionalValidateTest.class,
 	DataTypeCastingTest.class,
 	DataTypeChangeTest.class,
+	DirectInstructionConstructionTest.class,
 	FunctionInliningTest.class,
+	FusedCellMultiThreadedTest.class,
 	FunctionNamespaceTest.class,
 	IfTest.class,
+	InstructionProfilerTest.class,
 	InvalidFunctionAssignmentTest.class,
 	InvalidFunctionSignatureTest.class,
 	IPALiteralReplacementTest.class,
@@ -43,8 +46,10 @@ import org.junit.runners.Suite;
 	NrowNcolStringTest.class,
 	NrowNcolUnknownCSVReadTest.class,
 	OuterTableExpandTest.class,
+	ParallelCompilationTest.class,
 	PrintExpressionTest.class,
 	PrintMatrixTest.class,
+	ProgramCacheTest.class,
 	ReadAfterWriteTest.class,
 	RewriteFusedRandTest.class,
 	RewritePushdownSumOnBinaryTest.class,
@@ -53,6 +58,7 @@ import org.junit.runners.Suite;
 	RewriteSimplifyRowColSumMVMultTest.class,
 	RewriteSlicedMatrixMultTest.class,
 	RewriteFuseBinaryOpChainTest.class,
+	RewriteFuseCellwiseOpsTest.class,
 	ScalarAssignmentTest.class,
 	ScalarFunctionTest.class,
 	ScalarMatrixUnaryBinaryTermTest.class,
@@ -39,6 +39,7 @@ import org.junit.runners.Suite;
 	
 	ParForParallelRemoteResultMergeTest.class,
 	ParForSerialRemoteResultMergeTest.class,
+	ParForTaskQueueTest.class,
 	ParForRepeatedOptimizationTest.class,
 	ParForRulebasedOptimizerTest.class
 })
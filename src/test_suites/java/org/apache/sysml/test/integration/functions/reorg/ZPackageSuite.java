@@ -29,6 +29,7 @@ import org.junit.runners.Suite;
 	DiagV2MTest.class,
 	FullOrderTest.class,
 	FullReverseTest.class,
+	FullSortMultiThreadedTest.class,
 	FullTransposeTest.class,
 	MatrixReshapeTest.class
 })
@@ -39,6 +39,7 @@ import org.junit.runners.Suite;
 	FullCumprodTest.class,
 	FullCumsumTest.class,
 	FullSelectPosTest.class,
+	FullUnaryMultiThreadedTest.class,
 	FullSignTest.class,
 	IQMTest.class,
 	LUFactorizeTest.class,